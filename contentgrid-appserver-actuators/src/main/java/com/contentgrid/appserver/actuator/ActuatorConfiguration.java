@@ -2,6 +2,7 @@ package com.contentgrid.appserver.actuator;
 
 import com.contentgrid.appserver.actuator.policy.PolicyActuator;
 import com.contentgrid.appserver.actuator.policy.PolicyVariables;
+import com.contentgrid.appserver.actuator.slowquery.SlowQueryActuator;
 import jakarta.servlet.http.HttpServletRequest;
 import java.net.InetAddress;
 import java.net.UnknownHostException;
@@ -63,7 +64,8 @@ public class ActuatorConfiguration {
         private static final EndpointRequestMatcher ALLOWED_ACTUATOR_ENDPOINTS = EndpointRequest.to(
                 MetricsEndpoint.class,
                 PrometheusScrapeEndpoint.class,
-                PolicyActuator.class
+                PolicyActuator.class,
+                SlowQueryActuator.class
         );
 
         @Bean
@@ -0,0 +1,63 @@
+package com.contentgrid.appserver.actuator.slowquery;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQuery;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
+import java.time.Instant;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.web.annotation.WebEndpoint;
+
+/**
+ * Exposes the most recent slow queries of the query engine, newest first
+ */
+@WebEndpoint(id = "slowqueries")
+@RequiredArgsConstructor
+public class SlowQueryActuator {
+
+    private final SlowQueryLog slowQueryLog;
+
+    @ReadOperation
+    public List<SlowQueryDescriptor> slowQueries() {
+        return slowQueryLog.getEntries().stream().map(SlowQueryDescriptor::from).toList();
+    }
+
+    /**
+     * Entity names are only unique within an application, so the entries are selected by both
+     */
+    @ReadOperation
+    public List<SlowQueryDescriptor> slowQueriesForEntity(@Selector String application, @Selector String entity) {
+        return slowQueryLog.getEntries(ApplicationName.of(application), EntityName.of(entity)).stream()
+                .map(SlowQueryDescriptor::from)
+                .toList();
+    }
+
+    public record SlowQueryDescriptor(
+            Instant timestamp,
+            String application,
+            String entity,
+            List<String> filters,
+            String sql,
+            long durationMillis,
+            boolean failed,
+            String plan
+    ) {
+
+        static SlowQueryDescriptor from(SlowQuery query) {
+            return new SlowQueryDescriptor(
+                    query.getTimestamp(),
+                    query.getApplication().map(ApplicationName::getValue).orElse(null),
+                    query.getEntity().map(EntityName::getValue).orElse(null),
+                    query.getFilters().stream().map(FilterName::getValue).toList(),
+                    query.getSql(),
+                    query.getDuration().toMillis(),
+                    query.isFailed(),
+                    query.getPlan().orElse(null)
+            );
+        }
+    }
+}
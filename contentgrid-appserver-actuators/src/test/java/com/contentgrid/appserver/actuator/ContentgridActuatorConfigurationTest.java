@@ -2,6 +2,14 @@ package com.contentgrid.appserver.actuator;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import com.contentgrid.appserver.actuator.slowquery.SlowQueryActuator;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQuery;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
+import java.time.Duration;
+import java.time.Instant;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,6 +17,7 @@ import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Bean;
 import org.springframework.http.ResponseEntity;
 
 @SpringBootTest(
@@ -31,6 +40,20 @@ public class ContentgridActuatorConfigurationTest {
         public static void main(String[] args) {
             SpringApplication.run(TestApplication.class, args);
         }
+
+        @Bean
+        SlowQueryActuator slowQueryActuator() {
+            var slowQueryLog = new SlowQueryLog(10);
+            slowQueryLog.add(SlowQuery.builder()
+                    .timestamp(Instant.parse("2024-01-01T00:00:00Z"))
+                    .application(ApplicationName.of("app-a"))
+                    .entity(EntityName.of("invoice"))
+                    .filter(FilterName.of("number"))
+                    .sql("select * from \"invoice\" where \"number\" = ?")
+                    .duration(Duration.ofMillis(750))
+                    .build());
+            return new SlowQueryActuator(slowQueryLog);
+        }
     }
 
     @Test
@@ -50,4 +73,27 @@ public class ContentgridActuatorConfigurationTest {
                 .isEqualTo("application/vnd.cncf.openpolicyagent.policy.layer.v1+rego;charset=UTF-8");
         assertThat(resp.getBody()).contains("xfb0"); // templating works
     }
+
+    @Test
+    void slowQueriesEndpointIsPublic() {
+        ResponseEntity<String> resp = rest.getForEntity("http://localhost:" + managementPort + "/actuator/slowqueries", String.class);
+        assertThat(resp.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(resp.getBody()).contains("\"application\":\"app-a\"", "\"entity\":\"invoice\"", "\"filters\":[\"number\"]", "\"durationMillis\":750",
+                "\"failed\":false");
+    }
+
+    @Test
+    void slowQueriesEndpointFiltersByApplicationAndEntity() {
+        ResponseEntity<String> invoices = rest.getForEntity("http://localhost:" + managementPort + "/actuator/slowqueries/app-a/invoice", String.class);
+        assertThat(invoices.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(invoices.getBody()).contains("\"entity\":\"invoice\"");
+
+        ResponseEntity<String> customers = rest.getForEntity("http://localhost:" + managementPort + "/actuator/slowqueries/app-a/customer", String.class);
+        assertThat(customers.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(customers.getBody()).isEqualTo("[]");
+
+        ResponseEntity<String> otherApplication = rest.getForEntity("http://localhost:" + managementPort + "/actuator/slowqueries/app-b/invoice", String.class);
+        assertThat(otherApplication.getStatusCode().is2xxSuccessful()).isTrue();
+        assertThat(otherApplication.getBody()).isEqualTo("[]");
+    }
 }
@@ -4,9 +4,12 @@ import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
 import com.contentgrid.appserver.application.model.exceptions.AttributeNotFoundException;
 import com.contentgrid.appserver.application.model.exceptions.DuplicateElementException;
 import com.contentgrid.appserver.application.model.exceptions.EntityDefinitionNotFoundException;
+import com.contentgrid.appserver.application.model.exceptions.InvalidArgumentModelException;
 import com.contentgrid.appserver.application.model.exceptions.InvalidSearchFilterException;
 import com.contentgrid.appserver.application.model.exceptions.RelationNotFoundException;
 import com.contentgrid.appserver.application.model.relations.ManyToManyRelation;
+import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
+import com.contentgrid.appserver.application.model.relations.OneToOneRelation;
 import com.contentgrid.appserver.application.model.relations.Relation;
 import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter;
 import com.contentgrid.appserver.application.model.values.ApplicationName;
@@ -92,6 +95,7 @@ public class Application {
 
         // Validating entity search filters (happens here rather than in Entity because they might go across relations)
         this.entities.values().forEach(this::validateEntitySearchFilters);
+        this.entities.values().forEach(this::validateEntitySortableFields);
     }
 
     /**
@@ -278,6 +282,26 @@ public class Application {
         });
     }
 
+    private void validateEntitySortableFields(Entity entity) {
+        entity.getSortableFields().forEach(sortableField -> {
+            var currentEntity = entity;
+            var currentPath = sortableField.getPropertyPath();
+            while (currentPath instanceof RelationPath relationPath) {
+                var relation = getRequiredRelationForEntity(currentEntity, relationPath.getRelation());
+                if (!(relation instanceof ManyToOneRelation || relation instanceof OneToOneRelation)) {
+                    throw new InvalidArgumentModelException(
+                            "SortableField %s can only go across *-to-one relations, %s is a %s".formatted(
+                                    sortableField.getName(), relation.getSourceEndPoint().getName(),
+                                    relation.getClass().getSimpleName()));
+                }
+                currentEntity = getRelationTargetEntity(relation);
+                currentPath = relationPath.getRest();
+            }
+            // Throws when the path does not end in a simple attribute
+            resolvePropertyPath(entity, sortableField.getPropertyPath());
+        });
+    }
+
     public SimpleAttribute resolvePropertyPath(Entity entity, PropertyPath path) {
         Entity currentEntity = entity;
         PropertyPath currentPath = path;
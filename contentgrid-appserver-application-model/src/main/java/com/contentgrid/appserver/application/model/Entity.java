@@ -26,6 +26,7 @@ import com.contentgrid.appserver.application.model.values.EntityName;
 import com.contentgrid.appserver.application.model.values.FilterName;
 import com.contentgrid.appserver.application.model.values.LinkName;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.RelationPath;
 import com.contentgrid.appserver.application.model.values.SimpleAttributePath;
 import com.contentgrid.appserver.application.model.values.SortableName;
 import com.contentgrid.appserver.application.model.values.TableName;
@@ -182,9 +183,10 @@ public class Entity implements HasAttributes, Translatable<EntityTranslations> {
 
                     if (sortableField.getPropertyPath() instanceof  SimpleAttributePath simpleAttributePath) {
                         getAttributeByName(simpleAttributePath.getAttribute()).orElseThrow(() ->
-                                new InvalidArgumentModelException(("Sorting across a relation is not implemented."
-                                        + " SortableField %s must reference a single attribute on this entity")
-                                        .formatted(sortableField.getName())));
+                                new InvalidArgumentModelException("SortableField %s references non-existent attribute %s"
+                                        .formatted(sortableField.getName(), simpleAttributePath.getAttribute())));
+                    } else if (sortableField.getPropertyPath() instanceof RelationPath) {
+                        // Validated by the Application, because it goes across relations
                     } else {
                         throw new InvalidArgumentModelException("SortableField %s references non-existent attribute %s"
                                 .formatted(sortableField.getName(), sortableField.getPropertyPath().getFirst()));
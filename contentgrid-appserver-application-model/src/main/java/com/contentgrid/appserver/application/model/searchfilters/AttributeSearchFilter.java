@@ -95,6 +95,8 @@ public class AttributeSearchFilter implements SearchFilter {
     public enum Operation {
         EXACT(Set.of(Type.TEXT, Type.UUID, Type.LONG, Type.DOUBLE, Type.BOOLEAN, Type.DATETIME)),
         PREFIX(Set.of(Type.TEXT)),
+        FULL_TEXT(Set.of(Type.TEXT)),
+        CONTAINS(Set.of(Type.TEXT)),
         GREATER_THAN(Set.of(Type.LONG, Type.DOUBLE, Type.DATETIME)),
         GREATER_THAN_OR_EQUAL(Set.of(Type.LONG, Type.DOUBLE, Type.DATETIME)),
         LESS_THAN(Set.of(Type.LONG, Type.DOUBLE, Type.DATETIME)),
@@ -17,6 +17,7 @@ import com.contentgrid.appserver.application.model.attributes.flags.ReadOnlyFlag
 import com.contentgrid.appserver.application.model.exceptions.AttributeNotFoundException;
 import com.contentgrid.appserver.application.model.exceptions.DuplicateElementException;
 import com.contentgrid.appserver.application.model.exceptions.EntityDefinitionNotFoundException;
+import com.contentgrid.appserver.application.model.exceptions.InvalidArgumentModelException;
 import com.contentgrid.appserver.application.model.exceptions.InvalidSearchFilterException;
 import com.contentgrid.appserver.application.model.exceptions.RelationNotFoundException;
 import com.contentgrid.appserver.application.model.relations.ManyToManyRelation;
@@ -27,6 +28,7 @@ import com.contentgrid.appserver.application.model.relations.Relation.RelationEn
 import com.contentgrid.appserver.application.model.relations.SourceOneToOneRelation;
 import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter;
 import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter.Operation;
+import com.contentgrid.appserver.application.model.sortable.SortableField;
 import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.application.model.values.AttributeName;
 import com.contentgrid.appserver.application.model.values.ColumnName;
@@ -36,6 +38,7 @@ import com.contentgrid.appserver.application.model.values.LinkName;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
 import com.contentgrid.appserver.application.model.values.PropertyPath;
 import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.application.model.values.SortableName;
 import com.contentgrid.appserver.application.model.values.TableName;
 import java.util.List;
 import java.util.stream.Stream;
@@ -305,6 +308,51 @@ class ApplicationTest {
         assertThrows(EntityDefinitionNotFoundException.class, builder::build);
     }
 
+    @Test
+    void application_sortableFieldAcrossToOneRelation() {
+        var invoice = Entity.builder()
+                .name(INVOICE.getName())
+                .table(INVOICE.getTable())
+                .pathSegment(INVOICE.getPathSegment())
+                .linkName(INVOICE.getLinkName())
+                .sortableField(SortableField.builder()
+                        .name(SortableName.of("customer_name"))
+                        .propertyPath(PropertyPath.of(RelationName.of("customer"), AttributeName.of("name")))
+                        .build())
+                .build();
+
+        var application = Application.builder()
+                .name(ApplicationName.of("invoiceApplication"))
+                .entity(invoice)
+                .entity(CUSTOMER)
+                .relation(MANY_TO_ONE)
+                .build();
+
+        assertEquals(1, application.getRequiredEntityByName(INVOICE.getName()).getSortableFields().size());
+    }
+
+    @Test
+    void application_sortableFieldAcrossToManyRelation() {
+        var customer = Entity.builder()
+                .name(CUSTOMER.getName())
+                .table(CUSTOMER.getTable())
+                .pathSegment(CUSTOMER.getPathSegment())
+                .linkName(CUSTOMER.getLinkName())
+                .sortableField(SortableField.builder()
+                        .name(SortableName.of("invoice_number"))
+                        .propertyPath(PropertyPath.of(RelationName.of("invoices"), AttributeName.of("invoiceNumber")))
+                        .build())
+                .build();
+
+        var applicationBuilder = Application.builder()
+                .name(ApplicationName.of("invoiceApplication"))
+                .entity(INVOICE)
+                .entity(customer)
+                .relation(MANY_TO_ONE);
+
+        assertThrows(InvalidArgumentModelException.class, applicationBuilder::build);
+    }
+
     @Test
     void application_searchFilterWithNonExistentRelation() {
         var entity = Entity.builder()
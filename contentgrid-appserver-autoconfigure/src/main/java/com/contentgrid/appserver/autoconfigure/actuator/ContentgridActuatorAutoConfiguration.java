@@ -1,16 +1,27 @@
 package com.contentgrid.appserver.autoconfigure.actuator;
 
 import com.contentgrid.appserver.actuator.ActuatorConfiguration;
+import com.contentgrid.appserver.actuator.slowquery.SlowQueryActuator;
+import com.contentgrid.appserver.autoconfigure.query.engine.JOOQQueryEngineAutoConfiguration;
 import com.contentgrid.appserver.autoconfigure.security.DefaultSecurityAutoConfiguration;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 
-@AutoConfiguration(before = DefaultSecurityAutoConfiguration.class)
+@AutoConfiguration(before = DefaultSecurityAutoConfiguration.class, after = JOOQQueryEngineAutoConfiguration.class)
 @ConditionalOnClass({ActuatorConfiguration.class})
 @ConditionalOnWebApplication(type = Type.SERVLET)
 @Import(ActuatorConfiguration.class)
 public class ContentgridActuatorAutoConfiguration {
+
+    @Bean
+    @ConditionalOnBean(SlowQueryLog.class)
+    SlowQueryActuator slowQueryActuator(SlowQueryLog slowQueryLog) {
+        return new SlowQueryActuator(slowQueryLog);
+    }
 }
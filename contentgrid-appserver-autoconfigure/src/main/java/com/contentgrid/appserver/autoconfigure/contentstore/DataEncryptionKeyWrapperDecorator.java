@@ -0,0 +1,13 @@
+package com.contentgrid.appserver.autoconfigure.contentstore;
+
+import com.contentgrid.appserver.contentstore.impl.encryption.keys.DataEncryptionKeyWrapper;
+
+/**
+ * Decorates every {@link DataEncryptionKeyWrapper} that is used by the encrypted content store, including the wrappers
+ * that are created from configuration properties
+ */
+@FunctionalInterface
+public interface DataEncryptionKeyWrapperDecorator {
+
+    DataEncryptionKeyWrapper decorate(DataEncryptionKeyWrapper wrapper);
+}
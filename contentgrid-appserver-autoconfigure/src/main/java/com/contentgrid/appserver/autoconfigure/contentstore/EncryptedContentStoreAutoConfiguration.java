@@ -13,6 +13,7 @@ import com.contentgrid.appserver.contentstore.impl.encryption.keys.UnencryptedSy
 import java.util.List;
 import java.util.Set;
 import org.jooq.DSLContext;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
@@ -43,12 +44,19 @@ public class EncryptedContentStoreAutoConfiguration {
     @Bean
     ContentStore encryptedContentStore(ContentStore contentStore, DataEncryptionKeyAccessor encryptionKeyAccessor,
             List<DataEncryptionKeyWrapper> encryptionKeyWrappers, List<ContentEncryptionEngine> encryptionEngines,
-            EncryptionKeyWrapperProperties encryptionKeyWrapperAlgorithms, EncryptionEngineProperties encryptionEngineProperties) {
+            EncryptionKeyWrapperProperties encryptionKeyWrapperAlgorithms, EncryptionEngineProperties encryptionEngineProperties,
+            ObjectProvider<DataEncryptionKeyWrapperDecorator> encryptionKeyWrapperDecorators) {
         if (encryptionKeyWrappers.isEmpty()) {
             encryptionKeyWrappers = encryptionKeyWrapperAlgorithms.algorithms().stream()
                     .map(this::dataEncryptionKeyWrapperForAlgorithm)
                     .toList();
         }
+        var decorators = encryptionKeyWrapperDecorators.orderedStream().toList();
+        if (!decorators.isEmpty()) {
+            encryptionKeyWrappers = encryptionKeyWrappers.stream()
+                    .map(wrapper -> decorate(wrapper, decorators))
+                    .toList();
+        }
         if (encryptionEngines.isEmpty()) {
             encryptionEngines = encryptionEngineProperties.algorithms().stream()
                     .map(this::contentEncryptionEngineForAlgorithm)
@@ -57,6 +65,14 @@ public class EncryptedContentStoreAutoConfiguration {
         return new EncryptedContentStore(contentStore, encryptionKeyAccessor, encryptionKeyWrappers, encryptionEngines);
     }
 
+    private static DataEncryptionKeyWrapper decorate(DataEncryptionKeyWrapper wrapper,
+            List<DataEncryptionKeyWrapperDecorator> decorators) {
+        for (var decorator : decorators) {
+            wrapper = decorator.decorate(wrapper);
+        }
+        return wrapper;
+    }
+
     private DataEncryptionKeyWrapper dataEncryptionKeyWrapperForAlgorithm(EncryptionKeyWrapperAlgorithm algorithm) {
         return switch (algorithm) {
             case NONE -> new UnencryptedSymmetricDataEncryptionKeyWrapper(true);
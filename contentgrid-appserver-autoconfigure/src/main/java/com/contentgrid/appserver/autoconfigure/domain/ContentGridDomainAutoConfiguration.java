@@ -5,6 +5,7 @@ import com.contentgrid.appserver.autoconfigure.contentstore.FilesystemContentSto
 import com.contentgrid.appserver.autoconfigure.contentstore.S3ContentStoreAutoConfiguration;
 import com.contentgrid.appserver.autoconfigure.query.engine.JOOQQueryEngineAutoConfiguration;
 import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.impl.utils.ConcurrencyLimitedContentStore;
 import com.contentgrid.appserver.domain.ContentApi;
 import com.contentgrid.appserver.domain.ContentApiImpl;
 import com.contentgrid.appserver.domain.DatamodelApiImpl;
@@ -13,11 +14,14 @@ import com.contentgrid.appserver.domain.paging.cursor.RequestIntegrityCheckCurso
 import com.contentgrid.appserver.domain.paging.cursor.SimplePageBasedCursorCodec;
 import com.contentgrid.appserver.query.engine.api.QueryEngine;
 import java.time.Clock;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 
 @AutoConfiguration(after = {
         JOOQQueryEngineAutoConfiguration.class,
@@ -40,11 +44,33 @@ public class ContentGridDomainAutoConfiguration {
         return new DatamodelApiImpl(queryEngine, contentStore, cursorCodec, clock);
     }
 
+    /**
+     * Fallback for when the utils module, with {@link ConcurrencyLimitedContentStore}, is not on the classpath
+     */
     @Bean
+    @ConditionalOnMissingBean
     ContentApi contentApi(DatamodelApiImpl datamodelApi, ContentStore contentStore) {
         return new ContentApiImpl(datamodelApi, contentStore);
     }
 
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ConcurrencyLimitedContentStore.class)
+    static class ConcurrencyLimitedContentApiConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean(ContentApi.class)
+        ContentApi concurrencyLimitedContentApi(DatamodelApiImpl datamodelApi, ContentStore contentStore,
+                @Value("${contentgrid.appserver.content.max-concurrent-transfers:0}") int maxConcurrentTransfers,
+                @Value("${contentgrid.appserver.content.max-transfer-wait:10s}") Duration maxTransferWait) {
+            if (maxConcurrentTransfers > 0) {
+                // Bounds the number of open content streams, which is no longer bounded by a request thread pool
+                // when requests run on virtual threads
+                contentStore = new ConcurrencyLimitedContentStore(contentStore, maxConcurrentTransfers, maxTransferWait);
+            }
+            return new ContentApiImpl(datamodelApi, contentStore);
+        }
+    }
+
     @Bean
     CursorCodec cursorCodec() {
         return new RequestIntegrityCheckCursorCodec(new SimplePageBasedCursorCodec());
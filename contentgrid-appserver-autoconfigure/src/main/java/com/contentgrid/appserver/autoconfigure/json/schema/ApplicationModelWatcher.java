@@ -0,0 +1,151 @@
+package com.contentgrid.appserver.autoconfigure.json.schema;
+
+import com.contentgrid.appserver.json.ApplicationSchemaConverter;
+import com.contentgrid.appserver.json.exceptions.InvalidJsonException;
+import com.contentgrid.appserver.registry.ReloadableApplicationResolver;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.Resource;
+
+/**
+ * Periodically checks the application model resource for changes, and replaces the application in a
+ * {@link ReloadableApplicationResolver} when it has changed.
+ * <p>
+ * Changes are detected on the content of the resource, which also works for resources that don't report a
+ * modification time, like Kubernetes ConfigMap mounts that swap a symlink. A model that fails to parse or validate is
+ * logged once and ignored; the current application keeps being served.
+ * <p>
+ * The watcher loads the initial application itself, so the resolver and the baseline digest come from the same
+ * content.
+ */
+@Slf4j
+class ApplicationModelWatcher implements SmartLifecycle {
+
+    @NonNull
+    private final Resource resource;
+
+    @NonNull
+    private final ApplicationSchemaConverter converter;
+
+    @NonNull
+    @Getter
+    private final ReloadableApplicationResolver resolver;
+
+    @NonNull
+    private final Duration interval;
+
+    /**
+     * Digest of the resource content that the current application was loaded from; only accessed from the watcher
+     * thread after construction
+     */
+    private byte[] currentDigest;
+
+    /**
+     * Digest of the last resource content that failed to load, so the failure is only logged once; only accessed from
+     * the watcher thread
+     */
+    private byte[] failedDigest;
+
+    /**
+     * Whether the last attempt to read the resource failed, so the failure is only logged once; only accessed from the
+     * watcher thread
+     */
+    private boolean readFailed;
+
+    private volatile ScheduledExecutorService executor;
+
+    ApplicationModelWatcher(@NonNull Resource resource, @NonNull ApplicationSchemaConverter converter,
+            @NonNull Duration interval) throws IOException, InvalidJsonException {
+        this.resource = resource;
+        this.converter = converter;
+        this.interval = interval;
+        var content = resource.getContentAsByteArray();
+        this.resolver = new ReloadableApplicationResolver(converter.convert(new ByteArrayInputStream(content)));
+        this.currentDigest = digest(content);
+    }
+
+    /**
+     * Reload the application if the content of the resource has changed
+     *
+     * @return whether a new version of the application was loaded
+     */
+    boolean checkForChanges() {
+        byte[] content;
+        try {
+            content = resource.getContentAsByteArray();
+        } catch (IOException e) {
+            if (!readFailed) {
+                log.error("Failed to read application model from {}, keeping the current version", resource, e);
+                readFailed = true;
+            }
+            return false;
+        }
+        if (readFailed) {
+            log.info("Application model {} can be read again", resource);
+            readFailed = false;
+        }
+
+        var digest = digest(content);
+        if (Arrays.equals(digest, currentDigest) || Arrays.equals(digest, failedDigest)) {
+            return false;
+        }
+
+        try {
+            var application = converter.convert(new ByteArrayInputStream(content));
+            resolver.reload(application);
+            currentDigest = digest;
+            failedDigest = null;
+            return true;
+        } catch (InvalidJsonException | RuntimeException e) {
+            log.error("Failed to reload application model from {}, keeping the current version until it changes again",
+                    resource, e);
+            failedDigest = digest;
+            return false;
+        }
+    }
+
+    private static byte[] digest(byte[] content) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(content);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public void start() {
+        var newExecutor = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("application-model-watcher")
+                .daemon()
+                .factory());
+        newExecutor.scheduleWithFixedDelay(this::checkForChanges, interval.toMillis(), interval.toMillis(),
+                TimeUnit.MILLISECONDS);
+        executor = newExecutor;
+        log.info("Watching application model {} for changes every {}", resource, interval);
+    }
+
+    @Override
+    public void stop() {
+        var currentExecutor = executor;
+        if (currentExecutor != null) {
+            currentExecutor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+}
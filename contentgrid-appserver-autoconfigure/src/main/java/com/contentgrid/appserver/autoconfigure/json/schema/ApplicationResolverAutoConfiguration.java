@@ -1,30 +1,104 @@
 package com.contentgrid.appserver.autoconfigure.json.schema;
 
 import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.json.DefaultApplicationSchemaConverter;
 import com.contentgrid.appserver.json.exceptions.InvalidJsonException;
+import com.contentgrid.appserver.registry.ApplicationLoader;
+import com.contentgrid.appserver.registry.ApplicationNotFoundException;
 import com.contentgrid.appserver.registry.ApplicationResolver;
+import com.contentgrid.appserver.registry.CachingApplicationResolver;
 import com.contentgrid.appserver.registry.DefaultApplicationNameExtractor;
+import com.contentgrid.appserver.registry.ReloadableApplicationResolver;
 import com.contentgrid.appserver.registry.SingleApplicationResolver;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.regex.Pattern;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 
 @AutoConfiguration
 @ConditionalOnClass({Application.class, SingleApplicationResolver.class, DefaultApplicationNameExtractor.class})
-@ConditionalOnProperty("contentgrid.appserver.application-model")
 public class ApplicationResolverAutoConfiguration {
 
+    /**
+     * Application names that can be used in a resource path: no separators, dots or other special characters
+     */
+    private static final Pattern APPLICATION_NAME_PATTERN = Pattern.compile("[a-zA-Z0-9][a-zA-Z0-9_-]{0,62}");
+
+    @Bean
+    @ConditionalOnMissingBean(ApplicationResolver.class)
+    @ConditionalOnProperty("contentgrid.appserver.application-model")
+    @ConditionalOnBooleanProperty("contentgrid.appserver.application-model-reload.enabled")
+    ApplicationModelWatcher applicationModelWatcher(
+            @Value("${contentgrid.appserver.application-model}") Resource resource,
+            @Value("${contentgrid.appserver.application-model-reload.interval:10s}") Duration interval
+    ) throws IOException, InvalidJsonException {
+        return new ApplicationModelWatcher(resource, new DefaultApplicationSchemaConverter(), interval);
+    }
+
+    @Bean
+    @ConditionalOnBean(ApplicationModelWatcher.class)
+    ReloadableApplicationResolver reloadableApplicationResolver(ApplicationModelWatcher applicationModelWatcher) {
+        // Loaded by the watcher, from the same content as its baseline
+        return applicationModelWatcher.getResolver();
+    }
+
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty("contentgrid.appserver.application-model")
     ApplicationResolver applicationResolver(@Value("${contentgrid.appserver.application-model}") Resource resource) throws IOException, InvalidJsonException {
         var applicationSchemaConverter = new DefaultApplicationSchemaConverter();
         var application = applicationSchemaConverter.convert(resource.getInputStream());
         return new SingleApplicationResolver(application);
     }
+
+    /**
+     * Loads the model of every application on demand from {@code <location><application name>.json}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("contentgrid.appserver.application-models.location")
+    ApplicationResolver cachingApplicationResolver(ResourceLoader resourceLoader,
+            @Value("${contentgrid.appserver.application-models.location}") String location,
+            @Value("${contentgrid.appserver.application-models.cache-size:100}") int cacheSize) {
+        return new CachingApplicationResolver(schemaApplicationLoader(resourceLoader, location), cacheSize);
+    }
+
+    private static ApplicationLoader schemaApplicationLoader(ResourceLoader resourceLoader, String location) {
+        var applicationSchemaConverter = new DefaultApplicationSchemaConverter();
+        return name -> {
+            // Application names come from requests, they must not be able to escape the location
+            if (!APPLICATION_NAME_PATTERN.matcher(name.getValue()).matches()) {
+                throw new ApplicationNotFoundException(name);
+            }
+            var resource = resourceLoader.getResource(location + name.getValue() + ".json");
+            if (!resource.exists()) {
+                throw new ApplicationNotFoundException(name);
+            }
+            Application application;
+            try (var inputStream = resource.getInputStream()) {
+                application = applicationSchemaConverter.convert(inputStream);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to read application model %s".formatted(resource), e);
+            } catch (InvalidJsonException e) {
+                throw new IllegalStateException("Invalid application model %s".formatted(resource), e);
+            }
+            if (!application.getName().equals(name)) {
+                // Per-application state is keyed on the application name, which must match the requested name
+                throw new IllegalStateException("Application model %s contains application '%s' instead of '%s'"
+                        .formatted(resource, application.getName().getValue(), name.getValue()));
+            }
+            return application;
+        };
+    }
 }
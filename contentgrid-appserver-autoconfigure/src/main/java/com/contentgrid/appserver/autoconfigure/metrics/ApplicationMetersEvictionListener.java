@@ -0,0 +1,35 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Removes the meters of an application when it is evicted, so the number of meters is bounded by the applications that
+ * are currently held instead of every application that was ever served.
+ */
+@RequiredArgsConstructor
+class ApplicationMetersEvictionListener implements ApplicationEvictionListener {
+
+    @NonNull
+    private final MeterRegistry registry;
+
+    /**
+     * Names of the metrics that are tagged with {@value EntityOperationTimers#APPLICATION_TAG}
+     */
+    @NonNull
+    private final Set<String> metricNames;
+
+    @Override
+    public void onApplicationEvicted(@NonNull ApplicationName name) {
+        for (var metricName : metricNames) {
+            registry.find(metricName)
+                    .tag(EntityOperationTimers.APPLICATION_TAG, name.getValue())
+                    .meters()
+                    .forEach(registry::remove);
+        }
+    }
+}
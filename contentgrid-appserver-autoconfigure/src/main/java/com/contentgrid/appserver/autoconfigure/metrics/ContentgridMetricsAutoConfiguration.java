@@ -0,0 +1,126 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.autoconfigure.contentstore.DataEncryptionKeyWrapperDecorator;
+import com.contentgrid.appserver.autoconfigure.domain.ContentGridDomainAutoConfiguration;
+import com.contentgrid.appserver.autoconfigure.rest.ContentGridRestAutoConfiguration;
+import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.impl.encryption.keys.DataEncryptionKeyWrapper;
+import com.contentgrid.appserver.domain.DatamodelApi;
+import com.contentgrid.appserver.domain.DatamodelApiImpl;
+import com.contentgrid.appserver.domain.paging.cursor.CursorCodec;
+import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.jooq.count.JOOQCountStrategy;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Set;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+/**
+ * Decorates the query engine, count strategy, content stores, encryption key unwrapping, cursor codec and datamodel
+ * API with Micrometer meters.
+ * <p>
+ * Decorators are only installed when a {@link MeterRegistry} is available and
+ * {@code contentgrid.appserver.metrics.enabled} is not {@code false}; otherwise the undecorated beans are used. Meters
+ * that are tagged with an application are removed when that application is evicted.
+ */
+@AutoConfiguration(
+        after = ContentGridDomainAutoConfiguration.class,
+        before = ContentGridRestAutoConfiguration.class,
+        afterName = {
+                "org.springframework.boot.actuate.autoconfigure.metrics.MetricsAutoConfiguration",
+                "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration"
+        }
+)
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBooleanProperty(value = "contentgrid.appserver.metrics.enabled", matchIfMissing = true)
+public class ContentgridMetricsAutoConfiguration {
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(QueryEngine.class)
+    static class QueryEngineMetricsConfiguration {
+
+        @Bean
+        static MeteringBeanPostProcessor<QueryEngine> queryEngineMeteringBeanPostProcessor(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MeteringBeanPostProcessor<>(QueryEngine.class, meterRegistry,
+                    (queryEngine, registry, beanName) -> new MeteredQueryEngine(queryEngine, registry));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(JOOQCountStrategy.class)
+    static class CountStrategyMetricsConfiguration {
+
+        @Bean
+        static MeteringBeanPostProcessor<JOOQCountStrategy> countStrategyMeteringBeanPostProcessor(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MeteringBeanPostProcessor<>(JOOQCountStrategy.class, meterRegistry,
+                    (countStrategy, registry, beanName) -> new MeteredCountStrategy(countStrategy, registry));
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ContentStore.class)
+    static class ContentStoreMetricsConfiguration {
+
+        @Bean
+        static MeteringBeanPostProcessor<ContentStore> contentStoreMeteringBeanPostProcessor(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            // Every content store bean is tagged with its name, so an encrypted store and the store that it
+            // delegates to can be told apart
+            return new MeteringBeanPostProcessor<>(ContentStore.class, meterRegistry, MeteredContentStore::new);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(DataEncryptionKeyWrapper.class)
+    static class EncryptionMetricsConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        DataEncryptionKeyWrapperDecorator meteredDataEncryptionKeyWrapperDecorator(MeterRegistry meterRegistry) {
+            return wrapper -> new MeteredDataEncryptionKeyWrapper(wrapper, meterRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(DatamodelApiImpl.class)
+    static class DomainMetricsConfiguration {
+
+        @Bean
+        static MeteringBeanPostProcessor<CursorCodec> cursorCodecMeteringBeanPostProcessor(
+                ObjectProvider<MeterRegistry> meterRegistry) {
+            return new MeteringBeanPostProcessor<>(CursorCodec.class, meterRegistry,
+                    (cursorCodec, registry, beanName) -> new MeteredCursorCodec(cursorCodec, registry));
+        }
+
+        /**
+         * The datamodel API is decorated with a separate bean, because the content API depends on the implementation
+         */
+        @Bean
+        @Primary
+        @ConditionalOnBean({DatamodelApiImpl.class, MeterRegistry.class})
+        DatamodelApi meteredDatamodelApi(DatamodelApiImpl datamodelApi, MeterRegistry meterRegistry) {
+            return new MeteredDatamodelApi(datamodelApi, meterRegistry);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(ApplicationEvictionListener.class)
+    static class ApplicationMetersConfiguration {
+
+        @Bean
+        @ConditionalOnBean(MeterRegistry.class)
+        ApplicationEvictionListener applicationMetersEvictionListener(MeterRegistry meterRegistry) {
+            return new ApplicationMetersEvictionListener(meterRegistry,
+                    Set.of(MeteredQueryEngine.METRIC_NAME, MeteredDatamodelApi.METRIC_NAME));
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+
+/**
+ * Timers tagged with an operation, an application and an entity.
+ * <p>
+ * Timers are registered on first use and looked up without allocating afterwards, so timing an operation only costs
+ * three map lookups and two clock reads. Timers that are removed from the registry, e.g. by
+ * {@link ApplicationMetersEvictionListener} when their application is evicted, are registered again on next use.
+ */
+class EntityOperationTimers {
+
+    static final String OPERATION_TAG = "operation";
+    static final String APPLICATION_TAG = "application";
+    static final String ENTITY_TAG = "entity";
+
+    private final MeterRegistry registry;
+    private final Clock clock;
+    private final String name;
+    private final String description;
+
+    private final Map<ApplicationName, Map<String, Map<EntityName, Timer>>> timers = new ConcurrentHashMap<>();
+
+    EntityOperationTimers(@NonNull MeterRegistry registry, @NonNull String name, @NonNull String description) {
+        this.registry = registry;
+        this.clock = registry.config().clock();
+        this.name = name;
+        this.description = description;
+        registry.config().onMeterRemoved(this::forget);
+    }
+
+    long start() {
+        return clock.monotonicTime();
+    }
+
+    void record(String operation, ApplicationName application, EntityName entity, long start) {
+        timer(operation, application, entity).record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+    }
+
+    Timer timer(String operation, ApplicationName application, EntityName entity) {
+        var operationTimers = timers.get(application);
+        if (operationTimers == null) {
+            operationTimers = timers.computeIfAbsent(application, ignored -> new ConcurrentHashMap<>());
+        }
+        var entityTimers = operationTimers.get(operation);
+        if (entityTimers == null) {
+            entityTimers = operationTimers.computeIfAbsent(operation, ignored -> new ConcurrentHashMap<>());
+        }
+        var timer = entityTimers.get(entity);
+        if (timer == null) {
+            timer = entityTimers.computeIfAbsent(entity, ignored -> Timer.builder(name)
+                    .description(description)
+                    .tag(OPERATION_TAG, operation)
+                    .tag(APPLICATION_TAG, application.getValue())
+                    .tag(ENTITY_TAG, entity.getValue())
+                    .register(registry));
+        }
+        return timer;
+    }
+
+    private void forget(Meter meter) {
+        var id = meter.getId();
+        if (!name.equals(id.getName()) || id.getTag(APPLICATION_TAG) == null) {
+            return;
+        }
+        var operationTimers = timers.get(ApplicationName.of(id.getTag(APPLICATION_TAG)));
+        if (operationTimers == null) {
+            return;
+        }
+        var entityTimers = operationTimers.get(id.getTag(OPERATION_TAG));
+        if (entityTimers != null) {
+            entityTimers.values().remove(meter);
+        }
+    }
+}
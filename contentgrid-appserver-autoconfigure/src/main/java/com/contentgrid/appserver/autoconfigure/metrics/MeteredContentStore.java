@@ -0,0 +1,179 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.contentstore.api.ContentAccessor;
+import com.contentgrid.appserver.contentstore.api.ContentReader;
+import com.contentgrid.appserver.contentstore.api.ContentReference;
+import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.api.UnreadableContentException;
+import com.contentgrid.appserver.contentstore.api.UnwritableContentException;
+import com.contentgrid.appserver.contentstore.api.range.ResolvedContentRange;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Measures the bytes that are read from and written to a {@link ContentStore}, the time to the first byte of a read
+ * and the duration of writes. Reads are tagged with whether they read a range or the full content.
+ */
+class MeteredContentStore implements ContentStore {
+
+    static final String READ_METRIC_NAME = "contentgrid.content.reads";
+    static final String READ_BYTES_METRIC_NAME = "contentgrid.content.read.bytes";
+    static final String WRITE_METRIC_NAME = "contentgrid.content.writes";
+    static final String WRITE_BYTES_METRIC_NAME = "contentgrid.content.written.bytes";
+
+    private final ContentStore delegate;
+    private final Clock clock;
+
+    private final ReadMeters fullReads;
+    private final ReadMeters rangeReads;
+
+    private final Timer writes;
+    private final Counter writtenBytes;
+
+    MeteredContentStore(@NonNull ContentStore delegate, @NonNull MeterRegistry registry, @NonNull String store) {
+        this.delegate = delegate;
+        this.clock = registry.config().clock();
+        this.fullReads = new ReadMeters(registry, store, false);
+        this.rangeReads = new ReadMeters(registry, store, true);
+        this.writes = Timer.builder(WRITE_METRIC_NAME)
+                .description("Time spent writing content")
+                .tag("store", store)
+                .register(registry);
+        this.writtenBytes = Counter.builder(WRITE_BYTES_METRIC_NAME)
+                .description("Bytes of content written")
+                .baseUnit("bytes")
+                .tag("store", store)
+                .register(registry);
+    }
+
+    @Override
+    public ContentReader getReader(ContentReference contentReference, ResolvedContentRange contentRange)
+            throws UnreadableContentException {
+        var start = clock.monotonicTime();
+        var meters = contentRange.getRangeSize() < contentRange.getContentSize() ? rangeReads : fullReads;
+        return new MeteredContentReader(delegate.getReader(contentReference, contentRange), meters, start);
+    }
+
+    @Override
+    public ContentAccessor writeContent(InputStream inputStream) throws UnwritableContentException {
+        var start = clock.monotonicTime();
+        var accessor = delegate.writeContent(inputStream);
+        writes.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        writtenBytes.increment(accessor.getContentSize());
+        return accessor;
+    }
+
+    @Override
+    public void remove(ContentReference contentReference) throws UnwritableContentException {
+        delegate.remove(contentReference);
+    }
+
+    private static class ReadMeters {
+
+        private final Timer firstByte;
+        private final Counter bytes;
+
+        ReadMeters(MeterRegistry registry, String store, boolean range) {
+            this.firstByte = Timer.builder(READ_METRIC_NAME)
+                    .description("Time until the first byte of content is read")
+                    .tag("store", store)
+                    .tag("range", Boolean.toString(range))
+                    .register(registry);
+            this.bytes = Counter.builder(READ_BYTES_METRIC_NAME)
+                    .description("Bytes of content read")
+                    .baseUnit("bytes")
+                    .tag("store", store)
+                    .tag("range", Boolean.toString(range))
+                    .register(registry);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class MeteredContentReader implements ContentReader {
+
+        private final ContentReader delegate;
+        private final ReadMeters meters;
+        private final long start;
+
+        @Override
+        public InputStream getContentInputStream() throws UnreadableContentException {
+            return new MeteredInputStream(delegate.getContentInputStream(), meters, start);
+        }
+
+        @Override
+        public ContentReference getReference() {
+            return delegate.getReference();
+        }
+
+        @Override
+        public long getContentSize() {
+            return delegate.getContentSize();
+        }
+
+        @Override
+        public String getDescription() {
+            return delegate.getDescription();
+        }
+    }
+
+    private class MeteredInputStream extends FilterInputStream {
+
+        private final ReadMeters meters;
+        private final long start;
+        private long bytesRead;
+        private boolean firstByteRecorded;
+        private boolean closed;
+
+        MeteredInputStream(InputStream in, ReadMeters meters, long start) {
+            super(in);
+            this.meters = meters;
+            this.start = start;
+        }
+
+        @Override
+        public int read() throws IOException {
+            var result = super.read();
+            if (result >= 0) {
+                recordRead(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            var result = super.read(b, off, len);
+            if (result > 0) {
+                recordRead(result);
+            }
+            return result;
+        }
+
+        private void recordRead(int count) {
+            if (!firstByteRecorded) {
+                firstByteRecorded = true;
+                meters.firstByte.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+            }
+            bytesRead += count;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (!closed) {
+                    closed = true;
+                    meters.bytes.increment(bytesRead);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.values.TableName;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.query.engine.jooq.count.JOOQCountStrategy;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Select;
+
+/**
+ * Times counts of a {@link JOOQCountStrategy}, tagged with the kind of count that was returned.
+ * <p>
+ * For a {@link com.contentgrid.appserver.query.engine.jooq.count.JOOQTimedCountStrategy}, an estimated result means
+ * that the exact count timed out and the strategy fell back to an estimate.
+ */
+class MeteredCountStrategy implements JOOQCountStrategy {
+
+    static final String METRIC_NAME = "contentgrid.query.count";
+
+    private final JOOQCountStrategy delegate;
+    private final Clock clock;
+
+    private final Timer exact;
+    private final Timer estimated;
+    private final Timer unknown;
+
+    MeteredCountStrategy(@NonNull JOOQCountStrategy delegate, @NonNull MeterRegistry registry) {
+        this.delegate = delegate;
+        this.clock = registry.config().clock();
+        this.exact = timer(registry, "exact");
+        this.estimated = timer(registry, "estimated");
+        this.unknown = timer(registry, "unknown");
+    }
+
+    private static Timer timer(MeterRegistry registry, String result) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent counting query results")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    @Override
+    public ItemCount count(DSLContext dslContext, Select<?> query) {
+        return record(() -> delegate.count(dslContext, query));
+    }
+
+    @Override
+    public ItemCount count(DSLContext dslContext, TableName table, TableName alias, Condition condition) {
+        return record(() -> delegate.count(dslContext, table, alias, condition));
+    }
+
+    private ItemCount record(Supplier<ItemCount> count) {
+        var start = clock.monotonicTime();
+        var result = count.get();
+        var timer = result == ItemCount.unknown() ? unknown : result.isEstimated() ? estimated : exact;
+        timer.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        return result;
+    }
+}
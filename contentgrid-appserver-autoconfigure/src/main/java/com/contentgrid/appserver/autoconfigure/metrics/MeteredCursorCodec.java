@@ -0,0 +1,66 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.domain.paging.cursor.CursorCodec;
+import com.contentgrid.appserver.query.engine.api.data.SortData;
+import com.contentgrid.hateoas.pagination.api.Pagination;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+
+/**
+ * Times encoding and decoding of cursors by a {@link CursorCodec}.
+ * <p>
+ * Cursors are not tagged with their entity: the codec does not know the application of the entity, so such meters
+ * could not be removed when the application is evicted.
+ */
+class MeteredCursorCodec implements CursorCodec {
+
+    static final String METRIC_NAME = "contentgrid.cursor.codec";
+
+    private final CursorCodec delegate;
+    private final Clock clock;
+
+    private final Timer decode;
+    private final Timer encode;
+
+    MeteredCursorCodec(@NonNull CursorCodec delegate, @NonNull MeterRegistry registry) {
+        this.delegate = delegate;
+        this.clock = registry.config().clock();
+        this.decode = timer(registry, "decode");
+        this.encode = timer(registry, "encode");
+    }
+
+    private static Timer timer(MeterRegistry registry, String operation) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent encoding and decoding cursors")
+                .tag(EntityOperationTimers.OPERATION_TAG, operation)
+                .register(registry);
+    }
+
+    @Override
+    public Pagination decodeCursor(CursorContext context, EntityName entityName, Map<String, List<String>> params)
+            throws CursorDecodeException {
+        var start = clock.monotonicTime();
+        try {
+            return delegate.decodeCursor(context, entityName, params);
+        } finally {
+            decode.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public CursorContext encodeCursor(Pagination pagination, EntityName entityName, SortData sort,
+            Map<String, List<String>> params) {
+        var start = clock.monotonicTime();
+        try {
+            return delegate.encodeCursor(pagination, entityName, sort, params);
+        } finally {
+            encode.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.contentstore.impl.encryption.engine.ContentEncryptionEngine.EncryptionParameters;
+import com.contentgrid.appserver.contentstore.impl.encryption.keys.DataEncryptionKeyWrapper;
+import com.contentgrid.appserver.contentstore.impl.encryption.keys.StoredDataEncryptionKey;
+import com.contentgrid.appserver.contentstore.impl.encryption.keys.WrappingKeyId;
+import io.micrometer.core.instrument.Clock;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+
+/**
+ * Times the unwrapping of data encryption keys, which runs for every read of encrypted content
+ */
+class MeteredDataEncryptionKeyWrapper implements DataEncryptionKeyWrapper {
+
+    static final String METRIC_NAME = "contentgrid.content.encryption.key.unwraps";
+
+    private final DataEncryptionKeyWrapper delegate;
+    private final Clock clock;
+
+    private final Timer success;
+    private final Timer failure;
+
+    MeteredDataEncryptionKeyWrapper(@NonNull DataEncryptionKeyWrapper delegate, @NonNull MeterRegistry registry) {
+        this.delegate = delegate;
+        this.clock = registry.config().clock();
+        this.success = timer(registry, delegate, "success");
+        this.failure = timer(registry, delegate, "failure");
+    }
+
+    private static Timer timer(MeterRegistry registry, DataEncryptionKeyWrapper wrapper, String outcome) {
+        return Timer.builder(METRIC_NAME)
+                .description("Time spent unwrapping data encryption keys")
+                .tag("wrapper", wrapper.getClass().getSimpleName())
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+
+    @Override
+    public Set<WrappingKeyId> getSupportedKeyIds() {
+        return delegate.getSupportedKeyIds();
+    }
+
+    @Override
+    public boolean canDecrypt() {
+        return delegate.canDecrypt();
+    }
+
+    @Override
+    public boolean canEncrypt() {
+        return delegate.canEncrypt();
+    }
+
+    @Override
+    public StoredDataEncryptionKey wrapEncryptionKey(EncryptionParameters dataEncryptionParameters) {
+        return delegate.wrapEncryptionKey(dataEncryptionParameters);
+    }
+
+    @Override
+    public EncryptionParameters unwrapEncryptionKey(StoredDataEncryptionKey encryptedDataEncryptionKey) {
+        var start = clock.monotonicTime();
+        var timer = failure;
+        try {
+            var result = delegate.unwrapEncryptionKey(encryptedDataEncryptionKey);
+            timer = success;
+            return result;
+        } finally {
+            timer.record(clock.monotonicTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return delegate.toString();
+    }
+}
@@ -0,0 +1,234 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.domain.DatamodelApi;
+import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
+import com.contentgrid.appserver.domain.data.EntityInstance;
+import com.contentgrid.appserver.domain.data.InvalidPropertyDataException;
+import com.contentgrid.appserver.domain.data.RelationTarget;
+import com.contentgrid.appserver.domain.data.RequestInputData;
+import com.contentgrid.appserver.domain.paging.ResultSlice;
+import com.contentgrid.appserver.domain.paging.cursor.CursorCodec.CursorDecodeException;
+import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.RelationRequest;
+import com.contentgrid.appserver.domain.values.version.Version;
+import com.contentgrid.appserver.exception.InvalidFieldsParameterException;
+import com.contentgrid.appserver.query.engine.api.exception.EntityIdNotFoundException;
+import com.contentgrid.appserver.query.engine.api.exception.InvalidThunkExpressionException;
+import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * Times every operation of a {@link DatamodelApi}, per operation, application and entity.
+ * <p>
+ * The time of an operation includes the query engine operations that it runs, which are timed separately by
+ * {@link MeteredQueryEngine}; the difference is the time spent in the mapper and validation pipeline.
+ */
+class MeteredDatamodelApi implements DatamodelApi {
+
+    static final String METRIC_NAME = "contentgrid.datamodel.operations";
+
+    private final DatamodelApi delegate;
+    private final EntityOperationTimers timers;
+
+    MeteredDatamodelApi(@NonNull DatamodelApi delegate, @NonNull MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timers = new EntityOperationTimers(registry, METRIC_NAME, "Time spent in datamodel operations");
+    }
+
+    @Override
+    public ResultSlice findAll(@NonNull Application application, @NonNull Entity entity,
+            @NonNull Map<String, List<String>> params, @NonNull ProjectionData projection,
+            @NonNull EncodedCursorPagination pagination, @NonNull AuthorizationContext authorizationContext)
+            throws InvalidThunkExpressionException, CursorDecodeException, InvalidFieldsParameterException {
+        var start = timers.start();
+        try {
+            return delegate.findAll(application, entity, params, projection, pagination, authorizationContext);
+        } finally {
+            timers.record("findAll", application.getName(), entity.getName(), start);
+        }
+    }
+
+    @Override
+    public Optional<? extends EntityInstance> findById(@NonNull Application application,
+            @NonNull EntityRequest entityRequest, @NonNull ProjectionData projection,
+            @NonNull AuthorizationContext authorizationContext) throws InvalidFieldsParameterException {
+        var start = timers.start();
+        try {
+            return delegate.findById(application, entityRequest, projection, authorizationContext);
+        } finally {
+            timers.record("findById", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public List<? extends EntityInstance> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull AuthorizationContext authorizationContext) throws InvalidFieldsParameterException {
+        var start = timers.start();
+        try {
+            return delegate.findByIds(application, entityName, entityIds, projection, authorizationContext);
+        } finally {
+            timers.record("findByIds", application.getName(), entityName, start);
+        }
+    }
+
+    @Override
+    public Optional<Version> findVersionById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull AuthorizationContext authorizationContext) {
+        var start = timers.start();
+        try {
+            return delegate.findVersionById(application, entityRequest, authorizationContext);
+        } finally {
+            timers.record("findVersionById", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public EntityInstance create(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull RequestInputData data, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException, InvalidPropertyDataException {
+        var start = timers.start();
+        try {
+            return delegate.create(application, entityName, data, authorizationContext);
+        } finally {
+            timers.record("create", application.getName(), entityName, start);
+        }
+    }
+
+    @Override
+    public EntityInstance update(@NonNull Application application, @NonNull EntityInstance original,
+            @NonNull RequestInputData data, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException, InvalidPropertyDataException {
+        var start = timers.start();
+        try {
+            return delegate.update(application, original, data, authorizationContext);
+        } finally {
+            timers.record("update", application.getName(), original.getIdentity().getEntityName(), start);
+        }
+    }
+
+    @Override
+    public EntityInstance updatePartial(@NonNull Application application, @NonNull EntityInstance original,
+            @NonNull RequestInputData data, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException, InvalidPropertyDataException {
+        var start = timers.start();
+        try {
+            return delegate.updatePartial(application, original, data, authorizationContext);
+        } finally {
+            timers.record("updatePartial", application.getName(), original.getIdentity().getEntityName(), start);
+        }
+    }
+
+    @Override
+    public EntityInstance deleteEntity(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull AuthorizationContext authorizationContext) throws EntityIdNotFoundException {
+        var start = timers.start();
+        try {
+            return delegate.deleteEntity(application, entityRequest, authorizationContext);
+        } finally {
+            timers.record("deleteEntity", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public boolean hasRelationTarget(@NonNull Application application, @NonNull RelationRequest relation,
+            @NonNull EntityId targetId, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.hasRelationTarget(application, relation, targetId, authorizationContext);
+        } finally {
+            timers.record("hasRelationTarget", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public Optional<RelationTarget> findRelationTarget(@NonNull Application application,
+            @NonNull RelationRequest relation, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findRelationTarget(application, relation, authorizationContext);
+        } finally {
+            timers.record("findRelationTarget", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public Map<EntityId, List<EntityInstance>> findRelationTargets(@NonNull Application application,
+            @NonNull Relation relation, @NonNull Set<EntityId> sourceIds, int limitPerSource,
+            @NonNull AuthorizationContext authorizationContext) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findRelationTargets(application, relation, sourceIds, limitPerSource, authorizationContext);
+        } finally {
+            timers.record("findRelationTargets", application.getName(), relation.getSourceEndPoint().getEntity(), start);
+        }
+    }
+
+    @Override
+    public void setRelation(@NonNull Application application, @NonNull RelationRequest relation,
+            @NonNull EntityId targetId, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.setRelation(application, relation, targetId, authorizationContext);
+        } finally {
+            timers.record("setRelation", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void deleteRelation(@NonNull Application application, @NonNull RelationRequest relation,
+            @NonNull AuthorizationContext authorizationContext) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.deleteRelation(application, relation, authorizationContext);
+        } finally {
+            timers.record("deleteRelation", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void addRelationItems(@NonNull Application application, @NonNull RelationRequest relation,
+            @NonNull Set<EntityId> targetIds, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.addRelationItems(application, relation, targetIds, authorizationContext);
+        } finally {
+            timers.record("addRelationItems", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void removeRelationItems(@NonNull Application application, @NonNull RelationRequest relation,
+            @NonNull Set<EntityId> targetIds, @NonNull AuthorizationContext authorizationContext)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.removeRelationItems(application, relation, targetIds, authorizationContext);
+        } finally {
+            timers.record("removeRelationItems", application.getName(), relation.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        // The operations that run inside the work are timed separately
+        return delegate.runInTransaction(work);
+    }
+}
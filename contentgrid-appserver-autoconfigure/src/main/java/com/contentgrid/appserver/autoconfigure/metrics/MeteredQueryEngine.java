@@ -0,0 +1,235 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.domain.values.RelationRequest;
+import com.contentgrid.appserver.query.engine.api.EntityIdAndVersion;
+import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.api.UpdateResult;
+import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
+import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
+import com.contentgrid.appserver.query.engine.api.data.SliceData;
+import com.contentgrid.appserver.query.engine.api.data.SortData;
+import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import lombok.NonNull;
+
+/**
+ * Times every operation of a {@link QueryEngine}, per operation, application and entity
+ */
+class MeteredQueryEngine implements QueryEngine {
+
+    static final String METRIC_NAME = "contentgrid.query.operations";
+
+    private final QueryEngine delegate;
+    private final EntityOperationTimers timers;
+
+    MeteredQueryEngine(@NonNull QueryEngine delegate, @NonNull MeterRegistry registry) {
+        this.delegate = delegate;
+        this.timers = new EntityOperationTimers(registry, METRIC_NAME, "Time spent in query engine operations");
+    }
+
+    @Override
+    public SliceData findAll(@NonNull Application application, @NonNull Entity entity,
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> expression, SortData sortData,
+            @NonNull QueryPageData page) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findAll(application, entity, projection, expression, sortData, page);
+        } finally {
+            timers.record("findAll", application.getName(), entity.getName(), start);
+        }
+    }
+
+    @Override
+    public Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findById(application, entityRequest, projection, permitReadPredicate);
+        } finally {
+            timers.record("findById", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public List<EntityData> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findByIds(application, entityName, entityIds, projection, permitReadPredicate);
+        } finally {
+            timers.record("findByIds", application.getName(), entityName, start);
+        }
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findVersionById(@NonNull Application application,
+            @NonNull EntityRequest entityRequest, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findVersionById(application, entityRequest, permitReadPredicate);
+        } finally {
+            timers.record("findVersionById", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public EntityData create(@NonNull Application application, @NonNull EntityCreateData data,
+            @NonNull ThunkExpression<Boolean> permitCreatePredicate) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.create(application, data, permitCreatePredicate);
+        } finally {
+            timers.record("create", application.getName(), data.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public UpdateResult update(@NonNull Application application, @NonNull EntityData data,
+            @NonNull ThunkExpression<Boolean> permitUpdatePredicate) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.update(application, data, permitUpdatePredicate);
+        } finally {
+            timers.record("update", application.getName(), data.getName(), start);
+        }
+    }
+
+    @Override
+    public Optional<EntityData> delete(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ThunkExpression<Boolean> permitDeletePredicate) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.delete(application, entityRequest, permitDeletePredicate);
+        } finally {
+            timers.record("delete", application.getName(), entityRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void deleteAll(@NonNull Application application, @NonNull Entity entity) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.deleteAll(application, entity);
+        } finally {
+            timers.record("deleteAll", application.getName(), entity.getName(), start);
+        }
+    }
+
+    @Override
+    public boolean isLinked(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull EntityId targetId, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.isLinked(application, relationRequest, targetId, permitReadPredicate);
+        } finally {
+            timers.record("isLinked", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findTarget(@NonNull Application application,
+            @NonNull RelationRequest relationRequest, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findTarget(application, relationRequest, permitReadPredicate);
+        } finally {
+            timers.record("findTarget", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public Map<EntityId, List<EntityData>> findTargets(@NonNull Application application, @NonNull Relation relation,
+            @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.findTargets(application, relation, sourceIds, limitPerSource, permitReadPredicate);
+        } finally {
+            timers.record("findTargets", application.getName(), relation.getSourceEndPoint().getEntity(), start);
+        }
+    }
+
+    @Override
+    public void setLink(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull EntityId targetId, @NonNull ThunkExpression<Boolean> permitUpdatePredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.setLink(application, relationRequest, targetId, permitUpdatePredicate);
+        } finally {
+            timers.record("setLink", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void unsetLink(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull ThunkExpression<Boolean> permitUpdatePredicate) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.unsetLink(application, relationRequest, permitUpdatePredicate);
+        } finally {
+            timers.record("unsetLink", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void addLinks(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull Set<EntityId> targetIds, @NonNull ThunkExpression<Boolean> permitUpdatePredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.addLinks(application, relationRequest, targetIds, permitUpdatePredicate);
+        } finally {
+            timers.record("addLinks", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public void removeLinks(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull Set<EntityId> targetIds, @NonNull ThunkExpression<Boolean> permitUpdatePredicate)
+            throws QueryEngineException {
+        var start = timers.start();
+        try {
+            delegate.removeLinks(application, relationRequest, targetIds, permitUpdatePredicate);
+        } finally {
+            timers.record("removeLinks", application.getName(), relationRequest.getEntityName(), start);
+        }
+    }
+
+    @Override
+    public ItemCount count(@NonNull Application application, @NonNull Entity entity,
+            @NonNull ThunkExpression<Boolean> expression) throws QueryEngineException {
+        var start = timers.start();
+        try {
+            return delegate.count(application, entity, expression);
+        } finally {
+            timers.record("count", application.getName(), entity.getName(), start);
+        }
+    }
+
+    @Override
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        // The operations that run inside the work are timed separately
+        return delegate.runInTransaction(work);
+    }
+}
@@ -0,0 +1,46 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Replaces every bean of a type with a metered decorator.
+ * <p>
+ * Beans are left as they are when there is no {@link MeterRegistry}, so they don't pay for metrics that are not
+ * collected.
+ *
+ * @param <T> The type of the beans to decorate
+ */
+@RequiredArgsConstructor
+class MeteringBeanPostProcessor<T> implements BeanPostProcessor {
+
+    @NonNull
+    private final Class<T> type;
+
+    @NonNull
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    @NonNull
+    private final Decorator<T> decorator;
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!type.isInstance(bean)) {
+            return bean;
+        }
+        var registry = meterRegistry.getIfAvailable();
+        if (registry == null) {
+            return bean;
+        }
+        return decorator.decorate(type.cast(bean), registry, beanName);
+    }
+
+    @FunctionalInterface
+    interface Decorator<T> {
+
+        T decorate(T bean, MeterRegistry registry, String beanName);
+    }
+}
@@ -4,25 +4,37 @@ import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.autoconfigure.json.schema.ApplicationResolverAutoConfiguration;
 import com.contentgrid.appserver.query.engine.api.QueryEngine;
 import com.contentgrid.appserver.query.engine.api.TableCreator;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
 import com.contentgrid.appserver.query.engine.jooq.JOOQQueryEngine;
 import com.contentgrid.appserver.query.engine.jooq.JOOQTableCreator;
 import com.contentgrid.appserver.query.engine.jooq.TransactionalQueryEngine;
+import com.contentgrid.appserver.query.engine.jooq.count.JOOQCostBasedCountStrategy;
 import com.contentgrid.appserver.query.engine.jooq.count.JOOQCountStrategy;
 import com.contentgrid.appserver.query.engine.jooq.count.JOOQTimedCountStrategy;
+import com.contentgrid.appserver.query.engine.jooq.replica.ReplicaConsistency;
 import com.contentgrid.appserver.query.engine.jooq.resolver.AutowiredDSLContextResolver;
 import com.contentgrid.appserver.query.engine.jooq.resolver.DSLContextResolver;
+import com.contentgrid.appserver.query.engine.jooq.resolver.SchemaPerApplicationDSLContextResolver;
+import com.contentgrid.appserver.query.engine.jooq.slowquery.SlowQueryListener;
 import com.contentgrid.appserver.registry.ApplicationResolver;
+import java.time.Clock;
 import java.time.Duration;
 import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
+import org.jooq.impl.DefaultExecuteListenerProvider;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
 import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration(after = {JooqAutoConfiguration.class, ApplicationResolverAutoConfiguration.class})
@@ -31,18 +43,52 @@ import org.springframework.transaction.PlatformTransactionManager;
 public class JOOQQueryEngineAutoConfiguration {
 
     @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnBooleanProperty("contentgrid.appserver.query-engine.schema-per-application.enabled")
+    DSLContextResolver schemaPerApplicationDSLContextResolver(DSLContext dslContext,
+            @Value("${contentgrid.appserver.query-engine.schema-per-application.prefix:app_}") String schemaPrefix,
+            @Value("${contentgrid.appserver.query-engine.schema-per-application.statement-timeout:}") Duration statementTimeout) {
+        return new SchemaPerApplicationDSLContextResolver(dslContext, schemaPrefix, statementTimeout);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
     DSLContextResolver dslContextResolver(DSLContext dslContext) {
         return new AutowiredDSLContextResolver(dslContext);
     }
 
+    /**
+     * Counts with {@link JOOQCostBasedCountStrategy} when {@code contentgrid.appserver.query-engine.count.strategy} is
+     * {@code cost-based}:
+     * <ul>
+     *     <li>{@code count.max-exact-cost}: queries with at most this planner cost are counted exactly</li>
+     *     <li>{@code count.sample-rows}: the number of rows to sample for an estimate of other queries</li>
+     *     <li>{@code count.timeout}: how long an exact count or counting a sample may take</li>
+     * </ul>
+     * Every count first runs an {@code EXPLAIN} of the query to get its cost, so it costs an extra round trip to the
+     * database, also when the count ends up exact.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "contentgrid.appserver.query-engine.count.strategy", havingValue = "cost-based")
+    JOOQCountStrategy jooqCostBasedCountStrategy(
+            @Value("${contentgrid.appserver.query-engine.count.timeout:500ms}") Duration timeout,
+            @Value("${contentgrid.appserver.query-engine.count.max-exact-cost:10000}") double maxExactCost,
+            @Value("${contentgrid.appserver.query-engine.count.sample-rows:10000}") long sampleRows) {
+        return new JOOQCostBasedCountStrategy(new JOOQTimedCountStrategy(timeout), maxExactCost, sampleRows,
+                timeout);
+    }
+
     @Bean
+    @ConditionalOnMissingBean(JOOQCountStrategy.class)
     JOOQCountStrategy jooqTimedCountStrategy(@Value("${contentgrid.appserver.query-engine.count.timeout:500ms}") Duration timeout) {
         return new JOOQTimedCountStrategy(timeout);
     }
 
     @Bean
-    QueryEngine jooqQueryEngine(DSLContextResolver dslContextResolver, JOOQCountStrategy countStrategy, PlatformTransactionManager transactionManager) {
-        return new TransactionalQueryEngine(new JOOQQueryEngine(dslContextResolver, countStrategy), transactionManager);
+    QueryEngine jooqQueryEngine(DSLContextResolver dslContextResolver, JOOQCountStrategy countStrategy,
+            PlatformTransactionManager transactionManager, ObjectProvider<ReplicaConsistency> replicaConsistency) {
+        return new TransactionalQueryEngine(new JOOQQueryEngine(dslContextResolver, countStrategy), transactionManager,
+                replicaConsistency.getIfAvailable());
     }
 
     @Bean
@@ -57,6 +103,30 @@ public class JOOQQueryEngineAutoConfiguration {
         return new TableInitializer(tableCreator, applicationResolver);
     }
 
+    /**
+     * Records the queries that take longer than {@code contentgrid.appserver.query-engine.slow-query-log.threshold}.
+     * The listener is picked up by the jOOQ configuration of {@link JooqAutoConfiguration}.
+     */
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnBooleanProperty("contentgrid.appserver.query-engine.slow-query-log.enabled")
+    static class SlowQueryLogConfiguration {
+
+        @Bean
+        SlowQueryLog slowQueryLog(
+                @Value("${contentgrid.appserver.query-engine.slow-query-log.capacity:256}") int capacity) {
+            return new SlowQueryLog(capacity);
+        }
+
+        @Bean
+        ExecuteListenerProvider slowQueryListenerProvider(SlowQueryLog slowQueryLog,
+                @Value("${contentgrid.appserver.query-engine.slow-query-log.threshold:500ms}") Duration threshold,
+                @Value("${contentgrid.appserver.query-engine.slow-query-log.explain.enabled:false}") boolean explain,
+                @Value("${contentgrid.appserver.query-engine.slow-query-log.explain.interval:1m}") Duration explainInterval) {
+            return new DefaultExecuteListenerProvider(new SlowQueryListener(slowQueryLog, threshold,
+                    explain ? explainInterval : null, Clock.systemUTC()));
+        }
+    }
+
     @lombok.Value
     private static class TableInitializer implements InitializingBean, DisposableBean {
 
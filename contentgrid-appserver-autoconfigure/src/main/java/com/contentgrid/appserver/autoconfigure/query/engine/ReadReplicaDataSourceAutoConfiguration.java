@@ -0,0 +1,98 @@
+package com.contentgrid.appserver.autoconfigure.query.engine;
+
+import com.contentgrid.appserver.query.engine.jooq.replica.ReplicaConsistency;
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+/**
+ * Routes read-only transactions to a read replica when {@code contentgrid.appserver.datasource.replica.url} is set.
+ * <p>
+ * The primary is configured with the regular {@code spring.datasource} properties. The replica uses the same
+ * credentials, unless they are overridden with {@code contentgrid.appserver.datasource.replica.username} and
+ * {@code .password}; its pool is configured with {@code contentgrid.appserver.datasource.replica.hikari}.
+ */
+@AutoConfiguration(before = DataSourceAutoConfiguration.class)
+@ConditionalOnClass({ReplicaConsistency.class, HikariDataSource.class})
+@ConditionalOnProperty("contentgrid.appserver.datasource.replica.url")
+@EnableConfigurationProperties(DataSourceProperties.class)
+public class ReadReplicaDataSourceAutoConfiguration {
+
+    @Bean
+    ReadReplicaDataSources readReplicaDataSources(DataSourceProperties properties, Environment environment,
+            @Value("${contentgrid.appserver.datasource.replica.url}") String url,
+            @Value("${contentgrid.appserver.datasource.replica.username:#{null}}") String username,
+            @Value("${contentgrid.appserver.datasource.replica.password:#{null}}") String password) {
+        var binder = Binder.get(environment);
+
+        var primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        binder.bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+
+        var replicaBuilder = properties.initializeDataSourceBuilder().type(HikariDataSource.class).url(url);
+        if (username != null) {
+            replicaBuilder.username(username);
+        }
+        if (password != null) {
+            replicaBuilder.password(password);
+        }
+        var replica = replicaBuilder.build();
+        binder.bind("contentgrid.appserver.datasource.replica.hikari", Bindable.ofInstance(replica));
+
+        return new ReadReplicaDataSources(primary, replica);
+    }
+
+    @Bean
+    ReplicaConsistency replicaConsistency(ReadReplicaDataSources dataSources,
+            @Value("${contentgrid.appserver.datasource.replica.read-your-writes.max-wait:100ms}") Duration maxWait) {
+        return new ReplicaConsistency(dataSources.getPrimary(), maxWait);
+    }
+
+    @Bean
+    DataSource dataSource(ReplicaConsistency replicaConsistency, ReadReplicaDataSources dataSources) {
+        return replicaConsistency.routingDataSource(dataSources.getReplica());
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnWebApplication(type = Type.SERVLET)
+    @ConditionalOnBooleanProperty("contentgrid.appserver.datasource.replica.read-your-writes.enabled")
+    static class ReadYourWritesConfiguration {
+
+        @Bean
+        ReplicaConsistencyFilter replicaConsistencyFilter(ReplicaConsistency replicaConsistency) {
+            return new ReplicaConsistencyFilter(replicaConsistency);
+        }
+    }
+
+    /**
+     * Connection pools behind the routing data source; they are not exposed as {@link DataSource} beans, so the
+     * routing data source is the only candidate for injection
+     */
+    @lombok.Value
+    static class ReadReplicaDataSources implements DisposableBean {
+
+        HikariDataSource primary;
+        HikariDataSource replica;
+
+        @Override
+        public void destroy() {
+            replica.close();
+            primary.close();
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.contentgrid.appserver.autoconfigure.query.engine;
+
+import com.contentgrid.appserver.query.engine.jooq.replica.ReplicaConsistency;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Opens a {@link ReplicaConsistency} scope for every request.
+ * <p>
+ * After a write, the response carries a {@value #CONSISTENCY_TOKEN_HEADER} header. A client that sends this header
+ * back on a later request reads data that includes its earlier writes.
+ */
+@RequiredArgsConstructor
+class ReplicaConsistencyFilter extends OncePerRequestFilter {
+
+    static final String CONSISTENCY_TOKEN_HEADER = "Consistency-Token";
+
+    @NonNull
+    private final ReplicaConsistency replicaConsistency;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var token = request.getHeader(CONSISTENCY_TOKEN_HEADER);
+        try (var ignored = replicaConsistency.open(token, lsn -> response.setHeader(CONSISTENCY_TOKEN_HEADER, lsn))) {
+            filterChain.doFilter(request, response);
+        }
+    }
+}
@@ -3,17 +3,24 @@ package com.contentgrid.appserver.autoconfigure.rest;
 import com.contentgrid.appserver.autoconfigure.domain.ContentGridDomainAutoConfiguration;
 import com.contentgrid.appserver.domain.ContentApi;
 import com.contentgrid.appserver.domain.DatamodelApi;
+import com.contentgrid.appserver.registry.ApplicationNameExtractor;
+import com.contentgrid.appserver.registry.DefaultApplicationNameExtractor;
+import com.contentgrid.appserver.registry.HostApplicationNameExtractor;
 import com.contentgrid.appserver.rest.ContentGridRestConfiguration;
 import com.contentgrid.appserver.rest.EntityRestController;
 import com.contentgrid.thunx.api.autoconfigure.AbacContextAutoConfiguration;
 import com.contentgrid.thunx.api.autoconfigure.JwtAbacAutoConfiguration;
 import com.contentgrid.thunx.spring.data.context.AbacContextSupplier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication.Type;
 import org.springframework.boot.autoconfigure.web.servlet.WebMvcAutoConfiguration;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.core.convert.ConversionService;
 import org.springframework.hateoas.RepresentationModel;
@@ -26,4 +33,20 @@ import org.springframework.hateoas.RepresentationModel;
 @Import(ContentGridRestConfiguration.class)
 public class ContentGridRestAutoConfiguration {
 
+    /**
+     * Serves an application per subdomain of {@code contentgrid.appserver.application-name.domain}
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty("contentgrid.appserver.application-name.domain")
+    ApplicationNameExtractor hostApplicationNameExtractor(
+            @Value("${contentgrid.appserver.application-name.domain}") String domain) {
+        return new HostApplicationNameExtractor(domain);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    ApplicationNameExtractor defaultApplicationNameExtractor() {
+        return new DefaultApplicationNameExtractor();
+    }
 }
@@ -0,0 +1,80 @@
+package com.contentgrid.appserver.autoconfigure.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.impl.utils.ConcurrencyLimitedContentStore;
+import com.contentgrid.appserver.domain.ContentApi;
+import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.FilteredClassLoader;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+class ContentGridDomainAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ContentGridDomainAutoConfiguration.class))
+            .withUserConfiguration(TestConfiguration.class)
+            .withPropertyValues("contentgrid.appserver.content.max-concurrent-transfers=10");
+
+    @Test
+    void concurrencyLimitedContentApi() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).hasSingleBean(ContentApi.class);
+            assertThat(context).hasBean("concurrencyLimitedContentApi");
+        });
+    }
+
+    @Test
+    void contentApiWithoutUtils() {
+        contextRunner
+                .withClassLoader(new FilteredClassLoader(ConcurrencyLimitedContentStore.class))
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ContentApi.class);
+                    assertThat(context).hasBean("contentApi");
+                });
+    }
+
+    @Test
+    void customContentApi() {
+        contextRunner
+                .withUserConfiguration(CustomContentApiConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ContentApi.class);
+                    assertThat(context.getBean(ContentApi.class))
+                            .isSameAs(context.getBean(CustomContentApiConfiguration.class).customContentApi);
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class TestConfiguration {
+
+        @Bean
+        QueryEngine queryEngine() {
+            return Mockito.mock(QueryEngine.class);
+        }
+
+        @Bean
+        ContentStore contentStore() {
+            return Mockito.mock(ContentStore.class);
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class CustomContentApiConfiguration {
+
+        private final ContentApi customContentApi = Mockito.mock(ContentApi.class);
+
+        @Bean
+        ContentApi customContentApi() {
+            return customContentApi;
+        }
+    }
+}
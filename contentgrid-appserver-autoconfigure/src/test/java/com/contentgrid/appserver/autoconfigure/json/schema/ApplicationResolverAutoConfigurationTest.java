@@ -1,12 +1,21 @@
 package com.contentgrid.appserver.autoconfigure.json.schema;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.registry.ApplicationNotFoundException;
 import com.contentgrid.appserver.registry.ApplicationResolver;
+import com.contentgrid.appserver.registry.CachingApplicationResolver;
+import com.contentgrid.appserver.registry.ReloadableApplicationResolver;
 import com.contentgrid.appserver.registry.SingleApplicationResolver;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.logging.ConditionEvaluationReportLoggingListener;
 import org.springframework.boot.convert.ApplicationConversionService;
@@ -14,6 +23,7 @@ import org.springframework.boot.logging.LogLevel;
 import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
 
 class ApplicationResolverAutoConfigurationTest {
 
@@ -66,6 +76,100 @@ class ApplicationResolverAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void checkWithLocationProperty() {
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.application-models.location=classpath:applications/",
+                        "contentgrid.appserver.application-models.cache-size=5"
+                )
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(CachingApplicationResolver.class);
+                    var resolver = context.getBean(CachingApplicationResolver.class);
+                    assertThat(resolver.getMaximumSize()).isEqualTo(5);
+
+                    var application = resolver.resolve(ApplicationName.of("default"));
+                    assertThat(application.getEntities()).isNotEmpty();
+                    assertThat(resolver.resolve(ApplicationName.of("default"))).isSameAs(application);
+
+                    assertThatThrownBy(() -> resolver.resolve(ApplicationName.of("unknown")))
+                            .isInstanceOf(ApplicationNotFoundException.class);
+                });
+    }
+
+    @Test
+    void checkWithLocationProperty_invalidApplicationName() {
+        contextRunner
+                .withPropertyValues("contentgrid.appserver.application-models.location=classpath:applications/")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    var resolver = context.getBean(ApplicationResolver.class);
+
+                    // Names that could resolve a resource outside the location are never loaded
+                    for (var name : List.of("../test", "../applications/default", "/test", "default.json#", "", "a.b")) {
+                        assertThatThrownBy(() -> resolver.resolve(ApplicationName.of(name)))
+                                .isInstanceOf(ApplicationNotFoundException.class);
+                    }
+                });
+    }
+
+    @Test
+    void checkWithLocationProperty_mismatchingApplicationName() {
+        contextRunner
+                .withPropertyValues("contentgrid.appserver.application-models.location=classpath:")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    var resolver = context.getBean(ApplicationResolver.class);
+
+                    // test.json contains the 'default' application
+                    assertThatThrownBy(() -> resolver.resolve(ApplicationName.of("test")))
+                            .isInstanceOf(IllegalStateException.class);
+                });
+    }
+
+    @Test
+    void checkWithReloadEnabled(@TempDir Path tempDir) throws Exception {
+        var model = tempDir.resolve("application.json");
+        var json = new ClassPathResource("test.json").getContentAsString(StandardCharsets.UTF_8);
+        Files.writeString(model, json);
+
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.application-model=" + model.toUri(),
+                        "contentgrid.appserver.application-model-reload.enabled=true",
+                        "contentgrid.appserver.application-model-reload.interval=1h"
+                )
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ReloadableApplicationResolver.class);
+                    assertThat(context).hasSingleBean(ApplicationModelWatcher.class);
+
+                    var resolver = context.getBean(ReloadableApplicationResolver.class);
+                    var watcher = context.getBean(ApplicationModelWatcher.class);
+                    var original = resolver.getApplication();
+                    assertThat(watcher.getResolver()).isSameAs(resolver);
+
+                    // Unchanged content is not reloaded
+                    assertThat(watcher.checkForChanges()).isFalse();
+
+                    // Invalid content is ignored, also when it is checked again
+                    Files.writeString(model, "{ \"invalid\": ");
+                    assertThat(watcher.checkForChanges()).isFalse();
+                    assertThat(watcher.checkForChanges()).isFalse();
+                    assertThat(resolver.getApplication()).isSameAs(original);
+
+                    // A missing model is ignored
+                    Files.delete(model);
+                    assertThat(watcher.checkForChanges()).isFalse();
+                    assertThat(resolver.getApplication()).isSameAs(original);
+
+                    Files.writeString(model, json.replace("\"applicationName\": \"default\"", "\"applicationName\": \"changed\""));
+                    assertThat(watcher.checkForChanges()).isTrue();
+                    assertThat(resolver.getApplication().getName()).isEqualTo(ApplicationName.of("changed"));
+                });
+    }
+
     @Configuration
     static class TestConfiguration {
 
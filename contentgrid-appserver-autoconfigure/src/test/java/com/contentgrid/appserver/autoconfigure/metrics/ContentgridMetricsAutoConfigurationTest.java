@@ -0,0 +1,154 @@
+package com.contentgrid.appserver.autoconfigure.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.autoconfigure.contentstore.FilesystemContentStoreAutoConfiguration;
+import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.api.range.ContentRangeRequest;
+import com.contentgrid.appserver.contentstore.api.range.ResolvedContentRange;
+import com.contentgrid.appserver.domain.paging.cursor.CursorCodec;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.logging.ConditionEvaluationReportLoggingListener;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+class ContentgridMetricsAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            // Use initializer to have default conversion service
+            .withInitializer(applicationContext -> applicationContext.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withInitializer(ConditionEvaluationReportLoggingListener.forLogLevel(LogLevel.INFO))
+            .withConfiguration(AutoConfigurations.of(FilesystemContentStoreAutoConfiguration.class,
+                    ContentgridMetricsAutoConfiguration.class))
+            .withUserConfiguration(TestConfiguration.class)
+            .withPropertyValues("contentgrid.appserver.content-store.type=ephemeral");
+
+    @Test
+    void checkDefaults() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).getBean(QueryEngine.class).isInstanceOf(MeteredQueryEngine.class);
+                    assertThat(context).getBean(ContentStore.class).isInstanceOf(MeteredContentStore.class);
+                    assertThat(context).getBean(CursorCodec.class).isInstanceOf(MeteredCursorCodec.class);
+                });
+    }
+
+    @Test
+    void checkWithoutMeterRegistry() {
+        contextRunner
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).getBean(QueryEngine.class).isNotInstanceOf(MeteredQueryEngine.class);
+                    assertThat(context).getBean(ContentStore.class).isNotInstanceOf(MeteredContentStore.class);
+                    assertThat(context).getBean(CursorCodec.class).isNotInstanceOf(MeteredCursorCodec.class);
+                });
+    }
+
+    @Test
+    void checkMetricsDisabled() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .withPropertyValues("contentgrid.appserver.metrics.enabled=false")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).getBean(QueryEngine.class).isNotInstanceOf(MeteredQueryEngine.class);
+                    assertThat(context).getBean(ContentStore.class).isNotInstanceOf(MeteredContentStore.class);
+                    assertThat(context).getBean(CursorCodec.class).isNotInstanceOf(MeteredCursorCodec.class);
+                });
+    }
+
+    @Test
+    void checkContentStoreMetrics() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    var registry = context.getBean(MeterRegistry.class);
+                    var contentStore = context.getBean(ContentStore.class);
+
+                    var accessor = contentStore.writeContent(new ByteArrayInputStream(new byte[100]));
+                    try (var stream = contentStore.getReader(accessor.getReference(), ResolvedContentRange.fullRange(100))
+                            .getContentInputStream()) {
+                        stream.readAllBytes();
+                    }
+                    try (var stream = contentStore.getReader(accessor.getReference(),
+                            ContentRangeRequest.createRange(10, 19).resolve(100)).getContentInputStream()) {
+                        stream.readAllBytes();
+                    }
+
+                    assertThat(registry.get(MeteredContentStore.WRITE_BYTES_METRIC_NAME).counter().count())
+                            .isEqualTo(100);
+                    assertThat(registry.get(MeteredContentStore.READ_BYTES_METRIC_NAME).tag("range", "false")
+                            .counter().count()).isEqualTo(100);
+                    assertThat(registry.get(MeteredContentStore.READ_BYTES_METRIC_NAME).tag("range", "true")
+                            .counter().count()).isEqualTo(10);
+                    assertThat(registry.get(MeteredContentStore.READ_METRIC_NAME).tag("range", "true")
+                            .timer().count()).isEqualTo(1);
+                });
+    }
+
+    @Test
+    void evictedApplicationMetersAreRemoved() {
+        contextRunner
+                .withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                .run(context -> {
+                    var registry = context.getBean(MeterRegistry.class);
+                    var queryEngine = context.getBean(QueryEngine.class);
+                    var listener = context.getBean(ApplicationEvictionListener.class);
+                    var appA = Application.builder().name(ApplicationName.of("app-a")).build();
+                    var appB = Application.builder().name(ApplicationName.of("app-b")).build();
+                    var request = EntityRequest.forEntity(EntityName.of("invoice"), EntityId.of(UUID.randomUUID()));
+
+                    queryEngine.findById(appA, request, ProjectionData.all(), Scalar.of(true));
+                    queryEngine.findById(appB, request, ProjectionData.all(), Scalar.of(true));
+
+                    assertThat(registry.get(MeteredQueryEngine.METRIC_NAME).tag("application", "app-a")
+                            .tag("entity", "invoice").timer().count()).isEqualTo(1);
+
+                    listener.onApplicationEvicted(appA.getName());
+
+                    assertThat(registry.find(MeteredQueryEngine.METRIC_NAME).tag("application", "app-a").meters())
+                            .isEmpty();
+                    assertThat(registry.get(MeteredQueryEngine.METRIC_NAME).tag("application", "app-b")
+                            .timer().count()).isEqualTo(1);
+
+                    // Registered again when the application is served again
+                    queryEngine.findById(appA, request, ProjectionData.all(), Scalar.of(true));
+                    assertThat(registry.get(MeteredQueryEngine.METRIC_NAME).tag("application", "app-a")
+                            .timer().count()).isEqualTo(1);
+                });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class TestConfiguration {
+
+        @Bean
+        QueryEngine queryEngine() {
+            return Mockito.mock(QueryEngine.class);
+        }
+
+        @Bean
+        CursorCodec cursorCodec() {
+            return Mockito.mock(CursorCodec.class);
+        }
+    }
+}
@@ -5,11 +5,18 @@ import static org.assertj.core.api.Assertions.assertThat;
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
+import com.contentgrid.appserver.query.engine.jooq.count.JOOQCostBasedCountStrategy;
+import com.contentgrid.appserver.query.engine.jooq.count.JOOQCountStrategy;
 import com.contentgrid.appserver.query.engine.jooq.count.JOOQTimedCountStrategy;
+import com.contentgrid.appserver.query.engine.jooq.resolver.AutowiredDSLContextResolver;
 import com.contentgrid.appserver.query.engine.jooq.resolver.DSLContextResolver;
+import com.contentgrid.appserver.query.engine.jooq.resolver.SchemaPerApplicationDSLContextResolver;
 import com.contentgrid.appserver.registry.ApplicationResolver;
 import com.contentgrid.appserver.registry.SingleApplicationResolver;
 import java.time.Duration;
+import org.jooq.DSLContext;
+import org.jooq.ExecuteListenerProvider;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
@@ -84,6 +91,74 @@ class JOOQQueryEngineAutoConfigurationTest {
                 });
     }
 
+    @Test
+    void checkCostBasedCountStrategy() {
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.query-engine.count.strategy=cost-based",
+                        "contentgrid.appserver.query-engine.count.sample-rows=500"
+                )
+                .withUserConfiguration(TestConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(JOOQCountStrategy.class);
+                    assertThat(context).getBean(JOOQCountStrategy.class)
+                            .isInstanceOf(JOOQCostBasedCountStrategy.class)
+                            .hasFieldOrPropertyWithValue("sampleRows", 500L);
+                });
+    }
+
+    @Test
+    void checkSchemaPerApplication() {
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.query-engine.schema-per-application.enabled=true",
+                        "contentgrid.appserver.query-engine.schema-per-application.statement-timeout=5s"
+                )
+                .withUserConfiguration(TestConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(SchemaPerApplicationDSLContextResolver.class);
+                    assertThat(context).doesNotHaveBean(AutowiredDSLContextResolver.class);
+                    assertThat(context).getBean(SchemaPerApplicationDSLContextResolver.class)
+                            .hasFieldOrPropertyWithValue("statementTimeout", Duration.ofSeconds(5));
+                });
+    }
+
+    @Test
+    void checkSlowQueryLog_disabledByDefault() {
+        contextRunner
+                .withUserConfiguration(TestConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).doesNotHaveBean(SlowQueryLog.class);
+                    assertThat(context).doesNotHaveBean("slowQueryListenerProvider");
+                });
+    }
+
+    @Test
+    void checkSlowQueryLog_enabled() {
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.query-engine.slow-query-log.enabled=true",
+                        "contentgrid.appserver.query-engine.slow-query-log.capacity=10",
+                        "contentgrid.appserver.query-engine.slow-query-log.threshold=0ms"
+                )
+                .withUserConfiguration(TestConfiguration.class)
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(SlowQueryLog.class);
+                    assertThat(context.getBean(SlowQueryLog.class).getCapacity()).isEqualTo(10);
+                    assertThat(context.getBean(org.jooq.Configuration.class).executeListenerProviders())
+                            .contains(context.getBean("slowQueryListenerProvider", ExecuteListenerProvider.class));
+
+                    // Every query is slow with a threshold of 0
+                    context.getBean(DSLContext.class).selectOne().fetch();
+                    assertThat(context.getBean(SlowQueryLog.class).getEntries())
+                            .anySatisfy(query -> assertThat(query.getSql()).startsWith("select 1"));
+                });
+    }
+
     @Configuration
     static class TestConfiguration {
 
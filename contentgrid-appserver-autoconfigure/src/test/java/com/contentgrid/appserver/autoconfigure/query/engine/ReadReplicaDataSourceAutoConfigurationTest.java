@@ -0,0 +1,62 @@
+package com.contentgrid.appserver.autoconfigure.query.engine;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.appserver.query.engine.jooq.replica.ReplicaConsistency;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.logging.ConditionEvaluationReportLoggingListener;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+class ReadReplicaDataSourceAutoConfigurationTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            // Use initializer to have default conversion service
+            .withInitializer(applicationContext -> applicationContext.getBeanFactory().setConversionService(new ApplicationConversionService()))
+            .withInitializer(ConditionEvaluationReportLoggingListener.forLogLevel(LogLevel.INFO))
+            .withConfiguration(AutoConfigurations.of(ReadReplicaDataSourceAutoConfiguration.class,
+                    DataSourceAutoConfiguration.class, TransactionAutoConfiguration.class,
+                    DataSourceTransactionManagerAutoConfiguration.class))
+            .withPropertyValues("spring.datasource.url=jdbc:tc:postgresql:15:///");
+
+    @Test
+    void checkDefaults() {
+        contextRunner.run(context -> {
+            assertThat(context).hasNotFailed();
+            assertThat(context).doesNotHaveBean(ReplicaConsistency.class);
+            assertThat(context).getBean(DataSource.class).isNotInstanceOf(LazyConnectionDataSourceProxy.class);
+        });
+    }
+
+    @Test
+    void checkReplica() {
+        contextRunner
+                .withPropertyValues("contentgrid.appserver.datasource.replica.url=jdbc:tc:postgresql:15:///")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ReplicaConsistency.class);
+                    assertThat(context).getBean(DataSource.class).isInstanceOf(LazyConnectionDataSourceProxy.class);
+                    assertThat(context).doesNotHaveBean(ReplicaConsistencyFilter.class);
+                });
+    }
+
+    @Test
+    void checkReadYourWrites() {
+        contextRunner
+                .withPropertyValues(
+                        "contentgrid.appserver.datasource.replica.url=jdbc:tc:postgresql:15:///",
+                        "contentgrid.appserver.datasource.replica.read-your-writes.enabled=true"
+                )
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).hasSingleBean(ReplicaConsistencyFilter.class);
+                });
+    }
+}
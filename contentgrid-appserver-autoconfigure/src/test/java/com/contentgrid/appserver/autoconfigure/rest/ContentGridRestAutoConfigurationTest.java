@@ -7,12 +7,16 @@ import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.autoconfigure.contentstore.FilesystemContentStoreAutoConfiguration;
 import com.contentgrid.appserver.autoconfigure.domain.ContentGridDomainAutoConfiguration;
 import com.contentgrid.appserver.autoconfigure.query.engine.JOOQQueryEngineAutoConfiguration;
+import com.contentgrid.appserver.registry.ApplicationNameExtractor;
 import com.contentgrid.appserver.registry.ApplicationResolver;
+import com.contentgrid.appserver.registry.DefaultApplicationNameExtractor;
+import com.contentgrid.appserver.registry.HostApplicationNameExtractor;
 import com.contentgrid.appserver.registry.SingleApplicationResolver;
 import com.contentgrid.appserver.rest.EntityRestController;
 import com.contentgrid.thunx.api.autoconfigure.AbacContextAutoConfiguration;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
 import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
 import org.springframework.boot.autoconfigure.jooq.JooqAutoConfiguration;
@@ -43,6 +47,7 @@ class ContentGridRestAutoConfigurationTest {
                     // autoconfiguration for domain
                     ContentGridDomainAutoConfiguration.class,
                     // autoconfigurations for rest
+                    JacksonAutoConfiguration.class,
                     WebMvcAutoConfiguration.class,
                     AbacContextAutoConfiguration.class,
                     ContentGridRestAutoConfiguration.class
@@ -59,6 +64,19 @@ class ContentGridRestAutoConfigurationTest {
                 .run(context -> {
                     assertThat(context).hasNotFailed();
                     assertThat(context).hasSingleBean(EntityRestController.class);
+                    assertThat(context).getBean(ApplicationNameExtractor.class)
+                            .isInstanceOf(DefaultApplicationNameExtractor.class);
+                });
+    }
+
+    @Test
+    void checkApplicationNameDomain() {
+        contextRunner
+                .withPropertyValues("contentgrid.appserver.application-name.domain=apps.example.com")
+                .run(context -> {
+                    assertThat(context).hasNotFailed();
+                    assertThat(context).getBean(ApplicationNameExtractor.class)
+                            .isInstanceOf(HostApplicationNameExtractor.class);
                 });
     }
 
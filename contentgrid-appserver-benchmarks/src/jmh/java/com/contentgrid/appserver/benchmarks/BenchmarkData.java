@@ -0,0 +1,92 @@
+package com.contentgrid.appserver.benchmarks;
+
+import com.contentgrid.appserver.application.model.Constraint.AllowedValuesConstraint;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.Attribute;
+import com.contentgrid.appserver.application.model.attributes.CompositeAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.jooq.EntityDataMapper;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.experimental.UtilityClass;
+
+/**
+ * Generates rows and entity data for the entities of an application, as they would be returned by the database
+ */
+@UtilityClass
+public class BenchmarkData {
+
+    /**
+     * Generates a database row for an entity, with a value for every column
+     *
+     * @param entity The entity to generate a row for
+     * @param index The index of the row, which makes the values of the row unique
+     * @return The row, by column name
+     */
+    public Map<String, Object> row(Entity entity, int index) {
+        var row = new HashMap<String, Object>();
+        for (var attribute : entity.getAttributes()) {
+            putColumns(row, attribute, index);
+        }
+        row.put(entity.getPrimaryKey().getColumn().getValue(), new UUID(0, index));
+        return row;
+    }
+
+    private void putColumns(Map<String, Object> row, Attribute attribute, int index) {
+        switch (attribute) {
+            case SimpleAttribute simpleAttribute -> row.put(simpleAttribute.getColumn().getValue(), value(simpleAttribute, index));
+            case CompositeAttribute compositeAttribute -> {
+                for (var child : compositeAttribute.getAttributes()) {
+                    putColumns(row, child, index);
+                }
+            }
+        }
+    }
+
+    private Object value(SimpleAttribute attribute, int index) {
+        return switch (attribute.getType()) {
+            case TEXT -> attribute.getConstraint(AllowedValuesConstraint.class)
+                    .<Object>map(constraint -> constraint.getValues().getFirst())
+                    .orElseGet(() -> attribute.getName().getValue() + "-" + index);
+            case LONG -> (long) index;
+            case DOUBLE -> BigDecimal.valueOf(index, 2);
+            case BOOLEAN -> index % 2 == 0;
+            case DATETIME -> OffsetDateTime.ofInstant(Instant.ofEpochSecond(1_700_000_000L + index), ZoneOffset.UTC);
+            case UUID -> new UUID(1, index);
+        };
+    }
+
+    /**
+     * Generates entity data for an entity, as it is returned by the query engine
+     *
+     * @param entity The entity to generate data for
+     * @param index The index of the entity, which makes the values of the entity unique
+     * @return The entity data
+     */
+    public EntityData entityData(Entity entity, int index) {
+        return EntityDataMapper.from(entity, row(entity, index));
+    }
+
+    /**
+     * Generates entity data for a page of entities
+     *
+     * @param entity The entity to generate data for
+     * @param size The number of entities on the page
+     * @return The entity data
+     */
+    public List<EntityData> page(Entity entity, int size) {
+        var result = new ArrayList<EntityData>(size);
+        for (int i = 0; i < size; i++) {
+            result.add(entityData(entity, i));
+        }
+        return result;
+    }
+}
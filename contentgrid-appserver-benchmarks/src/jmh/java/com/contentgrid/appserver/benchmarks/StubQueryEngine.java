@@ -0,0 +1,146 @@
+package com.contentgrid.appserver.benchmarks;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityIdentity;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.domain.values.RelationRequest;
+import com.contentgrid.appserver.query.engine.api.EntityIdAndVersion;
+import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.api.UpdateResult;
+import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
+import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
+import com.contentgrid.appserver.query.engine.api.data.SliceData;
+import com.contentgrid.appserver.query.engine.api.data.SortData;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Query engine that returns fixed data without accessing a database, so only the layers above the query engine are
+ * measured
+ */
+@RequiredArgsConstructor
+public class StubQueryEngine implements QueryEngine {
+
+    private static final EntityId CREATED_ID = EntityId.of(new UUID(2, 0));
+
+    @NonNull
+    private final List<EntityData> entities;
+
+    @NonNull
+    private final ItemCount count;
+
+    @Override
+    public SliceData findAll(@NonNull Application application, @NonNull Entity entity, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> expression, SortData sortData, @NonNull QueryPageData page) {
+        return SliceData.builder().entities(entities).build();
+    }
+
+    @Override
+    public Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        return entities.stream().findFirst();
+    }
+
+    @Override
+    public List<EntityData> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        return entities;
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findVersionById(@NonNull Application application,
+            @NonNull EntityRequest entityRequest, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public EntityData create(@NonNull Application application, @NonNull EntityCreateData data,
+            @NonNull ThunkExpression<Boolean> permitCreatePredicate) {
+        return new EntityData(EntityIdentity.forEntity(data.getEntityName(), CREATED_ID), data.getAttributes());
+    }
+
+    @Override
+    public UpdateResult update(@NonNull Application application, @NonNull EntityData data,
+            @NonNull ThunkExpression<Boolean> permitUpdatePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<EntityData> delete(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ThunkExpression<Boolean> permitDeletePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void deleteAll(@NonNull Application application, @NonNull Entity entity) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public boolean isLinked(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull EntityId targetId, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findTarget(@NonNull Application application,
+            @NonNull RelationRequest relationRequest, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Map<EntityId, List<EntityData>> findTargets(@NonNull Application application, @NonNull Relation relation,
+            @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void setLink(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull EntityId targetId, @NonNull ThunkExpression<Boolean> permitUpdatePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void unsetLink(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull ThunkExpression<Boolean> permitUpdatePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void addLinks(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull Set<EntityId> targetIds, @NonNull ThunkExpression<Boolean> permitUpdatePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public void removeLinks(@NonNull Application application, @NonNull RelationRequest relationRequest,
+            @NonNull Set<EntityId> targetIds, @NonNull ThunkExpression<Boolean> permitUpdatePredicate) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public ItemCount count(@NonNull Application application, @NonNull Entity entity,
+            @NonNull ThunkExpression<Boolean> expression) {
+        return count;
+    }
+
+    @Override
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        return work.execute();
+    }
+}
@@ -0,0 +1,80 @@
+package com.contentgrid.appserver.domain;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.benchmarks.BenchmarkData;
+import com.contentgrid.appserver.benchmarks.StubQueryEngine;
+import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
+import com.contentgrid.appserver.domain.data.DataEntry.RelationDataEntry;
+import com.contentgrid.appserver.domain.data.EntityInstance;
+import com.contentgrid.appserver.domain.data.InvalidPropertyDataException;
+import com.contentgrid.appserver.domain.data.MapRequestInputData;
+import com.contentgrid.appserver.domain.paging.ResultSlice;
+import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
+import com.contentgrid.appserver.domain.paging.cursor.RequestIntegrityCheckCursorCodec;
+import com.contentgrid.appserver.domain.paging.cursor.SimplePageBasedCursorCodec;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.query.engine.api.data.SortData;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Runs the mapper pipelines of the datamodel API on top of a query engine that returns fixed data, so the time spent
+ * in the database is not part of the measurement
+ */
+@State(Scope.Benchmark)
+public class DatamodelApiImplBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final DatamodelApi datamodelApi = new DatamodelApiImpl(
+            // One extra row, so there is a next page and the total count is requested
+            new StubQueryEngine(BenchmarkData.page(ModelTestFixtures.INVOICE, PAGE_SIZE + 1), ItemCount.exact(1000)),
+            // No content is uploaded
+            null,
+            new RequestIntegrityCheckCursorCodec(new SimplePageBasedCursorCodec()),
+            Clock.fixed(Instant.ofEpochSecond(1_700_000_000L), ZoneOffset.UTC)
+    );
+
+    private final Map<String, List<String>> params = Map.of("confidentiality", List.of("public"));
+
+    private final EncodedCursorPagination pagination = new EncodedCursorPagination(null, PAGE_SIZE, SortData.unsorted());
+
+    private final EntityRequest entityRequest = EntityRequest.forEntity(ModelTestFixtures.INVOICE.getName(),
+            EntityId.of(new UUID(0, 1)));
+
+    private final Map<String, Object> createData = Map.of(
+            "number", "invoice-1",
+            "amount", 1.50,
+            "received", Instant.ofEpochSecond(1_700_000_000L),
+            "is_paid", false,
+            "confidentiality", "public",
+            "customer", new RelationDataEntry(ModelTestFixtures.PERSON.getName(), EntityId.of(new UUID(0, 2)))
+    );
+
+    @Benchmark
+    public ResultSlice findAll() {
+        return datamodelApi.findAll(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE, params, pagination,
+                AuthorizationContext.allowAll());
+    }
+
+    @Benchmark
+    public Optional<? extends EntityInstance> findById() {
+        return datamodelApi.findById(ModelTestFixtures.APPLICATION, entityRequest, AuthorizationContext.allowAll());
+    }
+
+    @Benchmark
+    public EntityInstance create() throws InvalidPropertyDataException {
+        return datamodelApi.create(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                MapRequestInputData.fromMap(createData), AuthorizationContext.allowAll());
+    }
+}
@@ -0,0 +1,38 @@
+package com.contentgrid.appserver.domain;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts the search parameters of a request to a filter expression
+ */
+@State(Scope.Benchmark)
+public class ThunkExpressionGeneratorBenchmark {
+
+    private final Map<String, List<String>> attributeParams = Map.of(
+            "number", List.of("invoice-1"),
+            "amount~gte", List.of("10.50"),
+            "received~after", List.of("2024-01-01T00:00:00Z")
+    );
+
+    private final Map<String, List<String>> relationParams = Map.of(
+            "customer.name~prefix", List.of("alice"),
+            "products.code", List.of("abc", "def", "ghi"),
+            "previous_invoice.number", List.of("invoice-0")
+    );
+
+    @Benchmark
+    public ThunkExpression<Boolean> attributeFilters() {
+        return ThunkExpressionGenerator.from(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE, attributeParams);
+    }
+
+    @Benchmark
+    public ThunkExpression<Boolean> relationFilters() {
+        return ThunkExpressionGenerator.from(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE, relationParams);
+    }
+}
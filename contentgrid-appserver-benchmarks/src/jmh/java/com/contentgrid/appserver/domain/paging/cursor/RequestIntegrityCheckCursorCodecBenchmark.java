@@ -0,0 +1,57 @@
+package com.contentgrid.appserver.domain.paging.cursor;
+
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.SortableName;
+import com.contentgrid.appserver.domain.paging.PageBasedPagination;
+import com.contentgrid.appserver.domain.paging.cursor.CursorCodec.CursorContext;
+import com.contentgrid.appserver.query.engine.api.data.SortData;
+import com.contentgrid.appserver.query.engine.api.data.SortData.Direction;
+import com.contentgrid.appserver.query.engine.api.data.SortData.FieldSort;
+import com.contentgrid.hateoas.pagination.api.Pagination;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encodes and decodes cursors with an integrity check over the request parameters
+ */
+@State(Scope.Benchmark)
+public class RequestIntegrityCheckCursorCodecBenchmark {
+
+    private static final EntityName ENTITY = EntityName.of("invoice");
+
+    private static final SortData SORT = new SortData(List.of(
+            new FieldSort(Direction.ASC, SortableName.of("number")),
+            new FieldSort(Direction.DESC, SortableName.of("amount"))
+    ));
+
+    private static final Map<String, List<String>> PARAMS = Map.of(
+            "confidentiality", List.of("public"),
+            "amount~gte", List.of("10.50"),
+            "customer.name~prefix", List.of("alice", "bob")
+    );
+
+    private final CursorCodec codec = new RequestIntegrityCheckCursorCodec(new SimplePageBasedCursorCodec());
+
+    private final Pagination pagination = new PageBasedPagination(20, 3);
+
+    private CursorContext encoded;
+
+    @Setup
+    public void setup() {
+        encoded = codec.encodeCursor(pagination, ENTITY, SORT, PARAMS);
+    }
+
+    @Benchmark
+    public CursorContext encode() {
+        return codec.encodeCursor(pagination, ENTITY, SORT, PARAMS);
+    }
+
+    @Benchmark
+    public Pagination decode() {
+        return codec.decodeCursor(encoded, ENTITY, PARAMS);
+    }
+}
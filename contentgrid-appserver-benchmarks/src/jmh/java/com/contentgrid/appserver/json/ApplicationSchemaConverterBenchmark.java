@@ -0,0 +1,142 @@
+package com.contentgrid.appserver.json;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Constraint;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute.Type;
+import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
+import com.contentgrid.appserver.application.model.relations.Relation.RelationEndPoint;
+import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter;
+import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter.Operation;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.ColumnName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.application.model.values.LinkName;
+import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.application.model.values.TableName;
+import com.contentgrid.appserver.json.exceptions.InvalidJsonException;
+import com.contentgrid.appserver.json.validation.ApplicationSchemaValidator;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Loads the schema of a generated application with many entities.
+ * <p>
+ * Converting the same document again skips schema validation, as happens when an application is reloaded; the cost of
+ * that validation is measured separately.
+ */
+@State(Scope.Benchmark)
+public class ApplicationSchemaConverterBenchmark {
+
+    @Param({"500"})
+    public int entities;
+
+    private final DefaultApplicationSchemaConverter converter = new DefaultApplicationSchemaConverter();
+
+    private final ApplicationSchemaValidator validator = new ApplicationSchemaValidator();
+
+    private byte[] schema;
+
+    private String schemaString;
+
+    @Setup
+    public void setup() {
+        var out = new ByteArrayOutputStream();
+        converter.toJson(generateApplication(entities), out);
+        schema = out.toByteArray();
+        schemaString = new String(schema, StandardCharsets.UTF_8);
+    }
+
+    private static Application generateApplication(int size) {
+        var builder = Application.builder().name(ApplicationName.of("benchmark-application"));
+        for (int i = 0; i < size; i++) {
+            builder.entity(generateEntity(i));
+            if (i > 0) {
+                builder.relation(generateRelation(i, i - 1));
+            }
+        }
+        return builder.build();
+    }
+
+    private static Entity generateEntity(int index) {
+        var name = "entity_" + index;
+        var title = SimpleAttribute.builder()
+                .name(AttributeName.of("title"))
+                .column(ColumnName.of("title"))
+                .type(Type.TEXT)
+                .constraint(Constraint.required())
+                .build();
+        return Entity.builder()
+                .name(EntityName.of(name))
+                .table(TableName.of(name))
+                .pathSegment(PathSegmentName.of(name + "s"))
+                .linkName(LinkName.of(name + "s"))
+                .primaryKey(SimpleAttribute.builder()
+                        .name(AttributeName.of("id"))
+                        .column(ColumnName.of("id"))
+                        .type(Type.UUID)
+                        .build())
+                .attribute(title)
+                .attribute(SimpleAttribute.builder()
+                        .name(AttributeName.of("amount"))
+                        .column(ColumnName.of("amount"))
+                        .type(Type.DOUBLE)
+                        .build())
+                .attribute(SimpleAttribute.builder()
+                        .name(AttributeName.of("received"))
+                        .column(ColumnName.of("received"))
+                        .type(Type.DATETIME)
+                        .build())
+                .attribute(SimpleAttribute.builder()
+                        .name(AttributeName.of("status"))
+                        .column(ColumnName.of("status"))
+                        .type(Type.TEXT)
+                        .constraint(Constraint.allowedValues(List.of("open", "closed")))
+                        .build())
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.PREFIX)
+                        .attribute(title)
+                        .name(FilterName.of("title~prefix"))
+                        .build())
+                .build();
+    }
+
+    private static ManyToOneRelation generateRelation(int source, int target) {
+        return ManyToOneRelation.builder()
+                .sourceEndPoint(RelationEndPoint.builder()
+                        .entity(EntityName.of("entity_" + source))
+                        .name(RelationName.of("parent"))
+                        .pathSegment(PathSegmentName.of("parent"))
+                        .linkName(LinkName.of("parent"))
+                        .build())
+                .targetEndPoint(RelationEndPoint.builder()
+                        .entity(EntityName.of("entity_" + target))
+                        .name(RelationName.of("children"))
+                        .pathSegment(PathSegmentName.of("children"))
+                        .linkName(LinkName.of("children"))
+                        .build())
+                .targetReference(ColumnName.of("parent"))
+                .build();
+    }
+
+    @Benchmark
+    public Application convert() throws InvalidJsonException {
+        return converter.convert(new ByteArrayInputStream(schema));
+    }
+
+    @Benchmark
+    public void validate() throws InvalidJsonException {
+        validator.validate(schemaString);
+    }
+}
@@ -0,0 +1,39 @@
+package com.contentgrid.appserver.query.engine.jooq;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.benchmarks.BenchmarkData;
+import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import java.util.Map;
+import java.util.Set;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Maps database rows to entity data
+ */
+@State(Scope.Benchmark)
+public class EntityDataMapperBenchmark {
+
+    private final Map<String, Object> invoiceRow = BenchmarkData.row(ModelTestFixtures.INVOICE, 1);
+
+    private final Map<String, Object> personRow = BenchmarkData.row(ModelTestFixtures.PERSON, 1);
+
+    private final ProjectionData projection = ProjectionData.of(Set.of("number", "amount"));
+
+    @Benchmark
+    public EntityData invoice() {
+        return EntityDataMapper.from(ModelTestFixtures.INVOICE, invoiceRow);
+    }
+
+    @Benchmark
+    public EntityData invoiceProjection() {
+        return EntityDataMapper.from(ModelTestFixtures.INVOICE, invoiceRow, projection);
+    }
+
+    @Benchmark
+    public EntityData person() {
+        return EntityDataMapper.from(ModelTestFixtures.PERSON, personRow);
+    }
+}
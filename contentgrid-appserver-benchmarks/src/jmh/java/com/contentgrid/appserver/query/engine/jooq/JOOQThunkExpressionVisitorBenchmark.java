@@ -0,0 +1,75 @@
+package com.contentgrid.appserver.query.engine.jooq;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.query.engine.api.thunx.expression.StringComparison;
+import com.contentgrid.appserver.query.engine.jooq.JOOQThunkExpressionVisitor.JOOQContext;
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.math.BigDecimal;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.SQLDialect;
+import org.jooq.impl.DSL;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Converts filter expressions to jOOQ conditions, and renders them to SQL
+ */
+@State(Scope.Benchmark)
+public class JOOQThunkExpressionVisitorBenchmark {
+
+    private static final Variable ENTITY_VAR = Variable.named("entity");
+
+    private final JOOQThunkExpressionVisitor visitor = new JOOQThunkExpressionVisitor();
+
+    private final DSLContext dslContext = DSL.using(SQLDialect.POSTGRES);
+
+    private final ThunkExpression<Boolean> attributeExpression = LogicalOperation.conjunction(
+            Comparison.areEqual(SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("number")),
+                    Scalar.of("invoice-1")),
+            Comparison.greaterOrEquals(SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("amount")),
+                    Scalar.of(new BigDecimal("10.50")))
+    );
+
+    private final ThunkExpression<Boolean> relationExpression = LogicalOperation.conjunction(
+            StringComparison.contentGridPrefixSearchMatch(
+                    SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("name")),
+                    Scalar.of("alice")),
+            Comparison.areEqual(
+                    SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("products"), SymbolicReference.pathVar("_"),
+                            SymbolicReference.path("name")),
+                    Scalar.of("abc"))
+    );
+
+    private Condition toCondition(ThunkExpression<Boolean> expression) {
+        var context = new JOOQContext(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE);
+        return DSL.condition((Field<Boolean>) expression.accept(visitor, context));
+    }
+
+    @Benchmark
+    public Condition attributeCondition() {
+        return toCondition(attributeExpression);
+    }
+
+    @Benchmark
+    public Condition relationCondition() {
+        return toCondition(relationExpression);
+    }
+
+    @Benchmark
+    public String attributeSql() {
+        return dslContext.render(toCondition(attributeExpression));
+    }
+
+    @Benchmark
+    public String relationSql() {
+        return dslContext.render(toCondition(relationExpression));
+    }
+}
@@ -0,0 +1,74 @@
+package com.contentgrid.appserver.rest.assembler;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.benchmarks.BenchmarkData;
+import com.contentgrid.appserver.benchmarks.StubQueryEngine;
+import com.contentgrid.appserver.domain.DatamodelApiImpl;
+import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
+import com.contentgrid.appserver.domain.data.EntityInstance;
+import com.contentgrid.appserver.domain.paging.cursor.SimplePageBasedCursorCodec;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import com.contentgrid.appserver.rest.EncodedCursorPaginationHandlerMethodArgumentResolver;
+import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler.EntityContext;
+import com.contentgrid.appserver.rest.hal.forms.HalFormsTemplateCache;
+import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import com.contentgrid.hateoas.spring.pagination.SlicedResourcesAssembler;
+import java.time.Clock;
+import java.util.List;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilderFactory;
+import org.springframework.util.LinkedMultiValueMap;
+
+/**
+ * Converts entity instances to HAL representation models, with links and (cached) HAL-FORMS templates
+ */
+@State(Scope.Benchmark)
+public class EntityDataRepresentationModelAssemblerBenchmark {
+
+    private static final int PAGE_SIZE = 20;
+
+    private final EntityDataRepresentationModelAssembler assembler = new EntityDataRepresentationModelAssembler(
+            new SlicedResourcesAssembler<>(new EncodedCursorPaginationHandlerMethodArgumentResolver()),
+            new HalFormsTemplateCache()
+    );
+
+    private final EntityContext context = new EntityContext(
+            ModelTestFixtures.APPLICATION,
+            ModelTestFixtures.INVOICE.getName(),
+            UserLocales.defaults(),
+            new LinkFactoryProvider(ModelTestFixtures.APPLICATION, UserLocales.defaults(), new WebMvcLinkBuilderFactory()),
+            new LinkedMultiValueMap<>(),
+            ProjectionData.all(),
+            Map.of(),
+            null
+    );
+
+    private List<? extends EntityInstance> instances;
+
+    @Setup
+    public void setup() {
+        List<EntityData> page = BenchmarkData.page(ModelTestFixtures.INVOICE, PAGE_SIZE);
+        var datamodelApi = new DatamodelApiImpl(new StubQueryEngine(page, ItemCount.exact(PAGE_SIZE)), null,
+                new SimplePageBasedCursorCodec(), Clock.systemUTC());
+        instances = datamodelApi.findByIds(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                page.stream().map(EntityData::getId).toList(), ProjectionData.all(), AuthorizationContext.allowAll());
+    }
+
+    @Benchmark
+    public EntityDataRepresentationModel item() {
+        return assembler.toModel(instances.getFirst(), context);
+    }
+
+    @Benchmark
+    public CollectionModel<EntityDataRepresentationModel> collection() {
+        return assembler.toCollectionModel(instances, context);
+    }
+}
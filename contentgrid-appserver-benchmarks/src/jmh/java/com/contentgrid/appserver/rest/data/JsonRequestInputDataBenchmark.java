@@ -0,0 +1,82 @@
+package com.contentgrid.appserver.rest.data;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Reads request bodies into request input data. Reading the same body into a tree shows the allocations of the tree
+ * based approach for comparison.
+ * <p>
+ * With the schema of the invoice entity, the invoice attributes are bound while they are read, and the large
+ * {@code lines} array, which is not part of the entity, is skipped.
+ */
+@State(Scope.Benchmark)
+public class JsonRequestInputDataBenchmark {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Approximate size of the request body, in bytes
+     */
+    @Param({"1024", "1048576"})
+    public int size;
+
+    private byte[] body;
+
+    private final RequestInputSchema schema = RequestInputSchema.forEntity(ModelTestFixtures.APPLICATION,
+            ModelTestFixtures.INVOICE);
+
+    @Setup
+    public void setup() throws IOException {
+        var out = new ByteArrayOutputStream(size + 1024);
+        try (var generator = objectMapper.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeStringField("number", "invoice-1");
+            generator.writeNumberField("amount", 1234.56);
+            generator.writeStringField("received", "2024-01-01T00:00:00Z");
+            generator.writeBooleanField("is_paid", false);
+            generator.writeStringField("confidentiality", "public");
+            generator.writeArrayFieldStart("lines");
+            for (int i = 0; out.size() < size; i++) {
+                generator.writeStartObject();
+                generator.writeStringField("description", "Line item number " + i);
+                generator.writeNumberField("quantity", i % 10 + 1);
+                generator.writeNumberField("price", i * 0.25);
+                generator.writeEndObject();
+                generator.flush();
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        body = out.toByteArray();
+    }
+
+    @Benchmark
+    public JsonRequestInputData read() throws IOException {
+        try (var parser = objectMapper.createParser(body)) {
+            parser.nextToken();
+            return JsonRequestInputData.read(parser);
+        }
+    }
+
+    @Benchmark
+    public JsonRequestInputData readWithSchema() throws IOException {
+        try (var parser = objectMapper.createParser(body)) {
+            parser.nextToken();
+            return JsonRequestInputData.read(parser, schema);
+        }
+    }
+
+    @Benchmark
+    public JsonNode readTree() throws IOException {
+        return objectMapper.readTree(body);
+    }
+}
@@ -0,0 +1,52 @@
+package com.contentgrid.appserver.rest.hal.forms;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.RelationIdentity;
+import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import java.util.List;
+import java.util.UUID;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilderFactory;
+
+/**
+ * Generates the HAL-FORMS templates of an entity, without the template cache in front of it
+ */
+@State(Scope.Benchmark)
+public class HalFormsTemplateGeneratorBenchmark {
+
+    private final HalFormsTemplateGenerator generator = new HalFormsTemplateGenerator(
+            ModelTestFixtures.APPLICATION,
+            UserLocales.defaults(),
+            new LinkFactoryProvider(ModelTestFixtures.APPLICATION, UserLocales.defaults(), new WebMvcLinkBuilderFactory())
+    );
+
+    private final RelationIdentity relationIdentity = RelationIdentity.forRelation(
+            ModelTestFixtures.INVOICE.getName(),
+            EntityId.of(new UUID(0, 1)),
+            ModelTestFixtures.INVOICE_PRODUCTS.getSourceEndPoint().getName()
+    );
+
+    @Benchmark
+    public HalFormsTemplate createTemplate() {
+        return generator.generateCreateTemplate(ModelTestFixtures.INVOICE.getName());
+    }
+
+    @Benchmark
+    public HalFormsTemplate updateTemplate() {
+        return generator.generateUpdateTemplate(ModelTestFixtures.INVOICE.getName());
+    }
+
+    @Benchmark
+    public HalFormsTemplate searchTemplate() {
+        return generator.generateSearchTemplate(ModelTestFixtures.INVOICE.getName());
+    }
+
+    @Benchmark
+    public List<HalFormsTemplate> relationTemplates() {
+        return generator.generateRelationTemplates(relationIdentity);
+    }
+}
@@ -0,0 +1,29 @@
+package com.contentgrid.appserver.contentstore.api;
+
+import java.time.Duration;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * Exception thrown when a content transfer can not be started, because the content store is too busy. The transfer can
+ * be retried later.
+ */
+@Getter
+public class ContentStoreBusyException extends RuntimeException {
+
+    /**
+     * Suggested time to wait before retrying the transfer
+     */
+    @NonNull
+    private final Duration retryAfter;
+
+    public ContentStoreBusyException(@NonNull String message, @NonNull Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public ContentStoreBusyException(@NonNull String message, @NonNull Duration retryAfter, @NonNull Throwable cause) {
+        super(message, cause);
+        this.retryAfter = retryAfter;
+    }
+}
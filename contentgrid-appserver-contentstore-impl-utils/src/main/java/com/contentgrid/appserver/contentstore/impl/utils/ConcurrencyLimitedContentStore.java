@@ -0,0 +1,145 @@
+package com.contentgrid.appserver.contentstore.impl.utils;
+
+import com.contentgrid.appserver.contentstore.api.ContentAccessor;
+import com.contentgrid.appserver.contentstore.api.ContentReader;
+import com.contentgrid.appserver.contentstore.api.ContentReference;
+import com.contentgrid.appserver.contentstore.api.ContentStore;
+import com.contentgrid.appserver.contentstore.api.ContentStoreBusyException;
+import com.contentgrid.appserver.contentstore.api.UnreadableContentException;
+import com.contentgrid.appserver.contentstore.api.UnwritableContentException;
+import com.contentgrid.appserver.contentstore.api.range.ResolvedContentRange;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * A {@link ContentStore} that limits the number of content transfers that run concurrently against its delegate.
+ * <p>
+ * A read counts as a transfer from the moment its input stream is opened until that stream is closed; a write counts
+ * as a transfer for the duration of {@link #writeContent(InputStream)}. When the limit is reached, new transfers wait
+ * until a running transfer finishes. Waiting only parks the calling thread, which is cheap for virtual threads.
+ * <p>
+ * A transfer that could not start within the maximum wait time fails with a {@link ContentStoreBusyException}, so
+ * requests do not pile up behind slow transfers.
+ */
+public class ConcurrencyLimitedContentStore implements ContentStore {
+
+    @NonNull
+    private final ContentStore delegate;
+
+    private final Semaphore transfers;
+
+    @NonNull
+    private final Duration maxWait;
+
+    public ConcurrencyLimitedContentStore(@NonNull ContentStore delegate, int maxConcurrentTransfers,
+            @NonNull Duration maxWait) {
+        if (maxConcurrentTransfers < 1) {
+            throw new IllegalArgumentException("maxConcurrentTransfers must be at least 1, got %d".formatted(maxConcurrentTransfers));
+        }
+        if (maxWait.isNegative()) {
+            throw new IllegalArgumentException("maxWait must not be negative, got %s".formatted(maxWait));
+        }
+        this.delegate = delegate;
+        this.transfers = new Semaphore(maxConcurrentTransfers, true);
+        this.maxWait = maxWait;
+    }
+
+    private void acquireTransfer() {
+        try {
+            if (!transfers.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new ContentStoreBusyException("No content transfer available within %s".formatted(maxWait), maxWait);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ContentStoreBusyException("Interrupted while waiting for a content transfer", maxWait, e);
+        }
+    }
+
+    /**
+     * @return The number of transfers that can still be started without waiting
+     */
+    public int getAvailableTransfers() {
+        return transfers.availablePermits();
+    }
+
+    @Override
+    public ContentReader getReader(ContentReference contentReference, ResolvedContentRange contentRange)
+            throws UnreadableContentException {
+        return new LimitedContentReader(delegate.getReader(contentReference, contentRange));
+    }
+
+    @Override
+    public ContentAccessor writeContent(InputStream inputStream) throws UnwritableContentException {
+        acquireTransfer();
+        try {
+            return delegate.writeContent(inputStream);
+        } finally {
+            transfers.release();
+        }
+    }
+
+    @Override
+    public void remove(ContentReference contentReference) throws UnwritableContentException {
+        delegate.remove(contentReference);
+    }
+
+    @RequiredArgsConstructor
+    private class LimitedContentReader implements ContentReader {
+
+        @NonNull
+        private final ContentReader reader;
+
+        @Override
+        public InputStream getContentInputStream() throws UnreadableContentException {
+            acquireTransfer();
+            try {
+                return new PermitReleasingInputStream(reader.getContentInputStream());
+            } catch (UnreadableContentException | RuntimeException e) {
+                transfers.release();
+                throw e;
+            }
+        }
+
+        @Override
+        public ContentReference getReference() {
+            return reader.getReference();
+        }
+
+        @Override
+        public long getContentSize() {
+            return reader.getContentSize();
+        }
+
+        @Override
+        public String getDescription() {
+            return reader.getDescription();
+        }
+    }
+
+    private class PermitReleasingInputStream extends FilterInputStream {
+
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitReleasingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    transfers.release();
+                }
+            }
+        }
+    }
+}
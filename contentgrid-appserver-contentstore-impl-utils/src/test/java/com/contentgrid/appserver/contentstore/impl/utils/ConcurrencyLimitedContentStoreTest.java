@@ -0,0 +1,91 @@
+package com.contentgrid.appserver.contentstore.impl.utils;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.contentgrid.appserver.contentstore.api.ContentReference;
+import com.contentgrid.appserver.contentstore.api.ContentStoreBusyException;
+import com.contentgrid.appserver.contentstore.api.UnreadableContentException;
+import com.contentgrid.appserver.contentstore.api.range.ResolvedContentRange;
+import com.contentgrid.appserver.contentstore.impl.utils.testing.MockContentStore;
+import java.io.ByteArrayInputStream;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.jupiter.api.Test;
+
+class ConcurrencyLimitedContentStoreTest {
+
+    @Test
+    void readHoldsTransferUntilStreamIsClosed() throws Exception {
+        try (var mockStore = new MockContentStore()) {
+            var store = new ConcurrencyLimitedContentStore(mockStore, 1, Duration.ofSeconds(10));
+            var accessor = store.writeContent(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+            var range = ResolvedContentRange.fullRange(accessor.getContentSize());
+            assertEquals(1, store.getAvailableTransfers());
+
+            var stream = store.getReader(accessor.getReference(), range).getContentInputStream();
+            assertEquals(0, store.getAvailableTransfers());
+
+            try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+                var second = CompletableFuture.supplyAsync(() -> {
+                    try (var secondStream = store.getReader(accessor.getReference(), range).getContentInputStream()) {
+                        return secondStream.readAllBytes();
+                    } catch (Exception e) {
+                        throw new RuntimeException(e);
+                    }
+                }, executor);
+
+                // The second read waits for the first one to finish
+                assertThrows(TimeoutException.class, () -> second.get(100, TimeUnit.MILLISECONDS));
+
+                stream.close();
+                // Closing twice releases only once
+                stream.close();
+                assertArrayEquals(new byte[]{1, 2, 3}, second.get(5, TimeUnit.SECONDS));
+            }
+
+            assertEquals(1, store.getAvailableTransfers());
+        }
+    }
+
+    @Test
+    void transferFailsWhenNoneBecomesAvailable() throws Exception {
+        try (var mockStore = new MockContentStore()) {
+            var store = new ConcurrencyLimitedContentStore(mockStore, 1, Duration.ofMillis(50));
+            var accessor = store.writeContent(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+            var range = ResolvedContentRange.fullRange(accessor.getContentSize());
+
+            try (var stream = store.getReader(accessor.getReference(), range).getContentInputStream()) {
+                var exception = assertThrows(ContentStoreBusyException.class,
+                        () -> store.getReader(accessor.getReference(), range).getContentInputStream());
+                assertEquals(Duration.ofMillis(50), exception.getRetryAfter());
+                assertThrows(ContentStoreBusyException.class,
+                        () -> store.writeContent(new ByteArrayInputStream(new byte[]{4})));
+            }
+
+            assertEquals(1, store.getAvailableTransfers());
+        }
+    }
+
+    @Test
+    void failedReadReleasesTransfer() {
+        try (var mockStore = new MockContentStore()) {
+            var store = new ConcurrencyLimitedContentStore(mockStore, 1, Duration.ofSeconds(10));
+
+            assertThrows(UnreadableContentException.class, () -> store.getReader(ContentReference.of("missing"),
+                    ResolvedContentRange.fullRange(0)).getContentInputStream());
+            assertEquals(1, store.getAvailableTransfers());
+        }
+    }
+
+    @Test
+    void invalidLimit() {
+        try (var mockStore = new MockContentStore()) {
+            assertThrows(IllegalArgumentException.class, () -> new ConcurrencyLimitedContentStore(mockStore, 0, Duration.ofSeconds(10)));
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.contentgrid.appserver.domain.values;
 
+import java.util.OptionalLong;
 import lombok.Value;
 
 /**
@@ -13,7 +14,7 @@ public sealed interface ItemCount {
      * @param count Exact number of items
      */
     static ItemCount exact(long count) {
-        return new ItemCountImpl(count, false);
+        return new ItemCountImpl(count, false, null, null);
     }
 
     /**
@@ -22,7 +23,22 @@ public sealed interface ItemCount {
      * @param estimate Estimate of the number of items
      */
     static ItemCount estimated(long estimate) {
-        return new ItemCountImpl(estimate, true);
+        return new ItemCountImpl(estimate, true, null, null);
+    }
+
+    /**
+     * An estimate of the number of items, with a confidence interval around it
+     *
+     * @param estimate Estimate of the number of items
+     * @param lowerBound Lower bound of the confidence interval
+     * @param upperBound Upper bound of the confidence interval
+     */
+    static ItemCount estimated(long estimate, long lowerBound, long upperBound) {
+        if (lowerBound > estimate || upperBound < estimate) {
+            throw new IllegalArgumentException("Estimate %d is not within [%d, %d]"
+                    .formatted(estimate, lowerBound, upperBound));
+        }
+        return new ItemCountImpl(estimate, true, lowerBound, upperBound);
     }
 
     /**
@@ -45,6 +61,18 @@ public sealed interface ItemCount {
      */
     boolean isEstimated();
 
+    /**
+     * @return The lower bound of the number of items: the count itself when it is exact, empty when the estimate has
+     * no confidence interval
+     */
+    OptionalLong lowerBound();
+
+    /**
+     * @return The upper bound of the number of items: the count itself when it is exact, empty when the estimate has
+     * no confidence interval
+     */
+    OptionalLong upperBound();
+
     /**
      * Forces the count result to be at least a minimal value
      * <p>
@@ -65,6 +93,8 @@ class ItemCountImpl implements ItemCount {
 
     long count;
     boolean estimate;
+    Long lower;
+    Long upper;
 
     @Override
     public long count() {
@@ -76,19 +106,51 @@ class ItemCountImpl implements ItemCount {
         return estimate;
     }
 
+    @Override
+    public OptionalLong lowerBound() {
+        return bound(lower);
+    }
+
+    @Override
+    public OptionalLong upperBound() {
+        return bound(upper);
+    }
+
+    private OptionalLong bound(Long value) {
+        if (!estimate) {
+            return OptionalLong.of(count);
+        }
+        return value == null ? OptionalLong.empty() : OptionalLong.of(value);
+    }
+
     public ItemCount orMinimally(long minimalValue) {
         if (count < minimalValue) {
-            return ItemCount.estimated(minimalValue);
+            return new ItemCountImpl(minimalValue, true, atLeast(lower, minimalValue), atLeast(upper, minimalValue));
+        }
+        if (lower != null && lower < minimalValue) {
+            // The estimate itself holds, but part of its confidence interval is ruled out
+            return new ItemCountImpl(count, estimate, minimalValue, upper);
         }
         return this;
     }
 
     public ItemCount orMaximally(long maximalValue) {
         if (count > maximalValue) {
-            return ItemCount.estimated(maximalValue);
+            return new ItemCountImpl(maximalValue, true, atMost(lower, maximalValue), atMost(upper, maximalValue));
+        }
+        if (upper != null && upper > maximalValue) {
+            return new ItemCountImpl(count, estimate, lower, maximalValue);
         }
         return this;
     }
+
+    private static Long atLeast(Long bound, long minimalValue) {
+        return bound == null ? null : Math.max(bound, minimalValue);
+    }
+
+    private static Long atMost(Long bound, long maximalValue) {
+        return bound == null ? null : Math.min(bound, maximalValue);
+    }
 }
 
 enum UnknownItemCount implements ItemCount {
@@ -104,6 +166,16 @@ enum UnknownItemCount implements ItemCount {
         return true;
     }
 
+    @Override
+    public OptionalLong lowerBound() {
+        return OptionalLong.empty();
+    }
+
+    @Override
+    public OptionalLong upperBound() {
+        return OptionalLong.empty();
+    }
+
     @Override
     public ItemCount orMinimally(long minimalValue) {
         return ItemCount.estimated(minimalValue);
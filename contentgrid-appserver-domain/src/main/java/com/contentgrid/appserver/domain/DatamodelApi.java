@@ -15,9 +15,14 @@ import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityRequest;
 import com.contentgrid.appserver.domain.values.RelationRequest;
+import com.contentgrid.appserver.domain.values.version.Version;
+import com.contentgrid.appserver.exception.InvalidFieldsParameterException;
+import com.contentgrid.appserver.query.engine.api.QueryEngine.TransactionalWork;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.exception.EntityIdNotFoundException;
 import com.contentgrid.appserver.query.engine.api.exception.InvalidThunkExpressionException;
 import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -41,10 +46,30 @@ public interface DatamodelApi {
      * @return a slice of entities matching the criteria
      * @throws QueryEngineException if an error occurs during the query operation
      */
+    default ResultSlice findAll(@NonNull Application application, @NonNull Entity entity, @NonNull Map<String, List<String>> params,
+            @NonNull EncodedCursorPagination pagination,
+            @NonNull AuthorizationContext authorizationContext)
+            throws InvalidThunkExpressionException, CursorDecodeException {
+        return findAll(application, entity, params, ProjectionData.all(), pagination, authorizationContext);
+    }
+
+    /**
+     * Finds all entities that match the given params, only returning the attributes in the projection.
+     *
+     * @param application the application context
+     * @param entity the entity type to query
+     * @param params the parameters to filter entities
+     * @param projection the attributes and relations to return; the id and version are always returned
+     * @param pagination pagination parameters for the query
+     * @return a slice of entities matching the criteria
+     * @throws QueryEngineException if an error occurs during the query operation
+     * @throws InvalidFieldsParameterException when the projection contains a field that does not exist on the entity
+     */
     ResultSlice findAll(@NonNull Application application, @NonNull Entity entity, @NonNull Map<String, List<String>> params,
+            @NonNull ProjectionData projection,
             @NonNull EncodedCursorPagination pagination,
             @NonNull AuthorizationContext authorizationContext)
-            throws InvalidThunkExpressionException, CursorDecodeException;
+            throws InvalidThunkExpressionException, CursorDecodeException, InvalidFieldsParameterException;
 
     /**
      * Finds an entity that matches the given id.
@@ -53,7 +78,48 @@ public interface DatamodelApi {
      * @param entityRequest the identity of the entity to query
      * @return an Optional containing the entity data if found, empty otherwise
      */
-    Optional<? extends EntityInstance> findById(@NonNull Application application, @NonNull EntityRequest entityRequest, @NonNull AuthorizationContext authorizationContext);
+    default Optional<? extends EntityInstance> findById(@NonNull Application application, @NonNull EntityRequest entityRequest, @NonNull AuthorizationContext authorizationContext) {
+        return findById(application, entityRequest, ProjectionData.all(), authorizationContext);
+    }
+
+    /**
+     * Finds an entity that matches the given id, only returning the attributes in the projection.
+     *
+     * @param application the application context
+     * @param entityRequest the identity of the entity to query
+     * @param projection the attributes and relations to return; the id and version are always returned
+     * @return an Optional containing the entity data if found, empty otherwise
+     * @throws InvalidFieldsParameterException when the projection contains a field that does not exist on the entity
+     */
+    Optional<? extends EntityInstance> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection, @NonNull AuthorizationContext authorizationContext)
+            throws InvalidFieldsParameterException;
+
+    /**
+     * Finds the entities with the given ids, using a single query.
+     *
+     * @param application the application context
+     * @param entityName the entity type to query
+     * @param entityIds the ids of the entities to query
+     * @param projection the attributes and relations to return; the id and version are always returned
+     * @return the entities that were found, in the order of the given ids; ids that do not exist or that are not
+     * allowed to be read are left out
+     * @throws InvalidFieldsParameterException when the projection contains a field that does not exist on the entity
+     */
+    List<? extends EntityInstance> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull AuthorizationContext authorizationContext)
+            throws InvalidFieldsParameterException;
+
+    /**
+     * Finds the version of an entity that matches the given id, without loading the entity data.
+     *
+     * @param application the application context
+     * @param entityRequest the identity of the entity to query
+     * @return an Optional containing the version of the entity if found, empty otherwise.
+     * The version is unspecified when the entity is not versioned.
+     */
+    Optional<Version> findVersionById(@NonNull Application application, @NonNull EntityRequest entityRequest, @NonNull AuthorizationContext authorizationContext);
 
     /**
      * Creates an entity with the given data and relations.
@@ -193,6 +259,22 @@ public interface DatamodelApi {
 
     Optional<RelationTarget> findRelationTarget(@NonNull Application application, @NonNull RelationRequest relation, @NonNull AuthorizationContext authorizationContext) throws QueryEngineException;
 
+    /**
+     * Returns the target entities that are linked with any of the given source entities.
+     * This operation can be used for all kinds of relationships, and loads the targets of all source entities at once.
+     * <p>
+     * Target entities that the user is not allowed to read are left out.
+     * At most {@code limitPerSource} targets are returned for every source entity.
+     *
+     * @param application the application context
+     * @param relation the relation to follow
+     * @param sourceIds the primary keys of the source entities
+     * @param limitPerSource the maximum number of targets to return for a single source entity
+     * @return the target entities, grouped by the primary key of the source entity they are linked with
+     * @throws QueryEngineException if an error occurs during the query operation
+     */
+    Map<EntityId, List<EntityInstance>> findRelationTargets(@NonNull Application application, @NonNull Relation relation, @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull AuthorizationContext authorizationContext) throws QueryEngineException;
+
     /**
      * Link the target entity id with the given source id.
      * This operation can only be used for many-to-one or one-to-one relationships.
@@ -248,4 +330,16 @@ public interface DatamodelApi {
         removeRelationItems(application, relation, Set.of(targetId), authorizationContext);
     }
 
+    /**
+     * Runs the given work in a single transaction. All operations that the work performs on this API are committed
+     * together, or are all rolled back when the work throws an exception.
+     * <p>
+     * Only the entity data is transactional: content that is stored by the work is not removed on rollback.
+     *
+     * @param work the work to run
+     * @return the result of the work
+     * @throws E the exception thrown by the work, after the transaction has been rolled back
+     */
+    <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E;
+
 }
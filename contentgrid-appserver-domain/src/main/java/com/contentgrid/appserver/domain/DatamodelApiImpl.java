@@ -4,7 +4,10 @@ import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
 import com.contentgrid.appserver.application.model.attributes.Attribute;
 import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.AttributeName;
 import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.application.model.values.RelationName;
 import com.contentgrid.appserver.contentstore.api.ContentStore;
 import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
 import com.contentgrid.appserver.domain.data.DataEntry;
@@ -43,21 +46,28 @@ import com.contentgrid.appserver.domain.values.ItemCount;
 import com.contentgrid.appserver.domain.values.RelationIdentity;
 import com.contentgrid.appserver.domain.values.RelationRequest;
 import com.contentgrid.appserver.domain.values.version.Version;
+import com.contentgrid.appserver.exception.InvalidFieldsParameterException;
 import com.contentgrid.appserver.exception.InvalidSortParameterException;
+import com.contentgrid.appserver.query.engine.api.EntityIdAndVersion;
 import com.contentgrid.appserver.query.engine.api.QueryEngine;
+import com.contentgrid.appserver.query.engine.api.QueryEngine.TransactionalWork;
 import com.contentgrid.appserver.query.engine.api.data.AttributeData;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
 import com.contentgrid.appserver.query.engine.api.data.OffsetData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
+import com.contentgrid.appserver.query.engine.api.data.SliceData;
 import com.contentgrid.appserver.query.engine.api.data.SortData;
 import com.contentgrid.appserver.query.engine.api.data.SortData.FieldSort;
 import com.contentgrid.appserver.query.engine.api.exception.EntityIdNotFoundException;
 import com.contentgrid.appserver.query.engine.api.exception.InvalidThunkExpressionException;
 import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
+import com.contentgrid.appserver.query.engine.api.slowquery.QueryLabels;
 import com.contentgrid.hateoas.pagination.api.PaginationControls;
 import com.contentgrid.thunx.predicates.model.LogicalOperation;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import java.time.Clock;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -123,17 +133,30 @@ public class DatamodelApiImpl implements DatamodelApi {
     private ResponseOutputDataMapper createOutputDataMapper(
             @NonNull Application application,
             @NonNull EntityName entityName
+    ) {
+        return createOutputDataMapper(application, entityName, ProjectionData.all());
+    }
+
+    private ResponseOutputDataMapper createOutputDataMapper(
+            @NonNull Application application,
+            @NonNull EntityName entityName,
+            @NonNull ProjectionData projection
     ) {
         var entity = application.getRequiredEntityByName(entityName);
         return new ResponseOutputDataMapper(
-                entity.getAttributes(),
+                // Attributes that are not part of the projection are not mapped at all
+                entity.getAttributes()
+                        .stream()
+                        .filter(attribute -> projection.includes(attribute.getName()))
+                        .toList(),
                 new AttributeDataToDataEntryMapper()
         );
     }
 
     @Override
     public ResultSlice findAll(@NonNull Application application, @NonNull Entity entity,
-            @NonNull Map<String, List<String>> params, @NonNull EncodedCursorPagination pagination,
+            @NonNull Map<String, List<String>> params, @NonNull ProjectionData projection,
+            @NonNull EncodedCursorPagination pagination,
             @NonNull AuthorizationContext authorizationContext
     )
             throws InvalidThunkExpressionException {
@@ -145,22 +168,28 @@ public class DatamodelApiImpl implements DatamodelApi {
                 authorizationContext.predicate()
         );
         validateSortData(entity, sort);
+        validateProjectionData(application, entity, projection);
 
         var offsetData = convertPaginationToOffset(pagination, entity.getName(), params);
 
         // Request one extra row, so we can see if it's present → there is a next page
         var page = new OffsetData(offsetData.getLimit() + 1, offsetData.getOffset());
-        var result = queryEngine.findAll(application, entity, fullFilter, sort, page);
-        var hasNext = result.getEntities().size() > offsetData.getLimit();
+        SliceData result;
+        boolean hasNext;
+        ItemCount count;
+        try (var ignored = QueryLabels.open(application.getName(), entity.getName(), appliedFilters(entity, params))) {
+            result = queryEngine.findAll(application, entity, projection, fullFilter, sort, page);
+            hasNext = result.getEntities().size() > offsetData.getLimit();
+
+            // Get a total count of how many items match these params
+            count = calculateCount(() -> queryEngine.count(application, entity, fullFilter),
+                    offsetData, result.getEntities().size(), hasNext);
+        }
 
         PaginationControls controls = EncodedCursorSupport.makeControls(cursorCodec, pagination, entity.getName(),
                 params, hasNext);
 
-        // Get a total count of how many items match these params
-        var count = calculateCount(() -> queryEngine.count(application, entity, fullFilter),
-                offsetData, result.getEntities().size(), hasNext);
-
-        var outputMapper = createOutputDataMapper(application, entity.getName());
+        var outputMapper = createOutputDataMapper(application, entity.getName(), projection);
 
         var entities = result.getEntities()
                 .subList(0, Math.min(offsetData.getLimit(), result.getEntities().size()))
@@ -172,6 +201,13 @@ public class DatamodelApiImpl implements DatamodelApi {
 
     }
 
+    private static List<FilterName> appliedFilters(Entity entity, Map<String, List<String>> params) {
+        return params.keySet().stream()
+                .map(FilterName::of)
+                .filter(name -> entity.getFilterByName(name).isPresent())
+                .toList();
+    }
+
     private OffsetData convertPaginationToOffset(@NonNull EncodedCursorPagination encodedPagination, EntityName entityName, Map<String, List<String>> params) {
         var pagination = (PageBasedPagination) cursorCodec.decodeCursor(encodedPagination.getCursorContext(), entityName, params);
         return new OffsetData(pagination.getSize(), pagination.getPage() * pagination.getSize());
@@ -185,6 +221,15 @@ public class DatamodelApiImpl implements DatamodelApi {
         }
     }
 
+    private void validateProjectionData(Application application, Entity entity, ProjectionData projection) {
+        for (var name : projection.getPropertyNames().orElse(Set.of())) {
+            if (entity.getAttributeByName(AttributeName.of(name)).isEmpty()
+                    && application.getRelationForEntity(entity, RelationName.of(name)).isEmpty()) {
+                throw InvalidFieldsParameterException.invalidField(name, entity.getName().getValue());
+            }
+        }
+    }
+
     private ItemCount calculateCount(Supplier<ItemCount> countSupplier, OffsetData offsetData, long size, boolean hasNext) {
         var hasPrevious = offsetData.getOffset() > 0;
 
@@ -211,11 +256,48 @@ public class DatamodelApiImpl implements DatamodelApi {
             @NonNull EntityRequest entityRequest,
             @NonNull AuthorizationContext authorizationContext
     ) {
-        var outputMapper = createOutputDataMapper(application, entityRequest.getEntityName());
-        return queryEngine.findById(application, entityRequest, authorizationContext.predicate())
+        return findById(application, entityRequest, ProjectionData.all(), authorizationContext);
+    }
+
+    @Override
+    public Optional<InternalEntityInstance> findById(
+            @NonNull Application application,
+            @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection,
+            @NonNull AuthorizationContext authorizationContext
+    ) {
+        validateProjectionData(application, application.getRequiredEntityByName(entityRequest.getEntityName()), projection);
+        var outputMapper = createOutputDataMapper(application, entityRequest.getEntityName(), projection);
+        return queryEngine.findById(application, entityRequest, projection, authorizationContext.predicate())
                 .map(outputMapper::mapAttributes);
     }
 
+    @Override
+    public List<InternalEntityInstance> findByIds(
+            @NonNull Application application,
+            @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds,
+            @NonNull ProjectionData projection,
+            @NonNull AuthorizationContext authorizationContext
+    ) {
+        validateProjectionData(application, application.getRequiredEntityByName(entityName), projection);
+        var outputMapper = createOutputDataMapper(application, entityName, projection);
+        return queryEngine.findByIds(application, entityName, entityIds, projection, authorizationContext.predicate())
+                .stream()
+                .map(outputMapper::mapAttributes)
+                .toList();
+    }
+
+    @Override
+    public Optional<Version> findVersionById(
+            @NonNull Application application,
+            @NonNull EntityRequest entityRequest,
+            @NonNull AuthorizationContext authorizationContext
+    ) {
+        return queryEngine.findVersionById(application, entityRequest, authorizationContext.predicate())
+                .map(EntityIdAndVersion::version);
+    }
+
     @Override
     public InternalEntityInstance create(
             @NonNull Application application,
@@ -365,6 +447,20 @@ public class DatamodelApiImpl implements DatamodelApi {
                 ));
     }
 
+    @Override
+    public Map<EntityId, List<EntityInstance>> findRelationTargets(@NonNull Application application,
+            @NonNull Relation relation, @NonNull Set<EntityId> sourceIds, int limitPerSource,
+            @NonNull AuthorizationContext authorizationContext) throws QueryEngineException {
+        var outputMapper = createOutputDataMapper(application, relation.getTargetEndPoint().getEntity());
+        var targets = queryEngine.findTargets(application, relation, sourceIds, limitPerSource, authorizationContext.predicate());
+
+        var result = LinkedHashMap.<EntityId, List<EntityInstance>>newLinkedHashMap(targets.size());
+        targets.forEach((sourceId, entities) -> result.put(sourceId, entities.stream()
+                .<EntityInstance>map(outputMapper::mapAttributes)
+                .toList()));
+        return result;
+    }
+
     @Override
     public void setRelation(@NonNull Application application, @NonNull RelationRequest relationRequest, @NonNull EntityId targetId, @NonNull AuthorizationContext authorizationContext)
             throws QueryEngineException {
@@ -399,6 +495,11 @@ public class DatamodelApiImpl implements DatamodelApi {
         );
     }
 
+    @Override
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        return queryEngine.runInTransaction(work);
+    }
+
     @RequiredArgsConstructor
     public static class ResponseOutputDataMapper {
         private final List<Attribute> attributes;
@@ -18,9 +18,9 @@ import lombok.experimental.StandardException;
 /**
  * Wrapping a {@link CursorCodec} with this class protects against <em>accidental</em> misuse of the cursor.
  * <p>
- * A cursor is only valid for a specific collection with the same filter params, sorting and page size. A fixed-size
- * checksum inserted as part of the cursor checks that these request parameters were not modified when the cursor is
- * used.
+ * A cursor is only valid for a specific collection with the same filter params, requested fields, sorting and page
+ * size. A fixed-size checksum inserted as part of the cursor checks that these request parameters were not modified
+ * when the cursor is used.
  * <p>
  * Note that there is no cryptography involved; it is only meant to protect against accidental misuses not against
  * deliberate abuse.
@@ -0,0 +1,13 @@
+package com.contentgrid.appserver.exception;
+
+public class InvalidEmbedParameterException extends RuntimeException {
+
+    public InvalidEmbedParameterException(String message) {
+        super(message);
+    }
+
+    public static InvalidEmbedParameterException invalidRelation(String relationName, String entityName) {
+        return new InvalidEmbedParameterException("Relation '" + relationName + "' not found on entity '" + entityName + "'");
+    }
+
+}
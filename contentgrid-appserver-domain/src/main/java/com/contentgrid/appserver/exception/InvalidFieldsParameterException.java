@@ -0,0 +1,13 @@
+package com.contentgrid.appserver.exception;
+
+public class InvalidFieldsParameterException extends RuntimeException {
+
+    public InvalidFieldsParameterException(String message) {
+        super(message);
+    }
+
+    public static InvalidFieldsParameterException invalidField(String fieldName, String entityName) {
+        return new InvalidFieldsParameterException("Field '" + fieldName + "' not found on entity '" + entityName + "'");
+    }
+
+}
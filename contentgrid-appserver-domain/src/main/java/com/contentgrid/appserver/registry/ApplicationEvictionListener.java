@@ -0,0 +1,18 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+
+/**
+ * Listener for applications that are released by an {@link ApplicationResolver}
+ */
+@FunctionalInterface
+public interface ApplicationEvictionListener {
+
+    /**
+     * Called after an application has been released. A later request for the same application name may resolve a
+     * different {@link com.contentgrid.appserver.application.model.Application} instance.
+     *
+     * @param name The name of the application that was released
+     */
+    void onApplicationEvicted(ApplicationName name);
+}
@@ -0,0 +1,18 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+
+/**
+ * Loads the model of an application
+ */
+@FunctionalInterface
+public interface ApplicationLoader {
+
+    /**
+     * @param name The name of the application to load
+     * @return The application model
+     * @throws ApplicationNotFoundException When there is no application with the given name
+     */
+    Application load(ApplicationName name) throws ApplicationNotFoundException;
+}
@@ -0,0 +1,17 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import lombok.Getter;
+import lombok.NonNull;
+
+@Getter
+public class ApplicationNotFoundException extends RuntimeException {
+
+    @NonNull
+    private final ApplicationName applicationName;
+
+    public ApplicationNotFoundException(@NonNull ApplicationName applicationName) {
+        super("Application '%s' not found".formatted(applicationName.getValue()));
+        this.applicationName = applicationName;
+    }
+}
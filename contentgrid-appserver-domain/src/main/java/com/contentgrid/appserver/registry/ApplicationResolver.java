@@ -2,7 +2,32 @@ package com.contentgrid.appserver.registry;
 
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.values.ApplicationName;
+import java.util.Optional;
 
 public interface ApplicationResolver {
     Application resolve(ApplicationName name);
+
+    /**
+     * Look up an application that is currently held, without loading it.
+     * <p>
+     * Resolvers that hold every application they can resolve can just resolve it.
+     *
+     * @param name The name of the application
+     * @return The application, empty when it is not held
+     */
+    default Optional<Application> getIfPresent(ApplicationName name) {
+        return Optional.of(resolve(name));
+    }
+
+    /**
+     * Register a listener that is notified when an application is no longer held by this resolver, so state that is
+     * kept per application can be released.
+     * <p>
+     * Resolvers that never release applications do not have to notify anything.
+     *
+     * @param listener The listener to notify
+     */
+    default void addEvictionListener(ApplicationEvictionListener listener) {
+        // Applications are kept forever
+    }
 }
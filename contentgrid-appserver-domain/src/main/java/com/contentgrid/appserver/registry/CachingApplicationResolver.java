@@ -0,0 +1,159 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Resolves applications on demand with an {@link ApplicationLoader}, and keeps a bounded number of them.
+ * <p>
+ * When more than {@link #getMaximumSize()} applications are held, the least recently resolved application is evicted
+ * and the {@link ApplicationEvictionListener}s are notified. Concurrent first requests for the same application share
+ * a single load; a failed load is not cached.
+ */
+@Slf4j
+public class CachingApplicationResolver implements ApplicationResolver {
+
+    @NonNull
+    private final ApplicationLoader loader;
+
+    @Getter
+    private final int maximumSize;
+
+    /**
+     * Access-ordered, so the first entry is the least recently resolved one. Only accessed while holding {@link #lock}.
+     */
+    private final LinkedHashMap<ApplicationName, CompletableFuture<Application>> applications = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final List<ApplicationEvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public CachingApplicationResolver(@NonNull ApplicationLoader loader, int maximumSize) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("maximumSize must be at least 1, got %d".formatted(maximumSize));
+        }
+        this.loader = loader;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Application resolve(@NonNull ApplicationName name) {
+        CompletableFuture<Application> future;
+        var mustLoad = false;
+        var evicted = new ArrayList<ApplicationName>();
+
+        lock.lock();
+        try {
+            future = applications.get(name);
+            if (future == null) {
+                future = new CompletableFuture<>();
+                applications.put(name, future);
+                mustLoad = true;
+
+                var iterator = applications.keySet().iterator();
+                while (applications.size() > maximumSize) {
+                    evicted.add(iterator.next());
+                    iterator.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        evicted.forEach(this::notifyEvicted);
+
+        if (mustLoad) {
+            load(name, future);
+        }
+
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Look up an application that is loaded already. Does not load the application and does not evict others.
+     *
+     * @param name The name of the application
+     * @return The application, empty when it is not held or still loading
+     */
+    @Override
+    public Optional<Application> getIfPresent(@NonNull ApplicationName name) {
+        CompletableFuture<Application> future;
+        lock.lock();
+        try {
+            future = applications.get(name);
+        } finally {
+            lock.unlock();
+        }
+        if (future == null || !future.isDone() || future.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(future.join());
+    }
+
+    private void load(ApplicationName name, CompletableFuture<Application> future) {
+        try {
+            var application = loader.load(name);
+            log.info("Loaded application {}", name);
+            future.complete(application);
+        } catch (Throwable e) {
+            // Don't keep the failure, so the next request tries to load the application again.
+            // Errors are caught as well: a future that is never completed would block every request for this name.
+            remove(name, future);
+            future.completeExceptionally(e);
+        }
+    }
+
+    private void remove(ApplicationName name, CompletableFuture<Application> future) {
+        lock.lock();
+        try {
+            applications.remove(name, future);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void notifyEvicted(ApplicationName name) {
+        log.info("Evicted application {}", name);
+        for (var listener : evictionListeners) {
+            listener.onApplicationEvicted(name);
+        }
+    }
+
+    /**
+     * @return The number of applications that are currently held
+     */
+    public int size() {
+        lock.lock();
+        try {
+            return applications.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void addEvictionListener(@NonNull ApplicationEvictionListener listener) {
+        evictionListeners.add(listener);
+    }
+}
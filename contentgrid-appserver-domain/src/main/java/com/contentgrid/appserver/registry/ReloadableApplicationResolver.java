@@ -0,0 +1,60 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Serves a single application that can be replaced while the process is running.
+ * <p>
+ * Replacing the application is atomic: every request resolves either the old or the new version. A request that
+ * already resolved the old version keeps using it until it finishes. After a replacement, the
+ * {@link ApplicationEvictionListener}s are notified, so state that was built for the old version is released.
+ */
+@Slf4j
+public class ReloadableApplicationResolver implements ApplicationResolver {
+
+    private final AtomicReference<Application> application;
+
+    private final List<ApplicationEvictionListener> evictionListeners = new CopyOnWriteArrayList<>();
+
+    public ReloadableApplicationResolver(@NonNull Application application) {
+        this.application = new AtomicReference<>(application);
+    }
+
+    public Application getApplication() {
+        return application.get();
+    }
+
+    @Override
+    public Application resolve(ApplicationName name) {
+        // Apps are single-tenant for now
+        return application.get();
+    }
+
+    /**
+     * Replace the application that is served
+     *
+     * @param newApplication The new version of the application
+     */
+    public void reload(@NonNull Application newApplication) {
+        var previous = application.getAndSet(newApplication);
+        if (previous == newApplication) {
+            return;
+        }
+        log.info("Replaced application {}", newApplication.getName());
+
+        for (var listener : evictionListeners) {
+            listener.onApplicationEvicted(previous.getName());
+        }
+    }
+
+    @Override
+    public void addEvictionListener(@NonNull ApplicationEvictionListener listener) {
+        evictionListeners.add(listener);
+    }
+}
@@ -42,6 +42,7 @@ import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityIdentity;
 import com.contentgrid.appserver.domain.values.EntityRequest;
 import com.contentgrid.appserver.domain.values.User;
+import com.contentgrid.appserver.exception.InvalidFieldsParameterException;
 import com.contentgrid.appserver.query.engine.api.QueryEngine;
 import com.contentgrid.appserver.query.engine.api.UpdateResult;
 import com.contentgrid.appserver.query.engine.api.data.AttributeData;
@@ -49,6 +50,7 @@ import com.contentgrid.appserver.query.engine.api.data.CompositeAttributeData;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
 import com.contentgrid.appserver.query.engine.api.data.OffsetData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
 import com.contentgrid.appserver.query.engine.api.data.SimpleAttributeData;
 import com.contentgrid.appserver.query.engine.api.data.SliceData;
@@ -141,7 +143,7 @@ class DatamodelApiImplTest {
     }
 
     void setupEntityQuery() {
-        Mockito.when(queryEngine.findById(Mockito.any(), Mockito.any(), Mockito.any())).then(args -> {
+        Mockito.when(queryEngine.findById(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).then(args -> {
             var request = args.getArgument(1, EntityRequest.class);
 
             return Optional.of(
@@ -154,7 +156,7 @@ class DatamodelApiImplTest {
     }
 
     void setupEntityQueryWithContent(String contentId) {
-        Mockito.when(queryEngine.findById(Mockito.any(), Mockito.any(), Mockito.any())).then(args -> {
+        Mockito.when(queryEngine.findById(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any())).then(args -> {
             var request = args.getArgument(1, EntityRequest.class);
             return Optional.of(
                     new EntityData(
@@ -1149,7 +1151,7 @@ class DatamodelApiImplTest {
                         });
             });
 
-            Mockito.verify(queryEngine).findById(Mockito.any(), Mockito.any(), Mockito.any());
+            Mockito.verify(queryEngine).findById(Mockito.any(), Mockito.any(), Mockito.any(), Mockito.any());
 
             Mockito.verifyNoMoreInteractions(queryEngine, contentStore);
 
@@ -1333,7 +1335,7 @@ class DatamodelApiImplTest {
         @Test
         void findAllWithPaging() {
             ArgumentCaptor<QueryPageData> paginationArg = ArgumentCaptor.forClass(QueryPageData.class);
-            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), paginationArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), any(), paginationArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(paginationArg.getValue()));
 
             mockCount();
@@ -1366,7 +1368,7 @@ class DatamodelApiImplTest {
         @Test
         void findAllWithPagingAndLimits() {
             ArgumentCaptor<QueryPageData> paginationArg = ArgumentCaptor.forClass(QueryPageData.class);
-            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), paginationArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), any(), paginationArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(paginationArg.getValue()));
 
             mockCount();
@@ -1403,7 +1405,7 @@ class DatamodelApiImplTest {
                     StringComparison.areEqual(SymbolicReference.parse("entity.confidentiality"), Scalar.of("public")),
                     Scalar.of(true)
             );
-            Mockito.when(queryEngine.findAll(any(), any(), eq(filter), any(), paginationArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), eq(filter), any(), paginationArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(paginationArg.getValue(),
                             data -> getConfidentiality(data).equals("public")
                     ));
@@ -1436,7 +1438,7 @@ class DatamodelApiImplTest {
         void findAllWithPagingAndSorting() {
             ArgumentCaptor<QueryPageData> paginationArg = ArgumentCaptor.forClass(QueryPageData.class);
             SortData sort = new SortData(List.of(new FieldSort(Direction.DESC, SortableName.of("amount"))));
-            Mockito.when(queryEngine.findAll(any(), any(), any(), eq(sort), paginationArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), eq(sort), paginationArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(paginationArg.getValue(), Direction.DESC));
 
             mockCount();
@@ -1463,7 +1465,7 @@ class DatamodelApiImplTest {
         @Test
         void findAllWithPagingNavigation() {
             ArgumentCaptor<QueryPageData> paginationArg = ArgumentCaptor.forClass(QueryPageData.class);
-            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), paginationArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), any(), paginationArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(paginationArg.getValue()));
 
             mockCount();
@@ -1491,6 +1493,36 @@ class DatamodelApiImplTest {
             assertEquals(getAmount(startPage.getContent().getLast()), getAmount(firstPage.getContent().getLast()));
         }
 
+        @Test
+        void findAllWithProjection() {
+            var projection = ProjectionData.of(List.of(
+                    INVOICE_AMOUNT.getName().getValue(),
+                    INVOICE_PREVIOUS.getSourceEndPoint().getName().getValue()
+            ));
+            Mockito.when(queryEngine.findAll(any(), any(), eq(projection), any(), any(), any()))
+                    .thenAnswer(invocation -> fakeFindAll(invocation.getArgument(5, QueryPageData.class)));
+
+            mockCount();
+
+            var page = datamodelApi.findAll(APPLICATION, INVOICE, PARAMS, projection,
+                    new EncodedCursorPagination(null, 20, SortData.unsorted()), AuthorizationContext.allowAll());
+
+            assertThat(page.getContent()).allSatisfy(entity ->
+                    assertThat(entity.getData()).containsOnlyKeys(INVOICE_AMOUNT.getName().getValue()));
+        }
+
+        @Test
+        void findAllWithProjection_unknownField() {
+            var projection = ProjectionData.of(List.of("does-not-exist"));
+            var pagination = new EncodedCursorPagination(null, 20, SortData.unsorted());
+
+            assertThatThrownBy(() -> datamodelApi.findAll(APPLICATION, INVOICE, PARAMS, projection, pagination,
+                    AuthorizationContext.allowAll()))
+                    .isInstanceOf(InvalidFieldsParameterException.class);
+
+            Mockito.verifyNoInteractions(queryEngine);
+        }
+
         static Stream<Arguments> findAllWithCounts() {
             return Stream.of(
                     Arguments.argumentSet("exact, no results", 0, 0, -1, ItemCount.exact(0)),
@@ -1548,7 +1580,7 @@ class DatamodelApiImplTest {
 
             // mock queryEngine
             ArgumentCaptor<QueryPageData> pageArg = ArgumentCaptor.forClass(QueryPageData.class);
-            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), pageArg.capture()))
+            Mockito.when(queryEngine.findAll(any(), any(), any(), any(), any(), pageArg.capture()))
                     .thenAnswer(invocation -> fakeFindAll(pageArg.getValue(), exact));
 
             if (stubNeeded) {
@@ -0,0 +1,178 @@
+package com.contentgrid.appserver.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class CachingApplicationResolverTest {
+
+    private static final ApplicationName APP_A = ApplicationName.of("app-a");
+    private static final ApplicationName APP_B = ApplicationName.of("app-b");
+    private static final ApplicationName APP_C = ApplicationName.of("app-c");
+
+    private static Application application(ApplicationName name) {
+        return Application.builder().name(name).build();
+    }
+
+    @Test
+    void resolveLoadsOnce() {
+        var loads = new AtomicInteger();
+        var resolver = new CachingApplicationResolver(name -> {
+            loads.incrementAndGet();
+            return application(name);
+        }, 10);
+
+        var first = resolver.resolve(APP_A);
+        var second = resolver.resolve(APP_A);
+
+        assertThat(second).isSameAs(first);
+        assertThat(first.getName()).isEqualTo(APP_A);
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void evictsLeastRecentlyResolved() {
+        var evicted = new ArrayList<ApplicationName>();
+        var resolver = new CachingApplicationResolver(CachingApplicationResolverTest::application, 2);
+        resolver.addEvictionListener(evicted::add);
+
+        var a = resolver.resolve(APP_A);
+        resolver.resolve(APP_B);
+        // Access A again, so B becomes the least recently used
+        resolver.resolve(APP_A);
+        resolver.resolve(APP_C);
+
+        assertThat(evicted).containsExactly(APP_B);
+        assertThat(resolver.size()).isEqualTo(2);
+        assertThat(resolver.resolve(APP_A)).isSameAs(a);
+    }
+
+    @Test
+    void getIfPresentDoesNotLoad() {
+        var loads = new AtomicInteger();
+        var evicted = new ArrayList<ApplicationName>();
+        var resolver = new CachingApplicationResolver(name -> {
+            loads.incrementAndGet();
+            return application(name);
+        }, 1);
+        resolver.addEvictionListener(evicted::add);
+
+        var a = resolver.resolve(APP_A);
+
+        assertThat(resolver.getIfPresent(APP_A)).containsSame(a);
+        assertThat(resolver.getIfPresent(APP_B)).isEmpty();
+        assertThat(loads).hasValue(1);
+        assertThat(evicted).isEmpty();
+        assertThat(resolver.size()).isEqualTo(1);
+    }
+
+    @Test
+    void concurrentFirstRequestsShareLoad() throws Exception {
+        var loads = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var resolver = new CachingApplicationResolver(name -> {
+            loads.incrementAndGet();
+            loading.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return application(name);
+        }, 10);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var results = new ArrayList<Future<Application>>();
+            results.add(executor.submit(() -> resolver.resolve(APP_A)));
+            loading.await();
+            for (int i = 0; i < 10; i++) {
+                results.add(executor.submit(() -> resolver.resolve(APP_A)));
+            }
+            release.countDown();
+
+            var applications = new ArrayList<Application>();
+            for (var result : results) {
+                applications.add(result.get());
+            }
+            assertThat(applications).allSatisfy(app -> assertThat(app).isSameAs(applications.getFirst()));
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedLoadIsRetried() {
+        var attempts = new AtomicInteger();
+        var resolver = new CachingApplicationResolver(name -> {
+            if (attempts.incrementAndGet() == 1) {
+                throw new ApplicationNotFoundException(name);
+            }
+            return application(name);
+        }, 10);
+
+        assertThatThrownBy(() -> resolver.resolve(APP_A)).isInstanceOf(ApplicationNotFoundException.class);
+        assertThat(resolver.size()).isZero();
+        assertThat(resolver.resolve(APP_A).getName()).isEqualTo(APP_A);
+    }
+
+    @Test
+    void failedLoadWithErrorIsRetried() throws Exception {
+        var attempts = new AtomicInteger();
+        var loading = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var resolver = new CachingApplicationResolver(name -> {
+            if (attempts.incrementAndGet() == 1) {
+                loading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                throw new OutOfMemoryError("test");
+            }
+            return application(name);
+        }, 10);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var first = executor.submit(() -> resolver.resolve(APP_A));
+            loading.await();
+            // Either waits for the load that is in progress, or loads again when that one already failed
+            var waiting = executor.submit(() -> resolver.resolve(APP_A));
+            release.countDown();
+
+            assertThatThrownBy(first::get).hasCauseInstanceOf(OutOfMemoryError.class);
+            try {
+                assertThat(waiting.get(10, TimeUnit.SECONDS).getName()).isEqualTo(APP_A);
+            } catch (ExecutionException e) {
+                assertThat(e).hasCauseInstanceOf(OutOfMemoryError.class);
+            }
+        }
+        assertThat(resolver.resolve(APP_A).getName()).isEqualTo(APP_A);
+    }
+
+    @Test
+    void invalidMaximumSize() {
+        assertThatThrownBy(() -> new CachingApplicationResolver(CachingApplicationResolverTest::application, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void singleApplicationResolverNeverEvicts() {
+        var resolver = new SingleApplicationResolver(application(APP_A));
+        resolver.addEvictionListener(name -> {
+            throw new AssertionError("Unexpected eviction of " + name);
+        });
+
+        assertThat(resolver.resolve(APP_B).getName()).isEqualTo(APP_A);
+    }
+}
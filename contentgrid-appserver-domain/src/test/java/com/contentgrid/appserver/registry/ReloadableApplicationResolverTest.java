@@ -0,0 +1,43 @@
+package com.contentgrid.appserver.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import java.util.ArrayList;
+import org.junit.jupiter.api.Test;
+
+class ReloadableApplicationResolverTest {
+
+    private static final ApplicationName NAME = ApplicationName.of("default");
+
+    @Test
+    void reloadReplacesApplication() {
+        var original = Application.builder().name(NAME).build();
+        var replacement = Application.builder().name(NAME).build();
+        var evicted = new ArrayList<ApplicationName>();
+
+        var resolver = new ReloadableApplicationResolver(original);
+        resolver.addEvictionListener(evicted::add);
+
+        // A request that resolved the application before the reload keeps its version
+        var inFlight = resolver.resolve(NAME);
+        resolver.reload(replacement);
+
+        assertThat(inFlight).isSameAs(original);
+        assertThat(resolver.resolve(NAME)).isSameAs(replacement);
+        assertThat(evicted).containsExactly(NAME);
+    }
+
+    @Test
+    void reloadSameApplication_doesNotEvict() {
+        var application = Application.builder().name(NAME).build();
+        var evicted = new ArrayList<ApplicationName>();
+
+        var resolver = new ReloadableApplicationResolver(application);
+        resolver.addEvictionListener(evicted::add);
+        resolver.reload(application);
+
+        assertThat(evicted).isEmpty();
+    }
+}
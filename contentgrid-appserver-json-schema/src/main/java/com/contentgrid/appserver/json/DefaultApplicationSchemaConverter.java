@@ -74,7 +74,6 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
@@ -90,6 +89,11 @@ import java.util.stream.Stream;
 
 public class DefaultApplicationSchemaConverter implements ApplicationSchemaConverter {
 
+    /**
+     * Minimum number of entities for which entities are constructed in parallel
+     */
+    static final int PARALLEL_ENTITY_THRESHOLD = 64;
+
     private final ObjectMapper mapper = ApplicationSchemaObjectMapperFactory.createObjectMapper();
     private final ApplicationSchemaValidator validator = new ApplicationSchemaValidator();
 
@@ -118,11 +122,7 @@ public class DefaultApplicationSchemaConverter implements ApplicationSchemaConve
     @Override
     public Application convert(InputStream json) throws InvalidJsonException {
         var schema = getApplicationSchema(json);
-        Set<com.contentgrid.appserver.application.model.Entity> entities = new HashSet<>();
-        for (Entity entity : schema.getEntities()) {
-            com.contentgrid.appserver.application.model.Entity convertEntity = fromJsonEntity(entity);
-            entities.add(convertEntity);
-        }
+        var entities = fromJsonEntities(schema.getEntities());
         Set<com.contentgrid.appserver.application.model.relations.Relation> relations;
         if (schema.getRelations() == null) {
             relations = Set.of();
@@ -144,14 +144,57 @@ public class DefaultApplicationSchemaConverter implements ApplicationSchemaConve
 
     private ApplicationSchema getApplicationSchema(InputStream json) throws InvalidJsonException {
         try {
-            var jsonString = new String(json.readAllBytes(), StandardCharsets.UTF_8);
-            validator.validate(jsonString);
-            return mapper.readValue(jsonString, ApplicationSchema.class);
+            var content = json.readAllBytes();
+            // The document is parsed once; the same tree is validated and bound to the schema model
+            var tree = mapper.readTree(content);
+            validator.validate(tree, content);
+            return mapper.treeToValue(tree, ApplicationSchema.class);
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
+    private Set<com.contentgrid.appserver.application.model.Entity> fromJsonEntities(List<Entity> jsonEntities)
+            throws InvalidJsonException {
+        if (jsonEntities.size() < PARALLEL_ENTITY_THRESHOLD) {
+            Set<com.contentgrid.appserver.application.model.Entity> entities = new HashSet<>();
+            for (Entity entity : jsonEntities) {
+                entities.add(fromJsonEntity(entity));
+            }
+            return entities;
+        }
+
+        // Entities are independent of each other, so large models build them in parallel
+        try {
+            return jsonEntities.parallelStream()
+                    .map(entity -> {
+                        try {
+                            return fromJsonEntity(entity);
+                        } catch (InvalidJsonException e) {
+                            throw new InvalidEntityException(e);
+                        }
+                    })
+                    .collect(Collectors.toSet());
+        } catch (InvalidEntityException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Carries an {@link InvalidJsonException} out of the parallel entity construction
+     */
+    private static class InvalidEntityException extends RuntimeException {
+
+        InvalidEntityException(InvalidJsonException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized InvalidJsonException getCause() {
+            return (InvalidJsonException) super.getCause();
+        }
+    }
+
     private com.contentgrid.appserver.application.model.Entity fromJsonEntity(
             Entity jsonEntity) throws InvalidJsonException {
         com.contentgrid.appserver.application.model.attributes.SimpleAttribute primaryKey = fromJsonSimpleAttribute(
@@ -311,6 +354,8 @@ public class DefaultApplicationSchemaConverter implements ApplicationSchemaConve
 
         var operation = switch (type) {
             case "prefix" -> Operation.PREFIX;
+            case "full-text" -> Operation.FULL_TEXT;
+            case "contains" -> Operation.CONTAINS;
             case "exact" -> Operation.EXACT;
             case "greater" -> Operation.GREATER_THAN;
             case "greater-or-equal" -> Operation.GREATER_THAN_OR_EQUAL;
@@ -553,6 +598,8 @@ public class DefaultApplicationSchemaConverter implements ApplicationSchemaConve
             var type = switch (attributeFilter.getOperation()) {
                 case EXACT -> "exact";
                 case PREFIX -> "prefix";
+                case FULL_TEXT -> "full-text";
+                case CONTAINS -> "contains";
                 case GREATER_THAN -> "greater";
                 case GREATER_THAN_OR_EQUAL -> "greater-or-equal";
                 case LESS_THAN -> "less";
@@ -24,7 +24,7 @@ public class SearchFilter {
     private Translations description;
 
     @NonNull
-    private String type; // exact, prefix, ...
+    private String type; // exact, prefix, full-text, contains, ...
 
     @JsonInclude(Include.NON_EMPTY)
     private List<String> flags;
@@ -1,11 +1,19 @@
 package com.contentgrid.appserver.json.validation;
 
 import com.contentgrid.appserver.json.exceptions.SchemaValidationException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.networknt.schema.InputFormat;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaLocation;
 import com.networknt.schema.SpecVersion.VersionFlag;
+import com.networknt.schema.ValidationMessage;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 public class ApplicationSchemaValidator {
@@ -15,9 +23,80 @@ public class ApplicationSchemaValidator {
                     schemaMappers -> schemaMappers.mapPrefix("https://contentgrid.cloud/schemas/", "classpath:/schemas/")))
             .getSchema(SchemaLocation.of("https://contentgrid.cloud/schemas/application-schema.json"));
 
+    /**
+     * Default limit on the number of remembered digests
+     */
+    static final int MAX_VALIDATED_DIGESTS = 64;
+
+    private final int maxValidatedDigests;
+
+    /**
+     * Digests of documents that passed validation. The result of validation only depends on the document and the
+     * schema, which is fixed, so a document with the same digest does not have to be validated again.
+     * <p>
+     * Access-ordered, so the first entry is the least recently validated one. Only accessed while holding
+     * {@link #lock}.
+     */
+    private final LinkedHashMap<String, Boolean> validatedDigests = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    public ApplicationSchemaValidator() {
+        this(MAX_VALIDATED_DIGESTS);
+    }
+
+    ApplicationSchemaValidator(int maxValidatedDigests) {
+        if (maxValidatedDigests < 1) {
+            throw new IllegalArgumentException("maxValidatedDigests must be at least 1, got %d"
+                    .formatted(maxValidatedDigests));
+        }
+        this.maxValidatedDigests = maxValidatedDigests;
+    }
 
     public void validate(String json) throws SchemaValidationException {
-        var validationResult = schema.validate(json, InputFormat.JSON);
+        handleResult(schema.validate(json, InputFormat.JSON));
+    }
+
+    /**
+     * Validate an already parsed document
+     *
+     * @param json The parsed document
+     * @param content The content the document was parsed from, used to skip validation of a document that was
+     * validated before
+     */
+    public void validate(JsonNode json, byte[] content) throws SchemaValidationException {
+        var digest = digest(content);
+        if (isValidated(digest)) {
+            return;
+        }
+
+        // Validated without holding the lock, so documents can be validated concurrently
+        handleResult(schema.validate(json));
+
+        lock.lock();
+        try {
+            validatedDigests.put(digest, Boolean.TRUE);
+            var iterator = validatedDigests.keySet().iterator();
+            while (validatedDigests.size() > maxValidatedDigests) {
+                iterator.next();
+                iterator.remove();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isValidated(String digest) {
+        lock.lock();
+        try {
+            // get() instead of containsKey() to mark the digest as recently used
+            return validatedDigests.get(digest) != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private static void handleResult(Set<ValidationMessage> validationResult) throws SchemaValidationException {
         if (!validationResult.isEmpty()) {
             String errorMessage = validationResult.stream()
                     .map(error -> String.format("Error at %s: %s", error.getInstanceLocation(), error.getMessage()))
@@ -26,4 +105,12 @@ public class ApplicationSchemaValidator {
         }
     }
 
+    private static String digest(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
 }
@@ -4,6 +4,7 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static uk.co.datumedge.hamcrest.json.SameJSONAs.sameJSONAs;
@@ -31,6 +32,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.InputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
 
@@ -110,6 +112,72 @@ class DefaultApplicationSchemaConverterTest {
                 new ByteArrayInputStream(jsonWithUnknownFlag.getBytes(StandardCharsets.UTF_8))));
     }
 
+    @Test
+    void testInvalidJson_validatedAgain() {
+        var invalidJson = "{ \"invalid\": \"json\" }";
+        var converter = new DefaultApplicationSchemaConverter();
+        for (int i = 0; i < 2; i++) {
+            // Only documents that pass validation are remembered
+            assertThrows(InvalidJsonException.class, () -> converter.convert(
+                    new ByteArrayInputStream(invalidJson.getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    @Test
+    void testConvertLargeApplication() throws Exception {
+        var entityCount = DefaultApplicationSchemaConverter.PARALLEL_ENTITY_THRESHOLD * 2;
+        var json = generateApplicationJson(entityCount, "readOnly");
+        var converter = new DefaultApplicationSchemaConverter();
+
+        var first = converter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertEquals(entityCount, first.getEntities().size());
+        assertTrue(first.getEntityByName(EntityName.of("entity" + (entityCount - 1))).isPresent());
+
+        // Converting the same document again skips validation, but still builds a new application
+        var second = converter.convert(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)));
+        assertNotSame(first, second);
+        assertEquals(first.getEntities().size(), second.getEntities().size());
+    }
+
+    @Test
+    void testUnknownFlagInLargeApplication() {
+        var json = generateApplicationJson(DefaultApplicationSchemaConverter.PARALLEL_ENTITY_THRESHOLD * 2, "unknownFlag");
+        var converter = new DefaultApplicationSchemaConverter();
+
+        assertThrows(UnknownFlagException.class, () -> converter.convert(
+                new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8))));
+    }
+
+    private static String generateApplicationJson(int entityCount, String lastPrimaryKeyFlag) {
+        var entities = new ArrayList<String>();
+        for (int i = 0; i < entityCount; i++) {
+            var flag = i == entityCount - 1 ? lastPrimaryKeyFlag : "readOnly";
+            entities.add("""
+                    {
+                        "name": "entity%1$d",
+                        "table": "entity%1$d",
+                        "pathSegment": "entity%1$d",
+                        "linkName": "entity%1$d",
+                        "primaryKey": {
+                            "name": "id",
+                            "type": "simple",
+                            "dataType": "uuid",
+                            "columnName": "id",
+                            "flags": ["%2$s"]
+                        }
+                    }
+                    """.formatted(i, flag));
+        }
+        return """
+                {
+                    "$schema": "https://contentgrid.cloud/schemas/application-schema.json",
+                    "applicationName": "large-application",
+                    "version": "1.0.0",
+                    "entities": [%s]
+                }
+                """.formatted(String.join(",", entities));
+    }
+
     @Test
     void testTargetOneToOneSerialization() {
         var sourceEntity = getEntity("source", "source entity", "source_table");
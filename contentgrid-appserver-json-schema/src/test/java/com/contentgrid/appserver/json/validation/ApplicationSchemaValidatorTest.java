@@ -3,14 +3,22 @@ package com.contentgrid.appserver.json.validation;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import com.contentgrid.appserver.json.exceptions.SchemaValidationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.networknt.schema.JsonSchemaFactory;
 import com.networknt.schema.SchemaId;
 import com.networknt.schema.SchemaLocation;
 import com.networknt.schema.SpecVersion.VersionFlag;
+import java.nio.charset.StandardCharsets;
 import org.junit.jupiter.api.Test;
 
 class ApplicationSchemaValidatorTest {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
     @Test
     void jsonSchemaIsValid() {
         var schema = ApplicationSchemaValidator.schema;
@@ -21,4 +29,32 @@ class ApplicationSchemaValidatorTest {
         assertThat(metaSchemaValidation, empty());
     }
 
+    @Test
+    void validatedDocumentsAreRemembered() throws Exception {
+        var validator = new ApplicationSchemaValidator(1);
+        var first = application("first");
+        var second = application("second");
+        var invalid = objectMapper.readTree("{}");
+
+        validator.validate(objectMapper.readTree(first), first);
+        // The digest of the content is remembered, so the parsed document is not validated again
+        assertDoesNotThrow(() -> validator.validate(invalid, first));
+
+        validator.validate(objectMapper.readTree(second), second);
+        // Only the least recently validated document is forgotten
+        assertDoesNotThrow(() -> validator.validate(invalid, second));
+        assertThrows(SchemaValidationException.class, () -> validator.validate(invalid, first));
+    }
+
+    @Test
+    void invalidMaximumSize() {
+        assertThrows(IllegalArgumentException.class, () -> new ApplicationSchemaValidator(0));
+    }
+
+    private static byte[] application(String name) {
+        return """
+                {"applicationName": "%s", "version": "1", "entities": []}
+                """.formatted(name).getBytes(StandardCharsets.UTF_8);
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+package com.contentgrid.appserver.loadtest;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records the heap allocations of the request thread while a request is handled, per load test operation.
+ * <p>
+ * The JVM only reports allocations per platform thread. On virtual request threads nothing is recorded, and only the
+ * allocation of the whole JVM (including the load generator) is available.
+ */
+class AllocationRecordingFilter extends OncePerRequestFilter {
+
+    /**
+     * Request header with the name of the load test operation that sent the request
+     */
+    static final String OPERATION_HEADER = "X-Load-Test-Operation";
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private final Map<String, LongAdder> allocatedBytes = new ConcurrentHashMap<>();
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        var operation = request.getHeader(OPERATION_HEADER);
+        if (operation == null || Thread.currentThread().isVirtual()) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        var start = threadMXBean.getCurrentThreadAllocatedBytes();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            allocatedBytes.computeIfAbsent(operation, key -> new LongAdder())
+                    .add(threadMXBean.getCurrentThreadAllocatedBytes() - start);
+        }
+    }
+
+    /**
+     * Returns the bytes allocated per operation since the last call, and starts recording from zero again
+     */
+    Map<String, Long> drain() {
+        var result = new HashMap<String, Long>();
+        allocatedBytes.forEach((operation, bytes) -> result.put(operation, bytes.sumThenReset()));
+        return result;
+    }
+}
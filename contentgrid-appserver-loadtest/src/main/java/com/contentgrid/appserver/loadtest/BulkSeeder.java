@@ -0,0 +1,79 @@
+package com.contentgrid.appserver.loadtest;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Seeds the tables of the seeded entities with {@code COPY ... FROM STDIN}, bypassing the appserver.
+ * <p>
+ * Entities are seeded in order, so the rows that the {@code parent} foreign keys refer to already exist.
+ */
+@Slf4j
+@RequiredArgsConstructor
+class BulkSeeder {
+
+    private static final int ROWS_PER_CHUNK = 10_000;
+
+    @NonNull
+    private final Connection connection;
+
+    @NonNull
+    private final LoadTestModel model;
+
+    void seed() throws SQLException {
+        var copyApi = connection.unwrap(PGConnection.class).getCopyAPI();
+        for (int entity = 0; entity < model.getSeededEntities(); entity++) {
+            var start = System.nanoTime();
+            var columns = entity == 0 ? "id, title, amount, received, status"
+                    : "id, title, amount, received, status, parent";
+            var copyIn = copyApi.copyIn("COPY \"%s\" (%s) FROM STDIN WITH (FORMAT csv)"
+                    .formatted(LoadTestModel.table(entity), columns));
+            try {
+                copyRows(copyIn, entity);
+                var rows = copyIn.endCopy();
+                log.info("Seeded {} rows into {} in {} ms", rows, LoadTestModel.table(entity),
+                        (System.nanoTime() - start) / 1_000_000);
+            } finally {
+                if (copyIn.isActive()) {
+                    copyIn.cancelCopy();
+                }
+            }
+        }
+
+        try (var statement = connection.createStatement()) {
+            statement.execute("ANALYZE");
+        }
+    }
+
+    private void copyRows(CopyIn copyIn, int entity) throws SQLException {
+        var csv = new StringBuilder(ROWS_PER_CHUNK * 128);
+        for (long row = 0; row < model.getRowsPerEntity(); row++) {
+            csv.append(LoadTestModel.id(entity, row)).append(',')
+                    .append(LoadTestModel.title(row)).append(',')
+                    .append(LoadTestModel.amount(row)).append(',')
+                    .append(LoadTestModel.received(row)).append(',')
+                    .append(LoadTestModel.status(row));
+            if (entity > 0) {
+                csv.append(',').append(LoadTestModel.id(entity - 1, LoadTestModel.parentRow(row)));
+            }
+            csv.append('\n');
+
+            if (row % ROWS_PER_CHUNK == ROWS_PER_CHUNK - 1) {
+                write(copyIn, csv);
+            }
+        }
+        write(copyIn, csv);
+    }
+
+    private static void write(CopyIn copyIn, StringBuilder csv) throws SQLException {
+        var bytes = csv.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        csv.setLength(0);
+    }
+}
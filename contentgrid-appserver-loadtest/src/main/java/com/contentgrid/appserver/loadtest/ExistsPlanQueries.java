@@ -0,0 +1,96 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.query.engine.jooq.JOOQThunkExpressionVisitor;
+import com.contentgrid.appserver.query.engine.jooq.JOOQThunkExpressionVisitor.JOOQContext;
+import com.contentgrid.appserver.query.engine.jooq.JOOQUtils;
+import com.contentgrid.thunx.predicates.model.Comparison;
+import com.contentgrid.thunx.predicates.model.LogicalOperation;
+import com.contentgrid.thunx.predicates.model.Scalar;
+import com.contentgrid.thunx.predicates.model.SymbolicReference;
+import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import com.contentgrid.thunx.predicates.model.Variable;
+import java.util.List;
+import java.util.SplittableRandom;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Field;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+
+/**
+ * Searches on two attributes of the {@code parent} relation with the conditions of the query engine: once with both
+ * terms in a single EXISTS subquery, like the query engine combines the terms of a conjunction that traverse the same
+ * relation, and once with an EXISTS subquery per term. Both run in the same traffic mix, so their latencies are
+ * measured under the same load.
+ * <p>
+ * The queries are sent to the database directly, because the REST API only produces the merged subquery. Like a
+ * search request, every operation fetches a page and counts the matches. Its result is reported as the status code
+ * that the REST API would respond with: 200 when the queries succeed, 500 when they fail.
+ */
+@RequiredArgsConstructor
+class ExistsPlanQueries {
+
+    private static final Variable ENTITY_VAR = Variable.named("entity");
+
+    private static final int PAGE_SIZE = 20;
+
+    private final JOOQThunkExpressionVisitor visitor = new JOOQThunkExpressionVisitor();
+
+    @NonNull
+    private final DSLContext dslContext;
+
+    @NonNull
+    private final LoadTestModel model;
+
+    List<Operation> operations() {
+        return List.of(
+                new Operation("exists.merged", 50, (client, name, random) -> search(random, true)),
+                new Operation("exists.per-term", 50, (client, name, random) -> search(random, false))
+        );
+    }
+
+    private int search(SplittableRandom random, boolean merged) {
+        // The first entity has no parent relation
+        var index = 1 + random.nextInt(model.getSeededEntities() - 1);
+        var entity = model.getApplication().getRequiredEntityByName(EntityName.of(LoadTestModel.table(index)));
+        // Rows refer to the first half of the rows of their parent entity
+        var parentRow = random.nextLong(model.getRowsPerEntity() / 2);
+        var terms = List.<ThunkExpression<Boolean>>of(
+                Comparison.areEqual(parentReference("status"), Scalar.of(LoadTestModel.status(parentRow))),
+                Comparison.greater(parentReference("amount"), Scalar.of(LoadTestModel.amount(parentRow)))
+        );
+
+        Condition condition;
+        if (merged) {
+            condition = toCondition(entity, LogicalOperation.conjunction(terms.stream()));
+        } else {
+            condition = DSL.and(terms.stream().map(term -> toCondition(entity, term)).toList());
+        }
+
+        var table = JOOQUtils.resolveTable(entity, new JOOQContext(model.getApplication(), entity).getRootAlias());
+        try {
+            dslContext.selectFrom(table).where(condition).limit(PAGE_SIZE + 1).fetch();
+            dslContext.fetchCount(table, condition);
+            return 200;
+        } catch (DataAccessException e) {
+            return 500;
+        }
+    }
+
+    private static SymbolicReference parentReference(String attribute) {
+        return SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("parent"), SymbolicReference.path(attribute));
+    }
+
+    /**
+     * Every condition is created with a context of its own, like a separate search; all contexts use the same alias for
+     * the table of the entity
+     */
+    private Condition toCondition(Entity entity, ThunkExpression<Boolean> expression) {
+        var context = new JOOQContext(model.getApplication(), entity);
+        return DSL.condition((Field<Boolean>) expression.accept(visitor, context));
+    }
+}
@@ -0,0 +1,226 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.loadtest.LoadTestReport.ScenarioResult;
+import com.contentgrid.appserver.loadtest.LoadTestSettings.Scenario;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Runs the scenarios of the load test.
+ * <p>
+ * A traffic mix is sent by a fixed number of clients that each send their next request as soon as the previous one
+ * completes (a closed workload). Only requests that complete after the warmup are recorded.
+ */
+@RequiredArgsConstructor
+class LoadGenerator {
+
+    private static final String SLOW_DOWNLOAD = "slow-download";
+
+    private static final int SLOW_DOWNLOAD_BUFFER_SIZE = 8192;
+
+    @NonNull
+    private final LoadTestClient client;
+
+    @NonNull
+    private final AllocationRecordingFilter allocationRecorder;
+
+    @NonNull
+    private final ExistsPlanQueries existsPlanQueries;
+
+    @NonNull
+    private final LoadTestSettings settings;
+
+    private final com.sun.management.ThreadMXBean threadMXBean =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private volatile boolean running;
+
+    private volatile boolean measuring;
+
+    ScenarioResult run(@NonNull Scenario scenario) throws InterruptedException {
+        if (scenario == Scenario.SLOW_DOWNLOADS) {
+            return runSlowDownloads();
+        }
+
+        var operations = scenario == Scenario.EXISTS_PLANS ? existsPlanQueries.operations()
+                : TrafficMix.forScenario(scenario);
+        var stats = operations.stream().map(operation -> new OperationStats(operation.name())).toList();
+
+        running = true;
+        measuring = false;
+        Measurement measurement;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.getConcurrency(); i++) {
+                var random = new SplittableRandom(settings.getSeed() + i);
+                executor.submit(() -> runClient(operations, stats, random));
+            }
+
+            Thread.sleep(settings.getWarmup());
+            measurement = new Measurement();
+            measuring = true;
+            Thread.sleep(settings.getDuration());
+            measuring = false;
+            measurement.stop();
+            running = false;
+            // Closing the executor waits for the clients to finish their last request
+        }
+
+        return measurement.result(scenario, stats, stats.stream().mapToLong(OperationStats::requests).sum());
+    }
+
+    private void runClient(List<Operation> operations, List<OperationStats> stats, SplittableRandom random) {
+        var totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+        while (running) {
+            var index = pick(operations, random.nextInt(totalWeight));
+            var operation = operations.get(index);
+            var start = System.nanoTime();
+            String error = null;
+            try {
+                var status = operation.call().execute(client, operation.name(), random);
+                if (status >= 400) {
+                    error = "HTTP status " + status;
+                }
+            } catch (IOException e) {
+                error = e.toString();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+
+            if (measuring) {
+                if (error == null) {
+                    stats.get(index).recordSuccess(System.nanoTime() - start);
+                } else {
+                    stats.get(index).recordError(error);
+                }
+            }
+        }
+    }
+
+    private static int pick(List<Operation> operations, int value) {
+        for (int i = 0; i < operations.size(); i++) {
+            value -= operations.get(i).weight();
+            if (value < 0) {
+                return i;
+            }
+        }
+        throw new IllegalStateException("Value exceeds the total weight of the operations");
+    }
+
+    /**
+     * Starts all slow downloads at the same time, and reads every response body at a fixed rate. Records the time to
+     * the response headers and to the end of the body.
+     */
+    private ScenarioResult runSlowDownloads() throws InterruptedException {
+        var firstByte = new OperationStats(SLOW_DOWNLOAD + ".first-byte");
+        var complete = new OperationStats(SLOW_DOWNLOAD + ".complete");
+        var start = new CountDownLatch(1);
+
+        Measurement measurement;
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < settings.getSlowDownloads(); i++) {
+                var contentObject = i % settings.getContentObjects();
+                executor.submit(() -> {
+                    start.await();
+                    slowDownload(contentObject, firstByte, complete);
+                    return null;
+                });
+            }
+
+            measurement = new Measurement();
+            start.countDown();
+        }
+        measurement.stop();
+
+        // Every download is one request, with two recorded latencies
+        return measurement.result(Scenario.SLOW_DOWNLOADS, List.of(firstByte, complete), complete.requests());
+    }
+
+    private void slowDownload(int contentObject, OperationStats firstByte, OperationStats complete)
+            throws InterruptedException {
+        var start = System.nanoTime();
+        try {
+            var response = client.openDownload(complete.getName(), contentObject);
+            try (var body = response.body()) {
+                if (response.statusCode() != 200) {
+                    firstByte.recordError("HTTP status " + response.statusCode());
+                    complete.recordError("HTTP status " + response.statusCode());
+                    return;
+                }
+                var headersReceived = System.nanoTime();
+                firstByte.recordSuccess(headersReceived - start);
+
+                var buffer = new byte[SLOW_DOWNLOAD_BUFFER_SIZE];
+                long read = 0;
+                int count;
+                while ((count = body.read(buffer)) != -1) {
+                    read += count;
+                    var ahead = read * 1_000_000_000L / settings.getSlowDownloadRate()
+                            - (System.nanoTime() - headersReceived);
+                    if (ahead > 0) {
+                        Thread.sleep(Duration.ofNanos(ahead));
+                    }
+                }
+
+                if (read == settings.getContentSize()) {
+                    complete.recordSuccess(System.nanoTime() - start);
+                } else {
+                    complete.recordError("Received %d of %d bytes".formatted(read, settings.getContentSize()));
+                }
+            }
+        } catch (IOException e) {
+            complete.recordError(e.toString());
+        }
+    }
+
+    /**
+     * Allocations and elapsed time from its creation until it is stopped
+     */
+    private final class Measurement {
+
+        private final long startNanos;
+
+        private final long startAllocatedBytes;
+
+        private long elapsedNanos;
+
+        private long jvmAllocatedBytes;
+
+        private Map<String, Long> serverAllocatedBytes = Map.of();
+
+        private Measurement() {
+            // Discards the allocations recorded before, like those of the warmup
+            allocationRecorder.drain();
+            startAllocatedBytes = threadMXBean.getTotalThreadAllocatedBytes();
+            startNanos = System.nanoTime();
+        }
+
+        void stop() {
+            elapsedNanos = System.nanoTime() - startNanos;
+            jvmAllocatedBytes = threadMXBean.getTotalThreadAllocatedBytes() - startAllocatedBytes;
+            serverAllocatedBytes = allocationRecorder.drain();
+        }
+
+        ScenarioResult result(Scenario scenario, List<OperationStats> stats, long requests) {
+            var elapsed = Duration.ofNanos(elapsedNanos);
+            return new ScenarioResult(
+                    scenario.name(),
+                    elapsedNanos / 1e9,
+                    requests,
+                    requests / (elapsedNanos / 1e9),
+                    requests == 0 ? null : jvmAllocatedBytes / requests,
+                    stats.stream()
+                            .map(operation -> operation.result(elapsed, serverAllocatedBytes.get(operation.getName())))
+                            .toList()
+            );
+        }
+    }
+}
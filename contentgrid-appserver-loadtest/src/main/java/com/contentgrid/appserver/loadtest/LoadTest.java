@@ -0,0 +1,139 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.loadtest.LoadTestReport.ScenarioResult;
+import com.contentgrid.appserver.loadtest.LoadTestSettings.Scenario;
+import io.minio.MakeBucketArgs;
+import io.minio.MinioClient;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.sql.DriverManager;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.stream.IntStream;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.DSLContext;
+import org.testcontainers.containers.MinIOContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.lifecycle.Startables;
+import org.testcontainers.utility.DockerImageName;
+
+/**
+ * Runs the appserver with a generated application against PostgreSQL and MinIO containers, seeds the database and
+ * sends the traffic of the configured scenarios through the REST API.
+ * <p>
+ * Run with {@code ./gradlew :contentgrid-appserver-loadtest:loadTest}; see {@link LoadTestSettings} for the settings.
+ */
+@Slf4j
+public class LoadTest {
+
+    private static final String BUCKET = "loadtest";
+
+    public static void main(String[] args) throws Exception {
+        var settings = LoadTestSettings.fromSystemProperties();
+        var scenarios = settings.getScenarios();
+        if ((scenarios.contains(Scenario.RELATION) || scenarios.contains(Scenario.EXISTS_PLANS))
+                && settings.getSeededEntities() < 2) {
+            throw new IllegalArgumentException("The relation and exists-plans scenarios need at least 2 seeded entities");
+        }
+        if (settings.getContentObjects() >= settings.getRowsPerEntity()) {
+            throw new IllegalArgumentException("The content objects need to fit in the rows of the first entity");
+        }
+
+        var model = new LoadTestModel(settings.getEntities(), settings.getSeededEntities(), settings.getRowsPerEntity());
+
+        try (var postgres = new PostgreSQLContainer<>(DockerImageName.parse(settings.getPostgresImage())
+                .asCompatibleSubstituteFor("postgres"));
+                var minio = new MinIOContainer(DockerImageName.parse(settings.getMinioImage())
+                        .asCompatibleSubstituteFor("minio/minio"))) {
+            Startables.deepStart(postgres, minio).join();
+            MinioClient.builder()
+                    .endpoint(minio.getS3URL())
+                    .credentials(minio.getUserName(), minio.getPassword())
+                    .build()
+                    .makeBucket(MakeBucketArgs.builder().bucket(BUCKET).build());
+
+            try (var server = LoadTestServer.start(model, serverProperties(settings, postgres, minio))) {
+                // The tables are created by the server, so they can only be seeded once it has started
+                try (var connection = DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(),
+                        postgres.getPassword())) {
+                    new BulkSeeder(connection, model).seed();
+                }
+
+                var content = new byte[settings.getContentSize()];
+                new SplittableRandom(settings.getSeed()).nextBytes(content);
+                var httpClient = HttpClient.newBuilder()
+                        .version(HttpClient.Version.HTTP_1_1)
+                        .connectTimeout(Duration.ofSeconds(30))
+                        .executor(Executors.newVirtualThreadPerTaskExecutor())
+                        .build();
+                var client = new LoadTestClient(httpClient,
+                        URI.create("http://localhost:%d/".formatted(server.getWebServer().getPort())), model,
+                        settings.getContentObjects(), content);
+                uploadContent(client, settings);
+
+                var existsPlanQueries = new ExistsPlanQueries(server.getBean(DSLContext.class), model);
+                var generator = new LoadGenerator(client, server.getBean(AllocationRecordingFilter.class),
+                        existsPlanQueries, settings);
+                var results = new ArrayList<ScenarioResult>();
+                for (var scenario : settings.getScenarios()) {
+                    log.info("Running scenario {}", scenario);
+                    results.add(generator.run(scenario));
+                }
+
+                var report = new LoadTestReport(settings, results);
+                report.logSummary();
+                report.write(settings.getReport());
+            }
+        }
+    }
+
+    private static Map<String, Object> serverProperties(LoadTestSettings settings,
+            PostgreSQLContainer<?> postgres, MinIOContainer minio) {
+        var properties = new HashMap<String, Object>();
+        properties.put("spring.datasource.url", postgres.getJdbcUrl());
+        properties.put("spring.datasource.username", postgres.getUsername());
+        properties.put("spring.datasource.password", postgres.getPassword());
+        properties.put("contentgrid.appserver.content.s3.url", minio.getS3URL());
+        properties.put("contentgrid.appserver.content.s3.access-key", minio.getUserName());
+        properties.put("contentgrid.appserver.content.s3.secret-key", minio.getPassword());
+        properties.put("contentgrid.appserver.content.s3.bucket", BUCKET);
+        properties.put("spring.threads.virtual.enabled", settings.isVirtualThreads());
+        // Every slow download keeps its connection open until the transfer completes
+        properties.put("server.tomcat.max-connections",
+                Math.max(8192, settings.getSlowDownloads() + settings.getConcurrency()));
+        properties.putAll(settings.getServerProperties());
+        return properties;
+    }
+
+    /**
+     * Uploads the content objects that the content scenarios download, through the REST API
+     */
+    private static void uploadContent(LoadTestClient client, LoadTestSettings settings) throws Exception {
+        var permits = new Semaphore(settings.getConcurrency());
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            var uploads = IntStream.range(0, settings.getContentObjects())
+                    .mapToObj(row -> executor.submit((Callable<Integer>) () -> {
+                        permits.acquire();
+                        try {
+                            return client.upload("setup.upload", row);
+                        } finally {
+                            permits.release();
+                        }
+                    }))
+                    .toList();
+            for (var upload : uploads) {
+                var status = upload.get();
+                if (status >= 400) {
+                    throw new IllegalStateException("Uploading content failed with HTTP status " + status);
+                }
+            }
+        }
+        log.info("Uploaded {} content objects of {} bytes", settings.getContentObjects(), settings.getContentSize());
+    }
+}
@@ -0,0 +1,190 @@
+package com.contentgrid.appserver.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpRequest.BodyPublishers;
+import java.net.http.HttpResponse;
+import java.net.http.HttpResponse.BodyHandler;
+import java.net.http.HttpResponse.BodyHandlers;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Sends the requests of the load test operations to the appserver.
+ * <p>
+ * Every request carries the name of its operation, so the server can attribute its allocations. Redirects are followed
+ * explicitly for the same reason.
+ */
+@RequiredArgsConstructor
+class LoadTestClient {
+
+    private static final String HAL_JSON = "application/hal+json";
+
+    private static final int PAGE_SIZE = 20;
+
+    @NonNull
+    private final HttpClient httpClient;
+
+    @NonNull
+    private final URI baseUri;
+
+    @NonNull
+    private final LoadTestModel model;
+
+    private final int contentObjects;
+
+    @NonNull
+    private final byte[] content;
+
+    int getItem(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        return send(operation, get(itemPath(entity, randomRow(random)))).statusCode();
+    }
+
+    int getPage(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        return send(operation, get("/%s?_size=%d&_sort=title,asc".formatted(LoadTestModel.pathSegment(entity), PAGE_SIZE)))
+                .statusCode();
+    }
+
+    int getByIds(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        var ids = IntStream.range(0, PAGE_SIZE)
+                .mapToObj(i -> "_id=" + LoadTestModel.id(entity, randomRow(random)))
+                .collect(Collectors.joining("&"));
+        return send(operation, get("/%s?%s".formatted(LoadTestModel.pathSegment(entity), ids))).statusCode();
+    }
+
+    int create(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        var row = randomRow(random);
+        var parent = entity == 0 ? "" : ",\"parent\":\"%s\"".formatted(
+                baseUri.resolve(itemPath(entity - 1, LoadTestModel.parentRow(row))));
+        var body = "{\"title\":\"%s\",\"amount\":%s,\"received\":\"%s\",\"status\":\"%s\"%s}".formatted(
+                LoadTestModel.title(row), LoadTestModel.amount(row), LoadTestModel.received(row),
+                LoadTestModel.status(row), parent);
+        var request = request("/" + LoadTestModel.pathSegment(entity))
+                .header("Content-Type", "application/json")
+                .POST(BodyPublishers.ofString(body));
+        return send(operation, request).statusCode();
+    }
+
+    int update(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        var body = "{\"amount\":%s,\"status\":\"%s\"}".formatted(LoadTestModel.amount(random.nextLong(100_000)),
+                LoadTestModel.STATUSES.get(random.nextInt(LoadTestModel.STATUSES.size())));
+        var request = request(itemPath(entity, randomRow(random)))
+                .header("Content-Type", "application/json")
+                .method("PATCH", BodyPublishers.ofString(body));
+        return send(operation, request).statusCode();
+    }
+
+    int searchPrefix(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        // The title of a lower row number, which is a prefix of the titles that continue with more digits
+        var prefix = LoadTestModel.title(randomRow(random) / 1000).replace(' ', '+');
+        return send(operation, get("/%s?title~prefix=%s&_size=%d".formatted(LoadTestModel.pathSegment(entity), prefix,
+                PAGE_SIZE))).statusCode();
+    }
+
+    int searchExact(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        var status = LoadTestModel.STATUSES.get(random.nextInt(LoadTestModel.STATUSES.size()));
+        return send(operation, get("/%s?status=%s&_size=%d".formatted(LoadTestModel.pathSegment(entity), status,
+                PAGE_SIZE))).statusCode();
+    }
+
+    int searchRange(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        var entity = randomEntity(random);
+        return send(operation, get("/%s?amount~gt=%s&_sort=amount,asc&_size=%d".formatted(
+                LoadTestModel.pathSegment(entity), LoadTestModel.amount(randomRow(random)), PAGE_SIZE))).statusCode();
+    }
+
+    int followParent(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        // The first entity has no parent
+        var entity = random.nextInt(1, model.getSeededEntities());
+        return sendFollowingRedirect(operation, itemPath(entity, randomRow(random)) + "/parent");
+    }
+
+    int followChildren(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        // Rows of the last seeded entity have no children
+        var entity = random.nextInt(0, model.getSeededEntities() - 1);
+        // Only the first half of the rows are a parent
+        var row = random.nextLong(model.getRowsPerEntity() / 2);
+        return sendFollowingRedirect(operation, itemPath(entity, row) + "/children");
+    }
+
+    int download(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        return send(operation, contentRequest(random.nextInt(contentObjects)).GET()).statusCode();
+    }
+
+    int upload(String operation, SplittableRandom random) throws IOException, InterruptedException {
+        // Rows with downloadable content are left alone
+        return upload(operation, random.nextLong(contentObjects, model.getRowsPerEntity()));
+    }
+
+    int upload(String operation, long row) throws IOException, InterruptedException {
+        var request = contentRequest(row)
+                .header("Content-Type", "application/octet-stream")
+                .PUT(BodyPublishers.ofByteArray(content));
+        return send(operation, request).statusCode();
+    }
+
+    /**
+     * Starts downloading a content object; the response is available as soon as the headers are received
+     */
+    HttpResponse<InputStream> openDownload(String operation, int contentObject)
+            throws IOException, InterruptedException {
+        return send(operation, contentRequest(contentObject).GET(), BodyHandlers.ofInputStream());
+    }
+
+    private int sendFollowingRedirect(String operation, String path) throws IOException, InterruptedException {
+        var response = send(operation, get(path));
+        var location = response.headers().firstValue("Location");
+        if (response.statusCode() / 100 != 3 || location.isEmpty()) {
+            return response.statusCode();
+        }
+        return send(operation, get(location.get())).statusCode();
+    }
+
+    private HttpResponse<Void> send(String operation, HttpRequest.Builder request)
+            throws IOException, InterruptedException {
+        return send(operation, request, BodyHandlers.discarding());
+    }
+
+    private <T> HttpResponse<T> send(String operation, HttpRequest.Builder request, BodyHandler<T> bodyHandler)
+            throws IOException, InterruptedException {
+        return httpClient.send(request.header(AllocationRecordingFilter.OPERATION_HEADER, operation).build(),
+                bodyHandler);
+    }
+
+    private HttpRequest.Builder get(String path) {
+        return request(path).GET();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(baseUri.resolve(path)).header("Accept", HAL_JSON);
+    }
+
+    private int randomEntity(SplittableRandom random) {
+        return random.nextInt(model.getSeededEntities());
+    }
+
+    private long randomRow(SplittableRandom random) {
+        return random.nextLong(model.getRowsPerEntity());
+    }
+
+    private static String itemPath(int entity, long row) {
+        return "/%s/%s".formatted(LoadTestModel.pathSegment(entity), LoadTestModel.id(entity, row));
+    }
+
+    private HttpRequest.Builder contentRequest(long row) {
+        return HttpRequest.newBuilder(baseUri.resolve(itemPath(0, row) + "/content"));
+    }
+}
@@ -0,0 +1,194 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Constraint;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.ContentAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute.Type;
+import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
+import com.contentgrid.appserver.application.model.relations.Relation.RelationEndPoint;
+import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter;
+import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter.Operation;
+import com.contentgrid.appserver.application.model.sortable.SortableField;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.ColumnName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.application.model.values.LinkName;
+import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.PropertyPath;
+import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.application.model.values.SortableName;
+import com.contentgrid.appserver.application.model.values.TableName;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * A generated application with a chain of entities, where every entity has a many-to-one {@code parent} relation to
+ * the previous one.
+ * <p>
+ * All seeded data is derived from the entity index and row number, so the clients can address existing rows without
+ * querying for them first.
+ */
+@Getter
+public class LoadTestModel {
+
+    public static final Instant EPOCH = Instant.parse("2020-01-01T00:00:00Z");
+
+    public static final List<String> STATUSES = List.of("open", "closed", "pending", "archived");
+
+    @NonNull
+    private final Application application;
+
+    private final int seededEntities;
+
+    private final long rowsPerEntity;
+
+    public LoadTestModel(int entities, int seededEntities, long rowsPerEntity) {
+        if (seededEntities > entities) {
+            throw new IllegalArgumentException("Can not seed %d of %d entities".formatted(seededEntities, entities));
+        }
+        var builder = Application.builder().name(ApplicationName.of("loadtest"));
+        for (int i = 0; i < entities; i++) {
+            builder.entity(generateEntity(i));
+            if (i > 0) {
+                builder.relation(generateRelation(i));
+            }
+        }
+        this.application = builder.build();
+        this.seededEntities = seededEntities;
+        this.rowsPerEntity = rowsPerEntity;
+    }
+
+    public static String table(int entity) {
+        return "entity_" + entity;
+    }
+
+    public static String pathSegment(int entity) {
+        return table(entity) + "s";
+    }
+
+    public static UUID id(int entity, long row) {
+        return new UUID(entity + 1L, row);
+    }
+
+    /**
+     * The row of the previous entity that a seeded row refers to with its {@code parent} relation
+     */
+    public static long parentRow(long row) {
+        return row / 2;
+    }
+
+    public static String title(long row) {
+        return "Title " + row;
+    }
+
+    public static double amount(long row) {
+        return (row % 100_000) / 100.0;
+    }
+
+    public static Instant received(long row) {
+        return EPOCH.plusSeconds(row * 60);
+    }
+
+    public static String status(long row) {
+        return STATUSES.get((int) (row % STATUSES.size()));
+    }
+
+    private static Entity generateEntity(int index) {
+        var title = SimpleAttribute.builder()
+                .name(AttributeName.of("title"))
+                .column(ColumnName.of("title"))
+                .type(Type.TEXT)
+                .constraint(Constraint.required())
+                .build();
+        var amount = SimpleAttribute.builder()
+                .name(AttributeName.of("amount"))
+                .column(ColumnName.of("amount"))
+                .type(Type.DOUBLE)
+                .build();
+        var status = SimpleAttribute.builder()
+                .name(AttributeName.of("status"))
+                .column(ColumnName.of("status"))
+                .type(Type.TEXT)
+                .constraint(Constraint.allowedValues(STATUSES))
+                .build();
+        var builder = Entity.builder()
+                .name(EntityName.of(table(index)))
+                .table(TableName.of(table(index)))
+                .pathSegment(PathSegmentName.of(pathSegment(index)))
+                .linkName(LinkName.of(pathSegment(index)))
+                .attribute(title)
+                .attribute(amount)
+                .attribute(SimpleAttribute.builder()
+                        .name(AttributeName.of("received"))
+                        .column(ColumnName.of("received"))
+                        .type(Type.DATETIME)
+                        .build())
+                .attribute(status)
+                .attribute(ContentAttribute.builder()
+                        .name(AttributeName.of("content"))
+                        .pathSegment(PathSegmentName.of("content"))
+                        .linkName(LinkName.of("content"))
+                        .idColumn(ColumnName.of("content__id"))
+                        .filenameColumn(ColumnName.of("content__filename"))
+                        .mimetypeColumn(ColumnName.of("content__mimetype"))
+                        .lengthColumn(ColumnName.of("content__length"))
+                        .build())
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.PREFIX)
+                        .attribute(title)
+                        .name(FilterName.of("title~prefix"))
+                        .build())
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.EXACT)
+                        .attribute(status)
+                        .name(FilterName.of("status"))
+                        .build())
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.GREATER_THAN)
+                        .attribute(amount)
+                        .name(FilterName.of("amount~gt"))
+                        .build())
+                .sortableField(SortableField.builder()
+                        .name(SortableName.of("title"))
+                        .propertyPath(PropertyPath.of(AttributeName.of("title")))
+                        .build())
+                .sortableField(SortableField.builder()
+                        .name(SortableName.of("amount"))
+                        .propertyPath(PropertyPath.of(AttributeName.of("amount")))
+                        .build());
+        if (index > 0) {
+            // Following the children relation of the previous entity searches with this filter
+            builder.searchFilter(AttributeSearchFilter.builder()
+                    .operation(Operation.EXACT)
+                    .name(FilterName.of("parent"))
+                    .attributePath(PropertyPath.of(RelationName.of("parent"), AttributeName.of("id")))
+                    .build());
+        }
+        return builder.build();
+    }
+
+    private static ManyToOneRelation generateRelation(int index) {
+        return ManyToOneRelation.builder()
+                .sourceEndPoint(RelationEndPoint.builder()
+                        .entity(EntityName.of(table(index)))
+                        .name(RelationName.of("parent"))
+                        .pathSegment(PathSegmentName.of("parent"))
+                        .linkName(LinkName.of("parent"))
+                        .build())
+                .targetEndPoint(RelationEndPoint.builder()
+                        .entity(EntityName.of(table(index - 1)))
+                        .name(RelationName.of("children"))
+                        .pathSegment(PathSegmentName.of("children"))
+                        .linkName(LinkName.of("children"))
+                        .build())
+                .targetReference(ColumnName.of("parent"))
+                .build();
+    }
+}
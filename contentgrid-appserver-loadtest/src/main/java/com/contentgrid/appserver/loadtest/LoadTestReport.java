@@ -0,0 +1,83 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Results of a load test run, together with the settings they were recorded with
+ */
+@Slf4j
+record LoadTestReport(@NonNull LoadTestSettings settings, @NonNull List<ScenarioResult> scenarios) {
+
+    /**
+     * @param jvmBytesPerRequest bytes allocated by the whole JVM, including the load generator, per request
+     */
+    record ScenarioResult(
+            @NonNull String scenario,
+            double seconds,
+            long requests,
+            double throughput,
+            Long jvmBytesPerRequest,
+            @NonNull List<OperationResult> operations
+    ) {}
+
+    /**
+     * @param requests number of successful requests
+     * @param throughput successful requests per second
+     * @param serverBytesPerRequest bytes allocated by the request thread on the server per request, or {@code null}
+     * when the server runs on virtual threads
+     */
+    record OperationResult(
+            @NonNull String operation,
+            long requests,
+            long errors,
+            String firstError,
+            double throughput,
+            double p50Millis,
+            double p99Millis,
+            double p999Millis,
+            double maxMillis,
+            Long serverBytesPerRequest
+    ) {}
+
+    void logSummary() {
+        for (var scenario : scenarios) {
+            log.info("Scenario {}: {} requests in {} s, {} req/s, {} B/req allocated by the JVM", scenario.scenario(),
+                    scenario.requests(), "%.1f".formatted(scenario.seconds()),
+                    "%.1f".formatted(scenario.throughput()), format(scenario.jvmBytesPerRequest()));
+            log.info("{}", "%-28s %10s %8s %10s %10s %10s %10s %10s %12s".formatted("operation", "requests", "errors",
+                    "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms", "server B/req"));
+            for (var operation : scenario.operations()) {
+                log.info("{}", "%-28s %10d %8d %10.1f %10.2f %10.2f %10.2f %10.2f %12s".formatted(
+                        operation.operation(), operation.requests(), operation.errors(), operation.throughput(),
+                        operation.p50Millis(), operation.p99Millis(), operation.p999Millis(), operation.maxMillis(),
+                        format(operation.serverBytesPerRequest())));
+                if (operation.firstError() != null) {
+                    log.warn("First error of {}: {}", operation.operation(), operation.firstError());
+                }
+            }
+        }
+    }
+
+    void write(@NonNull Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        JsonMapper.builder()
+                .findAndAddModules()
+                .enable(SerializationFeature.INDENT_OUTPUT)
+                .build()
+                .writeValue(path.toFile(), this);
+        log.info("Report written to {}", path.toAbsolutePath());
+    }
+
+    private static String format(Long bytes) {
+        return bytes == null ? "-" : bytes.toString();
+    }
+}
@@ -0,0 +1,48 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.registry.SingleApplicationResolver;
+import java.util.Map;
+import lombok.NonNull;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.MapPropertySource;
+
+/**
+ * The appserver under test, serving the generated application on a random port
+ */
+@SpringBootConfiguration
+@EnableAutoConfiguration
+public class LoadTestServer {
+
+    @Bean
+    AllocationRecordingFilter allocationRecordingFilter() {
+        return new AllocationRecordingFilter();
+    }
+
+    @Bean
+    FilterRegistrationBean<AllocationRecordingFilter> allocationRecordingFilterRegistration(
+            AllocationRecordingFilter filter) {
+        var registration = new FilterRegistrationBean<>(filter);
+        // Wraps all other filters, so the allocations of security and error handling are included
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    static ServletWebServerApplicationContext start(@NonNull LoadTestModel model,
+            @NonNull Map<String, Object> properties) {
+        return (ServletWebServerApplicationContext) new SpringApplicationBuilder(LoadTestServer.class)
+                .initializers(context -> {
+                    // Takes precedence over application.yml, unlike default properties
+                    context.getEnvironment().getPropertySources()
+                            .addFirst(new MapPropertySource("loadtest", properties));
+                    context.getBeanFactory().registerSingleton("applicationResolver",
+                            new SingleApplicationResolver(model.getApplication()));
+                })
+                .run();
+    }
+}
@@ -0,0 +1,136 @@
+package com.contentgrid.appserver.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Value;
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Settings of a load test run, read from {@code loadtest.*} system properties.
+ * <p>
+ * System properties starting with {@code loadtest.server.} are passed on to the appserver without that prefix, so
+ * server settings can be changed between runs without rebuilding the load test.
+ */
+@Value
+@Builder
+public class LoadTestSettings {
+
+    private static final String PREFIX = "loadtest.";
+    private static final String SERVER_PREFIX = PREFIX + "server.";
+
+    /**
+     * Number of entities in the generated application
+     */
+    int entities;
+
+    /**
+     * Number of entities that are seeded with rows and receive traffic
+     */
+    int seededEntities;
+
+    long rowsPerEntity;
+
+    @NonNull
+    List<Scenario> scenarios;
+
+    /**
+     * Number of concurrent clients of the traffic mixes
+     */
+    int concurrency;
+
+    @NonNull
+    Duration warmup;
+
+    @NonNull
+    Duration duration;
+
+    /**
+     * Seed of the random generators of the clients, so every run sends the same sequence of requests per client
+     */
+    long seed;
+
+    /**
+     * Number of content objects that are uploaded before the traffic starts, to be downloaded by the content scenarios
+     */
+    int contentObjects;
+
+    /**
+     * Size of a content object, in bytes
+     */
+    int contentSize;
+
+    /**
+     * Number of concurrent downloads of the slow downloads scenario
+     */
+    int slowDownloads;
+
+    /**
+     * Download rate of a single slow download, in bytes per second
+     */
+    int slowDownloadRate;
+
+    /**
+     * Whether the server handles requests on virtual threads. Off by default, because the allocations per request can
+     * only be recorded on platform threads.
+     */
+    boolean virtualThreads;
+
+    @NonNull
+    String postgresImage;
+
+    @NonNull
+    String minioImage;
+
+    @NonNull
+    Path report;
+
+    @NonNull
+    Map<String, String> serverProperties;
+
+    public enum Scenario {
+        READ, WRITE, SEARCH, EXISTS_PLANS, RELATION, CONTENT, SLOW_DOWNLOADS;
+
+        static Scenario parse(String value) {
+            return valueOf(value.trim().toUpperCase().replace('-', '_'));
+        }
+    }
+
+    public static LoadTestSettings fromSystemProperties() {
+        var serverProperties = new HashMap<String, String>();
+        System.getProperties().stringPropertyNames().stream()
+                .filter(name -> name.startsWith(SERVER_PREFIX))
+                .forEach(name -> serverProperties.put(name.substring(SERVER_PREFIX.length()), System.getProperty(name)));
+
+        return LoadTestSettings.builder()
+                .entities(Integer.parseInt(property("entities", "100")))
+                .seededEntities(Integer.parseInt(property("seeded-entities", "10")))
+                .rowsPerEntity(Long.parseLong(property("rows-per-entity", "200000")))
+                .scenarios(Arrays.stream(property("scenarios", "read,write,search,exists-plans,relation,content,slow-downloads").split(","))
+                        .map(Scenario::parse)
+                        .toList())
+                .concurrency(Integer.parseInt(property("concurrency", "64")))
+                .warmup(DurationStyle.detectAndParse(property("warmup", "15s")))
+                .duration(DurationStyle.detectAndParse(property("duration", "60s")))
+                .seed(Long.parseLong(property("seed", "42")))
+                .contentObjects(Integer.parseInt(property("content-objects", "500")))
+                .contentSize(Integer.parseInt(property("content-size", "262144")))
+                .slowDownloads(Integer.parseInt(property("slow-downloads", "10000")))
+                .slowDownloadRate(Integer.parseInt(property("slow-download-rate", "32768")))
+                .virtualThreads(Boolean.parseBoolean(property("virtual-threads", "false")))
+                .postgresImage(property("postgres-image", "postgres:15"))
+                .minioImage(property("minio-image", "minio/minio:RELEASE.2025-07-23T15-54-02Z"))
+                .report(Path.of(property("report", "loadtest-report.json")))
+                .serverProperties(Map.copyOf(serverProperties))
+                .build();
+    }
+
+    private static String property(String name, String defaultValue) {
+        return System.getProperty(PREFIX + name, defaultValue);
+    }
+}
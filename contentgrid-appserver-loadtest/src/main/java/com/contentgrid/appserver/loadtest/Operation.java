@@ -0,0 +1,22 @@
+package com.contentgrid.appserver.loadtest;
+
+import java.io.IOException;
+import java.util.SplittableRandom;
+import lombok.NonNull;
+
+/**
+ * A kind of request of a traffic mix, with its relative share of the traffic
+ *
+ * @param name name of the operation in the report
+ * @param weight share of the traffic, relative to the other operations of the mix
+ * @param call sends the request(s) of the operation and returns the status code of the last response
+ */
+record Operation(@NonNull String name, int weight, @NonNull Call call) {
+
+    @FunctionalInterface
+    interface Call {
+
+        int execute(LoadTestClient client, String name, SplittableRandom random)
+                throws IOException, InterruptedException;
+    }
+}
@@ -0,0 +1,68 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.loadtest.LoadTestReport.OperationResult;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latencies and errors of one operation, recorded concurrently by all clients
+ */
+@RequiredArgsConstructor
+class OperationStats {
+
+    @Getter
+    @NonNull
+    private final String name;
+
+    /**
+     * Latencies of successful requests, in nanoseconds
+     */
+    private final Histogram latencies = new ConcurrentHistogram(3);
+
+    private final LongAdder errors = new LongAdder();
+
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    void recordSuccess(long nanos) {
+        latencies.recordValue(nanos);
+    }
+
+    void recordError(String error) {
+        errors.increment();
+        firstError.compareAndSet(null, error);
+    }
+
+    long requests() {
+        return latencies.getTotalCount() + errors.sum();
+    }
+
+    /**
+     * @param elapsed duration of the measurement
+     * @param serverAllocatedBytes bytes allocated by the server for this operation, or {@code null} when unknown
+     */
+    OperationResult result(@NonNull Duration elapsed, Long serverAllocatedBytes) {
+        var requests = requests();
+        return new OperationResult(
+                name,
+                latencies.getTotalCount(),
+                errors.sum(),
+                firstError.get(),
+                latencies.getTotalCount() / (elapsed.toNanos() / 1e9),
+                millis(latencies.getValueAtPercentile(50)),
+                millis(latencies.getValueAtPercentile(99)),
+                millis(latencies.getValueAtPercentile(99.9)),
+                millis(latencies.getMaxValue()),
+                serverAllocatedBytes == null || requests == 0 ? null : serverAllocatedBytes / requests
+        );
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
@@ -0,0 +1,41 @@
+package com.contentgrid.appserver.loadtest;
+
+import com.contentgrid.appserver.loadtest.LoadTestSettings.Scenario;
+import java.util.List;
+import lombok.experimental.UtilityClass;
+
+/**
+ * The operations of the traffic mix of each scenario
+ */
+@UtilityClass
+class TrafficMix {
+
+    static List<Operation> forScenario(Scenario scenario) {
+        return switch (scenario) {
+            case READ -> List.of(
+                    new Operation("read.item", 70, LoadTestClient::getItem),
+                    new Operation("read.page", 20, LoadTestClient::getPage),
+                    new Operation("read.ids", 10, LoadTestClient::getByIds)
+            );
+            case WRITE -> List.of(
+                    new Operation("write.create", 50, LoadTestClient::create),
+                    new Operation("write.update", 50, LoadTestClient::update)
+            );
+            case SEARCH -> List.of(
+                    new Operation("search.prefix", 40, LoadTestClient::searchPrefix),
+                    new Operation("search.exact", 30, LoadTestClient::searchExact),
+                    new Operation("search.range", 30, LoadTestClient::searchRange)
+            );
+            case RELATION -> List.of(
+                    new Operation("relation.parent", 50, LoadTestClient::followParent),
+                    new Operation("relation.children", 50, LoadTestClient::followChildren)
+            );
+            case CONTENT -> List.of(
+                    new Operation("content.download", 70, LoadTestClient::download),
+                    new Operation("content.upload", 30, LoadTestClient::upload)
+            );
+            case EXISTS_PLANS, SLOW_DOWNLOADS ->
+                    throw new IllegalArgumentException("Scenario %s has no traffic mix".formatted(scenario));
+        };
+    }
+}
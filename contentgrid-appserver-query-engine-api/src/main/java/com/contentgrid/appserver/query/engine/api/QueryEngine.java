@@ -2,17 +2,23 @@ package com.contentgrid.appserver.query.engine.api;
 
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.EntityName;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityRequest;
 import com.contentgrid.appserver.domain.values.ItemCount;
 import com.contentgrid.appserver.domain.values.RelationRequest;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
 import com.contentgrid.appserver.query.engine.api.data.SliceData;
 import com.contentgrid.appserver.query.engine.api.data.SortData;
 import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import lombok.NonNull;
@@ -44,8 +50,26 @@ public interface QueryEngine {
      * @return a slice of entities matching the criteria
      * @throws QueryEngineException if an error occurs during the query operation
      */
-    SliceData findAll(@NonNull Application application, @NonNull Entity entity, @NonNull ThunkExpression<Boolean> expression,
-            SortData sortData, @NonNull QueryPageData page) throws QueryEngineException;
+    default SliceData findAll(@NonNull Application application, @NonNull Entity entity, @NonNull ThunkExpression<Boolean> expression,
+            SortData sortData, @NonNull QueryPageData page) throws QueryEngineException {
+        return findAll(application, entity, ProjectionData.all(), expression, sortData, page);
+    }
+
+    /**
+     * Finds all entities that match the given expression, only loading the attributes in the projection.
+     *
+     * @param application the application context
+     * @param entity the entity type to query
+     * @param projection the attributes to load; the id and version are always loaded
+     * @param expression the predicate expression to filter entities
+     * @param sortData sorting parameters for the query
+     * @param page pagination parameters for the query
+     * @return a slice of entities matching the criteria
+     * @throws QueryEngineException if an error occurs during the query operation
+     */
+    SliceData findAll(@NonNull Application application, @NonNull Entity entity, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> expression, SortData sortData, @NonNull QueryPageData page)
+            throws QueryEngineException;
 
     /**
      * Finds an entity that matches the requested identity
@@ -55,7 +79,51 @@ public interface QueryEngine {
      * @param permitReadPredicate predicate that has to pass for the entity to be allowed to be read
      * @return an Optional containing the entity data if found, empty otherwise
      */
+    default Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        return findById(application, entityRequest, ProjectionData.all(), permitReadPredicate);
+    }
+
+    /**
+     * Finds an entity that matches the requested identity, only loading the attributes in the projection
+     *
+     * @param application the application context
+     * @param entityRequest the identity of the entity to query
+     * @param projection the attributes to load; the id and version are always loaded
+     * @param permitReadPredicate predicate that has to pass for the entity to be allowed to be read
+     * @return an Optional containing the entity data if found, empty otherwise
+     */
     Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException;
+
+    /**
+     * Finds the entities with the given ids, using a single query
+     *
+     * @param application the application context
+     * @param entityName the entity type to query
+     * @param entityIds the primary keys of the entities to query
+     * @param projection the attributes to load; the id and version are always loaded
+     * @param permitReadPredicate predicate that has to pass for the entities to be allowed to be read
+     * @return the entities that were found, in the order of the requested ids. Ids that do not exist or that are not
+     * allowed to be read are left out, duplicate ids are only returned once.
+     */
+    List<EntityData> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException;
+
+    /**
+     * Finds the version of an entity that matches the requested identity, without loading the entity data
+     *
+     * @param application the application context
+     * @param entityRequest the identity of the entity to query
+     * @param permitReadPredicate predicate that has to pass for the entity to be allowed to be read
+     * @return an Optional containing the id and version of the entity if found, empty otherwise.
+     * The version is unspecified when the entity does not have a version attribute.
+     */
+    Optional<EntityIdAndVersion> findVersionById(@NonNull Application application, @NonNull EntityRequest entityRequest,
             @NonNull ThunkExpression<Boolean> permitReadPredicate)
             throws QueryEngineException;
 
@@ -129,6 +197,27 @@ public interface QueryEngine {
      */
     Optional<EntityIdAndVersion> findTarget(@NonNull Application application, @NonNull RelationRequest relationRequest, @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException;
 
+    /**
+     * Returns the target entities that are linked with any of the given source entities, using a single query.
+     * This operation can be used for all kinds of relationships.
+     * <p>
+     * The read predicate is applied to the target entities: targets that are not allowed to be read are left out.
+     * Permissions on the source entities are not checked.
+     * <p>
+     * At most {@code limitPerSource} targets are returned for every source entity: the readable targets with the
+     * lowest primary keys.
+     *
+     * @param application the application context
+     * @param relation the relation to follow
+     * @param sourceIds the primary keys of the source entities
+     * @param limitPerSource the maximum number of targets to return for a single source entity
+     * @param permitReadPredicate predicate that has to pass for a target entity to be allowed to be read
+     * @return the target entities, grouped by the primary key of the source entity they are linked with.
+     * Source entities without readable targets are absent.
+     * @throws QueryEngineException if an error occurs during the query operation
+     */
+    Map<EntityId, List<EntityData>> findTargets(@NonNull Application application, @NonNull Relation relation, @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException;
+
     /**
      * Link the target entity id provided in data with the given source id.
      * This operation can only be used for many-to-one or one-to-one relationships.
@@ -185,4 +274,25 @@ public interface QueryEngine {
      * @throws QueryEngineException if an error occurs during the query operation
      */
     ItemCount count(@NonNull Application application, @NonNull Entity entity, @NonNull ThunkExpression<Boolean> expression) throws QueryEngineException;
+
+    /**
+     * Runs the given work in a single transaction. All operations that the work performs on this query engine are
+     * committed together, or are all rolled back when the work throws an exception.
+     *
+     * @param work the work to run
+     * @return the result of the work
+     * @throws E the exception thrown by the work, after the transaction has been rolled back
+     */
+    <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E;
+
+    /**
+     * Work that is run in a single transaction
+     *
+     * @param <T> the type of the result of the work
+     * @param <E> the type of the checked exception that the work can throw
+     */
+    @FunctionalInterface
+    interface TransactionalWork<T, E extends Exception> {
+        T execute() throws E;
+    }
 }
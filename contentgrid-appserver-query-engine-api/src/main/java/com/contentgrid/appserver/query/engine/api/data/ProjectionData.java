@@ -0,0 +1,59 @@
+package com.contentgrid.appserver.query.engine.api.data;
+
+import com.contentgrid.appserver.application.model.values.PropertyName;
+import java.util.Collection;
+import java.util.Optional;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Value;
+
+/**
+ * The attributes and relations of an entity that are requested.
+ * <p>
+ * The id and the version of an entity are always part of the result, regardless of the projection.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class ProjectionData {
+
+    private static final ProjectionData ALL = new ProjectionData(null);
+
+    /**
+     * Names of the requested attributes and relations, or {@code null} when everything is requested
+     */
+    @Getter(AccessLevel.NONE)
+    Set<String> propertyNames;
+
+    /**
+     * @return A projection that requests all attributes and relations
+     */
+    public static ProjectionData all() {
+        return ALL;
+    }
+
+    /**
+     * @param propertyNames Names of the attributes and relations to request
+     * @return A projection that only requests the given attributes and relations
+     */
+    public static ProjectionData of(@NonNull Collection<String> propertyNames) {
+        return new ProjectionData(Set.copyOf(propertyNames));
+    }
+
+    /**
+     * @return The names of the requested attributes and relations; empty when everything is requested
+     */
+    public Optional<Set<String>> getPropertyNames() {
+        return Optional.ofNullable(propertyNames);
+    }
+
+    public boolean isAll() {
+        return propertyNames == null;
+    }
+
+    public boolean includes(@NonNull PropertyName name) {
+        return propertyNames == null || propertyNames.contains(name.getValue());
+    }
+}
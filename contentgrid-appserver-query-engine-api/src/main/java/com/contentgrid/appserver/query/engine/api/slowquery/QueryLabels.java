@@ -0,0 +1,70 @@
+package com.contentgrid.appserver.query.engine.api.slowquery;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import java.util.List;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Labels the queries that are executed on the current thread with the application, the entity and the search filters
+ * of the request they belong to, so a {@link SlowQuery} can be attributed to them.
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class QueryLabels {
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    @NonNull
+    private final ApplicationName application;
+
+    @NonNull
+    private final EntityName entity;
+
+    @NonNull
+    private final List<FilterName> filters;
+
+    /**
+     * Label the queries on the current thread
+     *
+     * @param application The application that the entity belongs to
+     * @param entity The entity that is queried
+     * @param filters The names of the search filters that are applied
+     * @return The scope, that must be closed when the queries are done
+     */
+    public static Scope open(@NonNull ApplicationName application, @NonNull EntityName entity,
+            @NonNull List<FilterName> filters) {
+        var scope = new Scope(new QueryLabels(application, entity, List.copyOf(filters)), CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    /**
+     * @return The labels of the innermost open scope on the current thread
+     */
+    public static Optional<QueryLabels> current() {
+        return Optional.ofNullable(CURRENT.get()).map(scope -> scope.labels);
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class Scope implements AutoCloseable {
+
+        private final QueryLabels labels;
+
+        private final Scope previous;
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                CURRENT.set(previous);
+            } else {
+                CURRENT.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.contentgrid.appserver.query.engine.api.slowquery;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import lombok.Value;
+
+/**
+ * A query that took longer than the slow query threshold
+ */
+@Value
+@Builder
+public class SlowQuery {
+
+    @NonNull
+    Instant timestamp;
+
+    /**
+     * The application of the entity that was queried, or {@code null} when the query was not labeled
+     */
+    ApplicationName application;
+
+    /**
+     * The entity that was queried, or {@code null} when the query was not labeled
+     */
+    EntityName entity;
+
+    /**
+     * The names of the search filters that were applied
+     */
+    @Singular
+    List<FilterName> filters;
+
+    /**
+     * The rendered SQL, with placeholders for the bind values and redacted literals
+     */
+    @NonNull
+    String sql;
+
+    @NonNull
+    Duration duration;
+
+    /**
+     * Whether the query failed, e.g. because it was cancelled by {@code statement_timeout}
+     */
+    boolean failed;
+
+    /**
+     * The output of {@code EXPLAIN (ANALYZE, BUFFERS)} with redacted literals, when it was captured
+     */
+    String plan;
+
+    public Optional<ApplicationName> getApplication() {
+        return Optional.ofNullable(application);
+    }
+
+    public Optional<EntityName> getEntity() {
+        return Optional.ofNullable(entity);
+    }
+
+    public Optional<String> getPlan() {
+        return Optional.ofNullable(plan);
+    }
+}
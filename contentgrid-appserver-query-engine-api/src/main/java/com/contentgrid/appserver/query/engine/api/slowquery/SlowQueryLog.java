@@ -0,0 +1,74 @@
+package com.contentgrid.appserver.query.engine.api.slowquery;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.NonNull;
+
+/**
+ * Keeps the most recent slow queries in a bounded ring buffer.
+ * <p>
+ * Adding and reading entries does not take locks: a new entry overwrites the oldest one, and readers skip entries that
+ * are overwritten while they read.
+ */
+public class SlowQueryLog {
+
+    private final AtomicReferenceArray<Slot> slots;
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    /**
+     * @param capacity The maximum number of entries that are kept
+     */
+    public SlowQueryLog(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive, but was %d".formatted(capacity));
+        }
+        this.slots = new AtomicReferenceArray<>(capacity);
+    }
+
+    public int getCapacity() {
+        return slots.length();
+    }
+
+    public void add(@NonNull SlowQuery query) {
+        var next = sequence.getAndIncrement();
+        slots.set(index(next), new Slot(next, query));
+    }
+
+    /**
+     * @return The entries in the log, newest first
+     */
+    public List<SlowQuery> getEntries() {
+        var end = sequence.get();
+        var start = Math.max(0, end - slots.length());
+        var entries = new ArrayList<SlowQuery>((int) (end - start));
+        for (var current = end - 1; current >= start; current--) {
+            var slot = slots.get(index(current));
+            // The slot is still empty when its writer has not stored it yet, or already reused by a newer entry
+            if (slot != null && slot.sequence() == current) {
+                entries.add(slot.query());
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * @return The entries in the log for the given entity of an application, newest first
+     */
+    public List<SlowQuery> getEntries(@NonNull ApplicationName application, @NonNull EntityName entity) {
+        return getEntries().stream()
+                .filter(query -> query.getApplication().filter(application::equals).isPresent())
+                .filter(query -> query.getEntity().filter(entity::equals).isPresent())
+                .toList();
+    }
+
+    private int index(long position) {
+        return (int) (position % slots.length());
+    }
+
+    private record Slot(long sequence, SlowQuery query) {}
+}
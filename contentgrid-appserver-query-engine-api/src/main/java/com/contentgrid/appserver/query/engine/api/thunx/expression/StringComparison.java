@@ -33,10 +33,38 @@ public sealed class StringComparison extends Comparison implements CustomFunctio
         return new ContentGridPrefixSearch(leftTerm, rightTerm);
     }
 
+    /**
+     * Full-text search: the left term contains the words of the right term, which is a web-search style query
+     */
+    public static Comparison fullTextSearchMatch(@NonNull ThunkExpression<?> leftTerm, @NonNull ThunkExpression<String> rightTerm) {
+        return new FullTextSearch(leftTerm, rightTerm);
+    }
+
+    /**
+     * Case-insensitive substring search: the left term contains the right term
+     */
+    public static Comparison containsMatch(@NonNull ThunkExpression<?> leftTerm, @NonNull ThunkExpression<String> rightTerm) {
+        return new Contains(leftTerm, rightTerm);
+    }
+
     public static final class ContentGridPrefixSearch extends StringComparison {
 
         private ContentGridPrefixSearch(@NonNull ThunkExpression<?> leftTerm, @NonNull ThunkExpression<String> rightTerm) {
             super("cg_prefix_search", leftTerm, rightTerm);
         }
     }
+
+    public static final class FullTextSearch extends StringComparison {
+
+        private FullTextSearch(@NonNull ThunkExpression<?> leftTerm, @NonNull ThunkExpression<String> rightTerm) {
+            super("cg_full_text_search", leftTerm, rightTerm);
+        }
+    }
+
+    public static final class Contains extends StringComparison {
+
+        private Contains(@NonNull ThunkExpression<?> leftTerm, @NonNull ThunkExpression<String> rightTerm) {
+            super("cg_contains", leftTerm, rightTerm);
+        }
+    }
 }
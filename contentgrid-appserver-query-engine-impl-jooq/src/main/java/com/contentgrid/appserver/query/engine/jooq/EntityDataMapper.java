@@ -7,9 +7,11 @@ import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
 import com.contentgrid.appserver.application.model.attributes.flags.ETagFlag;
 import com.contentgrid.appserver.domain.values.EntityIdentity;
 import com.contentgrid.appserver.domain.values.version.Version;
+import com.contentgrid.appserver.query.engine.api.EntityIdAndVersion;
 import com.contentgrid.appserver.query.engine.api.data.AttributeData;
 import com.contentgrid.appserver.query.engine.api.data.CompositeAttributeData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.query.engine.api.data.SimpleAttributeData;
 import java.math.BigDecimal;
@@ -24,6 +26,10 @@ import lombok.experimental.UtilityClass;
 public class EntityDataMapper {
 
     public EntityData from(@NonNull Entity entity, Map<String, Object> data) {
+        return from(entity, data, ProjectionData.all());
+    }
+
+    public EntityData from(@NonNull Entity entity, Map<String, Object> data, @NonNull ProjectionData projection) {
         return new EntityData(
                 EntityIdentity.forEntity(
                         entity.getName(),
@@ -33,11 +39,17 @@ public class EntityDataMapper {
                         .stream()
                         // Skip attribute containing version (it's already part of EntityIdentity)
                         .filter(attr -> !attr.hasFlag(ETagFlag.class))
+                        // Attributes that are not part of the projection are not loaded
+                        .filter(attr -> projection.includes(attr.getName()))
                         .map(attr -> from(attr, data))
                         .toList()
         );
     }
 
+    public EntityIdAndVersion idAndVersionFrom(@NonNull Entity entity, Map<String, Object> data) {
+        return new EntityIdAndVersion(getEntityId(entity, data), getEntityVersion(entity, data));
+    }
+
     private EntityId getEntityId(@NonNull Entity entity, Map<String, Object> data) {
         var primaryKey = entity.getPrimaryKey();
         var id = convert(primaryKey, data.get(primaryKey.getColumn().getValue()));
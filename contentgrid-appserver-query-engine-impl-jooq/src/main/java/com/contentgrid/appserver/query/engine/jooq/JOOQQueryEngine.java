@@ -3,12 +3,16 @@ package com.contentgrid.appserver.query.engine.jooq;
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
 import com.contentgrid.appserver.application.model.attributes.SimpleAttribute.Type;
+import com.contentgrid.appserver.application.model.attributes.flags.ETagFlag;
 import com.contentgrid.appserver.application.model.exceptions.EntityDefinitionNotFoundException;
 import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
 import com.contentgrid.appserver.application.model.relations.OneToOneRelation;
+import com.contentgrid.appserver.application.model.relations.Relation;
 import com.contentgrid.appserver.application.model.values.AttributePath;
 import com.contentgrid.appserver.application.model.values.EntityName;
 import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.application.model.values.RelationPath;
+import com.contentgrid.appserver.application.model.values.TableName;
 import com.contentgrid.appserver.domain.values.EntityRequest;
 import com.contentgrid.appserver.domain.values.ItemCount;
 import com.contentgrid.appserver.domain.values.RelationRequest;
@@ -22,7 +26,9 @@ import com.contentgrid.appserver.query.engine.api.UpdateResult;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
 import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityIdentity;
 import com.contentgrid.appserver.query.engine.api.data.OffsetData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
 import com.contentgrid.appserver.query.engine.api.data.RelationData;
 import com.contentgrid.appserver.query.engine.api.data.SliceData;
@@ -53,11 +59,15 @@ import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.security.SecureRandom;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Function;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
@@ -89,25 +99,41 @@ public class JOOQQueryEngine implements QueryEngine {
 
     private static final SecureRandom secureRandom = new SecureRandom();
 
+    private static final String LINKS_ALIAS = "_links";
+    private static final Field<UUID> LINK_SOURCE_ID = DSL.field(DSL.name(LINKS_ALIAS, "_source_id"), UUID.class);
+    private static final Field<UUID> LINK_TARGET_ID = DSL.field(DSL.name(LINKS_ALIAS, "_target_id"), UUID.class);
+    private static final String RANKED_TARGETS_ALIAS = "_ranked_targets";
+    private static final Field<Integer> TARGET_RANK = DSL.field(DSL.name(RANKED_TARGETS_ALIAS, "_rank"), Integer.class);
+
     private static Condition createCondition(JOOQContext context, ThunkExpression<Boolean> expression) {
         return DSL.condition((Field<Boolean>) expression.accept(visitor, context));
     }
 
     @Override
-    public SliceData findAll(@NonNull Application application, @NonNull Entity entity,
+    public SliceData findAll(@NonNull Application application, @NonNull Entity entity, @NonNull ProjectionData projection,
             @NonNull ThunkExpression<Boolean> expression, SortData sortData, @NonNull QueryPageData page) throws QueryEngineException {
         var dslContext = resolver.resolve(application);
         var context = new JOOQContext(application, entity);
         var alias = context.getRootAlias();
         var table = JOOQUtils.resolveTable(entity, alias);
-        var orderBy = sortData != null
-                ? sortData.getSortedFields().stream().map(field -> convert(entity, field)).toList()
-                : List.<OrderField<?>>of();
+        var condition = createCondition(context, expression);
+
+        var orderBy = new ArrayList<OrderField<?>>();
+        if (sortData != null) {
+            sortData.getSortedFields().stream().map(field -> convert(context, field)).forEach(orderBy::add);
+        }
+        // Most relevant full-text search results first, after the explicitly requested sort order
+        context.getRank().ifPresent(rank -> orderBy.add(rank.desc()));
+        if (!orderBy.isEmpty()) {
+            // Tiebreaker, so rows with equal sort values have a stable order across pages
+            orderBy.add(JOOQUtils.resolvePrimaryKey(alias, entity).asc());
+        }
 
         var offsetAndLimit = convertPageData(page);
 
-        var condition = createCondition(context, expression);
-        var results = dslContext.selectFrom(table)
+        // Sorting across relations left joins the target tables, but only the columns of the entity are selected
+        var results = dslContext.select(resolveProjectedFields(alias, entity, projection))
+                .from(context.getJoinCollection().applyOuterJoins(table))
                 .where(condition)
                 .orderBy(orderBy)
                 .offset(offsetAndLimit.offset())
@@ -117,11 +143,26 @@ public class JOOQQueryEngine implements QueryEngine {
 
         return SliceData.builder()
                 .entities(results.stream()
-                        .map(result -> EntityDataMapper.from(entity, result))
+                        .map(result -> EntityDataMapper.from(entity, result, projection))
                         .toList())
                 .build();
     }
 
+    /**
+     * Resolves the columns of the attributes in the projection. The primary key and the version are always selected,
+     * because they identify the entity.
+     */
+    private static List<Field<?>> resolveProjectedFields(TableName alias, Entity entity, ProjectionData projection) {
+        var fields = new ArrayList<Field<?>>();
+        fields.add(JOOQUtils.resolvePrimaryKey(alias, entity));
+        for (var attribute : entity.getAttributes()) {
+            if (attribute.hasFlag(ETagFlag.class) || projection.includes(attribute.getName())) {
+                JOOQUtils.resolveAttributeFields(alias, attribute).forEach(fields::add);
+            }
+        }
+        return fields;
+    }
+
     private record OffsetAndLimit(long offset, int limit) {}
 
     private static OffsetAndLimit convertPageData(@NonNull QueryPageData data)  {
@@ -130,13 +171,27 @@ public class JOOQQueryEngine implements QueryEngine {
         };
     }
 
-    private static SortField<Object> convert(Entity entity, FieldSort field) {
+    private static SortField<?> convert(JOOQContext context, FieldSort field) {
+        var application = context.getApplication();
+        var entity = context.getEntity();
         var path = entity.getSortableFieldByName(field.getName()).orElseThrow().getPropertyPath();
+
+        // Follow *-to-one relations, which are left joined with the entity table
+        var relations = new ArrayList<Relation>();
+        while (path instanceof RelationPath relationPath) {
+            var relation = application.getRequiredRelationForEntity(entity, relationPath.getRelation());
+            relations.add(relation);
+            entity = application.getRelationTargetEntity(relation);
+            path = relationPath.getRest();
+        }
         if (!(path instanceof AttributePath attrPath)) {
-            throw new IllegalArgumentException("Sorting by complex property paths is not supported.");
+            throw new IllegalArgumentException("Sorting by property path %s is not supported.".formatted(path));
         }
+        var alias = relations.isEmpty()
+                ? context.getRootAlias()
+                : context.getJoinCollection().addOuterJoins(application, relations);
         var attr = entity.resolveAttributePath(attrPath);
-        var dslField = DSL.field(attr.getColumn().getValue());
+        var dslField = JOOQUtils.resolveField(alias, attr);
         return switch (field.getDirection()) {
             case ASC -> dslField.asc();
             case DESC -> dslField.desc();
@@ -145,7 +200,7 @@ public class JOOQQueryEngine implements QueryEngine {
 
     @Override
     public Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
-            @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> permitReadPredicate) {
         var dslContext = resolver.resolve(application);
         var entity = application.getRequiredEntityByName(entityRequest.getEntityName());
         var context = new JOOQContext(application, entity);
@@ -153,7 +208,7 @@ public class JOOQQueryEngine implements QueryEngine {
         var table = JOOQUtils.resolveTable(entity, alias);
         var primaryKey = JOOQUtils.resolvePrimaryKey(alias, entity);
 
-        var fields = new ArrayList<>(Arrays.asList(JOOQUtils.resolveAttributeFields(entity)));
+        var fields = resolveProjectedFields(alias, entity, projection);
         var condition = createCondition(context, permitReadPredicate);
 
         fields.add(DSL.field(condition).as("_allow_read"));
@@ -165,7 +220,7 @@ public class JOOQQueryEngine implements QueryEngine {
                 .fetchOptional()
                 .map(Record::intoMap)
                 .map(result -> {
-                    var entityData = EntityDataMapper.from(entity, result);
+                    var entityData = EntityDataMapper.from(entity, result, projection);
                     if(result.get("_allow_read") != Boolean.TRUE) {
                         throw new PermissionDeniedException(entityData.getIdentity());
                     }
@@ -174,6 +229,86 @@ public class JOOQQueryEngine implements QueryEngine {
                 .map(checkVersionSatisfied(entityRequest));
     }
 
+    @Override
+    public List<EntityData> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        if (entityIds.isEmpty()) {
+            return List.of();
+        }
+        var dslContext = resolver.resolve(application);
+        var entity = application.getRequiredEntityByName(entityName);
+        var context = new JOOQContext(application, entity);
+        var alias = context.getRootAlias();
+        var table = JOOQUtils.resolveTable(entity, alias);
+        var primaryKey = JOOQUtils.resolvePrimaryKey(alias, entity);
+
+        var fields = resolveProjectedFields(alias, entity, projection);
+        // Entities that are not allowed to be read are left out like unknown ids, so one of them does not fail the
+        // whole batch, and a client can not tell whether they exist
+        var condition = createCondition(context, permitReadPredicate);
+
+        var results = dslContext
+                .select(fields)
+                .from(table)
+                .where(primaryKey.eq(DSL.any(entityIds.stream().map(EntityId::getValue).toArray(UUID[]::new))))
+                .and(condition)
+                .fetch()
+                .intoMaps();
+
+        var entitiesById = HashMap.<EntityId, EntityData>newHashMap(results.size());
+        for (var result : results) {
+            var entityData = EntityDataMapper.from(entity, result, projection);
+            entitiesById.put(entityData.getIdentity().getEntityId(), entityData);
+        }
+
+        // The rows are returned in no particular order, restore the order of the requested ids
+        return entityIds.stream()
+                .distinct()
+                .map(entitiesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findVersionById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate) {
+        var dslContext = resolver.resolve(application);
+        var entity = application.getRequiredEntityByName(entityRequest.getEntityName());
+        var context = new JOOQContext(application, entity);
+        var alias = context.getRootAlias();
+        var table = JOOQUtils.resolveTable(entity, alias);
+        var primaryKey = JOOQUtils.resolvePrimaryKey(alias, entity);
+
+        // Only select the primary key and the version, not the entity data
+        var fields = new ArrayList<Field<?>>();
+        fields.add(JOOQUtils.resolvePrimaryKey(entity));
+        JOOQUtils.resolveVersionField(entity)
+                .map(versionField -> DSL.field(DSL.name(versionField.getName()), versionField.getDataType()))
+                .ifPresent(fields::add);
+        var condition = createCondition(context, permitReadPredicate);
+
+        fields.add(DSL.field(condition).as("_allow_read"));
+
+        return dslContext
+                .select(fields)
+                .from(table)
+                .where(primaryKey.eq(entityRequest.getEntityId().getValue()))
+                .fetchOptional()
+                .map(Record::intoMap)
+                .map(result -> {
+                    var idAndVersion = EntityDataMapper.idAndVersionFrom(entity, result);
+                    if(result.get("_allow_read") != Boolean.TRUE) {
+                        throw new PermissionDeniedException(EntityIdentity.forEntity(entity.getName(), idAndVersion.entityId())
+                                .withVersion(idAndVersion.version()));
+                    }
+                    if (!entityRequest.getVersionConstraint().isSatisfiedBy(idAndVersion.version())) {
+                        throw new UnsatisfiedVersionException(idAndVersion.version(), entityRequest.getVersionConstraint());
+                    }
+                    return idAndVersion;
+                });
+    }
+
     private static @NotNull Function<EntityData, EntityData> checkVersionSatisfied(@NotNull EntityRequest entityRequest) {
         return entityData -> {
             if (!entityRequest.getVersionConstraint().isSatisfiedBy(entityData.getIdentity().getVersion())) {
@@ -294,7 +429,7 @@ public class JOOQQueryEngine implements QueryEngine {
             @NonNull EntityRequest request,
             @NonNull ThunkExpression<Boolean> predicate
     ) throws PermissionDeniedException {
-        findById(application, request, predicate)
+        findVersionById(application, request, predicate)
                 .orElseThrow(() -> new EntityIdNotFoundException(request.getEntityName(), request.getEntityId()));
     }
 
@@ -501,6 +636,58 @@ public class JOOQQueryEngine implements QueryEngine {
         return maybeEntityId.map(entityId -> new EntityIdAndVersion(entityId, version));
     }
 
+    @Override
+    public Map<EntityId, List<EntityData>> findTargets(@NonNull Application application, @NonNull Relation relation,
+            @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException {
+        if (sourceIds.isEmpty()) {
+            return Map.of();
+        }
+        var dslContext = resolver.resolve(application);
+        var targetEntity = application.getRelationTargetEntity(relation);
+        var context = new JOOQContext(application, targetEntity);
+        var alias = context.getRootAlias();
+        var table = JOOQUtils.resolveTable(targetEntity, alias);
+        var primaryKey = JOOQUtils.resolvePrimaryKey(alias, targetEntity);
+        var condition = createCondition(context, permitReadPredicate);
+
+        // The links of all source entities, read from the table that stores the relation (the source table,
+        // the target table or a join table)
+        var strategy = JOOQRelationStrategyFactory.forRelation(relation);
+        var sourceRef = strategy.getSourceRef(application, relation);
+        var targetRef = strategy.getTargetRef(application, relation);
+        var links = DSL.select(sourceRef.as(LINK_SOURCE_ID.getName()), targetRef.as(LINK_TARGET_ID.getName()))
+                .from(strategy.getTable(application, relation))
+                .where(sourceRef.eq(DSL.any(sourceIds.stream().map(EntityId::getValue).toArray(UUID[]::new))))
+                .asTable(LINKS_ALIAS);
+
+        // Number the readable targets of every source entity, so the targets of a single source entity are capped
+        // in the database instead of loading all of them
+        var fields = resolveProjectedFields(alias, targetEntity, ProjectionData.all());
+        fields.add(LINK_SOURCE_ID);
+        fields.add(DSL.rowNumber()
+                .over(DSL.partitionBy(LINK_SOURCE_ID).orderBy(primaryKey.asc()))
+                .as(TARGET_RANK.getName()));
+        var rankedTargets = DSL.select(fields)
+                .from(table)
+                .join(links).on(primaryKey.eq(LINK_TARGET_ID))
+                .where(condition)
+                .asTable(RANKED_TARGETS_ALIAS);
+
+        var results = dslContext.selectFrom(rankedTargets)
+                .where(TARGET_RANK.le(limitPerSource))
+                .orderBy(TARGET_RANK.asc())
+                .fetch()
+                .intoMaps();
+
+        var targets = new HashMap<EntityId, List<EntityData>>();
+        for (var result : results) {
+            var sourceId = EntityId.of((UUID) result.get(LINK_SOURCE_ID.getName()));
+            targets.computeIfAbsent(sourceId, id -> new ArrayList<>())
+                    .add(EntityDataMapper.from(targetEntity, result));
+        }
+        return targets;
+    }
+
     @Override
     public void setLink(@NonNull Application application, @NonNull RelationRequest relationRequest, @NonNull EntityId targetId,
             @NonNull ThunkExpression<Boolean> permitUpdatePredicate) throws QueryEngineException {
@@ -587,9 +774,15 @@ public class JOOQQueryEngine implements QueryEngine {
         var dslContext = resolver.resolve(application);
         var context = new JOOQContext(application, entity);
         var alias = context.getRootAlias();
-        var table = JOOQUtils.resolveTable(entity, alias);
 
         var condition = DSL.condition((Field<Boolean>) expression.accept(visitor, context));
-        return countStrategy.count(dslContext, DSL.selectFrom(table).where(condition));
+        return countStrategy.count(dslContext, entity.getTable(), alias, condition);
     }
+
+    @Override
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        // Transactions are managed around this query engine, see TransactionalQueryEngine
+        return work.execute();
+    }
+
 }
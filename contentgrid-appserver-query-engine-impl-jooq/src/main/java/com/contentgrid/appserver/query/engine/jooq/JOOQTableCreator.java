@@ -6,6 +6,9 @@ import com.contentgrid.appserver.application.model.Entity;
 import com.contentgrid.appserver.application.model.attributes.Attribute;
 import com.contentgrid.appserver.application.model.attributes.CompositeAttribute;
 import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.application.model.searchfilters.AttributeSearchFilter;
+import com.contentgrid.appserver.application.model.values.PropertyPath;
+import com.contentgrid.appserver.application.model.values.RelationPath;
 import com.contentgrid.appserver.query.engine.api.TableCreator;
 import com.contentgrid.appserver.query.engine.api.exception.InvalidSqlException;
 import com.contentgrid.appserver.query.engine.jooq.resolver.DSLContextResolver;
@@ -13,6 +16,7 @@ import com.contentgrid.appserver.query.engine.jooq.strategy.JOOQRelationStrategy
 import lombok.RequiredArgsConstructor;
 import org.jooq.CreateTableElementListStep;
 import org.jooq.DSLContext;
+import org.jooq.Field;
 import org.jooq.impl.DSL;
 import org.springframework.jdbc.BadSqlGrammarException;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,6 +29,7 @@ public class JOOQTableCreator implements TableCreator {
 
     @Override
     public void createTables(Application application) {
+        resolver.initialize(application);
         var dslContext = resolver.resolve(application);
         for (var entity : application.getEntities()) {
             createTableForEntity(dslContext, entity);
@@ -34,6 +39,10 @@ public class JOOQTableCreator implements TableCreator {
             var strategy = JOOQRelationStrategyFactory.forRelation(relation);
             strategy.make(dslContext, application, relation);
         }
+        // Create indexes for search filters after all tables are created, search filters can go over relations
+        for (var entity : application.getEntities()) {
+            createIndexesForSearchFilters(dslContext, application, entity);
+        }
     }
 
     private void createTableForEntity(DSLContext dslContext, Entity entity) {
@@ -68,6 +77,48 @@ public class JOOQTableCreator implements TableCreator {
         }
     }
 
+    private void createIndexesForSearchFilters(DSLContext dslContext, Application application, Entity entity) {
+        for (var searchFilter : entity.getSearchFilters()) {
+            if (searchFilter instanceof AttributeSearchFilter attributeSearchFilter) {
+                var path = attributeSearchFilter.getAttributePath();
+                var targetEntity = resolveTargetEntity(application, entity, path);
+                var attribute = application.resolvePropertyPath(entity, path);
+                var field = DSL.field(DSL.name(attribute.getColumn().getValue()));
+                switch (attributeSearchFilter.getOperation()) {
+                    case FULL_TEXT -> createIndex(dslContext, targetEntity, attribute, "fts", "gin",
+                            JOOQUtils.resolveFullTextVector(field));
+                    case CONTAINS -> createIndex(dslContext, targetEntity, attribute, "trgm", "gin",
+                            JOOQUtils.resolveTrigramOperand(field));
+                    default -> {
+                        // No specialized index required
+                    }
+                }
+            }
+        }
+    }
+
+    private static Entity resolveTargetEntity(Application application, Entity entity, PropertyPath path) {
+        while (path instanceof RelationPath relationPath) {
+            var relation = application.getRequiredRelationForEntity(entity, relationPath.getRelation());
+            entity = application.getRelationTargetEntity(relation);
+            path = relationPath.getRest();
+        }
+        return entity;
+    }
+
+    private void createIndex(DSLContext dslContext, Entity entity, SimpleAttribute attribute, String suffix,
+            String method, Field<?> expression) {
+        // The same attribute can be used by multiple search filters, possibly on different entities
+        var indexName = DSL.name("%s__%s__%s_idx".formatted(entity.getTable().getValue(),
+                attribute.getColumn().getValue(), suffix));
+        try {
+            dslContext.execute("CREATE INDEX IF NOT EXISTS {0} ON {1} USING " + method + " ({2})",
+                    indexName, JOOQUtils.resolveTable(entity), expression);
+        } catch (BadSqlGrammarException e) {
+            throw new InvalidSqlException(e.getMessage(), e);
+        }
+    }
+
     @Override
     public void dropTables(Application application) {
         var dslContext = resolver.resolve(application);
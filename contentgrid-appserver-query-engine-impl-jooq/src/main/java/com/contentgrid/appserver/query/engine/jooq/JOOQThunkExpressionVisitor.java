@@ -12,8 +12,11 @@ import com.contentgrid.appserver.application.model.values.AttributeName;
 import com.contentgrid.appserver.application.model.values.RelationName;
 import com.contentgrid.appserver.application.model.values.TableName;
 import com.contentgrid.appserver.query.engine.api.exception.InvalidThunkExpressionException;
+import com.contentgrid.appserver.query.engine.api.thunx.expression.StringComparison.Contains;
 import com.contentgrid.appserver.query.engine.api.thunx.expression.StringComparison.ContentGridPrefixSearch;
+import com.contentgrid.appserver.query.engine.api.thunx.expression.StringComparison.FullTextSearch;
 import com.contentgrid.thunx.predicates.model.FunctionExpression;
+import com.contentgrid.thunx.predicates.model.FunctionExpression.Operator;
 import com.contentgrid.thunx.predicates.model.Scalar;
 import com.contentgrid.thunx.predicates.model.SymbolicReference;
 import com.contentgrid.thunx.predicates.model.SymbolicReference.PathElement;
@@ -22,6 +25,11 @@ import com.contentgrid.thunx.predicates.model.SymbolicReference.VariablePathElem
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
 import com.contentgrid.thunx.predicates.model.ThunkExpressionVisitor;
 import com.contentgrid.thunx.predicates.model.Variable;
+import java.lang.reflect.Array;
+import java.text.Normalizer;
+import java.text.Normalizer.Form;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -100,32 +108,33 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
                 yield ((Field<Object>) left).lessOrEqual((Field<Object>) right);
             }
             case AND -> {
-                yield DSL.and(functionExpression.getTerms().stream()
+                // Terms traversing the same relations are combined into a single subquery
+                context.getJoinCollection().beginConjunction();
+                var conditions = functionExpression.getTerms().stream()
                         .map(expression -> expression.accept(this, context))
-                        .map(field -> {
-                            if (field instanceof Condition condition) {
-                                return condition;
-                            } else {
-                                return DSL.condition((Field<Boolean>) field);
-                            }
-                        })
-                        .toList());
+                        .map(JOOQThunkExpressionVisitor::toCondition)
+                        .toList();
+                yield context.getJoinCollection().endConjunction(conditions);
             }
             case OR -> {
-                yield DSL.or(functionExpression.getTerms().stream()
-                        .map(expression -> expression.accept(this, context))
-                        .map(field -> {
-                            if (field instanceof Condition condition) {
-                                return condition;
-                            } else {
-                                return DSL.condition((Field<Boolean>) field);
-                            }
-                        })
-                        .toList());
+                context.getJoinCollection().beginNested();
+                var conditions = new ArrayList<Condition>();
+                for (var terms : groupEqualities(functionExpression.getTerms())) {
+                    if (terms.size() == 1) {
+                        conditions.add(toCondition(terms.getFirst().getTerm().accept(this, context)));
+                    } else {
+                        // Equalities on the same reference are combined into a single "= ANY(?)" with an array value
+                        conditions.add(context.getJoinCollection().collect(equalsAny(terms, context)));
+                    }
+                }
+                context.getJoinCollection().endNested();
+                yield DSL.or(conditions);
             }
             case NOT -> {
                 assertOneTerm(functionExpression.getTerms());
+                context.getJoinCollection().beginNested();
                 var field = functionExpression.getTerms().getFirst().accept(this, context);
+                context.getJoinCollection().endNested();
                 if (field instanceof Condition condition) {
                     yield DSL.not(condition);
                 } else {
@@ -179,6 +188,21 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
                     var leftField = DSL.field(DSL.sql("extensions.contentgrid_prefix_search_normalize(?)", left), String.class);
                     var rightField = DSL.field(DSL.sql("extensions.contentgrid_prefix_search_normalize(?)", right), String.class);
                     yield leftField.startsWith(rightField);
+                } else if (functionExpression instanceof FullTextSearch fullTextSearch) {
+                    var left = fullTextSearch.getLeftTerm().accept(this, context);
+                    var right = fullTextSearch.getRightTerm().accept(this, context);
+                    var vector = JOOQUtils.resolveFullTextVector(left);
+                    var query = JOOQUtils.resolveFullTextQuery(right);
+                    if (!context.getJoinCollection().hasPendingRelations()) {
+                        // Only matches on the entity itself can be used to rank the results
+                        context.addRank(DSL.field("ts_rank({0}, {1})", Double.class, vector, query));
+                    }
+                    yield DSL.condition("{0} @@ {1}", vector, query);
+                } else if (functionExpression instanceof Contains contains) {
+                    var left = (Field<String>) contains.getLeftTerm().accept(this, context);
+                    var right = (Field<String>) contains.getRightTerm().accept(this, context);
+                    // Rendered as ILIKE, which can use the trigram index created by JOOQTableCreator
+                    yield left.containsIgnoreCase(right);
                 } else {
                     throw new InvalidThunkExpressionException(
                             "Function expression with type %s is not supported.".formatted(
@@ -193,6 +217,61 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
         return result;
     }
 
+    private static Condition toCondition(Field<?> field) {
+        if (field instanceof Condition condition) {
+            return condition;
+        } else {
+            return DSL.condition((Field<Boolean>) field);
+        }
+    }
+
+    /**
+     * Groups the terms that compare the same symbolic reference with a scalar value, keeping the order of the terms.
+     * Other terms are in a group of their own.
+     * <p>
+     * References with a named variable are not grouped: a group only visits its reference once, so the variable would
+     * not be checked for uniqueness for the other terms of the group.
+     */
+    private static List<List<Equality>> groupEqualities(List<? extends ThunkExpression<?>> terms) {
+        var groups = new ArrayList<List<Equality>>();
+        var groupsByReference = new HashMap<List<String>, List<Equality>>();
+        for (var term : terms) {
+            var equality = Equality.from(term).filter(candidate -> !candidate.hasNamedVariable());
+            if (equality.isPresent()) {
+                var group = groupsByReference.computeIfAbsent(equality.get().getReferenceKey(), key -> {
+                    var newGroup = new ArrayList<Equality>();
+                    groups.add(newGroup);
+                    return newGroup;
+                });
+                group.add(equality.get());
+            } else {
+                groups.add(List.of(new Equality(term, null, null)));
+            }
+        }
+        return groups;
+    }
+
+    private Condition equalsAny(List<Equality> equalities, JOOQContext context) {
+        var field = (Field<Object>) equalities.getFirst().getReference().accept(this, context);
+        var values = (Object[]) Array.newInstance(field.getType(), equalities.size());
+        for (int i = 0; i < values.length; i++) {
+            var value = equalities.get(i).getValue().getValue();
+            if (value == null) {
+                throw new InvalidThunkExpressionException("null values are not supported");
+            }
+            values[i] = field.getDataType().convert(value);
+        }
+        if (String.class.equals(field.getType())) {
+            // Same normalization as for a single equality
+            field = (Field<Object>) (Field<?>) normalize(field);
+            for (int i = 0; i < values.length; i++) {
+                values[i] = Normalizer.normalize((String) values[i], Form.NFKC);
+            }
+        }
+        var array = DSL.val(values, field.getDataType().getArrayDataType());
+        return field.equal(DSL.any(array));
+    }
+
     private static void assertOneTerm(List<? extends ThunkExpression<?>> terms) throws InvalidThunkExpressionException {
         if (terms.size() != 1) {
             throw new InvalidThunkExpressionException("Operation requires 1 parameter.");
@@ -286,6 +365,7 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
             throw new InvalidThunkExpressionException("Path can not end in a relation");
         }
         // check variable access for *-to-many relations
+        String variableName = null;
         if (relation instanceof OneToManyRelation || relation instanceof ManyToManyRelation) {
             var pathElement = tail.getFirst();
             if (pathElement instanceof VariablePathElement variable) {
@@ -294,13 +374,14 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
                     throw new InvalidThunkExpressionException(
                             "Variable %s is not unique".formatted(variable.getVariable().getName()));
                 }
+                variableName = variable.getVariable().getName();
                 tail = tail.subList(1, tail.size());
             } else {
                 throw new InvalidThunkExpressionException("VariablePathElement is required in traversing a *-to-many relation, got '%s' of type %s."
                         .formatted(pathElement, pathElement.getClass().getSimpleName()));
             }
         }
-        context.getJoinCollection().addRelation(context.getApplication(), relation);
+        context.getJoinCollection().addRelation(context.getApplication(), relation, variableName);
         return handlePath(context.getApplication().getRelationTargetEntity(relation), tail, context);
     }
 
@@ -317,6 +398,50 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
                 .formatted(elem.getClass().getSimpleName(), StringPathElement.class.getSimpleName()));
     }
 
+    /**
+     * A term of a disjunction, with the symbolic reference and the scalar value when it is an equality between them.
+     */
+    @Value
+    private static class Equality {
+
+        ThunkExpression<?> term;
+        SymbolicReference reference;
+        Scalar<?> value;
+
+        static Optional<Equality> from(ThunkExpression<?> term) {
+            if (term instanceof FunctionExpression<?> function && function.getOperator() == Operator.EQUALS
+                    && function.getTerms().size() == 2) {
+                var left = function.getTerms().getFirst();
+                var right = function.getTerms().getLast();
+                if (left instanceof SymbolicReference reference && right instanceof Scalar<?> value) {
+                    return Optional.of(new Equality(term, reference, value));
+                } else if (left instanceof Scalar<?> value && right instanceof SymbolicReference reference) {
+                    return Optional.of(new Equality(term, reference, value));
+                }
+            }
+            return Optional.empty();
+        }
+
+        boolean hasNamedVariable() {
+            return reference.getPath().stream()
+                    .anyMatch(element -> element instanceof VariablePathElement variable
+                            && !variable.getVariable().getName().equals("_"));
+        }
+
+        List<String> getReferenceKey() {
+            var key = new ArrayList<String>();
+            key.add(reference.getSubject().getName());
+            for (var element : reference.getPath()) {
+                switch (element) {
+                    case StringPathElement string -> key.add("." + ((Scalar<String>) string.getPath()).getValue());
+                    case VariablePathElement variable -> key.add("[" + variable.getVariable().getName() + "]");
+                    default -> key.add(element.toString());
+                }
+            }
+            return key;
+        }
+    }
+
     @Value
     public static class JOOQContext {
 
@@ -329,6 +454,9 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
         @Getter(AccessLevel.NONE)
         Set<String> variables = new HashSet<>();
 
+        @Getter(AccessLevel.NONE)
+        List<Field<Double>> ranks = new ArrayList<>();
+
         public JOOQContext(@NonNull Application application, @NonNull Entity entity) {
             this.application = application;
             this.entity = entity;
@@ -343,6 +471,17 @@ public class JOOQThunkExpressionVisitor implements ThunkExpressionVisitor<Field<
             return joinCollection.getRootAlias();
         }
 
+        /**
+         * The relevance of a row for the full-text searches in the expression, if there are any
+         */
+        public Optional<Field<Double>> getRank() {
+            return ranks.stream().reduce((left, right) -> left.plus(right));
+        }
+
+        private void addRank(Field<Double> rank) {
+            ranks.add(rank);
+        }
+
         private boolean addVariable(VariablePathElement variable) {
             if (variable.getVariable().getName().equals("_")) {
                 return true;
@@ -21,6 +21,12 @@ import org.jooq.impl.SQLDataType;
 @UtilityClass
 public class JOOQUtils {
 
+    /**
+     * Text search configuration used for full-text search. This is inlined in the queries, so they match the
+     * expression indexes created by {@link JOOQTableCreator}.
+     */
+    public static final String FULL_TEXT_SEARCH_CONFIG = "simple";
+
     public static Table<?> resolveTable(Entity entity) {
         return resolveTable(entity.getTable());
     }
@@ -78,6 +84,21 @@ public class JOOQUtils {
                 .map(attr -> (Field<Long>) resolveField(entity.getTable(), attr));
     }
 
+    public static Field<Object> resolveFullTextVector(Field<?> field) {
+        return DSL.field("to_tsvector({0}::regconfig, {1})", Object.class, DSL.inline(FULL_TEXT_SEARCH_CONFIG), field);
+    }
+
+    public static Field<Object> resolveFullTextQuery(Field<?> query) {
+        return DSL.field("websearch_to_tsquery({0}::regconfig, {1})", Object.class, DSL.inline(FULL_TEXT_SEARCH_CONFIG), query);
+    }
+
+    /**
+     * The indexed expression for a trigram index on the field, using the operator class of the pg_trgm extension.
+     */
+    public static Field<Object> resolveTrigramOperand(Field<?> field) {
+        return DSL.field("{0} extensions.gin_trgm_ops", Object.class, field);
+    }
+
     public static Field<?>[] resolveAttributeFields(Entity entity) {
         return entity.getAllAttributes().stream()
                 .flatMap(JOOQUtils::resolveAttributeFields)
@@ -92,6 +113,14 @@ public class JOOQUtils {
         };
     }
 
+    public static Stream<Field<?>> resolveAttributeFields(TableName alias, Attribute attribute) {
+        return switch (attribute) {
+            case SimpleAttribute simpleAttribute -> Stream.of(resolveField(alias, simpleAttribute));
+            case CompositeAttribute compositeAttribute -> compositeAttribute.getAttributes().stream()
+                    .flatMap(child -> resolveAttributeFields(alias, child));
+        };
+    }
+
     private static DataType<?> resolveType(SimpleAttribute.Type type, boolean required) {
         var dataType = switch (type) {
             case UUID -> SQLDataType.UUID;
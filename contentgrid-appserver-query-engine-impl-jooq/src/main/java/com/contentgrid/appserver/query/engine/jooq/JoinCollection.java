@@ -1,10 +1,12 @@
 package com.contentgrid.appserver.query.engine.jooq;
 
 import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
 import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
 import com.contentgrid.appserver.application.model.relations.ManyToManyRelation;
 import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
 import com.contentgrid.appserver.application.model.relations.OneToManyRelation;
+import com.contentgrid.appserver.application.model.relations.OneToOneRelation;
 import com.contentgrid.appserver.application.model.relations.Relation;
 import com.contentgrid.appserver.application.model.relations.SourceOneToOneRelation;
 import com.contentgrid.appserver.application.model.relations.TargetOneToOneRelation;
@@ -12,8 +14,14 @@ import com.contentgrid.appserver.application.model.values.ColumnName;
 import com.contentgrid.appserver.application.model.values.TableName;
 import com.contentgrid.appserver.query.engine.jooq.JoinCollection.Join.SourceColumnJoin;
 import com.contentgrid.appserver.query.engine.jooq.JoinCollection.Join.TargetColumnJoin;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -22,6 +30,7 @@ import lombok.RequiredArgsConstructor;
 import org.jooq.Condition;
 import org.jooq.Field;
 import org.jooq.SelectJoinStep;
+import org.jooq.Table;
 import org.jooq.impl.DSL;
 
 @Getter
@@ -39,6 +48,27 @@ public class JoinCollection {
     @Getter(AccessLevel.NONE)
     private final List<Join> joins = new ArrayList<>();
 
+    /**
+     * The relations traversed since the last reset of the current table.
+     */
+    @Getter(AccessLevel.NONE)
+    private final List<JoinKey> currentPath = new ArrayList<>();
+
+    /**
+     * The first relations of all paths traversed since the last collect.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<JoinKey> roots = new LinkedHashSet<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Deque<Scope> scopes = new ArrayDeque<>();
+
+    @Getter(AccessLevel.NONE)
+    private final List<Join> outerJoins = new ArrayList<>();
+
+    @Getter(AccessLevel.NONE)
+    private final Map<List<Relation>, TableAlias> outerJoinAliases = new HashMap<>();
+
     public JoinCollection(@NonNull TableName rootTable) {
         this.rootTable = rootTable;
         this.rootAlias = generateAlias(rootTable);
@@ -54,45 +84,83 @@ public class JoinCollection {
     }
 
     public void addRelation(Application application, Relation relation) {
+        addRelation(application, relation, null);
+    }
+
+    /**
+     * Add a join for a relation, starting from the current table.
+     * <p>
+     * Within a conjunction, a relation path that was already traversed with the same variables reuses the existing
+     * joins instead of adding new ones.
+     *
+     * @param variable the name of the variable used to traverse a *-to-many relation, or null
+     */
+    public void addRelation(Application application, Relation relation, String variable) {
         var sourceEntity = application.getRelationSourceEntity(relation);
         var targetEntity = application.getRelationTargetEntity(relation);
         if (!sourceEntity.getTable().equals(currentTable)) {
             throw new IllegalArgumentException("Relation source table %s does not match table %s"
                     .formatted(sourceEntity.getTable(), currentTable));
         }
+
+        var key = new JoinKey(relation, variable);
+        if (currentPath.isEmpty()) {
+            roots.add(key);
+        }
+        currentPath.add(key);
+
+        var scope = scopes.peek();
+        var path = List.copyOf(currentPath);
+        if (scope != null && scope.isConjunction()) {
+            var existing = scope.getAliases().get(path);
+            if (existing != null) {
+                this.currentTable = existing.table();
+                this.currentAlias = existing.alias();
+                return;
+            }
+        }
+
+        addJoins(relation, sourceEntity, targetEntity, joins);
+
+        if (scope != null && scope.isConjunction()) {
+            scope.getAliases().put(path, new TableAlias(currentTable, currentAlias));
+        }
+    }
+
+    private void addJoins(Relation relation, Entity sourceEntity, Entity targetEntity, List<Join> target) {
         var sourceAlias = currentAlias;
         switch (relation) {
             case SourceOneToOneRelation oneToOneRelation -> {
                 var targetAlias = this.generateAlias(targetEntity.getTable());
-                joins.add(new TargetColumnJoin(sourceAlias, targetAlias, currentTable,
+                target.add(new TargetColumnJoin(sourceAlias, targetAlias, currentTable,
                         targetEntity.getPrimaryKey(),
                         oneToOneRelation.getTargetReference()));
             }
             case ManyToOneRelation manyToOneRelation -> {
                 var targetAlias = this.generateAlias(targetEntity.getTable());
-                joins.add(new TargetColumnJoin(sourceAlias, targetAlias, currentTable,
+                target.add(new TargetColumnJoin(sourceAlias, targetAlias, currentTable,
                         targetEntity.getPrimaryKey(),
                         manyToOneRelation.getTargetReference()));
             }
             case TargetOneToOneRelation oneToOneRelation -> {
                 var targetAlias = this.generateAlias(targetEntity.getTable());
-                joins.add(new SourceColumnJoin(sourceAlias, targetAlias, currentTable,
+                target.add(new SourceColumnJoin(sourceAlias, targetAlias, currentTable,
                         sourceEntity.getPrimaryKey(),
                         oneToOneRelation.getSourceReference()));
             }
             case OneToManyRelation oneToManyRelation -> {
                 var targetAlias = this.generateAlias(targetEntity.getTable());
-                joins.add(new SourceColumnJoin(sourceAlias, targetAlias, currentTable,
+                target.add(new SourceColumnJoin(sourceAlias, targetAlias, currentTable,
                         sourceEntity.getPrimaryKey(),
                         oneToManyRelation.getSourceReference()));
             }
             case ManyToManyRelation manyToManyRelation -> {
                 var joinTableAlias = this.generateAlias(manyToManyRelation.getJoinTable());
-                joins.add(new SourceColumnJoin(sourceAlias, joinTableAlias, currentTable,
+                target.add(new SourceColumnJoin(sourceAlias, joinTableAlias, currentTable,
                         sourceEntity.getPrimaryKey(),
                         manyToManyRelation.getSourceReference()));
                 var targetAlias = this.generateAlias(targetEntity.getTable());
-                joins.add(new TargetColumnJoin(joinTableAlias, targetAlias, currentTable,
+                target.add(new TargetColumnJoin(joinTableAlias, targetAlias, currentTable,
                         targetEntity.getPrimaryKey(),
                         manyToManyRelation.getTargetReference()));
             }
@@ -102,9 +170,129 @@ public class JoinCollection {
     public void resetCurrentTable() {
         this.currentTable = rootTable;
         this.currentAlias = rootAlias;
+        this.currentPath.clear();
+    }
+
+    /**
+     * Add left joins for a path of *-to-one relations, starting from the root table. Unlike the joins of
+     * {@link #addRelation(Application, Relation, String)}, these are joined with the root table itself instead of
+     * in an EXISTS subquery. A path that was already added reuses the existing joins.
+     *
+     * @return the alias of the target table of the last relation
+     */
+    public TableName addOuterJoins(Application application, List<Relation> relations) {
+        this.resetCurrentTable();
+        var path = new ArrayList<Relation>();
+        for (var relation : relations) {
+            path.add(relation);
+            var existing = outerJoinAliases.get(path);
+            if (existing != null) {
+                this.currentTable = existing.table();
+                this.currentAlias = existing.alias();
+                continue;
+            }
+            if (!(relation instanceof ManyToOneRelation || relation instanceof OneToOneRelation)) {
+                throw new IllegalArgumentException("Relation %s is not a *-to-one relation"
+                        .formatted(relation.getSourceEndPoint().getName()));
+            }
+            var sourceEntity = application.getRelationSourceEntity(relation);
+            if (!sourceEntity.getTable().equals(currentTable)) {
+                throw new IllegalArgumentException("Relation source table %s does not match table %s"
+                        .formatted(sourceEntity.getTable(), currentTable));
+            }
+            addJoins(relation, sourceEntity, application.getRelationTargetEntity(relation), outerJoins);
+            outerJoinAliases.put(List.copyOf(path), new TableAlias(currentTable, currentAlias));
+        }
+        var alias = currentAlias;
+        this.resetCurrentTable();
+        return alias;
+    }
+
+    /**
+     * Left join the tables added with {@link #addOuterJoins(Application, List)} to the root table.
+     */
+    public Table<?> applyOuterJoins(Table<?> rootTable) {
+        var result = rootTable;
+        for (var join : outerJoins) {
+            result = result.leftJoin(JOOQUtils.resolveTable(join.getTargetTable(), join.getTargetAlias()))
+                    .on(join.getCondition());
+        }
+        return result;
+    }
+
+    /**
+     * Start a conjunction. Conditions collected before the matching {@link #endConjunction(List)} that traverse
+     * relation paths with the same first relation share their joins, and are combined in a single EXISTS subquery.
+     */
+    public void beginConjunction() {
+        scopes.push(new Scope(true));
+    }
+
+    /**
+     * End the current conjunction.
+     *
+     * @param conditions the conditions of the terms of the conjunction, as returned by {@link #collect(Condition)}
+     * @return the conjunction of the conditions and the EXISTS subqueries of the relation paths traversed by them
+     */
+    public Condition endConjunction(List<Condition> conditions) {
+        var scope = scopes.pop();
+        if (!scope.isConjunction()) {
+            throw new IllegalStateException("Current scope is not a conjunction");
+        }
+        var result = new ArrayList<>(conditions);
+        for (var group : scope.getGroups()) {
+            result.add(exists(group.getJoins(), DSL.and(group.getConditions())));
+        }
+        return DSL.and(result);
+    }
+
+    /**
+     * Start a nested expression (e.g. a disjunction or a negation) of which every condition is collected in its own
+     * EXISTS subquery, even when it is part of an enclosing conjunction.
+     */
+    public void beginNested() {
+        scopes.push(new Scope(false));
+    }
+
+    /**
+     * End the current nested expression.
+     */
+    public void endNested() {
+        var scope = scopes.pop();
+        if (scope.isConjunction()) {
+            throw new IllegalStateException("Current scope is a conjunction");
+        }
+    }
+
+    /**
+     * Returns whether relations were traversed since the last collect
+     */
+    public boolean hasPendingRelations() {
+        return !roots.isEmpty();
     }
 
     public Condition collect(Condition condition) {
+        var scope = scopes.peek();
+        var pendingJoins = List.copyOf(joins);
+        var pendingRoots = Set.copyOf(roots);
+
+        joins.clear();
+        roots.clear();
+        this.resetCurrentTable();
+
+        if (pendingRoots.isEmpty()) {
+            return condition;
+        } else if (scope != null && scope.isConjunction()) {
+            // The EXISTS subquery is created at the end of the conjunction, together with the other conditions
+            // that traverse the same relations
+            scope.add(pendingRoots, pendingJoins, condition);
+            return DSL.noCondition();
+        } else {
+            return exists(pendingJoins, condition);
+        }
+    }
+
+    private static Condition exists(List<Join> joins, Condition condition) {
         SelectJoinStep<?> selectBuilder = null;
         Condition where = null;
         for (var join : joins) {
@@ -117,9 +305,6 @@ public class JoinCollection {
             }
         }
 
-        joins.clear();
-        this.resetCurrentTable();
-
         if (selectBuilder == null || where == null) {
             return condition;
         } else {
@@ -127,6 +312,51 @@ public class JoinCollection {
         }
     }
 
+    private record JoinKey(@NonNull Relation relation, String variable) {
+
+    }
+
+    private record TableAlias(@NonNull TableName table, @NonNull TableName alias) {
+
+    }
+
+    @Getter
+    @RequiredArgsConstructor
+    private static class Scope {
+
+        private final boolean conjunction;
+        private final Map<List<JoinKey>, TableAlias> aliases = new HashMap<>();
+        private final List<JoinGroup> groups = new ArrayList<>();
+
+        void add(Set<JoinKey> roots, List<Join> joins, Condition condition) {
+            var merged = new JoinGroup();
+            int index = groups.size();
+            var iterator = groups.listIterator();
+            while (iterator.hasNext()) {
+                var group = iterator.next();
+                if (group.getRoots().stream().anyMatch(roots::contains)) {
+                    index = Math.min(index, iterator.previousIndex());
+                    merged.getRoots().addAll(group.getRoots());
+                    merged.getJoins().addAll(group.getJoins());
+                    merged.getConditions().addAll(group.getConditions());
+                    iterator.remove();
+                }
+            }
+            merged.getRoots().addAll(roots);
+            merged.getJoins().addAll(joins);
+            merged.getConditions().add(condition);
+            groups.add(Math.min(index, groups.size()), merged);
+        }
+    }
+
+    @Getter
+    private static class JoinGroup {
+
+        private final Set<JoinKey> roots = new LinkedHashSet<>();
+        private final List<Join> joins = new ArrayList<>();
+        private final List<Condition> conditions = new ArrayList<>();
+    }
+
     @Getter
     @RequiredArgsConstructor
     public abstract static sealed class Join {
@@ -2,6 +2,8 @@ package com.contentgrid.appserver.query.engine.jooq;
 
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.EntityName;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityRequest;
 import com.contentgrid.appserver.domain.values.ItemCount;
@@ -11,20 +13,28 @@ import com.contentgrid.appserver.query.engine.api.QueryEngine;
 import com.contentgrid.appserver.query.engine.api.UpdateResult;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.data.QueryPageData;
 import com.contentgrid.appserver.query.engine.api.data.SliceData;
 import com.contentgrid.appserver.query.engine.api.data.SortData;
 import com.contentgrid.appserver.query.engine.api.exception.QueryEngineException;
+import com.contentgrid.appserver.query.engine.jooq.replica.ReplicaConsistency;
 import com.contentgrid.thunx.predicates.model.ThunkExpression;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.Supplier;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.support.TransactionTemplate;
 
-@RequiredArgsConstructor
+/**
+ * Runs every operation of the delegate in a transaction. Reads run in read-only transactions, which are routed to a
+ * replica when a {@link ReplicaConsistency} routing data source is in use; writes, and the reads that they do, stay on
+ * the primary.
+ */
 public class TransactionalQueryEngine implements QueryEngine {
     @NonNull
     private final QueryEngine delegate;
@@ -32,6 +42,28 @@ public class TransactionalQueryEngine implements QueryEngine {
     @NonNull
     private final PlatformTransactionManager transactionManager;
 
+    /**
+     * Reports the position of committed writes for read-your-writes consistency, or {@code null} when not in use
+     */
+    private final ReplicaConsistency replicaConsistency;
+
+    public TransactionalQueryEngine(@NonNull QueryEngine delegate, @NonNull PlatformTransactionManager transactionManager) {
+        this(delegate, transactionManager, null);
+    }
+
+    public TransactionalQueryEngine(@NonNull QueryEngine delegate, @NonNull PlatformTransactionManager transactionManager,
+            ReplicaConsistency replicaConsistency) {
+        this.delegate = delegate;
+        this.transactionManager = transactionManager;
+        this.replicaConsistency = replicaConsistency;
+    }
+
+    private void registerWrite() {
+        if (replicaConsistency != null) {
+            replicaConsistency.registerWrite();
+        }
+    }
+
     private <T> T runInReadOnlyTransaction(Supplier<T> callable) {
         var tpl = new TransactionTemplate(transactionManager);
         tpl.setReadOnly(true);
@@ -43,6 +75,13 @@ public class TransactionalQueryEngine implements QueryEngine {
         var tpl = new TransactionTemplate(transactionManager);
 
         return tpl.execute(tx -> {
+            registerWrite();
+            if (!tx.isNewTransaction()) {
+                // Joined an enclosing transaction (e.g. a batch), which is rolled back as a whole when this fails.
+                // A savepoint costs a round trip per operation, and rolling back to it would also undo settings that
+                // were applied within the transaction after the savepoint was created.
+                return callable.get();
+            }
             var savepoint = tx.createSavepoint();
             var hasThrown = true;
             try {
@@ -59,18 +98,36 @@ public class TransactionalQueryEngine implements QueryEngine {
 
     @Override
     public SliceData findAll(@NonNull Application application, @NonNull Entity entity,
-            @NonNull ThunkExpression<Boolean> expression, SortData sortData, @NonNull QueryPageData page)
-            throws QueryEngineException {
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> expression, SortData sortData,
+            @NonNull QueryPageData page) throws QueryEngineException {
         return runInReadOnlyTransaction(() ->
-                delegate.findAll(application, entity, expression, sortData, page)
+                delegate.findAll(application, entity, projection, expression, sortData, page)
         );
     }
 
     @Override
     public Optional<EntityData> findById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ProjectionData projection, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        return runInReadOnlyTransaction(() ->
+                delegate.findById(application, entityRequest, projection, permitReadPredicate)
+        );
+    }
+
+    @Override
+    public List<EntityData> findByIds(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull Collection<EntityId> entityIds, @NonNull ProjectionData projection,
             @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException {
         return runInReadOnlyTransaction(() ->
-                delegate.findById(application, entityRequest, permitReadPredicate)
+                delegate.findByIds(application, entityName, entityIds, projection, permitReadPredicate)
+        );
+    }
+
+    @Override
+    public Optional<EntityIdAndVersion> findVersionById(@NonNull Application application, @NonNull EntityRequest entityRequest,
+            @NonNull ThunkExpression<Boolean> permitReadPredicate) throws QueryEngineException {
+        return runInReadOnlyTransaction(() ->
+                delegate.findVersionById(application, entityRequest, permitReadPredicate)
         );
     }
 
@@ -124,6 +181,15 @@ public class TransactionalQueryEngine implements QueryEngine {
         );
     }
 
+    @Override
+    public Map<EntityId, List<EntityData>> findTargets(@NonNull Application application, @NonNull Relation relation,
+            @NonNull Set<EntityId> sourceIds, int limitPerSource, @NonNull ThunkExpression<Boolean> permitReadPredicate)
+            throws QueryEngineException {
+        return runInReadOnlyTransaction(() ->
+                delegate.findTargets(application, relation, sourceIds, limitPerSource, permitReadPredicate)
+        );
+    }
+
     @Override
     public void setLink(@NonNull Application application, @NonNull RelationRequest relationRequest,
             @NonNull EntityId targetId, @NonNull ThunkExpression<Boolean> permitUpdatePredicate)
@@ -172,4 +238,35 @@ public class TransactionalQueryEngine implements QueryEngine {
                 delegate.count(application, entity, expression)
         );
     }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T, E extends Exception> T runInTransaction(@NonNull TransactionalWork<T, E> work) throws E {
+        var tpl = new TransactionTemplate(transactionManager);
+
+        try {
+            // Operations of the delegate join this transaction, so they are all committed or rolled back together
+            return tpl.execute(tx -> {
+                registerWrite();
+                try {
+                    return delegate.runInTransaction(work);
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    // Wrapped, so the transaction template rolls back on checked exceptions as well
+                    throw new CheckedWorkException(e);
+                }
+            });
+        } catch (CheckedWorkException e) {
+            throw (E) e.getCause();
+        }
+    }
+
+    private static class CheckedWorkException extends RuntimeException {
+
+        CheckedWorkException(Exception cause) {
+            super(cause);
+        }
+    }
+
 }
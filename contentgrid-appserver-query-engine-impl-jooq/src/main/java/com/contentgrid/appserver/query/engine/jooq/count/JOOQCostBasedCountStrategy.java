@@ -0,0 +1,201 @@
+package com.contentgrid.appserver.query.engine.jooq.count;
+
+import com.contentgrid.appserver.application.model.values.TableName;
+import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.query.engine.jooq.JOOQUtils;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.jooq.Condition;
+import org.jooq.DSLContext;
+import org.jooq.Explain;
+import org.jooq.Record2;
+import org.jooq.Select;
+import org.jooq.impl.DSL;
+import org.springframework.dao.QueryTimeoutException;
+
+/**
+ * A {@link JOOQCountStrategy} that picks how to count based on the cost that the planner estimates for the query:
+ * <ul>
+ *     <li>queries that are cheap to run are counted by the exact count strategy</li>
+ *     <li>a plain scan of the whole table is estimated from the {@code reltuples} statistic of the table, bounded by
+ *     the number of rows that were modified since it was last analyzed. A standby does not track modifications, so
+ *     there the estimate has no bounds</li>
+ *     <li>other queries are estimated by counting the matching rows in a {@code TABLESAMPLE SYSTEM} sample of the
+ *     table, with a 95% confidence interval. The condition is evaluated for every sampled row, so the sample is
+ *     cancelled after a timeout, like an exact count, and the planner estimate is used instead</li>
+ * </ul>
+ * {@code SYSTEM} sampling picks whole pages, so when the matching rows are clustered on disk the actual uncertainty is
+ * larger than the confidence interval suggests.
+ * <p>
+ * Picking a strategy costs an {@code EXPLAIN} of the query, which is an extra round trip to the database on every
+ * count, including the counts that end up exact.
+ */
+@RequiredArgsConstructor
+public class JOOQCostBasedCountStrategy implements JOOQCountStrategy {
+
+    /**
+     * z-score of a 95% confidence interval
+     */
+    private static final double Z = 1.96;
+
+    private static final String SAVEPOINT = "sample_savepoint";
+
+    /**
+     * Parts of a plan that show that not every row of the table is counted
+     */
+    private static final List<String> FILTERING_PLAN_NODES = List.of("Filter:", "Cond:", "Join", "SubPlan",
+            "InitPlan");
+
+    @NonNull
+    private final JOOQCountStrategy exactCountStrategy;
+
+    /**
+     * Maximum planner cost of a query that is counted exactly
+     */
+    private final double maxExactCost;
+
+    /**
+     * Number of rows to sample for an estimate
+     */
+    private final long sampleRows;
+
+    /**
+     * Maximum time that counting the sample may take
+     */
+    @NonNull
+    private final Duration sampleTimeout;
+
+    @Override
+    public ItemCount count(DSLContext dslContext, Select<?> query) {
+        // Without the table, its statistics can not be used and it can not be sampled
+        var explain = dslContext.explain(query);
+        if (explain.cost() <= maxExactCost) {
+            return exactCountStrategy.count(dslContext, query);
+        }
+        return planEstimate(explain);
+    }
+
+    @Override
+    public ItemCount count(DSLContext dslContext, TableName table, TableName alias, Condition condition) {
+        var explain = dslContext.explain(DSL.selectFrom(JOOQUtils.resolveTable(table, alias)).where(condition));
+        if (explain.cost() <= maxExactCost) {
+            return exactCountStrategy.count(dslContext, table, alias, condition);
+        }
+
+        var statistics = fetchStatistics(dslContext, table);
+        if (statistics.isEmpty()) {
+            // The table has not been analyzed yet, so only the planner has an idea
+            return planEstimate(explain);
+        }
+        if (isUnfilteredScan(explain)) {
+            return statistics.get().estimate();
+        }
+        if (statistics.get().tuples() <= sampleRows) {
+            // The sample would cover the whole table anyway
+            return exactCountStrategy.count(dslContext, table, alias, condition);
+        }
+        return sample(dslContext, table, alias, condition, statistics.get())
+                .orElseGet(() -> planEstimate(explain));
+    }
+
+    private static ItemCount planEstimate(Explain explain) {
+        if (Double.isNaN(explain.rows())) {
+            return ItemCount.unknown();
+        }
+        return ItemCount.estimated(Math.round(explain.rows()));
+    }
+
+    private static boolean isUnfilteredScan(Explain explain) {
+        var plan = explain.plan();
+        return plan.contains("Seq Scan on") && FILTERING_PLAN_NODES.stream().noneMatch(plan::contains);
+    }
+
+    private static Optional<TableStatistics> fetchStatistics(DSLContext dslContext, TableName table) {
+        // The table name is resolved like in the queries, so it follows the search path
+        var statistics = dslContext.resultQuery("""
+                        SELECT reltuples, pg_stat_get_mod_since_analyze(oid), pg_is_in_recovery()
+                        FROM pg_class
+                        WHERE oid = to_regclass({0})
+                        """, DSL.val(dslContext.render(DSL.name(table.getValue()))))
+                .fetchOne();
+        if (statistics == null) {
+            return Optional.empty();
+        }
+        var tuples = statistics.get(0, Double.class);
+        var modifications = statistics.get(1, Long.class);
+        // A table that was never vacuumed or analyzed has -1 tuples
+        if (tuples == null || tuples < 0) {
+            return Optional.empty();
+        }
+        if (Boolean.TRUE.equals(statistics.get(2, Boolean.class))) {
+            // The activity statistics of a standby do not include the modifications that are replayed from the
+            // primary, so the number of modifications is always 0 there
+            return Optional.of(new TableStatistics(Math.round(tuples), null));
+        }
+        return Optional.of(new TableStatistics(Math.round(tuples), modifications == null ? 0 : modifications));
+    }
+
+    private Optional<ItemCount> sample(DSLContext dslContext, TableName table, TableName alias, Condition condition,
+            TableStatistics statistics) {
+        var percentage = Math.min(100.0, 100.0 * sampleRows / statistics.tuples());
+        // A fixed seed samples the same pages every time, so the estimate does not change between pages of a listing
+        var sampledTable = DSL.table("{0} AS {1} TABLESAMPLE SYSTEM ({2}) REPEATABLE (0)",
+                DSL.name(table.getValue()), DSL.name(alias.getValue()), DSL.inline(percentage));
+
+        dslContext.savepoint(SAVEPOINT).execute();
+        dslContext.setLocal("statement_timeout", DSL.value(sampleTimeout.toMillis())).execute();
+        Record2<Integer, Integer> result;
+        try {
+            result = dslContext.select(DSL.count(), DSL.count().filterWhere(condition))
+                    .from(sampledTable)
+                    .fetchSingle();
+            // rollback to savepoint to reset statement_timeout
+            dslContext.rollback().toSavepoint(SAVEPOINT).execute();
+        } catch (QueryTimeoutException e) {
+            // rollback to savepoint first, otherwise the transaction is marked for rollback
+            dslContext.rollback().toSavepoint(SAVEPOINT).execute();
+            return Optional.empty();
+        }
+
+        long sampled = result.value1();
+        long matched = result.value2();
+        if (sampled == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(wilsonEstimate(matched, sampled, statistics.tuples()));
+    }
+
+    /**
+     * Scales the fraction of matching rows in the sample to the whole table, with the Wilson score interval as bounds
+     */
+    static ItemCount wilsonEstimate(long matched, long sampled, long total) {
+        var n = (double) sampled;
+        var fraction = matched / n;
+        var zSquared = Z * Z;
+        var denominator = 1 + zSquared / n;
+        var center = (fraction + zSquared / (2 * n)) / denominator;
+        var margin = Z * Math.sqrt(fraction * (1 - fraction) / n + zSquared / (4 * n * n)) / denominator;
+
+        var estimate = Math.round(fraction * total);
+        var lowerBound = (long) Math.floor(Math.max(0.0, center - margin) * total);
+        var upperBound = (long) Math.ceil(Math.min(1.0, center + margin) * total);
+        return ItemCount.estimated(estimate, Math.min(lowerBound, estimate), Math.max(upperBound, estimate));
+    }
+
+    /**
+     * @param tuples The number of rows in the table when it was last analyzed
+     * @param modifications The number of rows that were modified since, {@code null} when it is not known
+     */
+    private record TableStatistics(long tuples, Long modifications) {
+
+        ItemCount estimate() {
+            if (modifications == null) {
+                return ItemCount.estimated(tuples);
+            }
+            return ItemCount.estimated(tuples, Math.max(0, tuples - modifications), tuples + modifications);
+        }
+    }
+}
@@ -1,11 +1,29 @@
 package com.contentgrid.appserver.query.engine.jooq.count;
 
+import com.contentgrid.appserver.application.model.values.TableName;
 import com.contentgrid.appserver.domain.values.ItemCount;
+import com.contentgrid.appserver.query.engine.jooq.JOOQUtils;
+import org.jooq.Condition;
 import org.jooq.DSLContext;
 import org.jooq.Select;
+import org.jooq.impl.DSL;
 
 public interface JOOQCountStrategy {
 
     ItemCount count(DSLContext dslContext, Select<?> query);
 
+    /**
+     * Count the rows of a table that match a condition.
+     * <p>
+     * Strategies that need to know the table itself, like for its statistics, override this method. By default, the
+     * rows of the equivalent select query are counted.
+     *
+     * @param table The table to count the rows of
+     * @param alias The alias that the condition refers to the table with
+     * @param condition The condition that the rows must match
+     */
+    default ItemCount count(DSLContext dslContext, TableName table, TableName alias, Condition condition) {
+        return count(dslContext, DSL.selectFrom(JOOQUtils.resolveTable(table, alias)).where(condition));
+    }
+
 }
@@ -0,0 +1,256 @@
+package com.contentgrid.appserver.query.engine.jooq.replica;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import javax.sql.DataSource;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to a replica, with optional read-your-writes consistency.
+ * <p>
+ * Within a {@link Scope}, every committed write transaction reports the WAL position (LSN) of the primary to the token
+ * listener of the scope, so it can be handed to the client. When the client sends that token back, reads wait until
+ * the replica has replayed up to that position, and fall back to the primary when it doesn't catch up in time.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ReplicaConsistency {
+
+    private static final Pattern LSN_PATTERN = Pattern.compile("[0-9A-F]{1,8}/[0-9A-F]{1,8}");
+
+    private static final long POLL_INTERVAL_MILLIS = 5;
+
+    @NonNull
+    private final DataSource primary;
+
+    /**
+     * Maximum time that a read waits for the replica to catch up before it falls back to the primary
+     */
+    @NonNull
+    private final Duration maxWait;
+
+    private final ThreadLocal<Scope> currentScope = new ThreadLocal<>();
+
+    /**
+     * The data source that transactions run on, or {@code null} before it is created
+     */
+    private DataSource routingDataSource;
+
+    /**
+     * Key for the transaction resource that marks that the write of the current transaction is reported already
+     */
+    private final Object registeredWriteKey = new Object();
+
+    /**
+     * Create a {@link DataSource} that uses the primary, except for read-only transactions, which use the replica
+     *
+     * @param replica The replica to route read-only transactions to
+     * @return The routing data source
+     */
+    public DataSource routingDataSource(@NonNull DataSource replica) {
+        var routingDataSource = new LazyConnectionDataSourceProxy(primary);
+        routingDataSource.setReadOnlyDataSource(new ConsistentReplicaDataSource(replica));
+        this.routingDataSource = routingDataSource;
+        return routingDataSource;
+    }
+
+    /**
+     * Open a consistency scope on the current thread
+     *
+     * @param token The token that was returned to the client after an earlier write, or {@code null}. Invalid tokens
+     * are ignored.
+     * @param tokenListener Receives a new token after every committed write
+     * @return The scope, that must be closed when the work on the current thread is done
+     */
+    public Scope open(String token, @NonNull Consumer<String> tokenListener) {
+        var scope = new Scope(parseToken(token), tokenListener, currentScope.get());
+        currentScope.set(scope);
+        return scope;
+    }
+
+    private static String parseToken(String token) {
+        if (token == null) {
+            return null;
+        }
+        var lsn = token.trim().toUpperCase(Locale.ROOT);
+        return LSN_PATTERN.matcher(lsn).matches() ? lsn : null;
+    }
+
+    /**
+     * Registers that the current transaction writes data, so its position is reported to the token listener of the
+     * current scope once it commits. Does nothing when there is no scope.
+     */
+    public void registerWrite() {
+        var scope = currentScope.get();
+        if (scope == null || routingDataSource == null || !TransactionSynchronizationManager.isSynchronizationActive()
+                || TransactionSynchronizationManager.hasResource(registeredWriteKey)) {
+            return;
+        }
+        TransactionSynchronizationManager.bindResource(registeredWriteKey, scope);
+        TransactionSynchronizationManager.registerSynchronization(new WriteSynchronization(scope, routingDataSource));
+    }
+
+    /**
+     * Read the position of the primary on the connection of the transaction that just committed. That connection is
+     * still bound to the thread after the commit; taking a second connection from the pool instead would make every
+     * writer hold one connection while it waits for another, which starves the pool under load.
+     */
+    private static String currentPrimaryLsn(DataSource dataSource) throws SQLException {
+        var connection = DataSourceUtils.getConnection(dataSource);
+        try (var statement = connection.createStatement();
+                var resultSet = statement.executeQuery("SELECT pg_current_wal_lsn()::text")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    /**
+     * Wait until the replica that the connection belongs to has replayed up to the given position
+     *
+     * @return whether the replica caught up within the maximum wait
+     */
+    private boolean awaitReplay(Connection connection, String lsn) throws SQLException {
+        var deadline = System.nanoTime() + maxWait.toNanos();
+        // A server that is not in recovery is not a replica, so it is always up to date
+        try (var statement = connection.prepareStatement(
+                "SELECT NOT pg_is_in_recovery() OR pg_last_wal_replay_lsn() >= CAST(? AS pg_lsn)")) {
+            statement.setString(1, lsn);
+            while (true) {
+                try (var resultSet = statement.executeQuery()) {
+                    if (resultSet.next() && resultSet.getBoolean(1)) {
+                        return true;
+                    }
+                }
+                if (System.nanoTime() >= deadline) {
+                    return false;
+                }
+                try {
+                    Thread.sleep(POLL_INTERVAL_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+    }
+
+    public class Scope implements AutoCloseable {
+
+        /**
+         * Position that reads must observe, or {@code null} when reads don't have to wait
+         */
+        @Getter
+        private String requiredToken;
+
+        private final Consumer<String> tokenListener;
+
+        private final Scope previous;
+
+        private Scope(String requiredToken, Consumer<String> tokenListener, Scope previous) {
+            this.requiredToken = requiredToken;
+            this.tokenListener = tokenListener;
+            this.previous = previous;
+        }
+
+        private void written(String lsn) {
+            // Later reads in this scope must see the write as well
+            requiredToken = lsn;
+            tokenListener.accept(lsn);
+        }
+
+        @Override
+        public void close() {
+            if (previous != null) {
+                currentScope.set(previous);
+            } else {
+                currentScope.remove();
+            }
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class WriteSynchronization implements TransactionSynchronization {
+
+        private final Scope scope;
+
+        private final DataSource dataSource;
+
+        private Object suspended;
+
+        @Override
+        public void suspend() {
+            suspended = TransactionSynchronizationManager.unbindResourceIfPossible(registeredWriteKey);
+        }
+
+        @Override
+        public void resume() {
+            if (suspended != null) {
+                TransactionSynchronizationManager.bindResource(registeredWriteKey, suspended);
+                suspended = null;
+            }
+        }
+
+        @Override
+        public void afterCommit() {
+            try {
+                scope.written(currentPrimaryLsn(dataSource));
+            } catch (SQLException | RuntimeException e) {
+                // The write is committed already; later reads will just not wait for it
+                log.warn("Failed to determine the WAL position of the primary after commit", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(registeredWriteKey);
+        }
+    }
+
+    /**
+     * Hands out replica connections that observe the required position of the current scope, or primary connections
+     * when the replica lags behind too far
+     */
+    private class ConsistentReplicaDataSource extends DelegatingDataSource {
+
+        ConsistentReplicaDataSource(DataSource replica) {
+            super(replica);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            var scope = currentScope.get();
+            var connection = obtainTargetDataSource().getConnection();
+            if (scope == null || scope.getRequiredToken() == null) {
+                return connection;
+            }
+
+            boolean caughtUp;
+            try {
+                caughtUp = awaitReplay(connection, scope.getRequiredToken());
+            } catch (SQLException | RuntimeException e) {
+                connection.close();
+                throw e;
+            }
+            if (caughtUp) {
+                return connection;
+            }
+            connection.close();
+            log.debug("Replica did not reach {} within {}, reading from primary", scope.getRequiredToken(), maxWait);
+            return primary.getConnection();
+        }
+    }
+}
@@ -6,4 +6,13 @@ import org.jooq.DSLContext;
 public interface DSLContextResolver {
 
     DSLContext resolve(Application application);
+
+    /**
+     * Prepare the database for storing the tables of an application; called before the tables are created
+     *
+     * @param application The application that tables will be created for
+     */
+    default void initialize(Application application) {
+        // Nothing to prepare by default
+    }
 }
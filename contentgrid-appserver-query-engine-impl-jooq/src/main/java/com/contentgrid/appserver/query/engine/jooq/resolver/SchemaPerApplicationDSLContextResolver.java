@@ -0,0 +1,199 @@
+package com.contentgrid.appserver.query.engine.jooq.resolver;
+
+import com.contentgrid.appserver.application.model.Application;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.jooq.ConnectionProvider;
+import org.jooq.DSLContext;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Stores the tables of every application in its own PostgreSQL schema.
+ * <p>
+ * All applications share the connections of the autowired {@link DSLContext}, so they take part in the same
+ * transactions. The schema of the application is selected with {@code SET LOCAL search_path} once per transaction,
+ * together with an optional {@code statement_timeout}. The same timeout applies to every application; it keeps one
+ * application's slow queries from holding connections that other applications need.
+ * <p>
+ * Schema names end with a hash of the application name, because application names are not restricted to the
+ * characters of an identifier: two applications must never end up in the same schema.
+ */
+public class SchemaPerApplicationDSLContextResolver implements DSLContextResolver {
+
+    /**
+     * Maximum length of an identifier in PostgreSQL
+     */
+    private static final int MAX_SCHEMA_NAME_LENGTH = 63;
+
+    /**
+     * Number of hex digits of the application name hash in the schema name
+     */
+    private static final int HASH_LENGTH = 12;
+
+    @NonNull
+    private final DSLContext dslContext;
+
+    @NonNull
+    private final String schemaPrefix;
+
+    /**
+     * Statement timeout applied to the queries of all applications, or {@code null} to keep the database default
+     */
+    private final Duration statementTimeout;
+
+    private final Map<String, DSLContext> dslContexts = new ConcurrentHashMap<>();
+
+    /**
+     * Key for the transaction resource that holds the schema that was selected in the current transaction
+     */
+    private final Object selectedSchemaKey = new Object();
+
+    public SchemaPerApplicationDSLContextResolver(@NonNull DSLContext dslContext, @NonNull String schemaPrefix,
+            Duration statementTimeout) {
+        this.dslContext = dslContext;
+        this.schemaPrefix = schemaPrefix;
+        this.statementTimeout = statementTimeout;
+    }
+
+    @Override
+    public DSLContext resolve(@NonNull Application application) {
+        return dslContexts.computeIfAbsent(getSchemaName(application), schema -> dslContext.configuration()
+                .derive(new SchemaSelectingConnectionProvider(dslContext.configuration().connectionProvider(), schema))
+                .dsl());
+    }
+
+    @Override
+    public void initialize(@NonNull Application application) {
+        dslContext.createSchemaIfNotExists(getSchemaName(application)).execute();
+    }
+
+    /**
+     * @param application The application
+     * @return The name of the schema that holds the tables of the application
+     */
+    public String getSchemaName(@NonNull Application application) {
+        var rawName = application.getName().getValue();
+        // The readable part is lossy (case, special characters, truncation), the hash keeps schema names unique
+        var hash = "_" + hash(rawName);
+        var name = (schemaPrefix + rawName)
+                .toLowerCase(Locale.ROOT)
+                .replaceAll("[^a-z0-9_]", "_");
+        var maxLength = MAX_SCHEMA_NAME_LENGTH - hash.length();
+        return (name.length() > maxLength ? name.substring(0, maxLength) : name) + hash;
+    }
+
+    private static String hash(String name) {
+        try {
+            var digest = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest).substring(0, HASH_LENGTH);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private String settingsStatement(String schema, boolean local) {
+        var set = local ? "SET LOCAL " : "SET ";
+        var statement = new StringBuilder()
+                .append(set).append("search_path TO ").append(dslContext.render(DSL.name(schema)));
+        if (statementTimeout != null) {
+            statement.append("; ").append(set).append("statement_timeout = ").append(statementTimeout.toMillis());
+        }
+        return statement.toString();
+    }
+
+    private static void execute(Connection connection, String sql) {
+        try (var statement = connection.createStatement()) {
+            statement.execute(sql);
+        } catch (SQLException e) {
+            throw new DataAccessException("Failed to select application schema: " + e.getMessage(), e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private class SchemaSelectingConnectionProvider implements ConnectionProvider {
+
+        private final ConnectionProvider delegate;
+        private final String schema;
+
+        @Override
+        public Connection acquire() throws DataAccessException {
+            var connection = delegate.acquire();
+            if (TransactionSynchronizationManager.isActualTransactionActive()
+                    && TransactionSynchronizationManager.isSynchronizationActive()) {
+                selectInTransaction(connection);
+            } else {
+                // Without a transaction, the settings stay on the connection until it is released
+                execute(connection, settingsStatement(schema, false));
+            }
+            return connection;
+        }
+
+        /*
+         * The settings are applied once per transaction. A rollback to a savepoint that was created before the settings
+         * were applied also reverts them; TransactionalQueryEngine always rolls back the whole transaction in that case.
+         */
+        private void selectInTransaction(Connection connection) {
+            var selected = TransactionSynchronizationManager.getResource(selectedSchemaKey);
+            if (schema.equals(selected)) {
+                return;
+            }
+            execute(connection, settingsStatement(schema, true));
+            if (selected == null) {
+                TransactionSynchronizationManager.registerSynchronization(new SelectedSchemaSynchronization());
+            } else {
+                TransactionSynchronizationManager.unbindResource(selectedSchemaKey);
+            }
+            TransactionSynchronizationManager.bindResource(selectedSchemaKey, schema);
+        }
+
+        @Override
+        public void release(Connection connection) throws DataAccessException {
+            try {
+                if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+                    execute(connection, "RESET search_path; RESET statement_timeout");
+                }
+            } finally {
+                delegate.release(connection);
+            }
+        }
+    }
+
+    /**
+     * Keeps the selected schema bound to its own transaction, also when that transaction is suspended by an inner one
+     */
+    private class SelectedSchemaSynchronization implements TransactionSynchronization {
+
+        private Object suspended;
+
+        @Override
+        public void suspend() {
+            suspended = TransactionSynchronizationManager.unbindResourceIfPossible(selectedSchemaKey);
+        }
+
+        @Override
+        public void resume() {
+            if (suspended != null) {
+                TransactionSynchronizationManager.bindResource(selectedSchemaKey, suspended);
+                suspended = null;
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(selectedSchemaKey);
+        }
+    }
+}
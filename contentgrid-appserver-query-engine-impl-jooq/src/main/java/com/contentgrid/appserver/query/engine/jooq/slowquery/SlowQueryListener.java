@@ -0,0 +1,160 @@
+package com.contentgrid.appserver.query.engine.jooq.slowquery;
+
+import com.contentgrid.appserver.query.engine.api.slowquery.QueryLabels;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQuery;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+import java.util.StringJoiner;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import lombok.NonNull;
+import lombok.extern.slf4j.Slf4j;
+import org.jooq.ExecuteContext;
+import org.jooq.ExecuteListener;
+import org.jooq.ExecuteType;
+import org.jooq.impl.DSL;
+
+/**
+ * An {@link ExecuteListener} that records the queries that take longer than a threshold in a {@link SlowQueryLog}.
+ * <p>
+ * The recorded SQL keeps the placeholders of the bind values, and literals in the SQL and the plan are redacted, so no
+ * data ends up in the log. When plan capture is enabled, slow reads are executed a second time with
+ * {@code EXPLAIN (ANALYZE, BUFFERS)}, at most once per capture interval.
+ * <p>
+ * Queries that fail after the threshold, like the ones that are cancelled by {@code statement_timeout}, are recorded
+ * as failed, without a plan.
+ */
+@Slf4j
+public class SlowQueryListener implements ExecuteListener {
+
+    private static final String START_KEY = SlowQueryListener.class.getName() + ".start";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+
+    /**
+     * Every number that is not part of an identifier, like the ones in {@code (amount > 12.5)}, {@code IN (1, 2)},
+     * {@code BETWEEN 1 AND 5}, {@code LIMIT 10} or {@code ARRAY[1, 2]}. The annotations of a plan are kept: the numbers
+     * that directly follow a {@code name=}, like {@code (cost=0.00..35.50 rows=10 width=4)} and {@code hit=4}, and
+     * durations in milliseconds, like {@code Execution Time: 0.123 ms}.
+     */
+    private static final Pattern NUMERIC_LITERAL = Pattern.compile(
+            "(?<![\\w.$=])-?\\d+(?:\\.\\d+)?(?:[eE][+-]?\\d+)?(?![\\w.])(?! ms\\b)");
+
+    private final SlowQueryLog slowQueryLog;
+
+    private final Duration threshold;
+
+    private final Duration captureInterval;
+
+    private final Clock clock;
+
+    private final AtomicLong nextCapture = new AtomicLong(System.nanoTime());
+
+    /**
+     * @param slowQueryLog The log to record slow queries in
+     * @param threshold Queries that take at least this long are recorded
+     * @param captureInterval Minimum time between two plan captures, or {@code null} to disable plan capture
+     * @param clock The clock for the timestamps of the entries
+     */
+    public SlowQueryListener(@NonNull SlowQueryLog slowQueryLog, @NonNull Duration threshold,
+            Duration captureInterval, @NonNull Clock clock) {
+        this.slowQueryLog = slowQueryLog;
+        this.threshold = threshold;
+        this.captureInterval = captureInterval;
+        this.clock = clock;
+    }
+
+    @Override
+    public void executeStart(ExecuteContext ctx) {
+        ctx.data(START_KEY, System.nanoTime());
+    }
+
+    @Override
+    public void executeEnd(ExecuteContext ctx) {
+        record(ctx, false);
+    }
+
+    /**
+     * jOOQ does not call {@link #executeEnd(ExecuteContext)} for a statement that throws
+     */
+    @Override
+    public void exception(ExecuteContext ctx) {
+        record(ctx, true);
+    }
+
+    private void record(ExecuteContext ctx, boolean failed) {
+        if (!(ctx.data(START_KEY) instanceof Long start)) {
+            return;
+        }
+        // A query is recorded once, also when fetching its results fails after it was executed
+        ctx.data(START_KEY, null);
+        var duration = Duration.ofNanos(System.nanoTime() - start);
+        if (duration.compareTo(threshold) < 0 || ctx.sql() == null) {
+            return;
+        }
+
+        var labels = QueryLabels.current();
+        slowQueryLog.add(SlowQuery.builder()
+                .timestamp(clock.instant())
+                .application(labels.map(QueryLabels::getApplication).orElse(null))
+                .entity(labels.map(QueryLabels::getEntity).orElse(null))
+                .filters(labels.map(QueryLabels::getFilters).orElse(List.of()))
+                .sql(redact(ctx.sql()))
+                .duration(duration)
+                .failed(failed)
+                // The transaction of a failed query is aborted, so its plan can not be captured
+                .plan(!failed && shouldCapturePlan(ctx) ? capturePlan(ctx) : null)
+                .build());
+    }
+
+    private boolean shouldCapturePlan(ExecuteContext ctx) {
+        if (captureInterval == null || ctx.type() != ExecuteType.READ || ctx.query() == null) {
+            return false;
+        }
+        var now = System.nanoTime();
+        var next = nextCapture.get();
+        // Only one of the concurrent slow queries captures its plan
+        return now - next >= 0 && nextCapture.compareAndSet(next, now + captureInterval.toNanos());
+    }
+
+    /**
+     * Runs the query with {@code EXPLAIN (ANALYZE, BUFFERS)} on the connection of the query, with the bind values
+     * inlined. Plain JDBC is used, so the plan query does not pass through this listener again.
+     */
+    private String capturePlan(ExecuteContext ctx) {
+        var connection = ctx.connection();
+        var sql = "EXPLAIN (ANALYZE, BUFFERS) " + DSL.using(ctx.configuration()).renderInlined(ctx.query());
+        try {
+            // A failing statement aborts the whole transaction, unless it is rolled back to a savepoint
+            Savepoint savepoint = connection.getAutoCommit() ? null : connection.setSavepoint();
+            try (var statement = connection.createStatement();
+                    var resultSet = statement.executeQuery(sql)) {
+                var plan = new StringJoiner("\n");
+                while (resultSet.next()) {
+                    plan.add(resultSet.getString(1));
+                }
+                if (savepoint != null) {
+                    connection.releaseSavepoint(savepoint);
+                }
+                return redact(plan.toString());
+            } catch (SQLException e) {
+                if (savepoint != null) {
+                    connection.rollback(savepoint);
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            log.warn("Failed to capture the plan of a slow query", e);
+            return null;
+        }
+    }
+
+    static String redact(String sql) {
+        var redacted = STRING_LITERAL.matcher(sql).replaceAll("'?'");
+        return NUMERIC_LITERAL.matcher(redacted).replaceAll("?");
+    }
+}
@@ -59,6 +59,7 @@ import com.contentgrid.appserver.query.engine.api.data.CompositeAttributeData;
 import com.contentgrid.appserver.query.engine.api.data.EntityCreateData;
 import com.contentgrid.appserver.query.engine.api.data.EntityData;
 import com.contentgrid.appserver.query.engine.api.data.OffsetData;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.data.SimpleAttributeData;
 import com.contentgrid.appserver.query.engine.api.data.SortData;
 import com.contentgrid.appserver.query.engine.api.data.SortData.Direction;
@@ -87,6 +88,7 @@ import java.math.BigDecimal;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
@@ -273,6 +275,14 @@ class JOOQQueryEngineTest {
                     .name(SortableName.of("amount"))
                     .propertyPath(PropertyPath.of(INVOICE_AMOUNT.getName()))
                     .build())
+            .sortableField(SortableField.builder()
+                    .name(SortableName.of("customer_name"))
+                    .propertyPath(PropertyPath.of(RelationName.of("customer"), AttributeName.of("name")))
+                    .build())
+            .sortableField(SortableField.builder()
+                    .name(SortableName.of("previous_customer_name"))
+                    .propertyPath(PropertyPath.of(RelationName.of("previous_invoice"), RelationName.of("customer"), AttributeName.of("name")))
+                    .build())
             .build();
 
     private static final SimpleAttribute PRODUCT_CODE = SimpleAttribute.builder()
@@ -762,6 +772,158 @@ class JOOQQueryEngineTest {
         assertThat(result).isPresent();
     }
 
+    @Test
+    void findVersionById() {
+        var request = EntityRequest.forEntity(INVOICE.getName(), INVOICE1_ID);
+        var entityData = queryEngine.findById(APPLICATION, request, TRUE_EXPRESSION).orElseThrow();
+
+        assertThat(queryEngine.findVersionById(APPLICATION, request, TRUE_EXPRESSION))
+                .hasValueSatisfying(idAndVersion -> {
+                    assertThat(idAndVersion.entityId()).isEqualTo(INVOICE1_ID);
+                    assertThat(idAndVersion.version()).isEqualTo(entityData.getIdentity().getVersion());
+                });
+        assertThat(queryEngine.findVersionById(APPLICATION, EntityRequest.forEntity(INVOICE.getName(), EntityId.of(UUID.randomUUID())), TRUE_EXPRESSION))
+                .isEmpty();
+        assertThrows(PermissionDeniedException.class, () -> queryEngine.findVersionById(APPLICATION, request, Scalar.of(false)));
+    }
+
+    @Test
+    void findWithProjection() {
+        var projection = ProjectionData.of(List.of(INVOICE_NUMBER.getName().getValue(), INVOICE_CONTENT.getName().getValue()));
+        var request = EntityRequest.forEntity(INVOICE.getName(), INVOICE1_ID);
+        var fullData = queryEngine.findById(APPLICATION, request, TRUE_EXPRESSION).orElseThrow();
+
+        var projectedData = queryEngine.findById(APPLICATION, request, projection, TRUE_EXPRESSION).orElseThrow();
+        assertThat(projectedData.getIdentity()).isEqualTo(fullData.getIdentity());
+        assertThat(projectedData.getAttributes())
+                .map(AttributeData::getName)
+                .containsExactlyInAnyOrder(INVOICE_NUMBER.getName(), INVOICE_CONTENT.getName());
+        assertThat(projectedData.getAttributeByName(INVOICE_NUMBER.getName()))
+                .isEqualTo(fullData.getAttributeByName(INVOICE_NUMBER.getName()));
+        assertThat(projectedData.getAttributeByName(INVOICE_CONTENT.getName()))
+                .isEqualTo(fullData.getAttributeByName(INVOICE_CONTENT.getName()));
+
+        var slice = queryEngine.findAll(APPLICATION, INVOICE, projection, TRUE_EXPRESSION, null, DEFAULT_PAGE_DATA);
+        assertThat(slice.getEntities()).isNotEmpty().allSatisfy(entityData -> assertThat(entityData.getAttributes())
+                .map(AttributeData::getName)
+                .containsExactlyInAnyOrder(INVOICE_NUMBER.getName(), INVOICE_CONTENT.getName()));
+        assertThat(slice.getEntities())
+                .filteredOn(entityData -> entityData.getId().equals(INVOICE1_ID))
+                .singleElement()
+                .extracting(EntityData::getIdentity)
+                .isEqualTo(fullData.getIdentity());
+    }
+
+    @Test
+    void findByIds() {
+        var unknownId = EntityId.of(UUID.randomUUID());
+        var fullData = queryEngine.findById(APPLICATION, EntityRequest.forEntity(PERSON.getName(), BOB_ID), TRUE_EXPRESSION)
+                .orElseThrow();
+
+        // Results are in the order of the requested ids, without unknown ids and duplicates
+        var results = queryEngine.findByIds(APPLICATION, PERSON.getName(),
+                List.of(JOHN_ID, unknownId, BOB_ID, ALICE_ID, BOB_ID), ProjectionData.all(), TRUE_EXPRESSION);
+        assertThat(results)
+                .extracting(EntityData::getId)
+                .containsExactly(JOHN_ID, BOB_ID, ALICE_ID);
+        assertThat(results.get(1)).isEqualTo(fullData);
+
+        var projection = ProjectionData.of(List.of(INVOICE_NUMBER.getName().getValue()));
+        assertThat(queryEngine.findByIds(APPLICATION, INVOICE.getName(), List.of(INVOICE2_ID), projection, TRUE_EXPRESSION))
+                .singleElement()
+                .satisfies(entityData -> assertThat(entityData.getAttributes())
+                        .map(AttributeData::getName)
+                        .containsExactly(INVOICE_NUMBER.getName()));
+
+        assertThat(queryEngine.findByIds(APPLICATION, PERSON.getName(), List.of(), ProjectionData.all(), TRUE_EXPRESSION))
+                .isEmpty();
+    }
+
+    @Test
+    void findByIdsPermissionCheck() {
+        var permissionCheck = Comparison.areEqual(
+                SymbolicReference.parse("entity.name"),
+                Scalar.of("alice")
+        );
+
+        assertThat(queryEngine.findByIds(APPLICATION, PERSON.getName(), List.of(ALICE_ID), ProjectionData.all(), permissionCheck))
+                .extracting(EntityData::getId)
+                .containsExactly(ALICE_ID);
+        // Entities that are not allowed to be read are left out, like unknown ids
+        assertThat(queryEngine.findByIds(APPLICATION, PERSON.getName(),
+                List.of(BOB_ID, ALICE_ID, EntityId.of(UUID.randomUUID()), JOHN_ID), ProjectionData.all(), permissionCheck))
+                .extracting(EntityData::getId)
+                .containsExactly(ALICE_ID);
+        assertThat(queryEngine.findByIds(APPLICATION, PERSON.getName(), List.of(BOB_ID), ProjectionData.all(), permissionCheck))
+                .isEmpty();
+    }
+
+    @Test
+    void findTargets() {
+        var invoiceIds = Set.of(INVOICE1_ID, INVOICE2_ID);
+
+        // many-to-one, stored in the source table
+        assertThat(queryEngine.findTargets(APPLICATION, INVOICE_CUSTOMER, invoiceIds, 10, TRUE_EXPRESSION))
+                .containsOnlyKeys(INVOICE1_ID, INVOICE2_ID)
+                .hasEntrySatisfying(INVOICE1_ID, targets -> assertThat(targets)
+                        .extracting(EntityData::getId)
+                        .containsExactly(ALICE_ID))
+                .hasEntrySatisfying(INVOICE2_ID, targets -> assertThat(targets)
+                        .extracting(EntityData::getId)
+                        .containsExactly(BOB_ID));
+
+        // many-to-many, stored in a join table
+        assertThat(queryEngine.findTargets(APPLICATION, INVOICE_PRODUCTS, invoiceIds, 10, TRUE_EXPRESSION))
+                .containsOnlyKeys(INVOICE1_ID)
+                .hasEntrySatisfying(INVOICE1_ID, targets -> assertThat(targets)
+                        .extracting(EntityData::getId)
+                        .containsExactlyInAnyOrder(PRODUCT1_ID, PRODUCT2_ID));
+
+        // inverse one-to-one, stored in the target table
+        var nextInvoice = APPLICATION.getRequiredRelationForEntity(INVOICE, RelationName.of("next_invoice"));
+        assertThat(queryEngine.findTargets(APPLICATION, nextInvoice, invoiceIds, 10, TRUE_EXPRESSION))
+                .containsOnlyKeys(INVOICE1_ID)
+                .hasEntrySatisfying(INVOICE1_ID, targets -> assertThat(targets)
+                        .singleElement()
+                        .satisfies(target -> assertThat(target.getId()).isEqualTo(INVOICE2_ID))
+                        .satisfies(target -> assertThat(target.getAttributeByName(INVOICE_NUMBER.getName()))
+                                .contains(new SimpleAttributeData<>(INVOICE_NUMBER.getName(), "invoice_2"))));
+
+        // inverse many-to-one
+        var invoices = APPLICATION.getRequiredRelationForEntity(PERSON, RelationName.of("invoices"));
+        assertThat(queryEngine.findTargets(APPLICATION, invoices, Set.of(ALICE_ID, BOB_ID, JOHN_ID), 10, TRUE_EXPRESSION))
+                .containsOnlyKeys(ALICE_ID, BOB_ID);
+
+        assertThat(queryEngine.findTargets(APPLICATION, INVOICE_CUSTOMER, Set.of(), 10, TRUE_EXPRESSION)).isEmpty();
+    }
+
+    @Test
+    void findTargetsLimitPerSource() {
+        // Only the targets with the lowest primary keys are returned for every source;
+        // PostgreSQL compares uuids like their string representation
+        var lowestProductId = Stream.of(PRODUCT1_ID, PRODUCT2_ID)
+                .min(Comparator.comparing(id -> id.getValue().toString()))
+                .orElseThrow();
+
+        assertThat(queryEngine.findTargets(APPLICATION, INVOICE_PRODUCTS, Set.of(INVOICE1_ID, INVOICE2_ID), 1, TRUE_EXPRESSION))
+                .containsOnlyKeys(INVOICE1_ID)
+                .hasEntrySatisfying(INVOICE1_ID, targets -> assertThat(targets)
+                        .extracting(EntityData::getId)
+                        .containsExactly(lowestProductId));
+    }
+
+    @Test
+    void findTargetsPermissionCheck() {
+        // Targets that are not allowed to be read are left out
+        var permissionCheck = Comparison.areEqual(
+                SymbolicReference.parse("entity.name"),
+                Scalar.of("alice")
+        );
+
+        assertThat(queryEngine.findTargets(APPLICATION, INVOICE_CUSTOMER, Set.of(INVOICE1_ID, INVOICE2_ID), 10, permissionCheck))
+                .containsOnlyKeys(INVOICE1_ID);
+    }
+
     static Stream<ThunkExpression<Boolean>> invalidExpressions() {
         return Stream.of(
                 // use of null value
@@ -1774,6 +1936,18 @@ class JOOQQueryEngineTest {
         assertNothingChanged();
     }
 
+    @Test
+    void runInTransactionRollsBackEarlierOperations() {
+        // The operations join the enclosing transaction, so the failure of the second one undoes the first one
+        assertThrows(EntityIdNotFoundException.class, () -> queryEngine.runInTransaction(() -> {
+            queryEngine.delete(APPLICATION, EntityRequest.forEntity(PERSON.getName(), JOHN_ID), TRUE_EXPRESSION);
+            return queryEngine.delete(APPLICATION,
+                    EntityRequest.forEntity(INVOICE.getName(), EntityId.of(UUID.randomUUID())), TRUE_EXPRESSION);
+        }));
+
+        assertNothingChanged();
+    }
+
     static Stream<Arguments> invalidDeleteData() {
         return Stream.of(
                 Arguments.of(PERSON, ALICE_ID) // ALICE_ID is present in required relation customer
@@ -2563,6 +2737,37 @@ class JOOQQueryEngineTest {
         assertEquals(INVOICE2_ID, slice.getEntities().get(1).getId());
     }
 
+    @Test
+    void testSortingAcrossRelations() {
+        // Ascending by customer name: alice, bob
+        var slice = queryEngine.findAll(APPLICATION, INVOICE, Scalar.of(true), new SortData(List.of(
+                new SortData.FieldSort(Direction.ASC, SortableName.of("customer_name"))
+        )), DEFAULT_PAGE_DATA);
+        assertEquals(2, slice.getEntities().size());
+        assertEquals(INVOICE1_ID, slice.getEntities().get(0).getId());
+        assertEquals(INVOICE2_ID, slice.getEntities().get(1).getId());
+
+        // Descending by customer name, combined with a filter across the same relation
+        var expression = Comparison.areEqual(
+                SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("name")),
+                Scalar.of("bob")
+        );
+        slice = queryEngine.findAll(APPLICATION, INVOICE, expression, new SortData(List.of(
+                new SortData.FieldSort(Direction.DESC, SortableName.of("customer_name"))
+        )), DEFAULT_PAGE_DATA);
+        assertEquals(1, slice.getEntities().size());
+        assertEquals(INVOICE2_ID, slice.getEntities().getFirst().getId());
+
+        // Ascending by the customer name of the previous invoice, invoice 1 has no previous invoice (nulls last)
+        slice = queryEngine.findAll(APPLICATION, INVOICE, Scalar.of(true), new SortData(List.of(
+                new SortData.FieldSort(Direction.ASC, SortableName.of("previous_customer_name")),
+                new SortData.FieldSort(Direction.ASC, SortableName.of("customer_name"))
+        )), DEFAULT_PAGE_DATA);
+        assertEquals(2, slice.getEntities().size());
+        assertEquals(INVOICE2_ID, slice.getEntities().get(0).getId());
+        assertEquals(INVOICE1_ID, slice.getEntities().get(1).getId());
+    }
+
     @Test
     void testPaging() {
         // Make a lot of data
@@ -385,6 +385,74 @@ class JOOQTableCreatorTest {
         assertTrue(getTables("public").isEmpty());
     }
 
+    @Test
+    void applicationWithFullTextSearchFilter() {
+        var entity = Entity.builder()
+                .name(EntityName.of("person"))
+                .table(TableName.of("person"))
+                .pathSegment(PathSegmentName.of("persons"))
+                .linkName(LinkName.of("persons"))
+                .attribute(PERSON_NAME)
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.FULL_TEXT)
+                        .attribute(PERSON_NAME)
+                        .name(FilterName.of("name~fts"))
+                        .build())
+                .build();
+        var application = Application.builder()
+                .name(ApplicationName.of("full-text-search-application"))
+                .entity(entity)
+                .build();
+
+        // create tables
+        tableCreator.createTables(application);
+
+        var indexes = getIndexDefinitions("person");
+        assertTrue(indexes.stream().anyMatch(index -> index.contains("USING gin") && index.contains("to_tsvector")),
+                "Expected a GIN full-text index, got " + indexes);
+
+        // drop tables
+        tableCreator.dropTables(application);
+        assertTrue(getTables("public").isEmpty());
+    }
+
+    @Test
+    void applicationWithContainsSearchFilter() {
+        jdbcTemplate.execute("CREATE SCHEMA IF NOT EXISTS extensions");
+        jdbcTemplate.execute("CREATE EXTENSION IF NOT EXISTS pg_trgm SCHEMA extensions");
+        var entity = Entity.builder()
+                .name(EntityName.of("person"))
+                .table(TableName.of("person"))
+                .pathSegment(PathSegmentName.of("persons"))
+                .linkName(LinkName.of("persons"))
+                .attribute(PERSON_NAME)
+                .searchFilter(AttributeSearchFilter.builder()
+                        .operation(Operation.CONTAINS)
+                        .attribute(PERSON_NAME)
+                        .name(FilterName.of("name~contains"))
+                        .build())
+                .build();
+        var application = Application.builder()
+                .name(ApplicationName.of("contains-search-application"))
+                .entity(entity)
+                .build();
+
+        // create tables
+        tableCreator.createTables(application);
+
+        var indexes = getIndexDefinitions("person");
+        assertTrue(indexes.stream().anyMatch(index -> index.contains("USING gin") && index.contains("gin_trgm_ops")),
+                "Expected a GIN trigram index, got " + indexes);
+
+        // drop tables
+        tableCreator.dropTables(application);
+        assertTrue(getTables("public").isEmpty());
+    }
+
+    private List<String> getIndexDefinitions(String tableName) {
+        return jdbcTemplate.queryForList("SELECT indexdef FROM pg_indexes WHERE tablename = ?", String.class, tableName);
+    }
+
     // Decimal and numeric are synonyms in PostgreSQL
     static void assertDecimal(String columnType) {
         if (! (columnType.equals("decimal") || columnType.equals("numeric"))) {
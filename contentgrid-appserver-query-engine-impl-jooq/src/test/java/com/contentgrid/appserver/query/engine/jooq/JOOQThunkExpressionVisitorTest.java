@@ -49,6 +49,7 @@ import com.contentgrid.thunx.predicates.model.Variable;
 import com.fasterxml.uuid.Generators;
 import com.fasterxml.uuid.impl.TimeBasedEpochRandomGenerator;
 import java.time.Instant;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Stream;
 import org.jooq.Condition;
@@ -65,6 +66,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.test.context.ContextConfiguration;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
 
 @SpringBootTest(properties = {
         "spring.datasource.url=jdbc:tc:postgresql:15:///",
@@ -400,6 +402,51 @@ class JOOQThunkExpressionVisitorTest {
         assertEquals("vat_1", result.get("vat"));
     }
 
+    @Test
+    void findInvoiceWithFullTextSearch() {
+        // full-text search on either the number or the name of the creator
+        ThunkExpression<?> expression = LogicalOperation.disjunction(Stream.of(
+                StringComparison.fullTextSearchMatch(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("number")),
+                        Scalar.of("invoice 2")
+                ),
+                StringComparison.fullTextSearchMatch(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("audit_metadata"), SymbolicReference.path("created_by"), SymbolicReference.path("name")),
+                        Scalar.of("bob")
+                )
+        ));
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, INVOICE);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var condition = expression.accept(VISITOR, context);
+        var results = dslContext.selectFrom(table)
+                .where((Condition) condition)
+                .orderBy(context.getRank().orElseThrow().desc())
+                .fetch()
+                .intoMaps();
+
+        // invoice_2 matches the number, invoice_1 (created by bob) matches the creator
+        assertEquals(2, results.size());
+        assertEquals(2, results.size());
+        assertEquals(Set.of(INVOICE1_ID, INVOICE2_ID), Set.of(results.get(0).get("id"), results.get(1).get("id")));
+    }
+
+    @Test
+    void findInvoiceWithContainsSearch_escapesWildcards() {
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, INVOICE);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var number = SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("number"));
+
+        var condition = StringComparison.containsMatch(number, Scalar.of("E_1")).accept(VISITOR, context);
+        var results = dslContext.selectFrom(table).where((Condition) condition).fetch().intoMaps();
+        assertEquals(1, results.size());
+        assertEquals(INVOICE1_ID, results.getFirst().get("id"));
+
+        // % is matched literally
+        condition = StringComparison.containsMatch(number, Scalar.of("%")).accept(VISITOR, context);
+        results = dslContext.selectFrom(table).where((Condition) condition).fetch().intoMaps();
+        assertEquals(0, results.size());
+    }
+
     @Test
     void findInvoiceOfAlice() {
         // entity.customer.name = alice
@@ -420,6 +467,93 @@ class JOOQThunkExpressionVisitorTest {
         assertEquals(INVOICE1_ID, result.get("id"));
     }
 
+    @Test
+    void findInvoicesOfCustomers_equalitiesCombinedIntoAny() {
+        // entity.customer.name = alice OR entity.customer.name = nobody OR entity.number = invoice_2
+        ThunkExpression<?> expression = LogicalOperation.disjunction(Stream.of(
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("name")),
+                        Scalar.of("alice")
+                ),
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("name")),
+                        Scalar.of("nobody")
+                ),
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("number")),
+                        Scalar.of("invoice_2")
+                )
+        ));
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, INVOICE);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var condition = (Condition) expression.accept(VISITOR, context);
+
+        var sql = dslContext.render(condition);
+        assertEquals(1, StringUtils.countOccurrencesOf(sql, "exists"), sql);
+        assertEquals(1, StringUtils.countOccurrencesOf(sql, "any"), sql);
+
+        var results = dslContext.selectFrom(table)
+                .where(condition)
+                .fetch()
+                .intoMaps();
+
+        assertEquals(Set.of(INVOICE1_ID, INVOICE2_ID), Set.of(results.get(0).get("id"), results.get(1).get("id")));
+    }
+
+    @Test
+    void findPersons_equalitiesCombinedIntoAny_normalized() {
+        // entity.name = Thijs OR entity.name = alice
+        ThunkExpression<?> expression = LogicalOperation.disjunction(Stream.of(
+                Comparison.areEqual(SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("name")), Scalar.of("Thijs")),
+                Comparison.areEqual(SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("name")), Scalar.of("alice"))
+        ));
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, PERSON);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var condition = expression.accept(VISITOR, context);
+        var results = dslContext.selectFrom(table)
+                .where((Condition) condition)
+                .fetch()
+                .intoMaps();
+
+        assertEquals(2, results.size());
+        assertEquals(Set.of(ALICE_ID, THIJS_ID), Set.of(results.get(0).get("id"), results.get(1).get("id")));
+    }
+
+    @Test
+    void findFriendsOfAliceOrJohn_anonymousVariableCombinedIntoAny() {
+        // bob is friends with alice and john
+        dslContext.insertInto(DSL.table("person__friends"))
+                .set(DSL.field("person_src_id", UUID.class), BOB_ID)
+                .set(DSL.field("person_tgt_id", UUID.class), JOHN_ID)
+                .execute();
+
+        // entity.friends[_].name = alice OR entity.friends[_].name = john
+        ThunkExpression<?> expression = LogicalOperation.disjunction(Stream.of(
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("name")),
+                        Scalar.of("alice")
+                ),
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("name")),
+                        Scalar.of("john")
+                )
+        ));
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, PERSON);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var condition = (Condition) expression.accept(VISITOR, context);
+
+        var sql = dslContext.render(condition);
+        assertEquals(1, StringUtils.countOccurrencesOf(sql, "any"), sql);
+
+        var results = dslContext.selectFrom(table)
+                .where(condition)
+                .fetch()
+                .intoMaps();
+
+        assertEquals(1, results.size());
+        assertEquals(BOB_ID, results.getFirst().get("id"));
+    }
+
     @Test
     void findInvoiceCreatedByAlice() {
         // entity.audit_metadata.created_by.name = alice
@@ -460,6 +594,58 @@ class JOOQThunkExpressionVisitorTest {
         assertEquals(BOB_ID, result.get("id"));
     }
 
+    @Test
+    void findFriendsOfAliceWithConjunction_shouldMatchSameFriend() {
+        // bob is friends with alice and john
+        dslContext.insertInto(DSL.table("person__friends"))
+                .set(DSL.field("person_src_id", UUID.class), BOB_ID)
+                .set(DSL.field("person_tgt_id", UUID.class), JOHN_ID)
+                .execute();
+
+        // entity.friends[_].name = alice AND entity.friends[_].vat = vat_3
+        ThunkExpression<?> expression = LogicalOperation.conjunction(Stream.of(
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("name")),
+                        Scalar.of("alice")
+                ),
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("vat")),
+                        Scalar.of("vat_3")
+                )
+        ));
+        var context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, PERSON);
+        var table = JOOQUtils.resolveTable(context.getRootTable(), context.getRootAlias());
+        var condition = expression.accept(VISITOR, context);
+        var results = dslContext.selectFrom(table)
+                .where((Condition) condition)
+                .fetch()
+                .intoMaps();
+
+        // both terms must hold for the same friend
+        assertEquals(0, results.size());
+
+        // entity.friends[_].name = alice AND entity.friends[_].vat = vat_1
+        expression = LogicalOperation.conjunction(Stream.of(
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("name")),
+                        Scalar.of("alice")
+                ),
+                Comparison.areEqual(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("friends"), SymbolicReference.pathVar("_"), SymbolicReference.path("vat")),
+                        Scalar.of("vat_1")
+                )
+        ));
+        context = new JOOQThunkExpressionVisitor.JOOQContext(APPLICATION, PERSON);
+        condition = expression.accept(VISITOR, context);
+        results = dslContext.selectFrom(table)
+                .where((Condition) condition)
+                .fetch()
+                .intoMaps();
+
+        assertEquals(1, results.size());
+        assertEquals(BOB_ID, results.getFirst().get("id"));
+    }
+
     @Test
     void findBothTermsSymbolicReferences_shouldUseNormalizedSearch() {
         // entity.name = entity.vat
@@ -662,6 +848,16 @@ class JOOQThunkExpressionVisitorTest {
                 StringComparison.contentGridPrefixSearchMatch(
                         SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("audit_metadata"), SymbolicReference.path("created_by"), SymbolicReference.path("name")),
                         Scalar.of("Bö") // bob
+                ),
+                // full-text search
+                StringComparison.fullTextSearchMatch(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("audit_metadata"), SymbolicReference.path("created_by"), SymbolicReference.path("name")),
+                        Scalar.of("bob")
+                ),
+                // contains search
+                StringComparison.containsMatch(
+                        SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("audit_metadata"), SymbolicReference.path("created_by"), SymbolicReference.path("name")),
+                        Scalar.of("OB") // bob
                 )
         );
     }
@@ -752,7 +948,18 @@ class JOOQThunkExpressionVisitorTest {
                 Comparison.areEqual(
                         SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("friends"), SymbolicReference.pathVar("x"), SymbolicReference.pathVar("name")),
                         SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("previous_invoice"), SymbolicReference.path("customer"), SymbolicReference.path("friends"), SymbolicReference.pathVar("x"), SymbolicReference.pathVar("name"))
-                )
+                ),
+                // same variable used in equalities on the same reference of a disjunction
+                LogicalOperation.disjunction(Stream.of(
+                        Comparison.areEqual(
+                                SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("friends"), SymbolicReference.pathVar("x"), SymbolicReference.path("name")),
+                                Scalar.of("alice")
+                        ),
+                        Comparison.areEqual(
+                                SymbolicReference.of(ENTITY_VAR, SymbolicReference.path("customer"), SymbolicReference.path("friends"), SymbolicReference.pathVar("x"), SymbolicReference.path("name")),
+                                Scalar.of("bob")
+                        )
+                ))
         );
     }
 
@@ -311,6 +311,103 @@ class JoinCollectionTest {
         assertEquals(expected, result);
     }
 
+    @Test
+    void conjunction_sharedRelationPath() {
+        var joins = new JoinCollection(PERSON.getTable());
+        var left = DSL.field(DSL.name("i1", "number")).eq("invoice_1");
+        var right = DSL.field(DSL.name("i1", "amount")).gt(10);
+
+        joins.beginConjunction();
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "_");
+        var leftResult = joins.collect(left);
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "_");
+        // the second term reuses the alias of the first term
+        assertEquals(TableName.of("i1"), joins.getCurrentAlias());
+        var rightResult = joins.collect(right);
+        var result = joins.endConjunction(List.of(leftResult, rightResult));
+
+        var expected = DSL.exists(DSL.selectOne()
+                .from(DSL.table(DSL.name("invoice")).as("i1"))
+                .where(DSL.and(
+                        DSL.field(DSL.name("i1", "customer"), UUID.class)
+                                .eq(DSL.field(DSL.name("p0", "id"), UUID.class)),
+                        DSL.and(left, right)
+                )));
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void conjunction_differentVariables() {
+        var joins = new JoinCollection(PERSON.getTable());
+        var left = DSL.field(DSL.name("i1", "number")).eq("invoice_1");
+        var right = DSL.field(DSL.name("i2", "amount")).gt(10);
+
+        joins.beginConjunction();
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "x");
+        var leftResult = joins.collect(left);
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "y");
+        assertEquals(TableName.of("i2"), joins.getCurrentAlias());
+        var rightResult = joins.collect(right);
+        var result = joins.endConjunction(List.of(leftResult, rightResult));
+
+        var expected = DSL.and(
+                DSL.exists(DSL.selectOne()
+                        .from(DSL.table(DSL.name("invoice")).as("i1"))
+                        .where(DSL.and(
+                                DSL.field(DSL.name("i1", "customer"), UUID.class)
+                                        .eq(DSL.field(DSL.name("p0", "id"), UUID.class)),
+                                DSL.and(left)
+                        ))),
+                DSL.exists(DSL.selectOne()
+                        .from(DSL.table(DSL.name("invoice")).as("i2"))
+                        .where(DSL.and(
+                                DSL.field(DSL.name("i2", "customer"), UUID.class)
+                                        .eq(DSL.field(DSL.name("p0", "id"), UUID.class)),
+                                DSL.and(right)
+                        )))
+        );
+
+        assertEquals(expected, result);
+    }
+
+    @Test
+    void conjunction_nestedTermsAreCollectedSeparately() {
+        var joins = new JoinCollection(PERSON.getTable());
+        var left = DSL.field(DSL.name("i1", "number")).eq("invoice_1");
+        var right = DSL.field(DSL.name("i2", "amount")).gt(10);
+
+        joins.beginConjunction();
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "_");
+        var leftResult = joins.collect(left);
+        joins.beginNested();
+        joins.addRelation(APPLICATION, PERSON_INVOICES, "_");
+        // nested terms do not reuse joins of the conjunction
+        assertEquals(TableName.of("i2"), joins.getCurrentAlias());
+        var rightResult = DSL.not(joins.collect(right));
+        joins.endNested();
+        var result = joins.endConjunction(List.of(leftResult, joins.collect(rightResult)));
+
+        var expected = DSL.and(
+                DSL.not(DSL.exists(DSL.selectOne()
+                        .from(DSL.table(DSL.name("invoice")).as("i2"))
+                        .where(DSL.and(
+                                DSL.field(DSL.name("i2", "customer"), UUID.class)
+                                        .eq(DSL.field(DSL.name("p0", "id"), UUID.class)),
+                                right
+                        )))),
+                DSL.exists(DSL.selectOne()
+                        .from(DSL.table(DSL.name("invoice")).as("i1"))
+                        .where(DSL.and(
+                                DSL.field(DSL.name("i1", "customer"), UUID.class)
+                                        .eq(DSL.field(DSL.name("p0", "id"), UUID.class)),
+                                DSL.and(left)
+                        )))
+        );
+
+        assertEquals(expected, result);
+    }
+
     @Test
     void addRelationTest_illegalRelation() {
         var joins = new JoinCollection(INVOICE.getTable());
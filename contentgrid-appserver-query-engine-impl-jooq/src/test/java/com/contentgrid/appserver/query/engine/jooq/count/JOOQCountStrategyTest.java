@@ -19,6 +19,7 @@ import com.contentgrid.appserver.application.model.values.LinkName;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
 import com.contentgrid.appserver.application.model.values.TableName;
 import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.ItemCount;
 import com.contentgrid.appserver.query.engine.api.TableCreator;
 import com.contentgrid.appserver.query.engine.jooq.JOOQTableCreator;
 import com.contentgrid.appserver.query.engine.jooq.resolver.AutowiredDSLContextResolver;
@@ -89,6 +90,11 @@ class JOOQCountStrategyTest {
     private static final Select<?> ALLOW_ALL = DSL.selectFrom(DSL.table("product").where(DSL.condition(true)));
     private static final Select<?> DENY_ALL = DSL.selectFrom(DSL.table("product").where(DSL.condition(false)));
 
+    private static final TableName PRODUCT_TABLE = TableName.of("product");
+    private static final TableName PRODUCT_ALIAS = TableName.of("p");
+    private static final int BULK_PRODUCTS = 40_000;
+    private static final Duration TIMEOUT = Duration.ofSeconds(10);
+
     @Autowired
     private DSLContext dslContext;
 
@@ -176,6 +182,107 @@ class JOOQCountStrategyTest {
         }
     }
 
+    @Test
+    void testCostBasedCount_cheapQueryIsExact() {
+        var transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            var countStrategy = new JOOQCostBasedCountStrategy(new JOOQExactCountStrategy(), 10_000, 1_000, TIMEOUT);
+
+            var count = countStrategy.count(dslContext, PRODUCT_TABLE, PRODUCT_ALIAS, DSL.noCondition());
+            assertEquals(ItemCount.exact(3), count);
+
+            count = countStrategy.count(dslContext, PRODUCT_TABLE, PRODUCT_ALIAS, DSL.falseCondition());
+            assertEquals(ItemCount.exact(0), count);
+        } finally {
+            transactionManager.commit(transaction);
+        }
+    }
+
+    @Test
+    void testCostBasedCount_unfilteredUsesStatistics() {
+        var transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            insertBulkProducts();
+            var countStrategy = new JOOQCostBasedCountStrategy(new JOOQExactCountStrategy(), 0, 1_000, TIMEOUT);
+
+            var count = countStrategy.count(dslContext, PRODUCT_TABLE, PRODUCT_ALIAS, DSL.noCondition());
+
+            // reltuples is an estimate itself, but with every page analyzed it is close to the actual count
+            assertTrue(count.isEstimated());
+            assertTrue(Math.abs(count.count() - (BULK_PRODUCTS + 3)) <= BULK_PRODUCTS / 100,
+                    "estimate was " + count.count());
+            assertTrue(count.lowerBound().orElseThrow() <= count.count());
+            assertTrue(count.upperBound().orElseThrow() >= count.count());
+        } finally {
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    @Test
+    void testCostBasedCount_filteredUsesSample() {
+        var transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            insertBulkProducts();
+            var countStrategy = new JOOQCostBasedCountStrategy(new JOOQExactCountStrategy(), 0, 2_000, TIMEOUT);
+            var condition = DSL.field(DSL.name("p", "description"), String.class).eq("match");
+
+            var count = countStrategy.count(dslContext, PRODUCT_TABLE, PRODUCT_ALIAS, condition);
+
+            // A quarter of the bulk products match
+            var expected = BULK_PRODUCTS / 4;
+            assertTrue(count.isEstimated());
+            assertTrue(Math.abs(count.count() - expected) < expected / 10, "estimate was " + count.count());
+            assertTrue(count.lowerBound().orElseThrow() <= expected, "lower bound was " + count.lowerBound());
+            assertTrue(count.upperBound().orElseThrow() >= expected, "upper bound was " + count.upperBound());
+        } finally {
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    @Test
+    void testCostBasedCount_slowSampleUsesPlanEstimate() {
+        var transaction = transactionManager.getTransaction(TransactionDefinition.withDefaults());
+        try {
+            insertBulkProducts();
+            var countStrategy = new JOOQCostBasedCountStrategy(new JOOQExactCountStrategy(), 0, 2_000,
+                    Duration.ofMillis(100));
+            // Sleeps for every sampled row, so counting the sample takes longer than the timeout
+            var condition = DSL.condition("(SELECT true FROM pg_sleep(0.01))");
+
+            var count = countStrategy.count(dslContext, PRODUCT_TABLE, PRODUCT_ALIAS, condition);
+
+            assertTrue(count.isEstimated());
+            assertTrue(count.lowerBound().isEmpty());
+            // The transaction can still be used after the timeout
+            assertEquals(BULK_PRODUCTS + 3, dslContext.fetchCount(DSL.table(DSL.name(PRODUCT_TABLE.getValue()))));
+        } finally {
+            transactionManager.rollback(transaction);
+        }
+    }
+
+    @Test
+    void testWilsonEstimate() {
+        var count = JOOQCostBasedCountStrategy.wilsonEstimate(250, 1_000, 1_000_000);
+        assertEquals(250_000, count.count());
+        assertTrue(count.lowerBound().orElseThrow() > 220_000 && count.lowerBound().orElseThrow() < 250_000);
+        assertTrue(count.upperBound().orElseThrow() > 250_000 && count.upperBound().orElseThrow() < 280_000);
+
+        // Nothing matching in the sample still leaves room for some matches in the table
+        count = JOOQCostBasedCountStrategy.wilsonEstimate(0, 1_000, 1_000_000);
+        assertEquals(0, count.count());
+        assertEquals(0, count.lowerBound().orElseThrow());
+        assertTrue(count.upperBound().orElseThrow() > 0);
+    }
+
+    private void insertBulkProducts() {
+        dslContext.execute("""
+                INSERT INTO product (id, code, description)
+                SELECT gen_random_uuid(), 'bulk_' || g, CASE WHEN g % 4 = 0 THEN 'match' END
+                FROM generate_series(1, {0}) g
+                """, DSL.inline(BULK_PRODUCTS));
+        dslContext.execute("ANALYZE product");
+    }
+
     @SpringBootApplication
     static class TestApplication {
         public static void main(String[] args) {
@@ -0,0 +1,161 @@
+package com.contentgrid.appserver.query.engine.jooq.replica;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+class ReplicaConsistencyTest {
+
+    private static final String URL = "jdbc:tc:postgresql:15:///";
+
+    private CountingDataSource primary;
+    private CountingDataSource replica;
+    private ReplicaConsistency replicaConsistency;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate readOnlyTransaction;
+    private TransactionTemplate writeTransaction;
+
+    @BeforeEach
+    void setup() {
+        primary = new CountingDataSource(new DriverManagerDataSource(URL));
+        replica = new CountingDataSource(new DriverManagerDataSource(URL));
+        replicaConsistency = new ReplicaConsistency(primary, Duration.ofMillis(100));
+
+        var routingDataSource = replicaConsistency.routingDataSource(replica);
+        var transactionManager = new DataSourceTransactionManager(routingDataSource);
+        jdbcTemplate = new JdbcTemplate(routingDataSource);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+        writeTransaction = new TransactionTemplate(transactionManager);
+
+        primary.connections.set(0);
+        replica.connections.set(0);
+    }
+
+    @Test
+    void readOnlyTransactionUsesReplica() {
+        readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+
+        assertEquals(1, replica.connections.get());
+        assertEquals(0, primary.connections.get());
+    }
+
+    @Test
+    void writeTransactionUsesPrimary() {
+        writeTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+
+        assertEquals(0, replica.connections.get());
+        assertEquals(1, primary.connections.get());
+    }
+
+    @Test
+    void writeReportsToken() {
+        var tokens = new ArrayList<String>();
+        try (var scope = replicaConsistency.open(null, tokens::add)) {
+            writeTransaction.executeWithoutResult(status -> {
+                replicaConsistency.registerWrite();
+                // Registering twice in the same transaction reports the position once
+                replicaConsistency.registerWrite();
+                jdbcTemplate.queryForObject("SELECT 1", Integer.class);
+            });
+
+            assertEquals(1, tokens.size());
+            assertTrue(tokens.getFirst().matches("[0-9A-F]+/[0-9A-F]+"));
+            assertEquals(tokens.getFirst(), scope.getRequiredToken());
+        }
+    }
+
+    @Test
+    void writeReportsTokenWithSingleConnectionPool() {
+        try (var pool = new HikariDataSource()) {
+            pool.setJdbcUrl(URL);
+            pool.setMaximumPoolSize(1);
+            pool.setConnectionTimeout(250);
+            var singleConnectionConsistency = new ReplicaConsistency(pool, Duration.ofMillis(100));
+            var routingDataSource = singleConnectionConsistency.routingDataSource(replica);
+            var transaction = new TransactionTemplate(new DataSourceTransactionManager(routingDataSource));
+            var template = new JdbcTemplate(routingDataSource);
+
+            var tokens = new ArrayList<String>();
+            try (var ignored = singleConnectionConsistency.open(null, tokens::add)) {
+                transaction.executeWithoutResult(status -> {
+                    singleConnectionConsistency.registerWrite();
+                    template.queryForObject("SELECT 1", Integer.class);
+                });
+            }
+
+            // The position is read on the connection of the transaction, so the pool is not exhausted
+            assertEquals(1, tokens.size());
+            assertTrue(tokens.getFirst().matches("[0-9A-F]+/[0-9A-F]+"));
+        }
+    }
+
+    @Test
+    void rolledBackWriteDoesNotReportToken() {
+        List<String> tokens = new ArrayList<>();
+        try (var ignored = replicaConsistency.open(null, tokens::add)) {
+            writeTransaction.executeWithoutResult(status -> {
+                replicaConsistency.registerWrite();
+                status.setRollbackOnly();
+            });
+        }
+
+        assertEquals(List.of(), tokens);
+    }
+
+    @Test
+    void readWithTokenUsesReplicaThatCaughtUp() {
+        var token = jdbcTemplate.queryForObject("SELECT pg_current_wal_lsn()::text", String.class);
+        primary.connections.set(0);
+
+        try (var ignored = replicaConsistency.open(token, lsn -> {})) {
+            readOnlyTransaction.executeWithoutResult(status -> jdbcTemplate.queryForObject("SELECT 1", Integer.class));
+        }
+
+        assertEquals(1, replica.connections.get());
+        assertEquals(0, primary.connections.get());
+    }
+
+    @Test
+    void invalidTokenIsIgnored() {
+        try (var scope = replicaConsistency.open("not-a-token'; DROP TABLE x", lsn -> {})) {
+            assertNull(scope.getRequiredToken());
+        }
+        try (var scope = replicaConsistency.open(" 0/16b3748 ", lsn -> {})) {
+            assertNotNull(scope.getRequiredToken());
+            assertEquals("0/16B3748", scope.getRequiredToken());
+        }
+    }
+
+    private static class CountingDataSource extends DelegatingDataSource {
+
+        private final AtomicInteger connections = new AtomicInteger();
+
+        CountingDataSource(DataSource targetDataSource) {
+            super(targetDataSource);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            connections.incrementAndGet();
+            return super.getConnection();
+        }
+    }
+}
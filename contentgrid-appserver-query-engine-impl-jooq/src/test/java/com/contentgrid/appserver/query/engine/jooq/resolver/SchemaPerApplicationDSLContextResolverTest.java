@@ -0,0 +1,181 @@
+package com.contentgrid.appserver.query.engine.jooq.resolver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute.Type;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.ColumnName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.LinkName;
+import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.TableName;
+import com.contentgrid.appserver.query.engine.api.TableCreator;
+import com.contentgrid.appserver.query.engine.jooq.JOOQTableCreator;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.jooq.DSLContext;
+import org.jooq.impl.DSL;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:tc:postgresql:15:///"
+})
+class SchemaPerApplicationDSLContextResolverTest {
+
+    private static final Entity PRODUCT = Entity.builder()
+            .name(EntityName.of("product"))
+            .table(TableName.of("product"))
+            .pathSegment(PathSegmentName.of("products"))
+            .linkName(LinkName.of("products"))
+            .attribute(SimpleAttribute.builder()
+                    .name(AttributeName.of("code"))
+                    .column(ColumnName.of("code"))
+                    .type(Type.TEXT)
+                    .build())
+            .build();
+
+    private static final Application INVOICING = Application.builder()
+            .name(ApplicationName.of("invoicing-application"))
+            .entity(PRODUCT)
+            .build();
+
+    private static final Application WAREHOUSE = Application.builder()
+            .name(ApplicationName.of("warehouse-application"))
+            .entity(PRODUCT)
+            .build();
+
+    @Autowired
+    private SchemaPerApplicationDSLContextResolver resolver;
+
+    @Autowired
+    private TableCreator tableCreator;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setup() {
+        tableCreator.createTables(INVOICING);
+        tableCreator.createTables(WAREHOUSE);
+    }
+
+    @AfterEach
+    void cleanup() {
+        tableCreator.dropTables(INVOICING);
+        tableCreator.dropTables(WAREHOUSE);
+    }
+
+    @Test
+    void schemaName() {
+        assertTrue(resolver.getSchemaName(INVOICING).matches("app_invoicing_application_[0-9a-f]{12}"));
+        assertEquals(resolver.getSchemaName(INVOICING), resolver.getSchemaName(INVOICING));
+    }
+
+    @Test
+    void schemaNamesDoNotCollide() {
+        // These names are the same after lowercasing, replacing special characters or truncating
+        var names = List.of("Invoicing-App", "invoicing_app", "invoicing.app",
+                "x".repeat(80) + "-first", "x".repeat(80) + "-second");
+        var schemaNames = names.stream()
+                .map(name -> resolver.getSchemaName(Application.builder().name(ApplicationName.of(name)).build()))
+                .toList();
+
+        assertEquals(names.size(), Set.copyOf(schemaNames).size());
+        assertTrue(schemaNames.stream().allMatch(name -> name.length() <= 63));
+    }
+
+    @Test
+    void selectsApplicationSchemaInTransaction() {
+        var template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            var dslContext = resolver.resolve(INVOICING);
+            assertEquals(resolver.getSchemaName(INVOICING), dslContext.fetchValue("SELECT current_schema()"));
+            assertEquals("5s", dslContext.fetchValue("SHOW statement_timeout"));
+
+            // Switching to another application within the same transaction selects its schema
+            assertEquals(resolver.getSchemaName(WAREHOUSE),
+                    resolver.resolve(WAREHOUSE).fetchValue("SELECT current_schema()"));
+        });
+    }
+
+    @Test
+    void applicationsHaveSeparateTables() {
+        var template = new TransactionTemplate(transactionManager);
+        template.executeWithoutResult(status -> {
+            insertProduct(resolver.resolve(INVOICING), "invoicing");
+            insertProduct(resolver.resolve(WAREHOUSE), "warehouse-1");
+            insertProduct(resolver.resolve(WAREHOUSE), "warehouse-2");
+        });
+
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readOnly.executeWithoutResult(status -> {
+            assertEquals(1, resolver.resolve(INVOICING).fetchCount(DSL.table("product")));
+            assertEquals(2, resolver.resolve(WAREHOUSE).fetchCount(DSL.table("product")));
+        });
+    }
+
+    @Test
+    void selectsApplicationSchemaInNestedTransaction() {
+        var outer = new TransactionTemplate(transactionManager);
+        var inner = new TransactionTemplate(transactionManager);
+        inner.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        outer.executeWithoutResult(outerStatus -> {
+            var invoicing = resolver.resolve(INVOICING);
+            assertEquals(resolver.getSchemaName(INVOICING), invoicing.fetchValue("SELECT current_schema()"));
+
+            inner.executeWithoutResult(innerStatus -> assertEquals(resolver.getSchemaName(WAREHOUSE),
+                    resolver.resolve(WAREHOUSE).fetchValue("SELECT current_schema()")));
+
+            // The inner transaction ran on another connection, the outer one still has its own schema
+            assertEquals(resolver.getSchemaName(INVOICING), invoicing.fetchValue("SELECT current_schema()"));
+        });
+    }
+
+    @Test
+    void selectsApplicationSchemaWithoutTransaction() {
+        assertEquals(resolver.getSchemaName(WAREHOUSE),
+                resolver.resolve(WAREHOUSE).fetchValue("SELECT current_schema()"));
+    }
+
+    private static void insertProduct(DSLContext dslContext, String code) {
+        dslContext.insertInto(DSL.table("product"), DSL.field("id", UUID.class), DSL.field("code", String.class))
+                .values(UUID.randomUUID(), code)
+                .execute();
+    }
+
+    @SpringBootApplication
+    static class TestApplication {
+        public static void main(String[] args) {
+            SpringApplication.run(TestApplication.class, args);
+        }
+
+        @Bean
+        public SchemaPerApplicationDSLContextResolver schemaPerApplicationDSLContextResolver(DSLContext dslContext) {
+            return new SchemaPerApplicationDSLContextResolver(dslContext, "app_", Duration.ofSeconds(5));
+        }
+
+        @Bean
+        public TableCreator jooqTableCreator(DSLContextResolver dslContextResolver) {
+            return new JOOQTableCreator(dslContextResolver);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.contentgrid.appserver.query.engine.jooq.slowquery;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.FilterName;
+import com.contentgrid.appserver.query.engine.api.slowquery.QueryLabels;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQuery;
+import com.contentgrid.appserver.query.engine.api.slowquery.SlowQueryLog;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import javax.sql.DataSource;
+import org.jooq.DSLContext;
+import org.jooq.SQLDialect;
+import org.jooq.exception.DataAccessException;
+import org.jooq.impl.DSL;
+import org.jooq.impl.DefaultConfiguration;
+import org.jooq.impl.DefaultExecuteListenerProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+class SlowQueryListenerTest {
+
+    private static final String URL = "jdbc:tc:postgresql:15:///";
+
+    private static final Instant NOW = Instant.parse("2024-01-01T00:00:00Z");
+
+    private static final String SLOW_QUERY = "select pg_sleep(0.05), g, 'secret' as s from generate_series(1, 10) g where g > ?";
+
+    private final SlowQueryLog slowQueryLog = new SlowQueryLog(10);
+
+    private DSLContext dslContext(Duration captureInterval) {
+        return dslContext(new DriverManagerDataSource(URL), captureInterval);
+    }
+
+    private DSLContext dslContext(DataSource dataSource, Duration captureInterval) {
+        var listener = new SlowQueryListener(slowQueryLog, Duration.ofMillis(20), captureInterval,
+                Clock.fixed(NOW, ZoneOffset.UTC));
+        return DSL.using(new DefaultConfiguration()
+                .set(dataSource)
+                .set(SQLDialect.POSTGRES)
+                .set(new DefaultExecuteListenerProvider(listener)));
+    }
+
+    @Test
+    void recordsSlowQueryWithLabels() {
+        var dslContext = dslContext(null);
+
+        try (var ignored = QueryLabels.open(ApplicationName.of("app-a"), EntityName.of("invoice"),
+                List.of(FilterName.of("number")))) {
+            dslContext.resultQuery(SLOW_QUERY, 9).fetch();
+        }
+
+        assertThat(slowQueryLog.getEntries()).singleElement().satisfies(query -> {
+            assertThat(query.getTimestamp()).isEqualTo(NOW);
+            assertThat(query.getApplication()).contains(ApplicationName.of("app-a"));
+            assertThat(query.getEntity()).contains(EntityName.of("invoice"));
+            assertThat(query.getFilters()).containsExactly(FilterName.of("number"));
+            assertThat(query.getSql()).contains("'?' as s", "g > ?").doesNotContain("secret");
+            assertThat(query.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(20));
+            assertThat(query.isFailed()).isFalse();
+            assertThat(query.getPlan()).isEmpty();
+        });
+        assertThat(slowQueryLog.getEntries(ApplicationName.of("app-a"), EntityName.of("invoice"))).hasSize(1);
+        assertThat(slowQueryLog.getEntries(ApplicationName.of("app-a"), EntityName.of("customer"))).isEmpty();
+        assertThat(slowQueryLog.getEntries(ApplicationName.of("app-b"), EntityName.of("invoice"))).isEmpty();
+    }
+
+    @Test
+    void recordsQueryCancelledByStatementTimeout() {
+        var dataSource = new SingleConnectionDataSource(URL, true);
+        try {
+            // The plan capture is enabled, but a failed query has no plan
+            var dslContext = dslContext(dataSource, Duration.ofHours(1));
+            dslContext.execute("set statement_timeout = 50");
+
+            assertThatThrownBy(() -> dslContext.resultQuery("select pg_sleep(1)").fetch())
+                    .isInstanceOf(DataAccessException.class);
+        } finally {
+            dataSource.destroy();
+        }
+
+        assertThat(slowQueryLog.getEntries()).singleElement().satisfies(query -> {
+            assertThat(query.getSql()).isEqualTo("select pg_sleep(?)");
+            assertThat(query.getDuration()).isGreaterThanOrEqualTo(Duration.ofMillis(50));
+            assertThat(query.isFailed()).isTrue();
+            assertThat(query.getPlan()).isEmpty();
+        });
+    }
+
+    @Test
+    void ignoresFastQuery() {
+        dslContext(null).selectOne().fetch();
+
+        assertThat(slowQueryLog.getEntries()).isEmpty();
+    }
+
+    @Test
+    void capturesRedactedPlanOncePerInterval() {
+        var dslContext = dslContext(Duration.ofHours(1));
+
+        dslContext.resultQuery(SLOW_QUERY, 9).fetch();
+        dslContext.resultQuery(SLOW_QUERY, 9).fetch();
+
+        var entries = slowQueryLog.getEntries();
+        assertThat(entries).hasSize(2);
+        // Newest first, so the first query is the one with the plan
+        assertThat(entries.get(1).getPlan()).hasValueSatisfying(plan -> assertThat(plan)
+                .contains("Execution Time", "(g > ?)")
+                .doesNotContain("secret", "(g > 9)"));
+        assertThat(entries.get(0).getPlan()).isEmpty();
+    }
+
+    @Test
+    void redactsLiterals() {
+        assertThat(SlowQueryListener.redact(
+                "Seq Scan on invoice  (cost=0.00..35.50 rows=10 width=4) Filter: ((amount > 12.5) AND (number = 'it''s'::text))"))
+                .isEqualTo(
+                        "Seq Scan on invoice  (cost=0.00..35.50 rows=10 width=4) Filter: ((amount > ?) AND (number = '?'::text))");
+    }
+
+    @Test
+    void redactsNumbersOutsideAnnotations() {
+        assertThat(SlowQueryListener.redact(
+                "select * from t1 where a in (1, 2) and b between 3 and 4.5 and c = any (ARRAY[6,7]) limit 10 offset 20"))
+                .isEqualTo("select * from t1 where a in (?, ?) and b between ? and ? and c = any (ARRAY[?,?]) limit ? offset ?");
+        assertThat(SlowQueryListener.redact("""
+                Limit  (cost=0.00..1.00 rows=1 width=4) (actual time=0.010..0.020 rows=1 loops=1)
+                  Buffers: shared hit=4
+                  ->  Index Scan using invoice_pkey on invoice_2  (cost=0.15..8.17 rows=1 width=4)
+                        Index Cond: (id = ANY ($1))
+                        Filter: ((amount >= -5) AND (amount <= 5))
+                Execution Time: 50.1 ms"""))
+                .isEqualTo("""
+                        Limit  (cost=0.00..1.00 rows=1 width=4) (actual time=0.010..0.020 rows=1 loops=1)
+                          Buffers: shared hit=4
+                          ->  Index Scan using invoice_pkey on invoice_2  (cost=0.15..8.17 rows=1 width=4)
+                                Index Cond: (id = ANY ($1))
+                                Filter: ((amount >= ?) AND (amount <= ?))
+                        Execution Time: 50.1 ms""");
+    }
+
+    @Test
+    void slowQueryLogKeepsNewestEntries() {
+        var log = new SlowQueryLog(2);
+        for (var sql : List.of("first", "second", "third")) {
+            log.add(SlowQuery.builder().timestamp(NOW).sql(sql).duration(Duration.ZERO).build());
+        }
+
+        assertThat(log.getEntries()).extracting(SlowQuery::getSql).containsExactly("third", "second");
+    }
+}
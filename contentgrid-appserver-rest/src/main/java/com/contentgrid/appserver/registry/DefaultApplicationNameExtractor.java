@@ -9,7 +9,7 @@ import org.springframework.stereotype.Component;
 @Component
 public class DefaultApplicationNameExtractor implements ApplicationNameExtractor {
     public ApplicationName extract(HttpServletRequest request) {
-        // Apps are strictly single-tenant for now
+        // Single-tenant: every request is for the same application. See HostApplicationNameExtractor for multiple applications
         return ApplicationName.of("default");
     }
 }
@@ -0,0 +1,35 @@
+package com.contentgrid.appserver.registry;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Locale;
+import lombok.NonNull;
+
+/**
+ * Extracts the application name from the host of the request: the host {@code invoicing.apps.example.com} is
+ * application {@code invoicing} in domain {@code apps.example.com}.
+ * <p>
+ * Hosts outside the domain, the domain itself, and hosts that are more than one level below it don't belong to any
+ * application.
+ */
+public class HostApplicationNameExtractor implements ApplicationNameExtractor {
+
+    private final String domainSuffix;
+
+    public HostApplicationNameExtractor(@NonNull String domain) {
+        var normalized = domain.toLowerCase(Locale.ROOT);
+        this.domainSuffix = normalized.startsWith(".") ? normalized : "." + normalized;
+    }
+
+    @Override
+    public ApplicationName extract(HttpServletRequest request) {
+        var host = request.getServerName().toLowerCase(Locale.ROOT);
+        if (host.endsWith(domainSuffix)) {
+            var label = host.substring(0, host.length() - domainSuffix.length());
+            if (!label.isEmpty() && label.indexOf('.') < 0) {
+                return ApplicationName.of(label);
+            }
+        }
+        throw new ApplicationNotFoundException(ApplicationName.of(host));
+    }
+}
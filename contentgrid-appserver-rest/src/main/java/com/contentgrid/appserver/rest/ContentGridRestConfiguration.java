@@ -2,10 +2,13 @@ package com.contentgrid.appserver.rest;
 
 import com.contentgrid.appserver.domain.data.EntityInstance;
 import com.contentgrid.appserver.domain.values.EntityId;
-import com.contentgrid.appserver.registry.DefaultApplicationNameExtractor;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import com.contentgrid.appserver.registry.ApplicationResolver;
 import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler;
 import com.contentgrid.appserver.rest.assembler.profile.BlueprintLinkRelationsConfiguration;
+import com.contentgrid.appserver.rest.assembler.profile.ProfileDocumentCache;
 import com.contentgrid.appserver.rest.assembler.profile.hal.ProfileEntityRepresentationModelAssembler;
+import com.contentgrid.appserver.rest.batch.BatchRestController;
 import com.contentgrid.appserver.rest.converter.RequestInputDataJacksonModule;
 import com.contentgrid.appserver.rest.converter.UriListHttpMessageConverter;
 import com.contentgrid.appserver.rest.data.conversion.StringDataEntryToBooleanDataEntryConverter;
@@ -14,6 +17,7 @@ import com.contentgrid.appserver.rest.data.conversion.StringDataEntryToInstantDa
 import com.contentgrid.appserver.rest.data.conversion.StringDataEntryToLongDataEntryConverter;
 import com.contentgrid.appserver.rest.filter.SingleRangeRequestServletFilter;
 import com.contentgrid.appserver.rest.hal.forms.HalFormsMediaTypeConfiguration;
+import com.contentgrid.appserver.rest.hal.forms.HalFormsTemplateCache;
 import com.contentgrid.appserver.rest.links.ContentGridLinksConfiguration;
 import com.contentgrid.appserver.rest.mapping.ContentGridHandlerMappingConfiguration;
 import com.contentgrid.appserver.rest.problem.ContentgridProblemDetailConfiguration;
@@ -27,6 +31,8 @@ import java.text.ParseException;
 import java.util.List;
 import java.util.Locale;
 import java.util.UUID;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
 import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -47,10 +53,12 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
         BlueprintLinkRelationsConfiguration.class,
         HalFormsMediaTypeConfiguration.class,
         ContentGridHandlerMappingConfiguration.class,
+        BatchRestController.class,
         ContentRestController.class,
-        DefaultApplicationNameExtractor.class,
         EntityDataRepresentationModelAssembler.class,
         EntityRestController.class,
+        HalFormsTemplateCache.class,
+        ProfileDocumentCache.class,
         ProfileEntityRepresentationModelAssembler.class,
         ProfileRestController.class,
         RequestInputDataJacksonModule.class,
@@ -109,6 +117,13 @@ public class ContentGridRestConfiguration {
         };
     }
 
+    @Bean
+    SmartInitializingSingleton contentgridApplicationEvictionListeners(ApplicationResolver applicationResolver,
+            ObjectProvider<ApplicationEvictionListener> listeners) {
+        // Per-application caches are released when the resolver evicts an application
+        return () -> listeners.orderedStream().forEach(applicationResolver::addEvictionListener);
+    }
+
     @Bean
     SlicedResourcesAssembler<EntityInstance> slicedResourcesAssembler(PaginationHandlerMethodArgumentResolver resolver) {
         return new SlicedResourcesAssembler<>(resolver);
@@ -68,6 +68,13 @@ public class EncodedCursorPaginationHandlerMethodArgumentResolver extends Pagina
             return;
         }
 
+        addQueryParameters(builder, pagination);
+    }
+
+    /**
+     * Replace the pagination query parameters of the builder with the values of the pagination
+     */
+    public static void addQueryParameters(UriComponentsBuilder builder, EncodedCursorPagination pagination) {
         // Overload replaceQueryParam(String name, Object... values)
         builder.replaceQueryParam(SIZE_NAME, pagination.getSize());
 
@@ -2,8 +2,11 @@ package com.contentgrid.appserver.rest;
 
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.flags.ETagFlag;
 import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.application.model.relations.Relation;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.RelationName;
 import com.contentgrid.appserver.domain.DatamodelApi;
 import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
 import com.contentgrid.appserver.domain.data.EntityInstance;
@@ -12,17 +15,32 @@ import com.contentgrid.appserver.domain.data.RequestInputData;
 import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.version.Version;
 import com.contentgrid.appserver.domain.values.version.VersionConstraint;
+import com.contentgrid.appserver.exception.InvalidEmbedParameterException;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.query.engine.api.exception.EntityIdNotFoundException;
 import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModel;
 import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler;
 import com.contentgrid.appserver.rest.data.ConversionServiceRequestInputData;
+import com.contentgrid.appserver.rest.data.JsonRequestInputData;
 import com.contentgrid.appserver.rest.data.MultipartRequestInputData;
+import com.contentgrid.appserver.rest.data.RequestInputSchema;
 import com.contentgrid.appserver.rest.data.conversion.StringDataEntryToRelationDataEntryConverter;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
 import com.contentgrid.appserver.rest.mapping.SpecializedOnEntity;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.propertyeditors.StringArrayPropertyEditor;
 import org.springframework.core.convert.ConversionService;
@@ -30,9 +48,12 @@ import org.springframework.core.convert.support.GenericConversionService;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.http.ETag;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.server.ServletServerHttpRequest;
 import org.springframework.util.MultiValueMap;
 import org.springframework.web.bind.WebDataBinder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -42,7 +63,6 @@ import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
-import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.context.request.NativeWebRequest;
@@ -53,9 +73,32 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class EntityRestController {
 
+    /**
+     * Query parameter with the attributes and relations to include in the response, either as a comma-separated list
+     * or repeated
+     */
+    public static final String FIELDS_NAME = "_fields";
+
+    /**
+     * Query parameter with the relations of which the targets are embedded in the response, either as a
+     * comma-separated list or repeated
+     */
+    public static final String EMBED_NAME = "_embed";
+
+    /**
+     * Query parameter with the ids of the entities to fetch at once, either as a comma-separated list or repeated
+     */
+    public static final String IDS_NAME = "_id";
+
+    /**
+     * Maximum number of entities that can be fetched at once by id
+     */
+    static final int MAX_IDS = 100;
+
     private final DatamodelApi datamodelApi;
     private final ConversionService conversionService;
     private final EntityDataRepresentationModelAssembler assembler;
+    private final ObjectMapper objectMapper;
 
     private Entity getEntityOrThrow(Application application, PathSegmentName entityName) {
         return application.getEntityByPathSegment(entityName)
@@ -85,14 +128,112 @@ public class EntityRestController {
         paramsWithoutPaging.remove(EncodedCursorPaginationHandlerMethodArgumentResolver.SIZE_NAME);
         paramsWithoutPaging.remove(EncodedCursorPaginationHandlerMethodArgumentResolver.SORT_NAME);
 
+        // The fields and embed parameters are kept, so the collection links keep them and cursors are only valid for them
+        var projection = parseProjection(paramsWithoutPaging.get(FIELDS_NAME));
+
         var entity = getEntityOrThrow(application, entityName);
-        var results = datamodelApi.findAll(application, entity, paramsWithoutPaging, pagination,
+        var embeddedRelations = resolveEmbeddedRelations(application, entity, paramsWithoutPaging.get(EMBED_NAME));
+        var results = datamodelApi.findAll(application, entity, paramsWithoutPaging, projection, pagination,
                 authorizationContext);
 
-        return assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider, paramsWithoutPaging, pagination)
+        return assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider,
+                        paramsWithoutPaging, projection,
+                        findEmbeddedTargets(application, embeddedRelations, results.getContent(), authorizationContext),
+                        pagination)
+                .toCollectionModel(results);
+    }
+
+    @GetMapping(value = "/{entityName}", params = IDS_NAME)
+    public CollectionModel<EntityDataRepresentationModel> listEntityByIds(
+            Application application,
+            @PathVariable PathSegmentName entityName,
+            AuthorizationContext authorizationContext,
+            @RequestParam MultiValueMap<String, String> params,
+            UserLocales userLocales,
+            LinkFactoryProvider linkFactoryProvider
+    ) {
+        var entity = getEntityOrThrow(application, entityName);
+        var ids = parseIds(params.get(IDS_NAME));
+        var projection = parseProjection(params.get(FIELDS_NAME));
+        var embeddedRelations = resolveEmbeddedRelations(application, entity, params.get(EMBED_NAME));
+
+        // All entities are loaded with a single query, instead of one request (and transaction) per entity.
+        // Unknown ids and entities that are not allowed to be read are omitted, instead of failing the whole request.
+        var results = datamodelApi.findByIds(application, entity.getName(), ids, projection, authorizationContext);
+
+        return assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider,
+                        params, projection,
+                        findEmbeddedTargets(application, embeddedRelations, results, authorizationContext),
+                        null)
                 .toCollectionModel(results);
     }
 
+    private static List<EntityId> parseIds(List<String> values) {
+        var names = parseNames(values);
+        if (names.size() > MAX_IDS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most %d ids can be requested at once".formatted(MAX_IDS));
+        }
+        return names.stream()
+                .map(name -> {
+                    try {
+                        return EntityId.of(UUID.fromString(name));
+                    } catch (IllegalArgumentException e) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid id '%s'".formatted(name), e);
+                    }
+                })
+                .toList();
+    }
+
+    private static ProjectionData parseProjection(List<String> values) {
+        if (values == null) {
+            return ProjectionData.all();
+        }
+        return ProjectionData.of(parseNames(values));
+    }
+
+    private static List<String> parseNames(List<String> values) {
+        if (values == null) {
+            return List.of();
+        }
+        return values.stream()
+                .flatMap(value -> Arrays.stream(value.split(",")))
+                .map(String::strip)
+                .filter(name -> !name.isEmpty())
+                .toList();
+    }
+
+    private static List<Relation> resolveEmbeddedRelations(Application application, Entity entity, List<String> values) {
+        return parseNames(values).stream()
+                .distinct()
+                .map(name -> application.getRelationForEntity(entity, RelationName.of(name))
+                        // Only relations that are exposed on this side can be embedded
+                        .filter(relation -> relation.getSourceEndPoint().getLinkName() != null)
+                        .orElseThrow(() -> InvalidEmbedParameterException.invalidRelation(name, entity.getName().getValue())))
+                .toList();
+    }
+
+    /**
+     * Load the targets of the embedded relations for all entities at once, so there is one query per relation
+     * instead of one per relation and entity.
+     * One target more than can be embedded is loaded, so the assembler knows when the embedded targets are truncated.
+     */
+    private Map<Relation, Map<EntityId, List<EntityInstance>>> findEmbeddedTargets(Application application,
+            List<Relation> relations, List<? extends EntityInstance> entities, AuthorizationContext authorizationContext) {
+        if (relations.isEmpty() || entities.isEmpty()) {
+            return Map.of();
+        }
+        var sourceIds = entities.stream()
+                .map(entity -> entity.getIdentity().getEntityId())
+                .collect(Collectors.toSet());
+        var embeddedTargets = new LinkedHashMap<Relation, Map<EntityId, List<EntityInstance>>>();
+        for (var relation : relations) {
+            embeddedTargets.put(relation, datamodelApi.findRelationTargets(application, relation, sourceIds,
+                    EntityDataRepresentationModelAssembler.MAX_EMBEDDED_TARGETS + 1, authorizationContext));
+        }
+        return embeddedTargets;
+    }
+
     @GetMapping("/{entityName}/{instanceId}")
     public ResponseEntity<EntityDataRepresentationModel> getEntity(
             Application application,
@@ -100,9 +241,35 @@ public class EntityRestController {
             @PathVariable EntityId instanceId,
             AuthorizationContext authorizationContext,
             UserLocales userLocales,
-            LinkFactoryProvider linkFactoryProvider
+            LinkFactoryProvider linkFactoryProvider,
+            NativeWebRequest webRequest
     ) {
         var entity = getEntityOrThrow(application, entityName);
+        var embed = webRequest.getParameterValues(EMBED_NAME);
+        var embeddedRelations = resolveEmbeddedRelations(application, entity, embed == null ? null : Arrays.asList(embed));
+
+        // The version of the entity does not change when embedded targets change,
+        // so it can only be used as ETag when nothing is embedded
+        var useETag = embeddedRelations.isEmpty();
+
+        if (useETag && webRequest.getHeader(HttpHeaders.IF_NONE_MATCH) != null && isVersioned(entity)) {
+            // Only query the version to check whether the entity is modified, before loading the full entity
+            var version = datamodelApi.findVersionById(
+                            application,
+                            EntityRequest.forEntity(entity.getName(), instanceId),
+                            authorizationContext
+                    )
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
+            var eTag = calculateETag(version);
+            if (eTag != null && webRequest.checkNotModified(eTag)) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(eTag)
+                        .build();
+            }
+        }
+
+        var fields = webRequest.getParameterValues(FIELDS_NAME);
+        var projection = parseProjection(fields == null ? null : Arrays.asList(fields));
 
         var result = datamodelApi.findById(
                         application,
@@ -112,32 +279,68 @@ public class EntityRestController {
                         // All expensive operations have already happened (the body is not that large),
                         // so there is no point in still discarding it
                         EntityRequest.forEntity(entity.getName(), instanceId),
+                        projection,
                         authorizationContext
                 )
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
 
         return ResponseEntity.ok()
-                .eTag(calculateETag(result))
-                .body(assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider).toModel(result));
+                .eTag(useETag ? calculateETag(result) : null)
+                .body(assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider, projection,
+                        findEmbeddedTargets(application, embeddedRelations, List.of(result), authorizationContext))
+                        .toModel(result));
     }
 
     private String calculateETag(EntityInstance result) {
-        return Optional.ofNullable(conversionService.convert(result.getIdentity().getVersion(), ETag.class))
+        return calculateETag(result.getIdentity().getVersion());
+    }
+
+    private String calculateETag(Version version) {
+        return Optional.ofNullable(conversionService.convert(version, ETag.class))
                 .map(ETag::formattedTag)
                 .orElse(null);
     }
 
-    @PostMapping("/{entityName}")
+    private static boolean isVersioned(Entity entity) {
+        return entity.getAttributes().stream().anyMatch(attribute -> attribute.hasFlag(ETagFlag.class));
+    }
+
+    /**
+     * Reads the JSON object of the request body, binding its values to the types of the entity while they are parsed
+     */
+    private RequestInputData readJsonBody(HttpServletRequest request, Application application, Entity entity)
+            throws IOException {
+        try (var parser = objectMapper.createParser(request.getInputStream())) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new HttpMessageNotReadableException("Request body must be a JSON object",
+                        new ServletServerHttpRequest(request));
+            }
+            return JsonRequestInputData.read(parser, RequestInputSchema.forEntity(application, entity));
+        }
+    }
+
+    @PostMapping(value = "/{entityName}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/*+json"})
     public ResponseEntity<EntityDataRepresentationModel> createEntity(
             Application application,
             @PathVariable PathSegmentName entityName,
-            @RequestBody RequestInputData data,
+            HttpServletRequest request,
             AuthorizationContext authorizationContext,
             UserLocales userLocales,
             LinkFactoryProvider linkFactoryProvider
-    ) throws InvalidPropertyDataException {
+    ) throws InvalidPropertyDataException, IOException {
         var entity = getEntityOrThrow(application, entityName);
+        var data = readJsonBody(request, application, entity);
+        return createEntity(application, entity, data, authorizationContext, userLocales, linkFactoryProvider);
+    }
 
+    private ResponseEntity<EntityDataRepresentationModel> createEntity(
+            Application application,
+            Entity entity,
+            RequestInputData data,
+            AuthorizationContext authorizationContext,
+            UserLocales userLocales,
+            LinkFactoryProvider linkFactoryProvider
+    ) throws InvalidPropertyDataException {
         GenericConversionService conversionService = new GenericConversionService();
         conversionService.addConverter(new StringDataEntryToRelationDataEntryConverter(application));
 
@@ -164,25 +367,27 @@ public class EntityRestController {
             UserLocales userLocales,
             LinkFactoryProvider linkFactoryProvider
     ) throws InvalidPropertyDataException {
+        var entity = getEntityOrThrow(application, entityName);
         var inputData = new ConversionServiceRequestInputData(
                 MultipartRequestInputData.fromRequest(request),
                 conversionService
         );
-        return createEntity(application, entityName, inputData, authorizationContext, userLocales, linkFactoryProvider);
+        return createEntity(application, entity, inputData, authorizationContext, userLocales, linkFactoryProvider);
     }
 
-    @PutMapping("/{entityName}/{id}")
+    @PutMapping(value = "/{entityName}/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/*+json"})
     public ResponseEntity<EntityDataRepresentationModel> update(
             Application application,
             @PathVariable PathSegmentName entityName,
             @PathVariable EntityId id,
             VersionConstraint requestedVersion,
-            @RequestBody RequestInputData data,
+            HttpServletRequest request,
             AuthorizationContext authorizationContext,
             UserLocales userLocales,
             LinkFactoryProvider linkFactoryProvider
-    ) throws InvalidPropertyDataException {
+    ) throws InvalidPropertyDataException, IOException {
         var entity = getEntityOrThrow(application, entityName);
+        var data = readJsonBody(request, application, entity);
 
         try {
             var updateResult = datamodelApi.update(
@@ -200,18 +405,19 @@ public class EntityRestController {
         }
     }
 
-    @PatchMapping("/{entityName}/{id}")
+    @PatchMapping(value = "/{entityName}/{id}", consumes = {MediaType.APPLICATION_JSON_VALUE, "application/*+json"})
     public ResponseEntity<EntityDataRepresentationModel> updatePartial(
             Application application,
             @PathVariable PathSegmentName entityName,
             @PathVariable EntityId id,
             VersionConstraint requestedVersion,
-            @RequestBody RequestInputData data,
+            HttpServletRequest request,
             AuthorizationContext authorizationContext,
             UserLocales userLocales,
             LinkFactoryProvider linkFactoryProvider
-    ) throws InvalidPropertyDataException {
+    ) throws InvalidPropertyDataException, IOException {
         var entity = getEntityOrThrow(application, entityName);
+        var data = readJsonBody(request, application, entity);
 
         try {
             var updateResult = datamodelApi.updatePartial(
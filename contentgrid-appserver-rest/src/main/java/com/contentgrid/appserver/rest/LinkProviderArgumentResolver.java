@@ -1,6 +1,11 @@
 package com.contentgrid.appserver.rest;
 
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import com.contentgrid.appserver.rest.links.factory.LinkTemplates;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.MethodParameter;
@@ -11,7 +16,7 @@ import org.springframework.web.method.support.HandlerMethodArgumentResolver;
 import org.springframework.web.method.support.ModelAndViewContainer;
 
 @RequiredArgsConstructor
-public class LinkProviderArgumentResolver implements HandlerMethodArgumentResolver {
+public class LinkProviderArgumentResolver implements HandlerMethodArgumentResolver, ApplicationEvictionListener {
     @NonNull
     private final MethodLinkBuilderFactory<?> linkBuilderFactory;
     @NonNull
@@ -19,6 +24,12 @@ public class LinkProviderArgumentResolver implements HandlerMethodArgumentResolv
     @NonNull
     private final UserLocalesArgumentResolver userLocalesArgumentResolver;
 
+    /**
+     * Link templates are compiled once per application; they are recompiled when the application is replaced, and
+     * removed when the application is evicted
+     */
+    private final Map<ApplicationName, LinkTemplates> linkTemplates = new ConcurrentHashMap<>();
+
     @Override
     public boolean supportsParameter(MethodParameter parameter) {
         return parameter.getParameterType().isAssignableFrom(LinkFactoryProvider.class);
@@ -30,10 +41,19 @@ public class LinkProviderArgumentResolver implements HandlerMethodArgumentResolv
         var application = applicationArgumentResolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
         var userLocales = userLocalesArgumentResolver.resolveArgument(parameter, mavContainer, webRequest, binderFactory);
 
+        var templates = linkTemplates.compute(application.getName(), (name, existing) ->
+                existing != null && existing.getApplication() == application ? existing : LinkTemplates.compile(application));
+
         return new LinkFactoryProvider(
                 application,
                 userLocales,
-                linkBuilderFactory
+                linkBuilderFactory,
+                templates
         );
     }
+
+    @Override
+    public void onApplicationEvicted(@NonNull ApplicationName name) {
+        linkTemplates.remove(name);
+    }
 }
@@ -4,16 +4,17 @@ import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.i18n.UserLocales;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
 import com.contentgrid.appserver.rest.assembler.EmptyRepresentationModel;
+import com.contentgrid.appserver.rest.assembler.profile.ProfileDocumentCache;
 import com.contentgrid.appserver.rest.assembler.profile.ProfileRootRepresentationModelAssembler;
-import com.contentgrid.appserver.rest.assembler.profile.hal.ProfileEntityRepresentationModel;
 import com.contentgrid.appserver.rest.assembler.profile.hal.ProfileEntityRepresentationModelAssembler;
-import com.contentgrid.appserver.rest.assembler.profile.json.JsonSchema;
 import com.contentgrid.appserver.rest.assembler.profile.json.JsonSchemaAssembler;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
 import com.contentgrid.appserver.rest.mapping.SpecializedOnEntity;
 import lombok.RequiredArgsConstructor;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -25,9 +26,13 @@ import org.springframework.web.server.ResponseStatusException;
 @RequiredArgsConstructor
 public class ProfileRestController {
 
+    private static final String JSON_SCHEMA_VALUE = "application/schema+json";
+    private static final MediaType JSON_SCHEMA = MediaType.parseMediaType(JSON_SCHEMA_VALUE);
+
     private final ProfileRootRepresentationModelAssembler profileRootAssembler = new ProfileRootRepresentationModelAssembler();
     private final ProfileEntityRepresentationModelAssembler profileEntityAssembler;
     private final JsonSchemaAssembler jsonSchemaAssembler = new JsonSchemaAssembler();
+    private final ProfileDocumentCache profileDocumentCache;
 
     @GetMapping
     public EmptyRepresentationModel getProfile(Application application, LinkFactoryProvider linkFactoryProvider) {
@@ -36,23 +41,27 @@ public class ProfileRestController {
 
     @SpecializedOnEntity(entityPathVariable = "entityName")
     @GetMapping(value = "/{entityName}", produces = MediaTypes.HAL_FORMS_JSON_VALUE)
-    public ProfileEntityRepresentationModel getHalFormsEntityProfile(
+    public ResponseEntity<byte[]> getHalFormsEntityProfile(
             Application application, @PathVariable PathSegmentName entityName,
             UserLocales userLocales, LinkFactoryProvider linkFactoryProvider
     ) {
         var entity = application.getEntityByPathSegment(entityName)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        return profileEntityAssembler.withContext(new ProfileEntityRepresentationModelAssembler.Context(application, userLocales, linkFactoryProvider)).toModel(entity);
+        return profileDocumentCache.getProfileResponse(application, entity.getName(), MediaTypes.HAL_FORMS_JSON,
+                userLocales, linkFactoryProvider.getBaseUri(),
+                () -> profileEntityAssembler.withContext(new ProfileEntityRepresentationModelAssembler.Context(application, userLocales, linkFactoryProvider)).toModel(entity));
     }
 
     @SpecializedOnEntity(entityPathVariable = "entityName")
-    @GetMapping(value = "/{entityName}", produces = "application/schema+json")
-    public JsonSchema getJsonSchemaEntityProfile(
+    @GetMapping(value = "/{entityName}", produces = JSON_SCHEMA_VALUE)
+    public ResponseEntity<byte[]> getJsonSchemaEntityProfile(
             Application application, @PathVariable PathSegmentName entityName,
-            UserLocales userLocales
+            UserLocales userLocales, LinkFactoryProvider linkFactoryProvider
     ) {
         var entity = application.getEntityByPathSegment(entityName)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-        return jsonSchemaAssembler.toModel(entity, new JsonSchemaAssembler.Context(application, userLocales));
+        return profileDocumentCache.getProfileResponse(application, entity.getName(), JSON_SCHEMA,
+                userLocales, linkFactoryProvider.getBaseUri(),
+                () -> jsonSchemaAssembler.toModel(entity, new JsonSchemaAssembler.Context(application, userLocales)));
     }
 }
@@ -4,8 +4,16 @@ import com.contentgrid.appserver.domain.data.DataEntry.MissingDataEntry;
 import com.contentgrid.appserver.domain.data.DataEntry.PlainDataEntry;
 import com.contentgrid.appserver.domain.data.EntityInstance;
 import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.SequencedMap;
@@ -14,7 +22,12 @@ import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
+import org.springframework.hateoas.server.core.EmbeddedWrapper;
+import org.springframework.hateoas.server.core.EmbeddedWrappers;
 import org.springframework.hateoas.server.core.Relation;
 
 @Getter
@@ -28,6 +41,10 @@ public class EntityDataRepresentationModel extends RepresentationModelWithTempla
     @JsonAnyGetter
     private final Map<String, PlainDataEntry> attributes;
 
+    @JsonIgnore
+    @Getter(AccessLevel.NONE)
+    private final List<EmbeddedWrapper> embedded = new ArrayList<>();
+
     public static EntityDataRepresentationModel from(EntityInstance entityData) {
         return new EntityDataRepresentationModel(
                 entityData.getIdentity().getEntityId().getValue().toString(),
@@ -35,6 +52,44 @@ public class EntityDataRepresentationModel extends RepresentationModelWithTempla
         );
     }
 
+    /**
+     * Embed the target of a *-to-one relation
+     */
+    public EntityDataRepresentationModel embed(LinkRelation relation, EntityDataRepresentationModel target) {
+        embedded.add(new EmbeddedWrappers(false).wrap(target, relation));
+        return this;
+    }
+
+    /**
+     * Embed the targets of a *-to-many relation
+     */
+    public EntityDataRepresentationModel embed(LinkRelation relation, Collection<EntityDataRepresentationModel> targets) {
+        embedded.add(new EmbeddedWrappers(true).wrap(targets, relation));
+        return this;
+    }
+
+    @JsonUnwrapped
+    @JsonProperty
+    @JsonInclude(Include.NON_NULL)
+    public CollectionModel<EmbeddedWrapper> getEmbeddeds() {
+        if (embedded.isEmpty()) {
+            return null;
+        }
+
+        return new CollectionModel<>(embedded) {
+
+            /**
+             * Make sure that the marker link added to signal the need for curie-ing is added to the outer
+             * representation model, like in {@link com.contentgrid.appserver.rest.assembler.profile.hal.ProfileEntityRepresentationModel}
+             */
+            @Override
+            public CollectionModel<EmbeddedWrapper> add(Link link) {
+                EntityDataRepresentationModel.this.add(link);
+                return this;
+            }
+        };
+    }
+
     private static Map<String, PlainDataEntry> withoutMissingData(SequencedMap<String, PlainDataEntry> data) {
         var map = new LinkedHashMap<>(data);
         var toRemove = map.entrySet()
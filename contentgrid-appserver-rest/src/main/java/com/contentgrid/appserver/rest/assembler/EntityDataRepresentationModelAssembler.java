@@ -3,14 +3,19 @@ package com.contentgrid.appserver.rest.assembler;
 import com.contentgrid.appserver.application.model.Application;
 import com.contentgrid.appserver.application.model.Entity;
 import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.application.model.relations.ManyToManyRelation;
+import com.contentgrid.appserver.application.model.relations.OneToManyRelation;
+import com.contentgrid.appserver.application.model.relations.Relation;
 import com.contentgrid.appserver.application.model.values.EntityName;
 import com.contentgrid.appserver.domain.data.EntityInstance;
 import com.contentgrid.appserver.domain.paging.ResultSlice;
 import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
+import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.RelationIdentity;
+import com.contentgrid.appserver.query.engine.api.data.ProjectionData;
 import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler.EntityContext;
 import com.contentgrid.appserver.rest.hal.forms.HalFormsTemplate;
-import com.contentgrid.appserver.rest.hal.forms.HalFormsTemplateGenerator;
+import com.contentgrid.appserver.rest.hal.forms.HalFormsTemplateCache;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider.CollectionParameters;
 import com.contentgrid.appserver.rest.paging.CursorPageMetadata;
@@ -18,6 +23,7 @@ import com.contentgrid.appserver.rest.paging.ItemCountPageMetadata;
 import com.contentgrid.appserver.rest.links.ContentGridLinkRelations;
 import com.contentgrid.hateoas.spring.pagination.SlicedResourcesAssembler;
 import com.contentgrid.hateoas.spring.server.RepresentationModelContextAssembler;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import lombok.RequiredArgsConstructor;
@@ -25,6 +31,7 @@ import lombok.With;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
+import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.hateoas.PagedModel.PageMetadata;
 import org.springframework.hateoas.server.RepresentationModelAssembler;
@@ -37,34 +44,76 @@ import org.springframework.util.MultiValueMap;
 @RequiredArgsConstructor
 public class EntityDataRepresentationModelAssembler implements RepresentationModelContextAssembler<EntityInstance, EntityDataRepresentationModel, EntityContext> {
 
+    /**
+     * Maximum number of targets that are embedded for a single *-to-many relation.
+     * When there are more targets, a link with the same relation as the embedded targets points to all of them.
+     */
+    public static final int MAX_EMBEDDED_TARGETS = 20;
+
     private final SlicedResourcesAssembler<EntityInstance> slicedResourcesAssembler;
+    private final HalFormsTemplateCache templateCache;
 
     @Override
     public EntityDataRepresentationModel toModel(@NonNull EntityInstance entityData, @NonNull EntityContext context) {
         Entity entity = context.application().getRequiredEntityByName(context.entityName());
         var id = entityData.getIdentity().getEntityId();
+        var templates = templateCache.getEntityTemplates(context.application(), context.entityName(),
+                context.userLocales(), context.linkFactoryProvider());
 
         var model = EntityDataRepresentationModel.from(entityData);
         model.add(context.linkFactoryProvider().toItem(entityData.getIdentity()).withSelfRel());
         for (var relation : context.application().getRelationsForSourceEntity(entity)) {
+            if (!context.projection().includes(relation.getSourceEndPoint().getName())) {
+                continue;
+            }
             if (relation.getSourceEndPoint().getLinkName() != null && relation.getSourceEndPoint().getPathSegment() != null) {
                 var relationIdentity = RelationIdentity.forRelation(entity.getName(), id, relation.getSourceEndPoint().getName());
                 model.add(context.linkFactoryProvider().toRelation(relationIdentity).withRel(ContentGridLinkRelations.RELATION))
-                        .addTemplates(context.templateGenerator().generateRelationTemplates(relationIdentity));
+                        .addTemplates(templates.getRelationTemplates(relationIdentity, context.linkFactoryProvider()));
             }
         }
         for (var content : entity.getContentAttributes()) {
+            if (!context.projection().includes(content.getName())) {
+                continue;
+            }
             var contentLink = context.linkFactoryProvider().toContent(
                     entityData.getIdentity(),
                     content.getName()
             ).withRel(ContentGridLinkRelations.CONTENT);
-            var contentTemplates = context.templateGenerator().generateContentTemplates(entity, content);
-            model.add(contentLink).addTemplates(contentTemplates);
+            model.add(contentLink).addTemplates(templates.getContentTemplates(content.getName()));
         }
-        return model.addTemplate(context.templateGenerator().generateUpdateTemplate(entity.getName()))
+        for (var embedded : context.embeddedRelations().entrySet()) {
+            embedRelation(model, entityData, embedded.getKey(), embedded.getValue(), context);
+        }
+        return model.addTemplate(templates.getUpdateTemplate())
                 .addTemplate(getDeleteTemplate());
     }
 
+    private void embedRelation(EntityDataRepresentationModel model, EntityInstance entityData, Relation relation,
+            Map<EntityId, List<EntityInstance>> targetsBySource, EntityContext context) {
+        var targetContext = new EntityContext(context.application(), relation.getTargetEndPoint().getEntity(),
+                context.userLocales(), context.linkFactoryProvider(), MultiValueMap.fromSingleValue(Map.of()),
+                ProjectionData.all(), Map.of(), null);
+        var allTargets = targetsBySource.getOrDefault(entityData.getIdentity().getEntityId(), List.of());
+        var targets = allTargets.stream()
+                .limit(MAX_EMBEDDED_TARGETS)
+                .map(target -> toModel(target, targetContext))
+                .toList();
+        var rel = LinkRelation.of(relation.getSourceEndPoint().getLinkName().getValue());
+
+        if (relation instanceof OneToManyRelation || relation instanceof ManyToManyRelation) {
+            model.embed(rel, targets);
+            if (allTargets.size() > MAX_EMBEDDED_TARGETS && relation.getSourceEndPoint().getPathSegment() != null) {
+                // Truncated: link to the relation, which has all targets
+                var relationIdentity = RelationIdentity.forRelation(entityData.getIdentity().getEntityName(),
+                        entityData.getIdentity().getEntityId(), relation.getSourceEndPoint().getName());
+                model.add(context.linkFactoryProvider().toRelation(relationIdentity).withRel(rel));
+            }
+        } else if (!targets.isEmpty()) {
+            model.embed(rel, targets.getFirst());
+        }
+    }
+
     public CollectionModel<EntityDataRepresentationModel> toSlicedModel(ResultSlice slice, EntityContext context) {
         if (slice.current() instanceof EncodedCursorPagination pagination) {
             // use current pagination instead of pagination from request
@@ -92,11 +141,15 @@ public class EntityDataRepresentationModelAssembler implements RepresentationMod
     }
 
     public RepresentationModelAssembler<EntityInstance, EntityDataRepresentationModel> withContext(Application application, EntityName entityName, UserLocales userLocales, LinkFactoryProvider linkFactoryProvider) {
-        return withContext(application, entityName, userLocales, linkFactoryProvider, MultiValueMap.fromSingleValue(Map.of()), null);
+        return withContext(application, entityName, userLocales, linkFactoryProvider, ProjectionData.all(), Map.of());
     }
 
-    public RepresentationModelAssembler<EntityInstance, EntityDataRepresentationModel> withContext(Application application, EntityName entityName, UserLocales userLocales, LinkFactoryProvider linkFactoryProvider, MultiValueMap<String, String> params, EncodedCursorPagination pagination) {
-        return withContext(new EntityContext(application, entityName, userLocales, linkFactoryProvider, params, pagination));
+    public RepresentationModelAssembler<EntityInstance, EntityDataRepresentationModel> withContext(Application application, EntityName entityName, UserLocales userLocales, LinkFactoryProvider linkFactoryProvider, ProjectionData projection, Map<Relation, Map<EntityId, List<EntityInstance>>> embeddedRelations) {
+        return withContext(application, entityName, userLocales, linkFactoryProvider, MultiValueMap.fromSingleValue(Map.of()), projection, embeddedRelations, null);
+    }
+
+    public RepresentationModelAssembler<EntityInstance, EntityDataRepresentationModel> withContext(Application application, EntityName entityName, UserLocales userLocales, LinkFactoryProvider linkFactoryProvider, MultiValueMap<String, String> params, ProjectionData projection, Map<Relation, Map<EntityId, List<EntityInstance>>> embeddedRelations, EncodedCursorPagination pagination) {
+        return withContext(new EntityContext(application, entityName, userLocales, linkFactoryProvider, params, projection, embeddedRelations, pagination));
     }
 
     private Link getCollectionSelfLink(EntityContext context) {
@@ -146,10 +199,10 @@ public class EntityDataRepresentationModelAssembler implements RepresentationMod
             UserLocales userLocales,
             LinkFactoryProvider linkFactoryProvider,
             MultiValueMap<String, String> params,
+            ProjectionData projection,
+            /* Targets of the embedded relations, by the id of the source entity */
+            Map<Relation, Map<EntityId, List<EntityInstance>>> embeddedRelations,
             @With EncodedCursorPagination pagination
     ) {
-        HalFormsTemplateGenerator templateGenerator() {
-            return new HalFormsTemplateGenerator(application, userLocales, linkFactoryProvider);
-        }
     }
 }
@@ -0,0 +1,159 @@
+package com.contentgrid.appserver.rest.assembler.profile;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.GenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+/**
+ * Caches serialized entity profile documents.
+ * <p>
+ * Profiles only change when the application changes, so they are assembled and serialized once for every
+ * combination of entity, media type, user locales and request base URI. Responses carry a strong ETag that is derived
+ * from the serialized document, so conditional requests are answered with 304 Not Modified without assembling the
+ * profile again.
+ */
+@Component
+@RequiredArgsConstructor
+public class ProfileDocumentCache implements ApplicationEvictionListener {
+
+    /**
+     * Limits the number of cached documents per application. Locales and base URI are taken from the request, so the
+     * number of combinations is not bounded by the application itself.
+     */
+    static final int MAX_ENTRIES_PER_APPLICATION = 1024;
+
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private final ObjectProvider<RequestMappingHandlerAdapter> handlerAdapter;
+
+    private final Map<ApplicationName, ApplicationDocuments> applications = new ConcurrentHashMap<>();
+
+    /**
+     * Retrieve the response for a profile document, assembling the profile only if it is not cached yet
+     *
+     * @param application The application the entity belongs to
+     * @param entityName The entity to retrieve the profile of
+     * @param mediaType The media type to serialize the profile to
+     * @param userLocales The locales of the user, used for translating the profile
+     * @param baseUri The base URI of the request, which is used for the links in the profile
+     * @param profileAssembler Assembles the profile when it is not cached yet
+     * @return The response with the serialized profile, an ETag and caching headers
+     */
+    public ResponseEntity<byte[]> getProfileResponse(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull MediaType mediaType, @NonNull UserLocales userLocales, @NonNull String baseUri,
+            @NonNull Supplier<?> profileAssembler) {
+        var applicationDocuments = applications.compute(application.getName(), (name, existing) ->
+                existing != null && existing.application == application ? existing : new ApplicationDocuments(application));
+
+        var key = new CacheKey(entityName, mediaType, userLocales.preferredLocales().toList(), baseUri);
+        var document = applicationDocuments.documents.get(key);
+        if (document == null) {
+            document = ProfileDocument.serialize(profileAssembler.get(), mediaType, getMessageConverters());
+            if (applicationDocuments.documents.size() < MAX_ENTRIES_PER_APPLICATION) {
+                applicationDocuments.documents.putIfAbsent(key, document);
+            }
+        }
+
+        // A matching If-None-Match header is turned into 304 Not Modified when the response entity is handled
+        return ResponseEntity.ok()
+                .eTag(document.eTag())
+                .cacheControl(CACHE_CONTROL)
+                .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_LANGUAGE)
+                .contentType(mediaType)
+                .body(document.body());
+    }
+
+    @Override
+    public void onApplicationEvicted(@NonNull ApplicationName name) {
+        applications.remove(name);
+    }
+
+    private List<HttpMessageConverter<?>> getMessageConverters() {
+        return handlerAdapter.getObject().getMessageConverters();
+    }
+
+    @RequiredArgsConstructor
+    private static class ApplicationDocuments {
+        private final Application application;
+        private final Map<CacheKey, ProfileDocument> documents = new ConcurrentHashMap<>();
+    }
+
+    private record CacheKey(EntityName entityName, MediaType mediaType, List<Locale> preferredLocales, String baseUri) {
+
+    }
+
+    private record ProfileDocument(byte[] body, String eTag) {
+
+        /**
+         * Serialize the profile with the same message converter that would be selected for returning it from a
+         * controller method
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        static ProfileDocument serialize(Object profile, MediaType mediaType, List<HttpMessageConverter<?>> converters) {
+            var outputMessage = new ByteArrayOutputMessage();
+            try {
+                for (HttpMessageConverter converter : converters) {
+                    if (converter instanceof GenericHttpMessageConverter genericConverter) {
+                        if (genericConverter.canWrite(profile.getClass(), profile.getClass(), mediaType)) {
+                            genericConverter.write(profile, profile.getClass(), mediaType, outputMessage);
+                            return from(outputMessage.toByteArray());
+                        }
+                    } else if (converter.canWrite(profile.getClass(), mediaType)) {
+                        converter.write(profile, mediaType, outputMessage);
+                        return from(outputMessage.toByteArray());
+                    }
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            throw new IllegalStateException("No message converter for %s as %s".formatted(profile.getClass(), mediaType));
+        }
+
+        private static ProfileDocument from(byte[] body) {
+            return new ProfileDocument(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"");
+        }
+    }
+
+    private static class ByteArrayOutputMessage implements HttpOutputMessage {
+        private final HttpHeaders headers = new HttpHeaders();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+
+        byte[] toByteArray() {
+            return body.toByteArray();
+        }
+    }
+}
@@ -36,6 +36,8 @@ public class ProfileSearchParamRepresentationModel {
     public enum ProfileSearchParamType {
         EXACT("exact-match"),
         PREFIX("prefix-match"),
+        FULL_TEXT("full-text-match"),
+        CONTAINS("contains-match"),
         LESS_THAN("less-than"),
         LESS_THAN_OR_EQUAL("less-than-or-equal"),
         GREATER_THAN("greater-than"),
@@ -56,6 +58,8 @@ public class ProfileSearchParamRepresentationModel {
             return switch (filter.getOperation()) {
                 case EXACT -> EXACT;
                 case PREFIX -> PREFIX;
+                case FULL_TEXT -> FULL_TEXT;
+                case CONTAINS -> CONTAINS;
                 case GREATER_THAN -> GREATER_THAN;
                 case GREATER_THAN_OR_EQUAL -> GREATER_THAN_OR_EQUAL;
                 case LESS_THAN -> LESS_THAN;
@@ -0,0 +1,51 @@
+package com.contentgrid.appserver.rest.batch;
+
+import com.contentgrid.appserver.domain.data.RequestInputData;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import java.util.List;
+import lombok.NonNull;
+
+/**
+ * An ordered list of operations that are executed in a single transaction
+ *
+ * @param operations the operations, executed in order
+ */
+public record BatchRequest(@NonNull List<Operation> operations) {
+
+    /**
+     * A single operation of a batch.
+     * <p>
+     * Entity ids and targets are either the id of an existing entity, or a reference {@code $<index>} to the entity
+     * created by an earlier {@link OperationType#CREATE} operation of the same batch.
+     *
+     * @param op the type of the operation
+     * @param entity the path segment of the entity type
+     * @param id the entity to patch, delete, link or unlink; not used for create
+     * @param relation the path segment of the relation to link or unlink
+     * @param targets the targets to link or unlink
+     * @param data the data to create or patch the entity with
+     */
+    public record Operation(
+            @NonNull OperationType op,
+            @NonNull String entity,
+            String id,
+            String relation,
+            List<String> targets,
+            RequestInputData data
+    ) {
+
+    }
+
+    public enum OperationType {
+        @JsonProperty("create")
+        CREATE,
+        @JsonProperty("patch")
+        PATCH,
+        @JsonProperty("delete")
+        DELETE,
+        @JsonProperty("link")
+        LINK,
+        @JsonProperty("unlink")
+        UNLINK
+    }
+}
@@ -0,0 +1,278 @@
+package com.contentgrid.appserver.rest.batch;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
+import com.contentgrid.appserver.application.model.relations.OneToOneRelation;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.domain.DatamodelApi;
+import com.contentgrid.appserver.domain.authorization.AuthorizationContext;
+import com.contentgrid.appserver.domain.data.EntityInstance;
+import com.contentgrid.appserver.domain.data.InvalidPropertyDataException;
+import com.contentgrid.appserver.domain.data.RequestInputData;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.EntityRequest;
+import com.contentgrid.appserver.domain.values.RelationRequest;
+import com.contentgrid.appserver.query.engine.api.exception.ConstraintViolationException;
+import com.contentgrid.appserver.query.engine.api.exception.EntityIdNotFoundException;
+import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModel;
+import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler;
+import com.contentgrid.appserver.rest.batch.BatchRequest.Operation;
+import com.contentgrid.appserver.rest.batch.BatchResultRepresentationModel.OperationResult;
+import com.contentgrid.appserver.rest.data.ConversionServiceRequestInputData;
+import com.contentgrid.appserver.rest.data.conversion.StringDataEntryToRelationDataEntryConverter;
+import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.convert.support.GenericConversionService;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Executes an ordered list of create, patch, delete, link and unlink operations in a single request and a single
+ * transaction.
+ * <p>
+ * The batch is atomic: when any operation fails, all operations are rolled back and the error of the failing
+ * operation is returned.
+ */
+@RestController
+@RequiredArgsConstructor
+public class BatchRestController {
+
+    /**
+     * Maximum number of operations in a single batch
+     */
+    static final int MAX_OPERATIONS = 100;
+
+    private static final String REFERENCE_PREFIX = "$";
+
+    @NonNull
+    private final DatamodelApi datamodelApi;
+
+    @NonNull
+    private final EntityDataRepresentationModelAssembler assembler;
+
+    @PostMapping("/_batch")
+    public BatchResultRepresentationModel executeBatch(
+            Application application,
+            @RequestBody BatchRequest request,
+            AuthorizationContext authorizationContext,
+            UserLocales userLocales,
+            LinkFactoryProvider linkFactoryProvider
+    ) throws InvalidPropertyDataException {
+        var operations = request.operations();
+        if (operations.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No operations provided.");
+        }
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most %d operations can be executed at once".formatted(MAX_OPERATIONS));
+        }
+
+        var execution = new BatchExecution(application, authorizationContext, userLocales, linkFactoryProvider);
+        var results = datamodelApi.runInTransaction(() -> {
+            var operationResults = new ArrayList<OperationResult>(operations.size());
+            for (var operation : operations) {
+                operationResults.add(execution.execute(operation));
+            }
+            return operationResults;
+        });
+        return new BatchResultRepresentationModel(results);
+    }
+
+    @RequiredArgsConstructor
+    private class BatchExecution {
+
+        private final Application application;
+        private final AuthorizationContext authorizationContext;
+        private final UserLocales userLocales;
+        private final LinkFactoryProvider linkFactoryProvider;
+
+        /**
+         * The ids of the entities created by the operations that were already executed, by operation index
+         */
+        private final List<EntityId> createdIds = new ArrayList<>();
+
+        OperationResult execute(Operation operation) throws InvalidPropertyDataException {
+            var entity = application.getEntityByPathSegment(PathSegmentName.of(operation.entity()))
+                    .orElseThrow(() -> invalidOperation("Entity '%s' not found".formatted(operation.entity())));
+
+            EntityId createdId = null;
+            OperationResult result;
+            try {
+                switch (operation.op()) {
+                    case CREATE -> {
+                        var created = datamodelApi.create(application, entity.getName(), relationData(operation),
+                                authorizationContext);
+                        createdId = created.getIdentity().getEntityId();
+                        result = new OperationResult(HttpStatus.CREATED.value(), toModel(entity, created));
+                    }
+                    case PATCH -> {
+                        var updated = datamodelApi.updatePartial(application, entityRequest(entity, operation),
+                                requireData(operation), authorizationContext);
+                        result = new OperationResult(HttpStatus.OK.value(), toModel(entity, updated));
+                    }
+                    case DELETE -> {
+                        var deleted = datamodelApi.deleteEntity(application, entityRequest(entity, operation),
+                                authorizationContext);
+                        result = new OperationResult(HttpStatus.OK.value(), toModel(entity, deleted));
+                    }
+                    case LINK -> {
+                        link(entity, operation);
+                        result = new OperationResult(HttpStatus.NO_CONTENT.value(), null);
+                    }
+                    case UNLINK -> {
+                        unlink(entity, operation);
+                        result = new OperationResult(HttpStatus.NO_CONTENT.value(), null);
+                    }
+                    default -> throw new IllegalStateException("Unexpected operation " + operation.op());
+                }
+            } catch (EntityIdNotFoundException | ConstraintViolationException e) {
+                throw invalidOperation(e.getMessage(), e);
+            }
+
+            createdIds.add(createdId);
+            return result;
+        }
+
+        private RequestInputData relationData(Operation operation) {
+            // Like for a single create, relations can be set with the URL of the target entity
+            var conversionService = new GenericConversionService();
+            conversionService.addConverter(new StringDataEntryToRelationDataEntryConverter(application));
+            return new ConversionServiceRequestInputData(requireData(operation), conversionService);
+        }
+
+        private RequestInputData requireData(Operation operation) {
+            if (operation.data() == null) {
+                throw invalidOperation("No data provided");
+            }
+            return operation.data();
+        }
+
+        private EntityRequest entityRequest(Entity entity, Operation operation) {
+            return EntityRequest.forEntity(entity.getName(), resolveId(requireId(operation)));
+        }
+
+        private String requireId(Operation operation) {
+            if (operation.id() == null) {
+                throw invalidOperation("No entity id provided");
+            }
+            return operation.id();
+        }
+
+        private void link(Entity entity, Operation operation) {
+            var relation = getRequiredRelation(entity, operation);
+            var relationRequest = relationRequest(relation, operation);
+            var targetIds = resolveTargets(operation);
+            if (targetIds.isEmpty()) {
+                throw invalidOperation("No targets provided");
+            }
+
+            if (isToOne(relation)) {
+                if (targetIds.size() != 1) {
+                    throw invalidOperation("Exactly one target must be provided for relation '%s'"
+                            .formatted(operation.relation()));
+                }
+                datamodelApi.setRelation(application, relationRequest, targetIds.iterator().next(),
+                        authorizationContext);
+            } else {
+                datamodelApi.addRelationItems(application, relationRequest, targetIds, authorizationContext);
+            }
+        }
+
+        private void unlink(Entity entity, Operation operation) {
+            var relation = getRequiredRelation(entity, operation);
+            var relationRequest = relationRequest(relation, operation);
+
+            if (isToOne(relation)) {
+                datamodelApi.deleteRelation(application, relationRequest, authorizationContext);
+            } else {
+                var targetIds = resolveTargets(operation);
+                if (targetIds.isEmpty()) {
+                    throw invalidOperation("No targets provided");
+                }
+                datamodelApi.removeRelationItems(application, relationRequest, targetIds, authorizationContext);
+            }
+        }
+
+        private Relation getRequiredRelation(Entity entity, Operation operation) {
+            if (operation.relation() == null) {
+                throw invalidOperation("No relation provided");
+            }
+            return application.getRelationForPath(entity.getPathSegment(), PathSegmentName.of(operation.relation()))
+                    .orElseThrow(() -> invalidOperation("Relation '%s' not found on entity '%s'"
+                            .formatted(operation.relation(), operation.entity())));
+        }
+
+        private RelationRequest relationRequest(Relation relation, Operation operation) {
+            return RelationRequest.forRelation(
+                    relation.getSourceEndPoint().getEntity(),
+                    resolveId(requireId(operation)),
+                    relation.getSourceEndPoint().getName()
+            );
+        }
+
+        private static boolean isToOne(Relation relation) {
+            return relation instanceof OneToOneRelation || relation instanceof ManyToOneRelation;
+        }
+
+        private Set<EntityId> resolveTargets(Operation operation) {
+            var targets = new HashSet<EntityId>();
+            if (operation.targets() != null) {
+                for (var target : operation.targets()) {
+                    targets.add(resolveId(target));
+                }
+            }
+            return targets;
+        }
+
+        /**
+         * Resolves an entity id, or a reference to an entity created by an earlier operation
+         */
+        private EntityId resolveId(String value) {
+            if (value.startsWith(REFERENCE_PREFIX)) {
+                var reference = value.substring(REFERENCE_PREFIX.length());
+                try {
+                    var index = Integer.parseInt(reference);
+                    if (index >= 0 && index < createdIds.size() && createdIds.get(index) != null) {
+                        return createdIds.get(index);
+                    }
+                } catch (NumberFormatException e) {
+                    // Reported as invalid reference below
+                }
+                throw invalidOperation("Reference '%s' does not refer to an earlier create operation".formatted(value));
+            }
+
+            try {
+                return EntityId.of(UUID.fromString(value));
+            } catch (IllegalArgumentException e) {
+                throw invalidOperation("Invalid id '%s'".formatted(value), e);
+            }
+        }
+
+        private EntityDataRepresentationModel toModel(Entity entity, EntityInstance instance) {
+            return assembler.withContext(application, entity.getName(), userLocales, linkFactoryProvider)
+                    .toModel(instance);
+        }
+
+        private ResponseStatusException invalidOperation(String message) {
+            return invalidOperation(message, null);
+        }
+
+        private ResponseStatusException invalidOperation(String message, Throwable cause) {
+            // The index of the operation that is executed is the number of operations that were executed before it
+            return new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Operation %d: %s".formatted(createdIds.size(), message), cause);
+        }
+    }
+}
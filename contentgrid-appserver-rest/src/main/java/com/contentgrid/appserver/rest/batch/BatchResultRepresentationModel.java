@@ -0,0 +1,30 @@
+package com.contentgrid.appserver.rest.batch;
+
+import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModel;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonInclude.Include;
+import java.util.List;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.hateoas.RepresentationModel;
+
+/**
+ * The results of a batch, one for each operation, in the order of the operations
+ */
+@Getter
+@RequiredArgsConstructor
+@EqualsAndHashCode(callSuper = true)
+public class BatchResultRepresentationModel extends RepresentationModel<BatchResultRepresentationModel> {
+
+    private final List<OperationResult> results;
+
+    /**
+     * @param status the HTTP status that the equivalent single request would have
+     * @param entity the created, patched or deleted entity; absent for link and unlink operations
+     */
+    @JsonInclude(Include.NON_NULL)
+    public record OperationResult(int status, EntityDataRepresentationModel entity) {
+
+    }
+}
@@ -10,11 +10,11 @@ import com.contentgrid.appserver.domain.data.RequestInputData;
 import com.contentgrid.appserver.rest.data.JsonRequestInputData;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.SerializerProvider;
 import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
-import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.fasterxml.jackson.databind.ser.std.StdSerializer;
 import java.io.IOException;
 import org.springframework.stereotype.Component;
@@ -73,7 +73,11 @@ public class RequestInputDataJacksonModule extends SimpleModule {
         @Override
         public RequestInputData deserialize(JsonParser p, DeserializationContext ctxt)
                 throws IOException {
-            return new JsonRequestInputData(p.readValueAs(ObjectNode.class), p.getCodec());
+            if (!p.isExpectedStartObjectToken() && !p.hasToken(JsonToken.FIELD_NAME) && !p.hasToken(JsonToken.END_OBJECT)) {
+                return (RequestInputData) ctxt.handleUnexpectedToken(RequestInputData.class, p);
+            }
+            // Read the request data directly from the parser, without building a JsonNode tree first
+            return JsonRequestInputData.read(p);
         }
     }
 }
@@ -11,36 +11,48 @@ import com.contentgrid.appserver.domain.data.DataEntry.MissingDataEntry;
 import com.contentgrid.appserver.domain.data.DataEntry.NullDataEntry;
 import com.contentgrid.appserver.domain.data.DataEntry.ScalarDataEntry;
 import com.contentgrid.appserver.domain.data.DataEntry.StringDataEntry;
-import com.contentgrid.appserver.domain.data.RequestInputData;
 import com.contentgrid.appserver.domain.data.InvalidDataException;
 import com.contentgrid.appserver.domain.data.InvalidDataFormatException;
 import com.contentgrid.appserver.domain.data.InvalidDataTypeException;
+import com.contentgrid.appserver.domain.data.RequestInputData;
 import com.contentgrid.appserver.domain.data.type.DataType;
 import com.contentgrid.appserver.domain.data.type.TechnicalDataType;
+import com.contentgrid.appserver.rest.data.RequestInputSchema.ListProperty;
+import com.contentgrid.appserver.rest.data.RequestInputSchema.NestedProperty;
+import com.contentgrid.appserver.rest.data.RequestInputSchema.ScalarProperty;
+import com.fasterxml.jackson.core.JsonParseException;
 import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.core.ObjectCodec;
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.node.ArrayNode;
-import com.fasterxml.jackson.databind.node.MissingNode;
-import com.fasterxml.jackson.databind.node.NullNode;
-import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Spliterator;
-import java.util.Spliterators;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.stream.StreamSupport;
+import lombok.AccessLevel;
+import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
-@RequiredArgsConstructor
+/**
+ * {@link RequestInputData} for a JSON object, read directly from the tokens of a {@link JsonParser}.
+ * <p>
+ * Scalar values are kept as the plain values that were parsed, instead of building an intermediate tree of
+ * {@link com.fasterxml.jackson.databind.JsonNode}s. They are only converted to the requested data entry type when they
+ * are retrieved.
+ * <p>
+ * When the {@link RequestInputSchema} of the entity is known up front, values are bound to their data entry type while
+ * they are read, and values that can not be written are skipped without being parsed.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 public class JsonRequestInputData implements RequestInputData {
-    private final ObjectNode rootNode;
+    private final Map<String, JsonValue> values;
     private final ObjectCodec codec;
 
     private static final ClassMapping<StringDataEntry, String> STRING_CLASS_MAPPING = new ClassMapping<>(
@@ -57,7 +69,29 @@ public class JsonRequestInputData implements RequestInputData {
             Class<U> conversionClass,
             Function<U, T> mapping
     ) {
-        DataEntry parseUsing(JsonParser jsonParser) throws IOException {
+        DataEntry convert(Object value, ObjectCodec codec) throws IOException {
+            if (conversionClass.isInstance(value)) {
+                // The parsed value already has the requested type
+                return mapping.apply(conversionClass.cast(value));
+            }
+
+            // Let jackson coerce the value, like it would when reading it from the request directly
+            try (var buffer = new TokenBuffer(codec, false)) {
+                switch (value) {
+                    case String string -> buffer.writeString(string);
+                    case Long number -> buffer.writeNumber(number);
+                    case BigInteger number -> buffer.writeNumber(number);
+                    case BigDecimal number -> buffer.writeNumber(number);
+                    case Boolean bool -> buffer.writeBoolean(bool);
+                    default -> buffer.writeEmbeddedObject(value);
+                }
+                try (var parser = buffer.asParser(codec)) {
+                    return parseUsing(parser);
+                }
+            }
+        }
+
+        ScalarDataEntry parseUsing(JsonParser jsonParser) throws IOException {
             var parsedValue = jsonParser.readValueAs(conversionClass);
 
             if(parsedValue == null) {
@@ -69,78 +103,248 @@ public class JsonRequestInputData implements RequestInputData {
 
     }
 
+    /**
+     * Reads a JSON object from the parser
+     *
+     * @param parser The parser, positioned at the start of the object, or at its first field
+     * @return The request input data of the object
+     * @throws IOException When the JSON can not be read
+     */
+    public static JsonRequestInputData read(@NonNull JsonParser parser) throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        var values = new LinkedHashMap<String, JsonValue>();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            var key = parser.currentName();
+            parser.nextToken();
+            // Like with an object node, the last value wins for duplicate keys
+            values.put(key, readValue(parser));
+        }
+        return new JsonRequestInputData(values, parser.getCodec());
+    }
+
+    /**
+     * Reads a JSON object from the parser, binding its values to the data entry types of the schema
+     *
+     * @param parser The parser, positioned at the start of the object, or at its first field
+     * @param schema The schema of the object
+     * @return The request input data of the object
+     * @throws IOException When the JSON can not be read
+     */
+    public static JsonRequestInputData read(@NonNull JsonParser parser, @NonNull RequestInputSchema schema)
+            throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        }
+        var values = new LinkedHashMap<String, JsonValue>();
+        for (; token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+            var key = parser.currentName();
+            parser.nextToken();
+            var property = schema.getProperty(key);
+            if (property.isEmpty()) {
+                // Not used by the domain, keep the key so it can still be reported as unused
+                parser.skipChildren();
+                values.put(key, SkippedValue.INSTANCE);
+                continue;
+            }
+            values.put(key, readValue(parser, property.get()));
+        }
+        return new JsonRequestInputData(values, parser.getCodec());
+    }
+
+    private static JsonValue readValue(JsonParser parser, RequestInputSchema.Property property) throws IOException {
+        return switch (property) {
+            case ScalarProperty(var type) when parser.currentToken().isScalarValue() -> bindValue(parser, type);
+            case ListProperty(var itemType) when parser.currentToken() == JsonToken.START_ARRAY -> {
+                var items = new ArrayList<JsonValue>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(parser.currentToken().isScalarValue() ? bindValue(parser, itemType) : readValue(parser));
+                }
+                yield new ArrayValue(items);
+            }
+            case NestedProperty(var schema) when parser.currentToken() == JsonToken.START_OBJECT ->
+                    new ObjectValue(read(parser, schema));
+            // Keep values of the wrong shape as they are, so they are reported like any other type mismatch
+            default -> readValue(parser);
+        };
+    }
+
+    private static JsonValue bindValue(JsonParser parser, Class<? extends DataEntry> type) throws IOException {
+        var token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return NullValue.INSTANCE;
+        }
+        try {
+            return new BoundValue(CLASS_MAPPING.getOrDefault(type, STRING_CLASS_MAPPING).parseUsing(parser));
+        } catch (JsonParseException e) {
+            // Malformed JSON, not a value that can not be converted
+            throw e;
+        } catch (IOException e) {
+            return new FailedValue(e, switch (token) {
+                case VALUE_STRING -> TechnicalDataType.STRING;
+                case VALUE_TRUE, VALUE_FALSE -> TechnicalDataType.BOOLEAN;
+                case VALUE_NUMBER_INT -> TechnicalDataType.LONG;
+                case VALUE_NUMBER_FLOAT -> TechnicalDataType.DECIMAL;
+                default -> TechnicalDataType.OBJECT;
+            });
+        }
+    }
+
+    private static JsonValue readValue(JsonParser parser) throws IOException {
+        return switch (parser.currentToken()) {
+            case START_OBJECT -> new ObjectValue(read(parser));
+            case START_ARRAY -> {
+                var items = new ArrayList<JsonValue>();
+                while (parser.nextToken() != JsonToken.END_ARRAY) {
+                    items.add(readValue(parser));
+                }
+                yield new ArrayValue(items);
+            }
+            case VALUE_NULL -> NullValue.INSTANCE;
+            case VALUE_STRING -> new ScalarValue(parser.getText());
+            case VALUE_TRUE -> new ScalarValue(Boolean.TRUE);
+            case VALUE_FALSE -> new ScalarValue(Boolean.FALSE);
+            case VALUE_NUMBER_INT -> switch (parser.getNumberType()) {
+                case INT, LONG -> new ScalarValue(parser.getLongValue());
+                default -> new ScalarValue(parser.getBigIntegerValue());
+            };
+            case VALUE_NUMBER_FLOAT -> new ScalarValue(parser.getDecimalValue());
+            case VALUE_EMBEDDED_OBJECT -> new ScalarValue(parser.getEmbeddedObject());
+            case null, default -> throw new IllegalStateException("Unexpected token " + parser.currentToken());
+        };
+    }
+
     @Override
     public Stream<String> keys() {
-        return StreamSupport.stream(
-                Spliterators.spliteratorUnknownSize(rootNode.fieldNames(), Spliterator.DISTINCT),
-                false
-        );
+        return values.keySet().stream();
     }
 
     @Override
     public DataEntry get(String key, Class<? extends DataEntry> typeHint) throws InvalidDataException {
-        return convertNode(rootNode.get(key), typeHint);
+        return convertValue(values.get(key), typeHint);
     }
 
     @Override
     public Result<List<? extends DataEntry>> getList(String key, Class<? extends DataEntry> entryTypeHint) throws InvalidDataException {
-        var node = rootNode.get(key);
-        return switch (node) {
+        var value = values.get(key);
+        return switch (value) {
             case null -> Result.missing();
-            case MissingNode missingNode -> Result.missing();
-            case NullNode nullNode-> Result.empty();
-            case ArrayNode arrayNode -> {
-                var entries = new ArrayList<DataEntry>(arrayNode.size());
-                for (var entry : arrayNode) {
-                    entries.add(convertNode(entry, entryTypeHint));
+            case SkippedValue skippedValue -> Result.missing();
+            case NullValue nullValue -> Result.empty();
+            case ArrayValue arrayValue -> {
+                var entries = new ArrayList<DataEntry>(arrayValue.items().size());
+                for (var entry : arrayValue.items()) {
+                    entries.add(convertValue(entry, entryTypeHint));
                 }
                 yield Result.of(entries);
             }
-            default -> throw new InvalidDataTypeException(DataType.of(ListDataEntry.class), nodeToDataType(node));
+            default -> throw new InvalidDataTypeException(DataType.of(ListDataEntry.class), valueToDataType(value));
         };
     }
 
-    private DataType nodeToDataType(JsonNode node) {
-        return switch (node.getNodeType()) {
-            case ARRAY -> TechnicalDataType.LIST;
-            case BOOLEAN -> TechnicalDataType.BOOLEAN;
-            case MISSING -> TechnicalDataType.MISSING;
-            case NULL -> TechnicalDataType.NULL;
-            case NUMBER -> switch (node.numberType()) {
-                case INT, LONG, BIG_INTEGER -> TechnicalDataType.LONG;
-                case FLOAT, DOUBLE, BIG_DECIMAL -> TechnicalDataType.DECIMAL;
-            };
-            case POJO, OBJECT -> TechnicalDataType.OBJECT;
-            case BINARY, STRING -> TechnicalDataType.STRING;
+    private DataType valueToDataType(JsonValue value) {
+        return switch (value) {
+            case ArrayValue arrayValue -> TechnicalDataType.LIST;
+            case ObjectValue objectValue -> TechnicalDataType.OBJECT;
+            case NullValue nullValue -> TechnicalDataType.NULL;
+            case SkippedValue skippedValue -> TechnicalDataType.NULL;
+            case BoundValue(var entry) -> DataType.of(entry);
+            case FailedValue(var exception, var dataType) -> dataType;
+            case ScalarValue(Boolean ignored) -> TechnicalDataType.BOOLEAN;
+            case ScalarValue(Long ignored) -> TechnicalDataType.LONG;
+            case ScalarValue(BigInteger ignored) -> TechnicalDataType.LONG;
+            case ScalarValue(BigDecimal ignored) -> TechnicalDataType.DECIMAL;
+            case ScalarValue(String ignored) -> TechnicalDataType.STRING;
+            case ScalarValue scalarValue -> TechnicalDataType.OBJECT;
         };
     }
 
-    private DataEntry convertNode(JsonNode node, Class<? extends DataEntry> typeHint)
+    private DataEntry convertValue(JsonValue value, Class<? extends DataEntry> typeHint)
             throws InvalidDataException {
-        if(node == null || node.isMissingNode()) {
-            return MissingDataEntry.INSTANCE;
-        }
-        if(node.isNull()) {
-            return NullDataEntry.INSTANCE;
-        }
-        try (var parser = node.traverse(codec)){
-            var classMapping = CLASS_MAPPING.getOrDefault(typeHint, STRING_CLASS_MAPPING);
-            return classMapping.parseUsing(parser);
-        } catch (IOException e) {
-            throw new InvalidDataFormatException(DataType.of(typeHint), e);
-        }
+        return switch (value) {
+            case null -> MissingDataEntry.INSTANCE;
+            case SkippedValue skippedValue -> MissingDataEntry.INSTANCE;
+            case NullValue nullValue -> NullDataEntry.INSTANCE;
+            case ScalarValue scalarValue -> {
+                try {
+                    var classMapping = CLASS_MAPPING.getOrDefault(typeHint, STRING_CLASS_MAPPING);
+                    yield classMapping.convert(scalarValue.value(), codec);
+                } catch (IOException e) {
+                    throw new InvalidDataFormatException(DataType.of(typeHint), e);
+                }
+            }
+            case BoundValue(var entry) -> {
+                var classMapping = CLASS_MAPPING.getOrDefault(typeHint, STRING_CLASS_MAPPING);
+                if (classMapping.dataEntryClass().isInstance(entry)) {
+                    yield entry;
+                }
+                try {
+                    // Bound to another type than the one that is requested
+                    yield classMapping.convert(entry.getValue(), codec);
+                } catch (IOException e) {
+                    throw new InvalidDataFormatException(DataType.of(typeHint), e);
+                }
+            }
+            case FailedValue(var exception, var dataType) -> throw new InvalidDataFormatException(DataType.of(typeHint), exception);
+            case ArrayValue arrayValue -> throw new InvalidDataTypeException(DataType.of(typeHint), TechnicalDataType.LIST);
+            case ObjectValue objectValue -> throw new InvalidDataTypeException(DataType.of(typeHint), TechnicalDataType.OBJECT);
+        };
     }
 
     @Override
     public Result<RequestInputData> nested(String key) throws InvalidDataException {
-        var node = rootNode.get(key);
-        return switch (node) {
+        var value = values.get(key);
+        return switch (value) {
             case null -> Result.missing();
-            case MissingNode missingNode -> Result.missing();
-            case NullNode nullNode-> Result.empty();
-            case ObjectNode objectNode -> Result.of(new JsonRequestInputData(objectNode, codec));
-            default -> throw new InvalidDataTypeException(DataType.of(MapDataEntry.class), nodeToDataType(node));
+            case SkippedValue skippedValue -> Result.missing();
+            case NullValue nullValue -> Result.empty();
+            case ObjectValue objectValue -> Result.of(objectValue.data());
+            default -> throw new InvalidDataTypeException(DataType.of(MapDataEntry.class), valueToDataType(value));
         };
     }
 
+    private sealed interface JsonValue {
+
+    }
+
+    private record ScalarValue(@NonNull Object value) implements JsonValue {
+
+    }
+
+    private enum NullValue implements JsonValue {
+        INSTANCE
+    }
+
+    /**
+     * A value that was not read, because it is not part of the schema
+     */
+    private enum SkippedValue implements JsonValue {
+        INSTANCE
+    }
+
+    /**
+     * A value that was bound to the data entry type of the schema while it was read
+     */
+    private record BoundValue(@NonNull ScalarDataEntry entry) implements JsonValue {
+
+    }
+
+    /**
+     * A value that could not be bound to the data entry type of the schema
+     */
+    private record FailedValue(@NonNull IOException exception, @NonNull DataType dataType) implements JsonValue {
+
+    }
+
+    private record ArrayValue(@NonNull List<JsonValue> items) implements JsonValue {
+
+    }
+
+    private record ObjectValue(@NonNull JsonRequestInputData data) implements JsonValue {
+
+    }
+
 }
@@ -0,0 +1,99 @@
+package com.contentgrid.appserver.rest.data;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.attributes.Attribute;
+import com.contentgrid.appserver.application.model.attributes.CompositeAttribute;
+import com.contentgrid.appserver.application.model.attributes.SimpleAttribute;
+import com.contentgrid.appserver.application.model.relations.ManyToManyRelation;
+import com.contentgrid.appserver.application.model.relations.ManyToOneRelation;
+import com.contentgrid.appserver.application.model.relations.OneToManyRelation;
+import com.contentgrid.appserver.application.model.relations.OneToOneRelation;
+import com.contentgrid.appserver.domain.data.DataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.BooleanDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.DecimalDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.InstantDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.LongDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.StringDataEntry;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import lombok.AccessLevel;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * The data entry types of the properties of an entity that can be written, so a request body can be bound to data
+ * entries while it is read.
+ * <p>
+ * The types are the ones that the domain requests for the properties. Relations are bound to the strings of their
+ * target URIs, which are converted to relation data entries afterward.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class RequestInputSchema {
+
+    @NonNull
+    private final Map<String, Property> properties;
+
+    public static RequestInputSchema forEntity(@NonNull Application application, @NonNull Entity entity) {
+        var properties = attributeProperties(entity.getAttributes());
+        for (var relation : application.getRelationsForSourceEntity(entity)) {
+            var property = switch (relation) {
+                case OneToOneRelation ignored -> new ScalarProperty(StringDataEntry.class);
+                case ManyToOneRelation ignored -> new ScalarProperty(StringDataEntry.class);
+                case OneToManyRelation ignored -> new ListProperty(StringDataEntry.class);
+                case ManyToManyRelation ignored -> new ListProperty(StringDataEntry.class);
+            };
+            properties.put(relation.getSourceEndPoint().getName().getValue(), property);
+        }
+        return new RequestInputSchema(properties);
+    }
+
+    private static Map<String, Property> attributeProperties(List<Attribute> attributes) {
+        var properties = new HashMap<String, Property>();
+        for (var attribute : attributes) {
+            if (attribute.isReadOnly() || attribute.isIgnored()) {
+                // Never read by the domain
+                continue;
+            }
+            var property = switch (attribute) {
+                case SimpleAttribute simpleAttribute -> new ScalarProperty(switch (simpleAttribute.getType()) {
+                    case LONG -> LongDataEntry.class;
+                    case DOUBLE -> DecimalDataEntry.class;
+                    case BOOLEAN -> BooleanDataEntry.class;
+                    case TEXT, UUID -> StringDataEntry.class;
+                    case DATETIME -> InstantDataEntry.class;
+                });
+                case CompositeAttribute compositeAttribute ->
+                        new NestedProperty(new RequestInputSchema(attributeProperties(compositeAttribute.getAttributes())));
+            };
+            properties.put(attribute.getName().getValue(), property);
+        }
+        return properties;
+    }
+
+    /**
+     * @param key The key of the property
+     * @return The property, empty when it can not be written
+     */
+    Optional<Property> getProperty(String key) {
+        return Optional.ofNullable(properties.get(key));
+    }
+
+    sealed interface Property {
+
+    }
+
+    record ScalarProperty(@NonNull Class<? extends DataEntry> type) implements Property {
+
+    }
+
+    record ListProperty(@NonNull Class<? extends DataEntry> itemType) implements Property {
+
+    }
+
+    record NestedProperty(@NonNull RequestInputSchema schema) implements Property {
+
+    }
+}
@@ -1,12 +1,16 @@
 package com.contentgrid.appserver.rest.exception;
 
+import com.contentgrid.appserver.contentstore.api.ContentStoreBusyException;
 import com.contentgrid.appserver.domain.data.InvalidPropertyDataException;
 import com.contentgrid.appserver.domain.paging.cursor.CursorCodec.CursorDecodeException;
 import com.contentgrid.appserver.domain.values.version.ExactlyVersion;
+import com.contentgrid.appserver.exception.InvalidEmbedParameterException;
+import com.contentgrid.appserver.exception.InvalidFieldsParameterException;
 import com.contentgrid.appserver.exception.InvalidSortParameterException;
 import com.contentgrid.appserver.query.engine.api.exception.BlindRelationOverwriteException;
 import com.contentgrid.appserver.query.engine.api.exception.PermissionDeniedException;
 import com.contentgrid.appserver.query.engine.api.exception.UnsatisfiedVersionException;
+import com.contentgrid.appserver.registry.ApplicationNotFoundException;
 import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
 import com.contentgrid.appserver.rest.problem.ProblemFactory;
 import com.contentgrid.appserver.rest.problem.ProblemType;
@@ -20,6 +24,7 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.support.MessageSourceAccessor;
 import org.springframework.hateoas.mediatype.problem.Problem;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -118,11 +123,29 @@ public class ContentGridExceptionHandler {
         );
     }
 
+    @ExceptionHandler(ContentStoreBusyException.class)
+    ResponseEntity<Problem> handleContentStoreBusyException(@NonNull ContentStoreBusyException exception) {
+        log.warn("Content transfer rejected: {}", exception.getMessage());
+        // Retry-After is in whole seconds, round up so clients do not retry before the suggested time
+        var retryAfterSeconds = Math.max(1, exception.getRetryAfter().plusMillis(999).toSeconds());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds))
+                .contentType(MediaType.APPLICATION_PROBLEM_JSON)
+                .body(problemFactory.createProblem(ProblemType.CONTENT_STORE_BUSY)
+                        .withStatus(HttpStatus.SERVICE_UNAVAILABLE)
+                        .withDetail(exception.getMessage()));
+    }
+
     @ExceptionHandler(PermissionDeniedException.class)
     ResponseEntity<?> handlePermissionDeniedException(PermissionDeniedException exception) {
         return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
     }
 
+    @ExceptionHandler(ApplicationNotFoundException.class)
+    ResponseEntity<?> handleApplicationNotFoundException(ApplicationNotFoundException exception) {
+        return ResponseEntity.notFound().build();
+    }
+
     @ExceptionHandler(InvalidSortParameterException.class)
     ResponseEntity<Problem> handleInvalidSortParameterException(@NonNull InvalidSortParameterException exception) {
         return createResponse(
@@ -137,6 +160,24 @@ public class ContentGridExceptionHandler {
         );
     }
 
+    @ExceptionHandler(InvalidFieldsParameterException.class)
+    ResponseEntity<Problem> handleInvalidFieldsParameterException(@NonNull InvalidFieldsParameterException exception) {
+        return createResponse(
+                problemFactory.createProblem(ProblemType.INVALID_FIELDS_PARAMETER)
+                        .withStatus(HttpStatus.BAD_REQUEST)
+                        .withDetail(exception.getMessage())
+        );
+    }
+
+    @ExceptionHandler(InvalidEmbedParameterException.class)
+    ResponseEntity<Problem> handleInvalidEmbedParameterException(@NonNull InvalidEmbedParameterException exception) {
+        return createResponse(
+                problemFactory.createProblem(ProblemType.INVALID_EMBED_PARAMETER)
+                        .withStatus(HttpStatus.BAD_REQUEST)
+                        .withDetail(exception.getMessage())
+        );
+    }
+
     @ExceptionHandler(CursorDecodeException.class)
     ResponseEntity<Problem> handleInvalidCursor(@NonNull CursorDecodeException e) {
         return createResponse(problemFactory.createProblem(ProblemType.INVALID_PAGINATION_PARAMETER)
@@ -10,6 +10,7 @@ import lombok.Builder;
 import lombok.NonNull;
 import lombok.Singular;
 import lombok.Value;
+import lombok.With;
 import org.springframework.http.HttpMethod;
 
 @Value
@@ -33,6 +34,7 @@ public class HalFormsTemplate {
     @JsonInclude(Include.NON_NULL)
     String contentType;
 
+    @With
     @JsonInclude(Include.NON_NULL)
     String target;
 
@@ -0,0 +1,199 @@
+package com.contentgrid.appserver.rest.hal.forms;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.application.model.relations.Relation;
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.domain.values.RelationIdentity;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
+import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Caches the HAL-FORMS templates that are added to every entity item.
+ * <p>
+ * The update, relation and content templates of an item only depend on the entity, the locales of the user and the
+ * base URI of the request. They are generated once for each combination, and only the per-instance targets are
+ * filled in for every item.
+ */
+@Component
+public class HalFormsTemplateCache implements ApplicationEvictionListener {
+
+    /**
+     * Default limit of cached (entity, locales, base URI) combinations per application. Locales and base URI are taken
+     * from the request, so the number of combinations is not bounded by the application itself.
+     */
+    static final int MAX_ENTRIES_PER_APPLICATION = 1024;
+
+    private final int maxEntriesPerApplication;
+
+    private final Map<ApplicationName, ApplicationTemplates> applications = new ConcurrentHashMap<>();
+
+    public HalFormsTemplateCache() {
+        this(MAX_ENTRIES_PER_APPLICATION);
+    }
+
+    HalFormsTemplateCache(int maxEntriesPerApplication) {
+        if (maxEntriesPerApplication < 1) {
+            throw new IllegalArgumentException("maxEntriesPerApplication must be at least 1, got %d"
+                    .formatted(maxEntriesPerApplication));
+        }
+        this.maxEntriesPerApplication = maxEntriesPerApplication;
+    }
+
+    /**
+     * Retrieve the templates for the items of an entity
+     *
+     * @param application The application the entity belongs to
+     * @param entityName The entity to retrieve templates for
+     * @param userLocales The locales of the user, used for translating the templates
+     * @param linkFactoryProvider The link factory provider of the current request
+     * @return The templates for items of the entity
+     */
+    public EntityTemplates getEntityTemplates(@NonNull Application application, @NonNull EntityName entityName,
+            @NonNull UserLocales userLocales, @NonNull LinkFactoryProvider linkFactoryProvider) {
+        var applicationTemplates = applications.compute(application.getName(), (name, existing) ->
+                existing != null && existing.application == application ? existing : new ApplicationTemplates(application));
+
+        var key = new CacheKey(entityName, userLocales.preferredLocales().toList(), linkFactoryProvider.getBaseUri());
+        var cached = applicationTemplates.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        // Generated outside the lock; templates generated concurrently for the same key are equivalent, the last one is kept
+        var templates = EntityTemplates.generate(new HalFormsTemplateGenerator(application, userLocales, linkFactoryProvider),
+                application, entityName);
+        applicationTemplates.put(key, templates, maxEntriesPerApplication);
+        return templates;
+    }
+
+    @Override
+    public void onApplicationEvicted(@NonNull ApplicationName name) {
+        applications.remove(name);
+    }
+
+    @RequiredArgsConstructor
+    private static class ApplicationTemplates {
+        private final Application application;
+
+        /**
+         * Access-ordered, so the first entry is the least recently used one. Only accessed while holding {@link #lock}.
+         */
+        private final LinkedHashMap<CacheKey, EntityTemplates> entities = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        EntityTemplates get(CacheKey key) {
+            lock.lock();
+            try {
+                return entities.get(key);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void put(CacheKey key, EntityTemplates templates, int maximumSize) {
+            lock.lock();
+            try {
+                entities.put(key, templates);
+                var iterator = entities.keySet().iterator();
+                while (entities.size() > maximumSize) {
+                    iterator.next();
+                    iterator.remove();
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * The preferred locales are used as a whole instead of a single resolved locale, because every attribute resolves
+     * its translation separately from the locales it has translations for.
+     */
+    private record CacheKey(EntityName entityName, List<Locale> preferredLocales, String baseUri) {
+
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    public static class EntityTemplates {
+
+        @Getter
+        @NonNull
+        private final HalFormsTemplate updateTemplate;
+
+        /**
+         * Relation templates without target; the target is the relation link of a specific instance
+         */
+        @NonNull
+        private final Map<RelationName, List<HalFormsTemplate>> relationTemplates;
+
+        @NonNull
+        private final Map<AttributeName, List<HalFormsTemplate>> contentTemplates;
+
+        private static EntityTemplates generate(HalFormsTemplateGenerator generator, Application application,
+                EntityName entityName) {
+            var entity = application.getRequiredEntityByName(entityName);
+
+            var relationTemplates = new HashMap<RelationName, List<HalFormsTemplate>>();
+            for (Relation relation : application.getRelationsForSourceEntity(entity)) {
+                relationTemplates.put(relation.getSourceEndPoint().getName(),
+                        generator.generateRelationTemplates(relation, null));
+            }
+
+            var contentTemplates = new HashMap<AttributeName, List<HalFormsTemplate>>();
+            for (var content : entity.getContentAttributes()) {
+                contentTemplates.put(content.getName(), generator.generateContentTemplates(entity, content));
+            }
+
+            return new EntityTemplates(
+                    generator.generateUpdateTemplate(entityName),
+                    Map.copyOf(relationTemplates),
+                    Map.copyOf(contentTemplates)
+            );
+        }
+
+        /**
+         * Retrieve the relation templates for a relation of a specific instance
+         *
+         * @param relationIdentity The relation of the instance
+         * @param linkFactoryProvider The link factory provider of the current request
+         * @return The relation templates, targeting the relation of the instance
+         */
+        public List<HalFormsTemplate> getRelationTemplates(@NonNull RelationIdentity relationIdentity,
+                @NonNull LinkFactoryProvider linkFactoryProvider) {
+            var templates = relationTemplates.getOrDefault(relationIdentity.getRelationName(), List.of());
+            if (templates.isEmpty()) {
+                return templates;
+            }
+            var relationLink = linkFactoryProvider.toRelation(relationIdentity).toUri().toString();
+            return templates.stream()
+                    .map(template -> template.withTarget(relationLink))
+                    .toList();
+        }
+
+        /**
+         * Retrieve the content templates for a content attribute
+         *
+         * @param attributeName The name of the content attribute
+         * @return The content templates
+         */
+        public List<HalFormsTemplate> getContentTemplates(@NonNull AttributeName attributeName) {
+            return contentTemplates.getOrDefault(attributeName, List.of());
+        }
+    }
+}
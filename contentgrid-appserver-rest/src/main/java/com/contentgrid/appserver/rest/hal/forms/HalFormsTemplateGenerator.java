@@ -155,16 +155,20 @@ public class HalFormsTemplateGenerator {
     }
 
     public List<HalFormsTemplate> generateRelationTemplates(RelationIdentity relationIdentity) {
-
         var relation = application.getRequiredRelationForEntity(relationIdentity.getEntityName(), relationIdentity.getRelationName());
+        var relationLink = linkFactoryProvider.toRelation(relationIdentity).toUri().toString();
+        return generateRelationTemplates(relation, relationLink);
+    }
 
+    /**
+     * Generate the relation templates with a given target, so templates can be generated without a specific instance
+     */
+    List<HalFormsTemplate> generateRelationTemplates(Relation relation, String relationLink) {
         var maybeProperty = relationToProperty(relation);
         if (maybeProperty.isEmpty()) {
             return List.of();
         }
 
-        var relationLink = linkFactoryProvider.toRelation(relationIdentity).toUri().toString();
-
         var result = new ArrayList<HalFormsTemplate>();
         if (relation instanceof OneToManyRelation || relation instanceof ManyToManyRelation) {
             result.add(HalFormsTemplate.builder()
@@ -3,26 +3,35 @@ package com.contentgrid.appserver.rest.links.factory;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Function;
 import java.util.function.UnaryOperator;
 import lombok.AccessLevel;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.With;
+import org.springframework.hateoas.IanaLinkRelations;
 import org.springframework.hateoas.Link;
 import org.springframework.hateoas.LinkRelation;
 import org.springframework.hateoas.server.LinkBuilder;
 
-@RequiredArgsConstructor
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
 class LinkBuilderAndModifiersLinkFactory implements CustomizableLinkFactory {
     @NonNull
-    private final LinkBuilder linkBuilder;
+    private final Function<LinkRelation, Link> linkBuilder;
 
     @With(value = AccessLevel.PRIVATE)
     @NonNull
     private final List<UnaryOperator<Link>> customizations;
 
     LinkBuilderAndModifiersLinkFactory(@NonNull LinkBuilder linkBuilder) {
-        this(linkBuilder, List.of());
+        this(linkBuilder::withRel, List.of());
+    }
+
+    /**
+     * Creates links to an already expanded href, without a {@link LinkBuilder}
+     */
+    LinkBuilderAndModifiersLinkFactory(@NonNull String href) {
+        this(linkRelation -> Link.of(href, linkRelation), List.of());
     }
 
     private LinkBuilderAndModifiersLinkFactory withCustomization(UnaryOperator<Link> customization) {
@@ -33,12 +42,12 @@ class LinkBuilderAndModifiersLinkFactory implements CustomizableLinkFactory {
 
     @Override
     public URI toUri() {
-        return linkBuilder.toUri();
+        return linkBuilder.apply(IanaLinkRelations.SELF).toUri();
     }
 
     @Override
     public Link withRel(LinkRelation linkRelation) {
-        var link = linkBuilder.withRel(linkRelation);
+        var link = linkBuilder.apply(linkRelation);
 
         for (var customization : customizations) {
             link = customization.apply(link);
@@ -12,11 +12,10 @@ import com.contentgrid.appserver.domain.paging.cursor.EncodedCursorPagination;
 import com.contentgrid.appserver.domain.values.EntityId;
 import com.contentgrid.appserver.domain.values.EntityIdentity;
 import com.contentgrid.appserver.domain.values.RelationIdentity;
+import com.contentgrid.appserver.rest.EncodedCursorPaginationHandlerMethodArgumentResolver;
 import com.contentgrid.appserver.rest.EntityRestController;
 import com.contentgrid.appserver.rest.ProfileRestController;
 import com.contentgrid.appserver.rest.RootRestController;
-import com.contentgrid.appserver.rest.property.ContentRestController;
-import com.contentgrid.appserver.rest.property.XToOneRelationRestController;
 import com.contentgrid.hateoas.spring.links.UriTemplateMatcher;
 import java.util.List;
 import java.util.UUID;
@@ -24,19 +23,21 @@ import java.util.function.Consumer;
 import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.NonNull;
-import lombok.RequiredArgsConstructor;
 import lombok.With;
 import org.springframework.hateoas.server.MethodLinkBuilderFactory;
 import org.springframework.util.LinkedMultiValueMap;
 import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponentsBuilder;
 
 /**
  * Generates {@link LinkFactory}s for entity-based paths
  * <p>
  * Allows an easy way to generate links to specific resources without having to specify
  * all parameters for the controller method call.
+ * <p>
+ * Links to collections, items, relations, content and profiles are generated from {@link LinkTemplates}, which are
+ * precompiled per application, relative to the base URI of the current request.
  */
-@RequiredArgsConstructor
 public class LinkFactoryProvider {
     @NonNull
     private final Application application;
@@ -47,6 +48,27 @@ public class LinkFactoryProvider {
     @NonNull
     private final MethodLinkBuilderFactory<?> linkBuilderFactory;
 
+    @NonNull
+    private final LinkTemplates linkTemplates;
+
+    private String baseUri;
+
+    public LinkFactoryProvider(@NonNull Application application, @NonNull UserLocales userLocales,
+            @NonNull MethodLinkBuilderFactory<?> linkBuilderFactory, @NonNull LinkTemplates linkTemplates) {
+        if (linkTemplates.getApplication() != application) {
+            throw new IllegalArgumentException("Link templates are compiled for a different application");
+        }
+        this.application = application;
+        this.userLocales = userLocales;
+        this.linkBuilderFactory = linkBuilderFactory;
+        this.linkTemplates = linkTemplates;
+    }
+
+    public LinkFactoryProvider(@NonNull Application application, @NonNull UserLocales userLocales,
+            @NonNull MethodLinkBuilderFactory<?> linkBuilderFactory) {
+        this(application, userLocales, linkBuilderFactory, LinkTemplates.compile(application));
+    }
+
     @With
     @AllArgsConstructor(access = AccessLevel.PRIVATE)
     public static class CollectionParameters {
@@ -84,6 +106,23 @@ public class LinkFactoryProvider {
         return new LinkBuilderAndModifiersLinkFactory(linkBuilder);
     }
 
+    private CustomizableLinkFactory linkToPath(String path) {
+        return new LinkBuilderAndModifiersLinkFactory(getBaseUri() + path);
+    }
+
+    /**
+     * The base URI of the current request, resolved only once for all links generated by this provider
+     * @return The base URI, without trailing slash
+     */
+    public String getBaseUri() {
+        if (baseUri == null) {
+            // RootRestController has no type-level mapping, so this links to the root of the API
+            var uri = linkBuilderFactory.linkTo(RootRestController.class).toUri().toString();
+            baseUri = uri.endsWith("/") ? uri.substring(0, uri.length() - 1) : uri;
+        }
+        return baseUri;
+    }
+
     /**
      * Generate a link to the API root
      * @return A link to the API root
@@ -101,16 +140,12 @@ public class LinkFactoryProvider {
      */
     public LinkFactory toCollection(@NonNull EntityName entityName, @NonNull CollectionParameters parameters) {
         var entity = application.getRequiredEntityByName(entityName);
-        return linkTo(methodOn(EntityRestController.class)
-                .listEntity(
-                        application,
-                        entity.getPathSegment(),
-                        null,
-                        parameters.searchParams,
-                        parameters.cursor,
-                        userLocales,
-                        this
-                ))
+        var uriBuilder = UriComponentsBuilder.fromUriString(getBaseUri() + linkTemplates.forEntity(entityName).getCollection())
+                .queryParams(parameters.searchParams);
+        if (parameters.cursor != null) {
+            EncodedCursorPaginationHandlerMethodArgumentResolver.addQueryParameters(uriBuilder, parameters.cursor);
+        }
+        return new LinkBuilderAndModifiersLinkFactory(uriBuilder.build().encode().toUriString())
                 .withName(entity.getLinkName().getValue())
                 .withTitle(entity.getTranslations(userLocales).getPluralName())
                 .withProfile(toProfile(entityName).toUri().toString());
@@ -123,15 +158,7 @@ public class LinkFactoryProvider {
      */
     public LinkFactory toItem(@NonNull EntityIdentity identity) {
         var entity = application.getRequiredEntityByName(identity.getEntityName());
-        return linkTo(methodOn(EntityRestController.class)
-                .getEntity(
-                        application,
-                        entity.getPathSegment(),
-                        identity.getEntityId(),
-                        null,
-                        userLocales,
-                        this
-                ))
+        return linkToPath(linkTemplates.forEntity(entity.getName()).item(identity.getEntityId()))
                 .withTitle(entity.getTranslations(userLocales).getSingularName())
                 .withProfile(toProfile(identity.getEntityName()).toUri().toString());
     }
@@ -146,7 +173,7 @@ public class LinkFactoryProvider {
 
         return UriTemplateMatcher.<EntityId>builder()
                 .matcherFor(methodOn(EntityRestController.class)
-                                .getEntity(application, entity.getPathSegment(), null, null, userLocales, this),
+                                .getEntity(application, entity.getPathSegment(), null, null, userLocales, this, null),
                         params -> EntityId.of(UUID.fromString(params.get("instanceId"))))
                 .build();
     }
@@ -162,15 +189,8 @@ public class LinkFactoryProvider {
 
         // Links for *-to-many relations are the same as links for *-to-one relations,
         // no need to switch based on relation type
-        return linkTo(methodOn(XToOneRelationRestController.class)
-                .getRelation(
-                        application,
-                        entity.getPathSegment(),
-                        relationIdentity.getEntityId(),
-                        relation.getSourceEndPoint().getPathSegment(),
-                        null,
-                        this
-                ))
+        return linkToPath(linkTemplates.forEntity(entity.getName())
+                        .relation(relationIdentity.getEntityId(), relation.getSourceEndPoint().getName()))
                 .withTitle(relation.getSourceEndPoint().getTranslations(userLocales).getName())
                 .withName(relation.getSourceEndPoint().getLinkName().getValue());
     }
@@ -188,17 +208,7 @@ public class LinkFactoryProvider {
                 .map(ContentAttribute.class::cast)
                 .orElseThrow(() -> new AttributeNotFoundException("Entity '%s' does not have content attribute '%s'".formatted(entity.getName(), attributeName)));
 
-        return linkTo(methodOn(ContentRestController.class)
-                .getContent(
-                        null,
-                        application,
-                        entity.getPathSegment(),
-                        identity.getEntityId(),
-                        attribute.getPathSegment(),
-                        null,
-                        null,
-                        null
-                ))
+        return linkToPath(linkTemplates.forEntity(entity.getName()).content(identity.getEntityId(), attribute.getName()))
                 .withName(attributeName.getValue())
                 .withTitle(attribute.getTranslations(userLocales).getName());
     }
@@ -219,13 +229,7 @@ public class LinkFactoryProvider {
      */
     public LinkFactory toProfile(@NonNull EntityName entityName) {
         var entity = application.getRequiredEntityByName(entityName);
-        return linkTo(methodOn(ProfileRestController.class)
-                .getHalFormsEntityProfile(
-                        application,
-                        entity.getPathSegment(),
-                        userLocales,
-                        this
-                ))
+        return linkToPath(linkTemplates.forEntity(entityName).getProfile())
                 .withName(entity.getLinkName().getValue())
                 .withTitle(entity.getTranslations(userLocales).getSingularName());
     }
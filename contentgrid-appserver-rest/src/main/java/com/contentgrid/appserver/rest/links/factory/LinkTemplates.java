@@ -0,0 +1,152 @@
+package com.contentgrid.appserver.rest.links.factory;
+
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.exceptions.AttributeNotFoundException;
+import com.contentgrid.appserver.application.model.exceptions.EntityDefinitionNotFoundException;
+import com.contentgrid.appserver.application.model.exceptions.RelationNotFoundException;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.EntityName;
+import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.domain.values.EntityId;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.util.UriUtils;
+
+/**
+ * Precompiled paths for the links that {@link LinkFactoryProvider} generates for the entities of an application.
+ * <p>
+ * The paths mirror the request mappings of the REST controllers. Generating a link only substitutes the entity id
+ * in the path, instead of resolving the controller method mapping through an invocation proxy for every link.
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public class LinkTemplates {
+
+    @Getter
+    @NonNull
+    private final Application application;
+
+    @NonNull
+    private final Map<EntityName, EntityLinkTemplates> entities;
+
+    /**
+     * Compile the link paths for all entities of the application
+     *
+     * @param application The application to compile link paths for
+     * @return The precompiled link paths
+     */
+    public static LinkTemplates compile(@NonNull Application application) {
+        var entities = new HashMap<EntityName, EntityLinkTemplates>();
+        for (var entity : application.getEntities()) {
+            entities.put(entity.getName(), EntityLinkTemplates.compile(application, entity));
+        }
+        return new LinkTemplates(application, Map.copyOf(entities));
+    }
+
+    EntityLinkTemplates forEntity(@NonNull EntityName entityName) {
+        var templates = entities.get(entityName);
+        if (templates == null) {
+            throw new EntityDefinitionNotFoundException(entityName);
+        }
+        return templates;
+    }
+
+    private static String encode(PathSegmentName pathSegment) {
+        return UriUtils.encodePathSegment(pathSegment.getValue(), StandardCharsets.UTF_8);
+    }
+
+    @RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+    static class EntityLinkTemplates {
+
+        @NonNull
+        private final EntityName entityName;
+
+        /**
+         * Path of the collection: <code>/{entityName}</code>
+         */
+        @Getter
+        @NonNull
+        private final String collection;
+
+        /**
+         * Path of the profile: <code>/profile/{entityName}</code>
+         */
+        @Getter
+        @NonNull
+        private final String profile;
+
+        /**
+         * Path of the item, up to the id: <code>/{entityName}/</code>
+         */
+        @NonNull
+        private final String itemPrefix;
+
+        /**
+         * Path suffixes of relations, after the item path: <code>/{propertyName}</code>
+         */
+        @NonNull
+        private final Map<RelationName, String> relations;
+
+        /**
+         * Path suffixes of content attributes, after the item path: <code>/{propertyName}</code>
+         */
+        @NonNull
+        private final Map<AttributeName, String> contents;
+
+        private static EntityLinkTemplates compile(Application application, Entity entity) {
+            var entitySegment = encode(entity.getPathSegment());
+
+            var relations = new HashMap<RelationName, String>();
+            for (var relation : application.getRelations()) {
+                // Relations can be navigated from both sides
+                for (var endPoint : List.of(relation.getSourceEndPoint(), relation.getTargetEndPoint())) {
+                    if (endPoint.getEntity().equals(entity.getName()) && endPoint.getName() != null
+                            && endPoint.getPathSegment() != null) {
+                        relations.putIfAbsent(endPoint.getName(), "/" + encode(endPoint.getPathSegment()));
+                    }
+                }
+            }
+
+            var contents = new HashMap<AttributeName, String>();
+            for (var content : entity.getContentAttributes()) {
+                contents.put(content.getName(), "/" + encode(content.getPathSegment()));
+            }
+
+            return new EntityLinkTemplates(
+                    entity.getName(),
+                    "/" + entitySegment,
+                    "/profile/" + entitySegment,
+                    "/" + entitySegment + "/",
+                    Map.copyOf(relations),
+                    Map.copyOf(contents)
+            );
+        }
+
+        String item(@NonNull EntityId id) {
+            return itemPrefix + id.getValue();
+        }
+
+        String relation(@NonNull EntityId id, @NonNull RelationName relationName) {
+            var suffix = relations.get(relationName);
+            if (suffix == null) {
+                throw new RelationNotFoundException("Relation %s not found on entity %s".formatted(relationName, entityName));
+            }
+            return item(id) + suffix;
+        }
+
+        String content(@NonNull EntityId id, @NonNull AttributeName attributeName) {
+            var suffix = contents.get(attributeName);
+            if (suffix == null) {
+                throw new AttributeNotFoundException("Entity '%s' does not have content attribute '%s'".formatted(entityName, attributeName));
+            }
+            return item(id) + suffix;
+        }
+    }
+}
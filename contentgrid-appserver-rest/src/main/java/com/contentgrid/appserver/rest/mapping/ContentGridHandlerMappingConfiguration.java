@@ -18,10 +18,12 @@ public class ContentGridHandlerMappingConfiguration {
         return new WebMvcRegistrations() {
             @Override
             public RequestMappingHandlerMapping getRequestMappingHandlerMapping() {
-                return new DynamicDispatchApplicationHandlerMapping(
+                var mapping = new DynamicDispatchApplicationHandlerMapping(
                         applicationResolver,
                         applicationNameExtractor
                 );
+                applicationResolver.addEvictionListener(mapping);
+                return mapping;
             }
         };
     }
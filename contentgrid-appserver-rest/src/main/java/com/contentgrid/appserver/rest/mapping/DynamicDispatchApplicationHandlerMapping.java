@@ -2,6 +2,8 @@ package com.contentgrid.appserver.rest.mapping;
 
 import com.contentgrid.appserver.application.model.values.ApplicationName;
 import com.contentgrid.appserver.application.model.values.PathSegmentName;
+import com.contentgrid.appserver.application.model.Application;
+import com.contentgrid.appserver.registry.ApplicationEvictionListener;
 import com.contentgrid.appserver.registry.ApplicationNameExtractor;
 import com.contentgrid.appserver.registry.ApplicationResolver;
 import com.contentgrid.appserver.rest.EntityRestController;
@@ -38,13 +40,15 @@ import org.springframework.web.util.pattern.PathPatternParser;
  */
 @RequiredArgsConstructor
 @Slf4j
-public class DynamicDispatchApplicationHandlerMapping extends RequestMappingHandlerMapping {
+public class DynamicDispatchApplicationHandlerMapping extends RequestMappingHandlerMapping implements
+        ApplicationEvictionListener {
 
     private final ApplicationResolver applicationResolver;
     private final ApplicationNameExtractor applicationNameExtractor;
 
     /* This has to be concurrency-safe, because it is written to (and read from) from multiple concurrent HTTP threads.
-        TODO: When multiple applications are served by one application, have a way to clean up mappings for applications that have been removed
+        Mappings are removed when the ApplicationResolver evicts their application, and replaced when the resolver
+        returns a different Application instance for the same name.
      */
     private final ConcurrentMap<ApplicationName, StaticApplicationRequestMappingHandlerMapping> delegateHandlerMappings = new ConcurrentHashMap<>();
 
@@ -67,20 +71,47 @@ public class DynamicDispatchApplicationHandlerMapping extends RequestMappingHand
 
     private StaticApplicationRequestMappingHandlerMapping resolveHandlerMapping(HttpServletRequest request) {
         var applicationName = applicationNameExtractor.extract(request);
+        var application = applicationResolver.resolve(applicationName);
 
-        return delegateHandlerMappings.computeIfAbsent(applicationName, name -> {
-            var application = applicationResolver.resolve(name);
-            var mapping = new StaticApplicationRequestMappingHandlerMapping(application);
-            mapping.setApplicationContext(obtainApplicationContext());
-            mapping.setServletContext(getServletContext());
+        var existing = delegateHandlerMappings.get(applicationName);
+        if (existing != null && existing.getApplication() == application) {
+            return existing;
+        }
 
-            for (var configurer : configurers) {
-                configurer.accept(mapping);
+        var mapping = delegateHandlerMappings.compute(applicationName, (name, current) -> {
+            if (current != null && current.getApplication() == application) {
+                return current;
             }
-            mapping.afterPropertiesSet();
-            log.info("Created delegate HandlerMapping for application {}", name);
-            return mapping;
+            return createHandlerMapping(application);
         });
+
+        // The application may have been evicted after it was resolved, and its eviction listener may have run before
+        // the mapping was inserted. Only keep the mapping while the resolver still holds the same application,
+        // so the number of mappings stays bounded by the resolver. The lookup does not load the application again.
+        if (applicationResolver.getIfPresent(applicationName).orElse(null) != application) {
+            delegateHandlerMappings.remove(applicationName, mapping);
+        }
+        return mapping;
+    }
+
+    private StaticApplicationRequestMappingHandlerMapping createHandlerMapping(Application application) {
+        var mapping = new StaticApplicationRequestMappingHandlerMapping(application);
+        mapping.setApplicationContext(obtainApplicationContext());
+        mapping.setServletContext(getServletContext());
+
+        for (var configurer : configurers) {
+            configurer.accept(mapping);
+        }
+        mapping.afterPropertiesSet();
+        log.info("Created delegate HandlerMapping for application {}", application.getName());
+        return mapping;
+    }
+
+    @Override
+    public void onApplicationEvicted(ApplicationName name) {
+        if (delegateHandlerMappings.remove(name) != null) {
+            log.info("Removed delegate HandlerMapping for application {}", name);
+        }
     }
 
     @Override
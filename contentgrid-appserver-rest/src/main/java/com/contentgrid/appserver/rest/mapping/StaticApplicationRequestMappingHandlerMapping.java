@@ -14,6 +14,7 @@ import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.annotation.AnnotatedElementUtils;
 import org.springframework.web.method.HandlerMethod;
@@ -28,6 +29,7 @@ import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandl
 @RequiredArgsConstructor
 class StaticApplicationRequestMappingHandlerMapping extends RequestMappingHandlerMapping {
 
+    @Getter
     private final Application application;
 
     private static final Map<Method, Optional<SpecializedOnPropertyType>> propertyTypeAnnotationsCache = new ConcurrentHashMap<>();
@@ -44,6 +44,26 @@ public class ItemCountPageMetadata extends PageMetadata {
         return null;
     }
 
+    @JsonProperty("total_items_estimate_lower_bound")
+    @JsonInclude(Include.NON_NULL)
+    public Long getEstimatedTotalItemsLowerBound() {
+        if (totalItemCount.isEstimated() && totalItemCount.lowerBound().isPresent()) {
+            return totalItemCount.lowerBound().getAsLong();
+        }
+
+        return null;
+    }
+
+    @JsonProperty("total_items_estimate_upper_bound")
+    @JsonInclude(Include.NON_NULL)
+    public Long getEstimatedTotalItemsUpperBound() {
+        if (totalItemCount.isEstimated() && totalItemCount.upperBound().isPresent()) {
+            return totalItemCount.upperBound().getAsLong();
+        }
+
+        return null;
+    }
+
     @JsonProperty("prev_cursor")
     @JsonInclude(Include.NON_NULL)
     public String getPreviousCursor() {
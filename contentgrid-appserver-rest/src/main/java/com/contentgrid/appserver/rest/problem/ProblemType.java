@@ -13,12 +13,15 @@ public enum ProblemType implements ProblemTypeResolvable {
     INVALID_FILTER_PARAMETER_FORMAT("invalid-filter-parameter", "format"),
     INVALID_SORT_PARAMETER("invalid-query-parameter", "sort"),
     INVALID_PAGINATION_PARAMETER("invalid-query-parameter", "pagination"),
+    INVALID_FIELDS_PARAMETER("invalid-query-parameter", "fields"),
+    INVALID_EMBED_PARAMETER("invalid-query-parameter", "embed"),
 
     INVALID_REQUEST_BODY("invalid-request-body"),
     INVALID_REQUEST_BODY_TYPE("invalid-request-body", "type"),
     INVALID_REQUEST_BODY_JSON("invalid-request-body", "json"),
     UNSATISFIED_VERSION("unsatisfied-version"),
     INTEGRITY_RELATION_OVERWRITE("integrity", "relation-overwrite"),
+    CONTENT_STORE_BUSY("unavailable", "content-store-busy"),
     ;
 
     ProblemType(String... params) {
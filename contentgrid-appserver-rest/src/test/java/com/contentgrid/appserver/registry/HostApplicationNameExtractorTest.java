@@ -0,0 +1,40 @@
+package com.contentgrid.appserver.registry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.appserver.application.model.values.ApplicationName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+class HostApplicationNameExtractorTest {
+
+    private final HostApplicationNameExtractor extractor = new HostApplicationNameExtractor("apps.example.com");
+
+    private static MockHttpServletRequest request(String host) {
+        var request = new MockHttpServletRequest();
+        request.setServerName(host);
+        return request;
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"invoicing.apps.example.com", "Invoicing.Apps.Example.com"})
+    void extractsFirstLabel(String host) {
+        assertThat(extractor.extract(request(host))).isEqualTo(ApplicationName.of("invoicing"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"apps.example.com", "example.com", "invoicing.apps.example.org", "a.invoicing.apps.example.com", "localhost"})
+    void rejectsHostsOutsideDomain(String host) {
+        assertThatThrownBy(() -> extractor.extract(request(host)))
+                .isInstanceOf(ApplicationNotFoundException.class);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"apps.example.com", ".apps.example.com"})
+    void domainWithOrWithoutLeadingDot(String domain) {
+        assertThat(new HostApplicationNameExtractor(domain).extract(request("invoicing.apps.example.com")))
+                .isEqualTo(ApplicationName.of("invoicing"));
+    }
+}
@@ -24,6 +24,7 @@ import com.contentgrid.appserver.example.ContentgridApp;
 import com.contentgrid.appserver.query.engine.api.TableCreator;
 import com.contentgrid.appserver.registry.SingleApplicationResolver;
 import com.contentgrid.appserver.rest.EntityRestControllerTest.TestConfig;
+import com.contentgrid.appserver.rest.assembler.EntityDataRepresentationModelAssembler;
 import com.contentgrid.appserver.spring.test.WithMockJwt;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import java.io.IOException;
@@ -353,6 +354,30 @@ class EntityRestControllerTest {
                     .andExpect(jsonPath("$.status", is(400)));
         }
 
+        @Test
+        void testFailToCreateEntityWithJsonArray() throws Exception {
+            mockMvc.perform(post("/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("[{\"name\": \"test product\"}]"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void createEntityWithUnknownJsonProperties() throws Exception {
+            mockMvc.perform(post("/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content("""
+                                    {
+                                        "name": "test product",
+                                        "price": 5,
+                                        "unknown": { "nested": [1, 2, { "deep": null }] }
+                                    }
+                                    """))
+                    .andExpect(status().isCreated())
+                    .andExpect(jsonPath("$.name", is("test product")))
+                    .andExpect(jsonPath("$.unknown").doesNotExist());
+        }
+
         @ParameterizedTest
         @MethodSource("com.contentgrid.appserver.rest.EntityRestControllerTest#supportedMediaTypes")
         void testCreateNonExistentEntityType(MediaTypeConfiguration mediaTypeConfiguration) throws Exception {
@@ -575,6 +600,171 @@ class EntityRestControllerTest {
                             """));
         }
 
+        @Test
+        void getEntity_ifNoneMatch() throws Exception {
+            var invoice = createInvoice();
+            var eTag = invoice.getHeader(HttpHeaders.ETAG);
+
+            mockMvc.perform(get(invoice.getRedirectedUrl())
+                            .header(HttpHeaders.IF_NONE_MATCH, eTag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(content().string(""));
+
+            mockMvc.perform(get(invoice.getRedirectedUrl())
+                            .header(HttpHeaders.IF_NONE_MATCH, "\"other-version\""))
+                    .andExpect(status().isOk())
+                    .andExpect(header().string(HttpHeaders.ETAG, eTag))
+                    .andExpect(jsonPath("$.number").value("123"));
+        }
+
+        @Test
+        void getEntity_withFields() throws Exception {
+            Map<String, Object> product = new HashMap<>();
+            product.put("name", "Projected Product");
+            product.put("price", 99.99);
+            product.put("in_stock", true);
+
+            String responseContent = mockMvc.perform(post("/products")
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(product)))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getContentAsString();
+            String id = objectMapper.readTree(responseContent).get("id").asText();
+
+            mockMvc.perform(get("/products/" + id + "?_fields=name,price").accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.id", is(id)))
+                    .andExpect(jsonPath("$.name", is("Projected Product")))
+                    .andExpect(jsonPath("$.price", is(99.99)))
+                    .andExpect(jsonPath("$.in_stock").doesNotExist())
+                    .andExpect(jsonPath("$.picture").doesNotExist())
+                    .andExpect(jsonPath("$._links.self.href", notNullValue()))
+                    .andExpect(jsonPath("$._links.cg:content").doesNotExist())
+                    .andExpect(jsonPath("$._links.cg:relation").doesNotExist());
+
+            mockMvc.perform(get("/products/" + id)
+                            .queryParam("_fields", "picture")
+                            .queryParam("_fields", "invoices")
+                            .accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.name").doesNotExist())
+                    .andExpect(jsonPath("$.picture", nullValue()))
+                    .andExpect(jsonPath("$._links.cg:content[0].name", is("picture")))
+                    .andExpect(jsonPath("$._links.cg:relation[0].name", is("invoices")));
+        }
+
+        @Test
+        void getEntity_withInvalidFields() throws Exception {
+            var invoice = createInvoice();
+
+            mockMvc.perform(get(invoice.getRedirectedUrl() + "?_fields=number,foo"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(jsonPath("$.type").value("https://contentgrid.cloud/problems/invalid-query-parameter/fields"))
+                    .andExpect(jsonPath("$.detail").value(containsString("foo")));
+        }
+
+        @Test
+        void getEntity_withEmbed() throws Exception {
+            var personUrl = createPerson().getRedirectedUrl();
+            var invoiceUrl = mockMvc.perform(post("/invoices")
+                            .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                            .param("number", "456")
+                            .param("amount", "200")
+                            .param("confidentiality", "secret")
+                            .param("customer", personUrl))
+                    .andExpect(status().isCreated())
+                    .andReturn().getResponse().getRedirectedUrl();
+
+            // *-to-one relations embed a single entity; no ETag, because it does not cover the embedded entities
+            mockMvc.perform(get(invoiceUrl + "?_embed=customer").accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.number", is("456")))
+                    .andExpect(jsonPath("$._embedded.customer.name", is("test")))
+                    .andExpect(jsonPath("$._embedded.customer._links.self.href", is(personUrl)))
+                    .andExpect(jsonPath("$._links.cg:relation", notNullValue()));
+
+            // *-to-many relations embed a list of entities
+            mockMvc.perform(get(personUrl).queryParam("_embed", "invoices").accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.invoices.length()", is(1)))
+                    .andExpect(jsonPath("$._embedded.invoices[0].number", is("456")))
+                    .andExpect(jsonPath("$._embedded.invoices[0]._links.self.href", is(invoiceUrl)));
+
+            // Without embedding, there is no _embedded property
+            mockMvc.perform(get(invoiceUrl).accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(header().exists(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$._embedded").doesNotExist());
+        }
+
+        @Test
+        void getEntity_withTruncatedEmbed() throws Exception {
+            var personUrl = createPerson().getRedirectedUrl();
+            for (int i = 0; i <= EntityDataRepresentationModelAssembler.MAX_EMBEDDED_TARGETS; i++) {
+                mockMvc.perform(post("/invoices")
+                                .contentType(MediaType.APPLICATION_FORM_URLENCODED)
+                                .param("number", "truncated-" + i)
+                                .param("amount", "200")
+                                .param("confidentiality", "secret")
+                                .param("customer", personUrl))
+                        .andExpect(status().isCreated());
+            }
+
+            // Only a limited number of targets is embedded, with a link to the relation that has all of them
+            mockMvc.perform(get(personUrl).queryParam("_embed", "invoices").accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.invoices.length()", is(EntityDataRepresentationModelAssembler.MAX_EMBEDDED_TARGETS)))
+                    .andExpect(jsonPath("$._links.invoices.href", is(personUrl + "/invoices")));
+        }
+
+        @Test
+        void getEntity_withInvalidEmbed() throws Exception {
+            var invoice = createInvoice();
+
+            mockMvc.perform(get(invoice.getRedirectedUrl() + "?_embed=customer,number"))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(content().contentType(MediaType.APPLICATION_PROBLEM_JSON))
+                    .andExpect(jsonPath("$.type").value("https://contentgrid.cloud/problems/invalid-query-parameter/embed"))
+                    .andExpect(jsonPath("$.detail").value(containsString("number")));
+        }
+
+        @Test
+        void getEntitiesByIds() throws Exception {
+            var person1Url = createPerson().getRedirectedUrl();
+            var person2Url = createPerson().getRedirectedUrl();
+            var person1Id = person1Url.substring(person1Url.lastIndexOf('/') + 1);
+            var person2Id = person2Url.substring(person2Url.lastIndexOf('/') + 1);
+
+            // Results are in the order of the requested ids, unknown ids are left out
+            mockMvc.perform(get("/persons")
+                            .queryParam("_id", person2Id + "," + UUID.randomUUID())
+                            .queryParam("_id", person1Id)
+                            .queryParam("_fields", "name"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.item.length()", is(2)))
+                    .andExpect(jsonPath("$._embedded.item[0]._links.self.href", is(person2Url)))
+                    .andExpect(jsonPath("$._embedded.item[0].name", is("test")))
+                    .andExpect(jsonPath("$._embedded.item[0].vat").doesNotExist())
+                    .andExpect(jsonPath("$._embedded.item[1]._links.self.href", is(person1Url)))
+                    .andExpect(jsonPath("$.page").doesNotExist());
+        }
+
+        @Test
+        void getEntitiesByIds_invalidId() throws Exception {
+            mockMvc.perform(get("/persons").queryParam("_id", "not-a-uuid"))
+                    .andExpect(status().isBadRequest());
+        }
+
+        @Test
+        void getEntity_ifNoneMatch_notFound() throws Exception {
+            mockMvc.perform(get("/invoices/" + UUID.randomUUID())
+                            .header(HttpHeaders.IF_NONE_MATCH, "*"))
+                    .andExpect(status().isNotFound());
+        }
+
         @Test
         void testGetNonExistentEntityInstance() throws Exception {
             String nonExistentId = UUID.randomUUID().toString();
@@ -792,6 +982,52 @@ class EntityRestControllerTest {
                     .getResponse();
         }
 
+        @Test
+        void testListEntityInstances_withFields() throws Exception {
+            for (var i = 0; i < 30; i++) {
+                createProduct(i);
+            }
+
+            var firstPage = mockMvc.perform(get("/products?_fields=name&_sort=name,asc")
+                            .accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.item.length()", is(20)))
+                    .andExpect(jsonPath("$._embedded.item[0].name", is("product_0")))
+                    .andExpect(jsonPath("$._embedded.item[0].price").doesNotExist())
+                    .andExpect(jsonPath("$._embedded.item[0]._links.self.href", notNullValue()))
+                    .andExpect(jsonPath("$._embedded.item[0]._links.cg:content").doesNotExist())
+                    .andExpect(jsonPath("$._links.next.href", containsString("_fields=name")))
+                    .andReturn()
+                    .getResponse();
+
+            var nextLink = objectMapper.readTree(firstPage.getContentAsString()).at("/_links/next/href").asText();
+
+            mockMvc.perform(get(nextLink).accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.item.length()", is(10)))
+                    .andExpect(jsonPath("$._embedded.item[0].price").doesNotExist());
+
+            // The cursor is only valid for the same projection
+            mockMvc.perform(get(nextLink.replace("_fields=name", "_fields=price")).accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.type").value("https://contentgrid.cloud/problems/invalid-query-parameter/pagination"));
+        }
+
+        @Test
+        void testListEntityInstances_withEmbed() throws Exception {
+            for (var i = 0; i < 3; i++) {
+                createInvoice();
+            }
+
+            mockMvc.perform(get("/invoices?_embed=customer").accept(MediaTypes.HAL_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$._embedded.item.length()", is(3)))
+                    .andExpect(jsonPath("$._embedded.item[0]._embedded.customer.name", is("test")))
+                    .andExpect(jsonPath("$._embedded.item[1]._embedded.customer.name", is("test")))
+                    .andExpect(jsonPath("$._embedded.item[2]._embedded.customer.name", is("test")))
+                    .andExpect(jsonPath("$._links.self.href", containsString("_embed=customer")));
+        }
+
         @Test
         void testListEntityInstances_withPaging_allPagingParameters() throws Exception {
             for (var i = 0; i < 100; i++) {
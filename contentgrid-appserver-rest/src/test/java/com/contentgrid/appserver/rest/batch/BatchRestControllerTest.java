@@ -0,0 +1,132 @@
+package com.contentgrid.appserver.rest.batch;
+
+import static com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures.APPLICATION;
+import static org.hamcrest.Matchers.is;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.contentgrid.appserver.example.ContentgridApp;
+import com.contentgrid.appserver.query.engine.api.TableCreator;
+import com.contentgrid.appserver.registry.SingleApplicationResolver;
+import com.contentgrid.appserver.rest.batch.BatchRestControllerTest.TestConfig;
+import com.contentgrid.appserver.spring.test.WithMockJwt;
+import com.jayway.jsonpath.JsonPath;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(classes = {ContentgridApp.class, TestConfig.class}, properties = {
+        "contentgrid.thunx.abac.source=none",
+        "contentgrid.appserver.content-store.type=ephemeral",
+})
+@AutoConfigureMockMvc
+@WithMockJwt
+class BatchRestControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TableCreator tableCreator;
+
+    @TestConfiguration
+    static class TestConfig {
+
+        @Bean
+        @Primary
+        public SingleApplicationResolver singleApplicationResolver() {
+            return new SingleApplicationResolver(APPLICATION);
+        }
+    }
+
+    @BeforeEach
+    void setup() {
+        tableCreator.createTables(APPLICATION);
+    }
+
+    @AfterEach
+    void teardown() {
+        tableCreator.dropTables(APPLICATION);
+    }
+
+    @Test
+    void executeBatch() throws Exception {
+        var response = mockMvc.perform(post("/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "operations": [
+                                        { "op": "create", "entity": "persons", "data": { "name": "alice", "vat": "vat-1" } },
+                                        { "op": "create", "entity": "persons", "data": { "name": "bob", "vat": "vat-2" } },
+                                        { "op": "link", "entity": "persons", "id": "$0", "relation": "friends", "targets": ["$1"] },
+                                        { "op": "link", "entity": "persons", "id": "$0", "relation": "children", "targets": ["$1"] },
+                                        { "op": "patch", "entity": "persons", "id": "$1", "data": { "name": "robert" } }
+                                    ]
+                                }
+                                """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()", is(5)))
+                .andExpect(jsonPath("$.results[0].status", is(201)))
+                .andExpect(jsonPath("$.results[0].entity.name", is("alice")))
+                .andExpect(jsonPath("$.results[1].status", is(201)))
+                .andExpect(jsonPath("$.results[2].status", is(204)))
+                .andExpect(jsonPath("$.results[2].entity").doesNotExist())
+                .andExpect(jsonPath("$.results[3].status", is(204)))
+                .andExpect(jsonPath("$.results[4].status", is(200)))
+                .andExpect(jsonPath("$.results[4].entity.name", is("robert")))
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        String aliceUrl = JsonPath.read(response, "$.results[0].entity._links.self.href");
+        String bobUrl = JsonPath.read(response, "$.results[1].entity._links.self.href");
+        mockMvc.perform(get(aliceUrl).queryParam("_embed", "friends,children"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.friends[0]._links.self.href", is(bobUrl)))
+                .andExpect(jsonPath("$._embedded.children[0].name", is("robert")));
+    }
+
+    @Test
+    void executeBatch_failingOperation_rollsBackAll() throws Exception {
+        mockMvc.perform(post("/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "operations": [
+                                        { "op": "create", "entity": "persons", "data": { "name": "alice", "vat": "vat-1" } },
+                                        { "op": "delete", "entity": "persons", "id": "%s" }
+                                    ]
+                                }
+                                """.formatted(UUID.randomUUID())))
+                .andExpect(status().isBadRequest());
+
+        mockMvc.perform(get("/persons").queryParam("name~prefix", "alice"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$._embedded.item[0]").doesNotExist());
+    }
+
+    @Test
+    void executeBatch_invalidReference() throws Exception {
+        mockMvc.perform(post("/_batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "operations": [
+                                        { "op": "patch", "entity": "persons", "id": "$0", "data": { "name": "alice" } }
+                                    ]
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,201 @@
+package com.contentgrid.appserver.rest.data;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.domain.data.DataEntry.BooleanDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.DecimalDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.InstantDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.LongDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.MissingDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.NullDataEntry;
+import com.contentgrid.appserver.domain.data.DataEntry.StringDataEntry;
+import com.contentgrid.appserver.domain.data.InvalidDataFormatException;
+import com.contentgrid.appserver.domain.data.InvalidDataTypeException;
+import com.contentgrid.appserver.domain.data.RequestInputData;
+import com.contentgrid.appserver.domain.data.RequestInputData.DataResult;
+import com.contentgrid.appserver.domain.data.RequestInputData.MissingResult;
+import com.contentgrid.appserver.domain.data.RequestInputData.NullResult;
+import com.contentgrid.appserver.rest.converter.RequestInputDataJacksonModule;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class JsonRequestInputDataTest {
+
+    private static final ObjectMapper OBJECT_MAPPER = JsonMapper.builder()
+            .findAndAddModules()
+            .addModule(new RequestInputDataJacksonModule())
+            // Same as the application object mapper
+            .disable(DeserializationFeature.ACCEPT_FLOAT_AS_INT)
+            .build();
+
+    private static RequestInputData read(String json) throws Exception {
+        return OBJECT_MAPPER.readValue(json, RequestInputData.class);
+    }
+
+    private static RequestInputData read(String json, RequestInputSchema schema) throws Exception {
+        try (var parser = OBJECT_MAPPER.createParser(json)) {
+            parser.nextToken();
+            return JsonRequestInputData.read(parser, schema);
+        }
+    }
+
+    @Test
+    void scalarValues() throws Exception {
+        var data = read("""
+                {
+                    "text": "abc",
+                    "number": 12,
+                    "decimal": 1.5,
+                    "bool": true,
+                    "instant": "2025-01-02T03:04:05Z",
+                    "empty": null
+                }
+                """);
+
+        assertThat(data.keys()).containsExactly("text", "number", "decimal", "bool", "instant", "empty");
+        assertThat(data.get("text", StringDataEntry.class)).isEqualTo(new StringDataEntry("abc"));
+        assertThat(data.get("number", LongDataEntry.class)).isEqualTo(new LongDataEntry(12L));
+        assertThat(data.get("decimal", DecimalDataEntry.class)).isEqualTo(new DecimalDataEntry(new BigDecimal("1.5")));
+        assertThat(data.get("bool", BooleanDataEntry.class)).isEqualTo(new BooleanDataEntry(true));
+        assertThat(data.get("instant", InstantDataEntry.class))
+                .isEqualTo(new InstantDataEntry(Instant.parse("2025-01-02T03:04:05Z")));
+        assertThat(data.get("empty", StringDataEntry.class)).isEqualTo(NullDataEntry.INSTANCE);
+        assertThat(data.get("missing", StringDataEntry.class)).isEqualTo(MissingDataEntry.INSTANCE);
+    }
+
+    @Test
+    void coercedScalarValues() throws Exception {
+        var data = read("""
+                {
+                    "number": "12",
+                    "text": 12,
+                    "decimal": 3,
+                    "float": 1.5
+                }
+                """);
+
+        assertThat(data.get("number", LongDataEntry.class)).isEqualTo(new LongDataEntry(12L));
+        assertThat(data.get("text", StringDataEntry.class)).isEqualTo(new StringDataEntry("12"));
+        assertThat(data.get("decimal", DecimalDataEntry.class)).isEqualTo(new DecimalDataEntry(new BigDecimal("3")));
+        assertThatThrownBy(() -> data.get("float", LongDataEntry.class))
+                .isInstanceOf(InvalidDataFormatException.class);
+    }
+
+    @Test
+    void listValues() throws Exception {
+        var data = read("""
+                {
+                    "list": ["a", "b"],
+                    "emptyList": null,
+                    "notAList": "a"
+                }
+                """);
+
+        assertThat(data.getList("list", StringDataEntry.class)).isInstanceOfSatisfying(DataResult.class, result ->
+                assertThat(result.get()).isEqualTo(List.of(new StringDataEntry("a"), new StringDataEntry("b"))));
+        assertThat(data.getList("emptyList", StringDataEntry.class)).isInstanceOf(NullResult.class);
+        assertThat(data.getList("missing", StringDataEntry.class)).isInstanceOf(MissingResult.class);
+        assertThatThrownBy(() -> data.getList("notAList", StringDataEntry.class))
+                .isInstanceOf(InvalidDataTypeException.class);
+    }
+
+    @Test
+    void nestedValues() throws Exception {
+        var data = read("""
+                {
+                    "nested": {
+                        "inner": { "value": "abc" },
+                        "list": [1, 2]
+                    },
+                    "notNested": [],
+                    "text": "abc"
+                }
+                """);
+
+        var nested = data.nested("nested").get();
+        assertThat(nested.keys()).containsExactly("inner", "list");
+        assertThat(nested.nested("inner").get().get("value", StringDataEntry.class))
+                .isEqualTo(new StringDataEntry("abc"));
+        assertThat(data.nested("missing")).isInstanceOf(MissingResult.class);
+        assertThatThrownBy(() -> data.nested("notNested")).isInstanceOf(InvalidDataTypeException.class);
+        assertThatThrownBy(() -> data.get("nested", StringDataEntry.class)).isInstanceOf(InvalidDataTypeException.class);
+        assertThatThrownBy(() -> data.nested("text")).isInstanceOf(InvalidDataTypeException.class);
+    }
+
+    @Test
+    void duplicateKeys_lastValueWins() throws Exception {
+        var data = read("""
+                { "text": "first", "text": "second" }
+                """);
+
+        assertThat(data.keys()).containsExactly("text");
+        assertThat(data.get("text", StringDataEntry.class)).isEqualTo(new StringDataEntry("second"));
+    }
+
+    @Test
+    void schemaBoundValues() throws Exception {
+        var data = read("""
+                {
+                    "number": "I-1",
+                    "amount": 12,
+                    "is_paid": "not-a-boolean",
+                    "received": null,
+                    "customer": "https://example.com/persons/1",
+                    "products": ["https://example.com/products/1", "https://example.com/products/2"],
+                    "content": { "filename": "invoice.pdf", "length": 12 },
+                    "audit_metadata": { "created_by": "someone" },
+                    "unknown": [1, { "nested": true }]
+                }
+                """, RequestInputSchema.forEntity(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE));
+
+        // Unknown and read-only values are skipped, but their keys are kept
+        assertThat(data.keys()).containsExactly("number", "amount", "is_paid", "received", "customer", "products",
+                "content", "audit_metadata", "unknown");
+        assertThat(data.get("unknown", StringDataEntry.class)).isEqualTo(MissingDataEntry.INSTANCE);
+        assertThat(data.nested("audit_metadata")).isInstanceOf(MissingResult.class);
+
+        assertThat(data.get("number", StringDataEntry.class)).isEqualTo(new StringDataEntry("I-1"));
+        assertThat(data.get("amount", DecimalDataEntry.class)).isEqualTo(new DecimalDataEntry(new BigDecimal("12")));
+        assertThatThrownBy(() -> data.get("is_paid", BooleanDataEntry.class))
+                .isInstanceOf(InvalidDataFormatException.class);
+        assertThat(data.get("received", InstantDataEntry.class)).isEqualTo(NullDataEntry.INSTANCE);
+        assertThat(data.get("customer", StringDataEntry.class))
+                .isEqualTo(new StringDataEntry("https://example.com/persons/1"));
+        assertThat(data.getList("products", StringDataEntry.class)).isInstanceOfSatisfying(DataResult.class, result ->
+                assertThat(result.get()).isEqualTo(List.of(new StringDataEntry("https://example.com/products/1"),
+                        new StringDataEntry("https://example.com/products/2"))));
+
+        var content = data.nested("content").get();
+        assertThat(content.get("filename", StringDataEntry.class)).isEqualTo(new StringDataEntry("invoice.pdf"));
+        assertThat(content.get("length", LongDataEntry.class)).isEqualTo(MissingDataEntry.INSTANCE);
+    }
+
+    @Test
+    void schemaBoundValues_wrongShape() throws Exception {
+        var data = read("""
+                {
+                    "number": { "value": "I-1" },
+                    "products": "https://example.com/products/1",
+                    "content": "invoice.pdf"
+                }
+                """, RequestInputSchema.forEntity(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE));
+
+        assertThatThrownBy(() -> data.get("number", StringDataEntry.class)).isInstanceOf(InvalidDataTypeException.class);
+        assertThatThrownBy(() -> data.getList("products", StringDataEntry.class))
+                .isInstanceOf(InvalidDataTypeException.class);
+        assertThatThrownBy(() -> data.nested("content")).isInstanceOf(InvalidDataTypeException.class);
+    }
+
+    @Test
+    void notAnObject() {
+        assertThatThrownBy(() -> read("[]")).isInstanceOf(MismatchedInputException.class);
+    }
+}
@@ -0,0 +1,114 @@
+package com.contentgrid.appserver.rest.hal.forms;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.application.model.i18n.UserLocales;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.domain.values.RelationIdentity;
+import com.contentgrid.appserver.rest.links.factory.LinkFactoryProvider;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilderFactory;
+
+class HalFormsTemplateCacheTest {
+
+    HalFormsTemplateCache cache = new HalFormsTemplateCache();
+
+    LinkFactoryProvider linkFactoryProvider = new LinkFactoryProvider(
+            ModelTestFixtures.APPLICATION,
+            UserLocales.defaults(),
+            new WebMvcLinkBuilderFactory()
+    );
+
+    @Test
+    void sameTemplatesForSameEntityAndLocales() {
+        var templates = cache.getEntityTemplates(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                UserLocales.defaults(), linkFactoryProvider);
+        var cached = cache.getEntityTemplates(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                UserLocales.defaults(), linkFactoryProvider);
+
+        assertThat(cached).isSameAs(templates);
+        assertThat(cached.getUpdateTemplate().getKey()).isEqualTo(HalFormsTemplate.DEFAULT_KEY);
+    }
+
+    @Test
+    void differentTemplatesForDifferentEntities() {
+        var invoiceTemplates = cache.getEntityTemplates(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                UserLocales.defaults(), linkFactoryProvider);
+        var personTemplates = cache.getEntityTemplates(ModelTestFixtures.APPLICATION, ModelTestFixtures.PERSON.getName(),
+                UserLocales.defaults(), linkFactoryProvider);
+
+        assertThat(personTemplates).isNotSameAs(invoiceTemplates);
+    }
+
+    @Test
+    void evictsLeastRecentlyUsed() {
+        var smallCache = new HalFormsTemplateCache(2);
+        var entity = ModelTestFixtures.INVOICE.getName();
+
+        var english = smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.ENGLISH),
+                linkFactoryProvider);
+        var french = smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.FRENCH),
+                linkFactoryProvider);
+        // Use English again, so French becomes the least recently used
+        smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.ENGLISH), linkFactoryProvider);
+        smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.GERMAN), linkFactoryProvider);
+
+        assertThat(smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.ENGLISH),
+                linkFactoryProvider)).isSameAs(english);
+        assertThat(smallCache.getEntityTemplates(ModelTestFixtures.APPLICATION, entity, locales(Locale.FRENCH),
+                linkFactoryProvider)).isNotSameAs(french);
+    }
+
+    @Test
+    void invalidMaximumSize() {
+        assertThatThrownBy(() -> new HalFormsTemplateCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static UserLocales locales(Locale locale) {
+        return new UserLocales() {
+            @Override
+            public Locale resolvePreferredLocale(Collection<Locale> supportedLocales) {
+                return supportedLocales.contains(locale) ? locale : null;
+            }
+
+            @Override
+            public Stream<Locale> preferredLocales() {
+                return Stream.of(locale);
+            }
+        };
+    }
+
+    @Test
+    void relationTemplatesTargetInstance() {
+        var templates = cache.getEntityTemplates(ModelTestFixtures.APPLICATION, ModelTestFixtures.INVOICE.getName(),
+                UserLocales.defaults(), linkFactoryProvider);
+        var generator = new HalFormsTemplateGenerator(ModelTestFixtures.APPLICATION, UserLocales.defaults(),
+                linkFactoryProvider);
+
+        for (var id : new EntityId[]{EntityId.of(UUID.randomUUID()), EntityId.of(UUID.randomUUID())}) {
+            var relationIdentity = RelationIdentity.forRelation(
+                    ModelTestFixtures.INVOICE.getName(),
+                    id,
+                    ModelTestFixtures.INVOICE_PREVIOUS.getSourceEndPoint().getName()
+            );
+
+            var expected = generator.generateRelationTemplates(relationIdentity);
+
+            assertThat(templates.getRelationTemplates(relationIdentity, linkFactoryProvider))
+                    .isNotEmpty()
+                    .allSatisfy(template -> assertThat(template.getTarget()).contains(id.getValue().toString()))
+                    .extracting(HalFormsTemplate::getKey, HalFormsTemplate::getTarget)
+                    .containsExactlyElementsOf(expected.stream()
+                            .map(template -> tuple(template.getKey(), template.getTarget()))
+                            .toList());
+        }
+    }
+}
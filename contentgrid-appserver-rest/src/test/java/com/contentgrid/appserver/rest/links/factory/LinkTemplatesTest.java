@@ -0,0 +1,91 @@
+package com.contentgrid.appserver.rest.links.factory;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.linkTo;
+import static org.springframework.hateoas.server.mvc.WebMvcLinkBuilder.methodOn;
+
+import com.contentgrid.appserver.application.model.Entity;
+import com.contentgrid.appserver.application.model.exceptions.AttributeNotFoundException;
+import com.contentgrid.appserver.application.model.exceptions.RelationNotFoundException;
+import com.contentgrid.appserver.application.model.fixtures.ModelTestFixtures;
+import com.contentgrid.appserver.application.model.values.AttributeName;
+import com.contentgrid.appserver.application.model.values.RelationName;
+import com.contentgrid.appserver.domain.values.EntityId;
+import com.contentgrid.appserver.rest.EntityRestController;
+import com.contentgrid.appserver.rest.ProfileRestController;
+import com.contentgrid.appserver.rest.property.ContentRestController;
+import com.contentgrid.appserver.rest.property.XToOneRelationRestController;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.hateoas.server.mvc.WebMvcLinkBuilder;
+import org.springframework.util.LinkedMultiValueMap;
+
+class LinkTemplatesTest {
+
+    private static final EntityId ENTITY_ID = EntityId.of(UUID.randomUUID());
+
+    private final LinkTemplates linkTemplates = LinkTemplates.compile(ModelTestFixtures.APPLICATION);
+
+    static Stream<Entity> entities() {
+        return ModelTestFixtures.APPLICATION.getEntities().stream();
+    }
+
+    private static String path(WebMvcLinkBuilder linkBuilder) {
+        return linkBuilder.toUri().getRawPath();
+    }
+
+    @ParameterizedTest
+    @MethodSource("entities")
+    void templatesMatchControllerMappings(Entity entity) {
+        var application = ModelTestFixtures.APPLICATION;
+        var templates = linkTemplates.forEntity(entity.getName());
+
+        assertThat(templates.getCollection()).isEqualTo(path(linkTo(methodOn(EntityRestController.class)
+                .listEntity(application, entity.getPathSegment(), null, new LinkedMultiValueMap<>(), null, null, null))));
+        assertThat(templates.item(ENTITY_ID)).isEqualTo(path(linkTo(methodOn(EntityRestController.class)
+                .getEntity(application, entity.getPathSegment(), ENTITY_ID, null, null, null, null))));
+        assertThat(templates.getProfile()).isEqualTo(path(linkTo(methodOn(ProfileRestController.class)
+                .getHalFormsEntityProfile(application, entity.getPathSegment(), null, null))));
+
+        for (var relation : application.getRelations()) {
+            for (var endPoint : List.of(relation.getSourceEndPoint(), relation.getTargetEndPoint())) {
+                if (!endPoint.getEntity().equals(entity.getName()) || endPoint.getName() == null
+                        || endPoint.getPathSegment() == null) {
+                    continue;
+                }
+                assertThat(templates.relation(ENTITY_ID, endPoint.getName()))
+                        .isEqualTo(path(linkTo(methodOn(XToOneRelationRestController.class)
+                                .getRelation(application, entity.getPathSegment(), ENTITY_ID,
+                                        endPoint.getPathSegment(), null, null))));
+            }
+        }
+
+        for (var content : entity.getContentAttributes()) {
+            assertThat(templates.content(ENTITY_ID, content.getName()))
+                    .isEqualTo(path(linkTo(methodOn(ContentRestController.class)
+                            .getContent(null, application, entity.getPathSegment(), ENTITY_ID,
+                                    content.getPathSegment(), null, null, null))));
+        }
+    }
+
+    @Test
+    void unknownRelation() {
+        var templates = linkTemplates.forEntity(ModelTestFixtures.INVOICE.getName());
+
+        assertThatThrownBy(() -> templates.relation(ENTITY_ID, RelationName.of("unknown")))
+                .isInstanceOf(RelationNotFoundException.class);
+    }
+
+    @Test
+    void unknownContent() {
+        var templates = linkTemplates.forEntity(ModelTestFixtures.INVOICE.getName());
+
+        assertThatThrownBy(() -> templates.content(ENTITY_ID, AttributeName.of("number")))
+                .isInstanceOf(AttributeNotFoundException.class);
+    }
+}